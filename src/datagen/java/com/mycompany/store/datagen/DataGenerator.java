@@ -0,0 +1,474 @@
+package com.mycompany.store.datagen;
+
+import com.mycompany.store.StoreApp;
+import com.mycompany.store.domain.enumeration.Gender;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import com.mycompany.store.domain.enumeration.OrderStatus;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.domain.enumeration.Size;
+import com.mycompany.store.service.SalesReportService;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Synthetic dataset generator: starts the application, which migrates the database, and appends a dataset of the
+ * configured size to it, to give the performance environments a production-like volume.
+ * <p>
+ * The popularity of the products in the order items, and of the customers in the orders, is Zipfian, so that a few
+ * products and customers account for most of the rows, and each customer places many orders. The totals of the orders,
+ * the customer summaries, the product stocks and the sales rollups are consistent with the generated rows.
+ * <p>
+ * The rows are generated by chunks, each from its own seeded random, so that the same options give the same dataset,
+ * and inserted through multi-row {@code INSERT}s, {@code parallelism} chunks at once. The ids follow the current
+ * largest ones, so that the generator can run on a populated database; the order items and the shipments take the ids
+ * of the database.
+ * <p>
+ * Run with {@code ./gradlew generateData -PdataGenArgs="orders=10000000 items=30000000"}, and against another database
+ * with {@code spring.r2dbc.url=...} and {@code spring.liquibase.url=...}, see {@link DataGeneratorOptions}.
+ */
+public final class DataGenerator {
+
+    /**
+     * End of the period the orders are placed over, fixed for reproducibility.
+     */
+    private static final LocalDateTime END = LocalDateTime.of(2021, 11, 1, 0, 0);
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] FIRST_NAMES = {
+        "Alice",
+        "Bob",
+        "Chloe",
+        "David",
+        "Emma",
+        "Farid",
+        "Grace",
+        "Hugo",
+        "Ines",
+        "Jules",
+        "Kenji",
+        "Lina",
+        "Marco",
+        "Nora",
+        "Omar",
+        "Paula",
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Martin",
+        "Smith",
+        "Garcia",
+        "Muller",
+        "Rossi",
+        "Silva",
+        "Dubois",
+        "Kowalski",
+        "Tanaka",
+        "Nguyen",
+        "Jensen",
+        "Costa",
+    };
+
+    private static final String[][] CITIES = {
+        { "Paris", "France" },
+        { "Lyon", "France" },
+        { "London", "United Kingdom" },
+        { "Berlin", "Germany" },
+        { "Madrid", "Spain" },
+        { "Milan", "Italy" },
+        { "Lisbon", "Portugal" },
+        { "Warsaw", "Poland" },
+        { "New York", "United States" },
+        { "Toronto", "Canada" },
+        { "Tokyo", "Japan" },
+        { "Sydney", "Australia" },
+    };
+
+    private static final int CATEGORIES = 0;
+
+    private static final int PRODUCTS = 1;
+
+    private static final int CUSTOMERS = 2;
+
+    private static final int ORDERS = 3;
+
+    private static final int SUMMARIES = 4;
+
+    private final DataGeneratorOptions options;
+
+    private final ConnectionFactory connectionFactory;
+
+    private final long[] productPrices;
+
+    private final AtomicIntegerArray customerItems;
+
+    private final AtomicLongArray customerAmounts;
+
+    private final AtomicLongArray customerPayments;
+
+    private long categoryBase;
+
+    private long productBase;
+
+    private long customerBase;
+
+    private long orderBase;
+
+    private long invoiceBase;
+
+    private DataGenerator(DataGeneratorOptions options, ConnectionFactory connectionFactory) {
+        this.options = options;
+        this.connectionFactory = connectionFactory;
+        this.productPrices = new long[options.products()];
+        this.customerItems = new AtomicIntegerArray(options.customers());
+        this.customerAmounts = new AtomicLongArray(options.customers());
+        this.customerPayments = new AtomicLongArray(options.customers());
+    }
+
+    public static void main(String[] args) {
+        DataGeneratorOptions options = new DataGeneratorOptions(args);
+        System.out.println("Data generation with " + options);
+        ConfigurableApplicationContext context = startApplication(options);
+        try {
+            new DataGenerator(options, context.getBean(ConnectionFactory.class)).run();
+            long start = System.nanoTime();
+            LocalDate from = END.minusDays(options.days()).toLocalDate();
+            Long rollups = context.getBean(SalesReportService.class).refresh(from, END.toLocalDate()).block();
+            System.out.printf("Refreshed %d sales rollups in %d s%n", rollups, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(DataGeneratorOptions options) {
+        Map<String, Object> properties = new HashMap<>(options.springProperties());
+        properties.put("server.port", 0);
+        properties.put("spring.r2dbc.pool.max-size", options.parallelism());
+        properties.put("logging.level.ROOT", "WARN");
+        properties.put("logging.level.tech.jhipster", "WARN");
+        properties.put("logging.level.com.mycompany.store", "WARN");
+        return new SpringApplicationBuilder(StoreApp.class).profiles(options.profile()).properties(properties).run();
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        categoryBase = maxId("product_category");
+        productBase = maxId("product");
+        customerBase = maxId("customer");
+        orderBase = maxId("product_order");
+        invoiceBase = maxId("invoice");
+        insert("categories", chunks(options.categories()), this::categories);
+        insert("products", chunks(options.products()), this::products);
+        insert("customers", chunks(options.customers()), this::customers);
+        ZipfDistribution productPopularity = new ZipfDistribution(options.products(), options.productSkew());
+        ZipfDistribution customerActivity = new ZipfDistribution(options.customers(), options.customerSkew());
+        insert("orders", chunks(options.orders()), chunk -> orders(chunk, productPopularity, customerActivity));
+        insert("customer summaries", chunks(options.customers()), this::customerSummaries);
+        System.out.printf("Generated the dataset in %d s%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private List<String> categories(int chunk) {
+        SplittableRandom random = random(CATEGORIES, chunk);
+        MultiRowInsert categories = insert("product_category", "id", "name", "description", "last_modified_date");
+        for (long i = firstIndex(chunk); i < lastIndex(chunk, options.categories()); i++) {
+            long id = categoryBase + 1 + i;
+            categories.row(id, "Category " + id, "Generated category " + id, timestamp(END.minusDays(random.nextInt(options.days()))));
+        }
+        return categories.statements();
+    }
+
+    private List<String> products(int chunk) {
+        SplittableRandom random = random(PRODUCTS, chunk);
+        MultiRowInsert products = insert(
+            "product",
+            "id",
+            "name",
+            "description",
+            "price",
+            "product_size",
+            "product_category_id",
+            "last_modified_date"
+        );
+        MultiRowInsert stocks = insert("product_stock", "product_id", "quantity");
+        Size[] sizes = Size.values();
+        for (int i = (int) firstIndex(chunk); i < lastIndex(chunk, options.products()); i++) {
+            long id = productBase + 1 + i;
+            // log-uniform prices, from 1.00 to 1000.00
+            long price = Math.round(100 * Math.pow(1000, random.nextDouble()));
+            productPrices[i] = price;
+            products.row(
+                id,
+                "Product " + id,
+                "Generated product " + id,
+                amount(price),
+                sizes[random.nextInt(sizes.length)].name(),
+                categoryBase + 1 + random.nextInt(options.categories()),
+                timestamp(END.minusDays(random.nextInt(options.days())))
+            );
+            stocks.row(id, random.nextInt(1000));
+        }
+        List<String> statements = products.statements();
+        statements.addAll(stocks.statements());
+        return statements;
+    }
+
+    private List<String> customers(int chunk) {
+        SplittableRandom random = random(CUSTOMERS, chunk);
+        MultiRowInsert customers = insert(
+            "customer",
+            "id",
+            "first_name",
+            "last_name",
+            "gender",
+            "email",
+            "phone",
+            "address_line_1",
+            "city",
+            "country",
+            "last_modified_date"
+        );
+        Gender[] genders = Gender.values();
+        for (long i = firstIndex(chunk); i < lastIndex(chunk, options.customers()); i++) {
+            long id = customerBase + 1 + i;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String[] city = CITIES[random.nextInt(CITIES.length)];
+            customers.row(
+                id,
+                firstName,
+                lastName,
+                genders[random.nextInt(genders.length)].name(),
+                firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + "." + id + "@example.com",
+                String.format("+1 555 %07d", random.nextInt(10_000_000)),
+                (1 + random.nextInt(200)) + " Generated Street",
+                city[0],
+                city[1],
+                timestamp(END.minusDays(random.nextInt(options.days())))
+            );
+        }
+        return customers.statements();
+    }
+
+    private List<String> orders(int chunk, ZipfDistribution productPopularity, ZipfDistribution customerActivity) {
+        SplittableRandom random = random(ORDERS, chunk);
+        double itemsPerOrder = (double) options.items() / options.orders();
+        double invoicesPerOrder = (double) options.invoices() / options.orders();
+        double shipmentsPerInvoice = options.invoices() == 0 ? 0 : (double) options.shipments() / options.invoices();
+        // each order has at most floor(invoicesPerOrder) + 1 invoices, so each chunk has its own range of invoice ids
+        long invoiceId = invoiceBase + (long) chunk * options.batchSize() * ((long) invoicesPerOrder + 1);
+        MultiRowInsert orders = insert(
+            "product_order",
+            "id",
+            "placed_date",
+            "status",
+            "code",
+            "customer_id",
+            "total_amount",
+            "item_count"
+        );
+        MultiRowInsert items = insert("order_item", "quantity", "total_price", "status", "product_id", "order_id");
+        MultiRowInsert invoices = insert(
+            "invoice",
+            "id",
+            "date",
+            "details",
+            "status",
+            "payment_method",
+            "payment_date",
+            "payment_amount",
+            "order_id"
+        );
+        MultiRowInsert shipments = insert("shipment", "tracking_code", "date", "details", "invoice_id");
+        PaymentMethod[] paymentMethods = PaymentMethod.values();
+        for (long i = firstIndex(chunk); i < lastIndex(chunk, options.orders()); i++) {
+            long orderId = orderBase + 1 + i;
+            int customer = customerActivity.sample(random);
+            LocalDateTime placed = END.minusSeconds(random.nextLong(TimeUnit.DAYS.toSeconds(options.days())));
+            int itemCount = itemsPerOrder >= 1 ? 1 + geometric(random, itemsPerOrder - 1) : count(random, itemsPerOrder);
+            long total = 0;
+            for (int item = 0; item < itemCount; item++) {
+                int product = productPopularity.sample(random);
+                int quantity = 1 + geometric(random, 0.4);
+                long price = productPrices[product] * quantity;
+                total += price;
+                items.row(quantity, amount(price), itemStatus(random).name(), productBase + 1 + product, orderId);
+            }
+            String code = new UUID(random.nextLong(), random.nextLong()).toString();
+            orders.row(orderId, timestamp(placed), orderStatus(random).name(), code, customerBase + 1 + customer, amount(total), itemCount);
+            customerItems.addAndGet(customer, itemCount);
+            customerAmounts.addAndGet(customer, total);
+
+            int invoiceCount = count(random, invoicesPerOrder);
+            for (int invoice = 0; invoice < invoiceCount; invoice++) {
+                invoiceId++;
+                LocalDateTime issued = placed.plusMinutes(random.nextInt(48 * 60));
+                InvoiceStatus status = invoiceStatus(random);
+                long payment = total / invoiceCount + (invoice == 0 ? total % invoiceCount : 0);
+                invoices.row(
+                    invoiceId,
+                    timestamp(issued),
+                    "Invoice " + (invoice + 1) + " of order " + code,
+                    status.name(),
+                    paymentMethods[random.nextInt(paymentMethods.length)].name(),
+                    timestamp(issued.plusMinutes(random.nextInt(7 * 24 * 60))),
+                    amount(payment),
+                    orderId
+                );
+                if (status == InvoiceStatus.PAID) {
+                    customerPayments.addAndGet(customer, payment);
+                }
+                int shipmentCount = count(random, shipmentsPerInvoice);
+                for (int shipment = 0; shipment < shipmentCount; shipment++) {
+                    shipments.row(
+                        Long.toString(random.nextLong() & Long.MAX_VALUE, 36).toUpperCase(Locale.ROOT),
+                        timestamp(issued.plusDays(1 + random.nextInt(5))),
+                        "Shipment " + (shipment + 1) + " of order " + code,
+                        invoiceId
+                    );
+                }
+            }
+        }
+        List<String> statements = orders.statements();
+        statements.addAll(items.statements());
+        statements.addAll(invoices.statements());
+        statements.addAll(shipments.statements());
+        return statements;
+    }
+
+    private List<String> customerSummaries(int chunk) {
+        MultiRowInsert summaries = insert("customer_summary", "customer_id", "item_count", "total_amount", "total_paid");
+        for (int i = (int) firstIndex(chunk); i < lastIndex(chunk, options.customers()); i++) {
+            summaries.row(customerBase + 1 + i, customerItems.get(i), amount(customerAmounts.get(i)), amount(customerPayments.get(i)));
+        }
+        return summaries.statements();
+    }
+
+    /**
+     * Generates the statements of the chunks, and runs those of {@code parallelism} chunks at once, the statements of
+     * a chunk in order on one connection.
+     */
+    private void insert(String name, int chunks, IntFunction<List<String>> chunkStatements) {
+        long start = System.nanoTime();
+        Long rows = Flux
+            .range(0, chunks)
+            .flatMap(
+                chunk -> Mono.fromCallable(() -> chunkStatements.apply(chunk)).subscribeOn(Schedulers.parallel()).flatMap(this::execute),
+                options.parallelism()
+            )
+            .reduce(0L, Long::sum)
+            .block();
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        System.out.printf("Inserted %d rows of %s in %d ms, %d rows/s%n", rows, name, millis, rows * 1000 / millis);
+    }
+
+    private Mono<Long> execute(List<String> statements) {
+        return Mono.usingWhen(
+            Mono.<Connection>from(connectionFactory.create()),
+            connection ->
+                Flux
+                    .fromIterable(statements)
+                    .concatMap(sql -> Flux.from(connection.createStatement(sql).execute()).flatMap(result -> result.getRowsUpdated()))
+                    .reduce(0L, (sum, rows) -> sum + rows),
+            Connection::close
+        );
+    }
+
+    private long maxId(String table) {
+        return Mono
+            .usingWhen(
+                Mono.<Connection>from(connectionFactory.create()),
+                connection ->
+                    Flux
+                        .from(connection.createStatement("SELECT MAX(id) FROM " + table).execute())
+                        .flatMap(result -> result.map((row, metadata) -> row.get(0) == null ? 0L : ((Number) row.get(0)).longValue()))
+                        .next(),
+                Connection::close
+            )
+            .block();
+    }
+
+    private MultiRowInsert insert(String table, String... columns) {
+        return new MultiRowInsert(table, options.batchSize(), columns);
+    }
+
+    private int chunks(long rows) {
+        return (int) ((rows + options.batchSize() - 1) / options.batchSize());
+    }
+
+    private long firstIndex(int chunk) {
+        return (long) chunk * options.batchSize();
+    }
+
+    private long lastIndex(int chunk, long rows) {
+        return Math.min(rows, firstIndex(chunk) + options.batchSize());
+    }
+
+    /**
+     * @return the random of a chunk, which only depends on the seed, the table and the chunk.
+     */
+    private SplittableRandom random(int table, int chunk) {
+        return new SplittableRandom(options.seed() ^ ((long) table << 56) ^ (chunk * 0x9E37_79B9_7F4A_7C15L));
+    }
+
+    /**
+     * @return a geometric count of the given mean, such as the extra items of an order.
+     */
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    /**
+     * @return {@code floor(mean)} or {@code floor(mean) + 1}, with the given mean.
+     */
+    private static int count(SplittableRandom random, double mean) {
+        int floor = (int) mean;
+        return floor + (random.nextDouble() < mean - floor ? 1 : 0);
+    }
+
+    private static OrderStatus orderStatus(SplittableRandom random) {
+        int percent = random.nextInt(100);
+        return percent < 80 ? OrderStatus.COMPLETED : percent < 95 ? OrderStatus.PENDING : OrderStatus.CANCELLED;
+    }
+
+    private static OrderItemStatus itemStatus(SplittableRandom random) {
+        int percent = random.nextInt(100);
+        return percent < 90 ? OrderItemStatus.AVAILABLE : percent < 95 ? OrderItemStatus.OUT_OF_STOCK : OrderItemStatus.BACK_ORDER;
+    }
+
+    private static InvoiceStatus invoiceStatus(SplittableRandom random) {
+        int percent = random.nextInt(100);
+        return percent < 85 ? InvoiceStatus.PAID : percent < 95 ? InvoiceStatus.ISSUED : InvoiceStatus.CANCELLED;
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static String timestamp(LocalDateTime dateTime) {
+        return TIMESTAMP.format(dateTime);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.store.datagen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options of the {@link DataGenerator}, given as {@code key=value} arguments.
+ * <ul>
+ *     <li>{@code categories}, {@code products}, {@code customers}, {@code orders}: number of rows generated.</li>
+ *     <li>{@code items}, {@code invoices}, {@code shipments}: expected number of rows generated, the number per order
+ *     or invoice being random.</li>
+ *     <li>{@code productSkew}, {@code customerSkew}: exponents of the Zipfian popularity of the products in the order
+ *     items, and of the customers in the orders, {@code 0} for a uniform one.</li>
+ *     <li>{@code days}: number of days before {@code 2021-11-01} the orders are placed over.</li>
+ *     <li>{@code batchSize}: number of rows of each multi-row insert, and of orders of each chunk.</li>
+ *     <li>{@code parallelism}: number of chunks inserted at once, each with its own connection.</li>
+ *     <li>{@code seed}: seed of the dataset, which is the same for the same options whatever the parallelism.</li>
+ *     <li>{@code profile}: Spring profile of the application, which migrates the database.</li>
+ *     <li>{@code spring.*}: Spring Boot properties of the application, such as {@code spring.r2dbc.url} and
+ *     {@code spring.liquibase.url}, by default an H2 database file in {@code build/datagen}.</li>
+ * </ul>
+ */
+final class DataGeneratorOptions {
+
+    private static final String SPRING_PREFIX = "spring.";
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private final Map<String, Object> springProperties = new LinkedHashMap<>();
+
+    DataGeneratorOptions(String... args) {
+        values.put("categories", "50");
+        values.put("products", "10000");
+        values.put("customers", "100000");
+        values.put("orders", "1000000");
+        values.put("items", "3000000");
+        values.put("invoices", "900000");
+        values.put("shipments", "800000");
+        values.put("productSkew", "1.0");
+        values.put("customerSkew", "0.5");
+        values.put("days", "730");
+        values.put("batchSize", "1000");
+        values.put("parallelism", "8");
+        values.put("seed", "42");
+        values.put("profile", "prod");
+        springProperties.put("spring.liquibase.url", "jdbc:h2:file:./build/datagen/store;DB_CLOSE_DELAY=-1");
+        springProperties.put("spring.r2dbc.url", "r2dbc:h2:file://././build/datagen/store;DB_CLOSE_DELAY=-1");
+        springProperties.put("spring.r2dbc.username", "r2dbc");
+        springProperties.put("spring.r2dbc.password", "");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid option '" + arg + "', expected <key>=<value>");
+            }
+            String key = arg.substring(0, separator);
+            if (key.startsWith(SPRING_PREFIX)) {
+                springProperties.put(key, arg.substring(separator + 1));
+            } else if (values.containsKey(key)) {
+                values.put(key, arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown option '" + key + "', available options are " + values.keySet());
+            }
+        }
+    }
+
+    int categories() {
+        return Integer.parseInt(values.get("categories"));
+    }
+
+    int products() {
+        return Integer.parseInt(values.get("products"));
+    }
+
+    int customers() {
+        return Integer.parseInt(values.get("customers"));
+    }
+
+    long orders() {
+        return Long.parseLong(values.get("orders"));
+    }
+
+    long items() {
+        return Long.parseLong(values.get("items"));
+    }
+
+    long invoices() {
+        return Long.parseLong(values.get("invoices"));
+    }
+
+    long shipments() {
+        return Long.parseLong(values.get("shipments"));
+    }
+
+    double productSkew() {
+        return Double.parseDouble(values.get("productSkew"));
+    }
+
+    double customerSkew() {
+        return Double.parseDouble(values.get("customerSkew"));
+    }
+
+    int days() {
+        return Integer.parseInt(values.get("days"));
+    }
+
+    int batchSize() {
+        return Integer.parseInt(values.get("batchSize"));
+    }
+
+    int parallelism() {
+        return Integer.parseInt(values.get("parallelism"));
+    }
+
+    long seed() {
+        return Long.parseLong(values.get("seed"));
+    }
+
+    String profile() {
+        return values.get("profile");
+    }
+
+    Map<String, Object> springProperties() {
+        return springProperties;
+    }
+
+    @Override
+    public String toString() {
+        return values + " " + springProperties.keySet();
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.store.datagen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the multi-row {@code INSERT} statements of a table, with up to {@code batchSize} rows each.
+ * <p>
+ * The values are inlined as literals rather than bound, to avoid the limit on the number of bind parameters of a
+ * statement and the differences of bind markers between the databases: they are generated, so only the quotes of the
+ * strings need escaping.
+ */
+final class MultiRowInsert {
+
+    private final String prefix;
+
+    private final int batchSize;
+
+    private final List<String> statements = new ArrayList<>();
+
+    private StringBuilder sql;
+
+    private int rows;
+
+    MultiRowInsert(String table, int batchSize, String... columns) {
+        this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param values the values of the columns: {@code null}, a {@link String} quoted as a literal, or a number written
+     * as is.
+     * @return this.
+     */
+    MultiRowInsert row(Object... values) {
+        if (sql == null) {
+            sql = new StringBuilder(prefix.length() + batchSize * 128).append(prefix);
+        } else {
+            sql.append(", ");
+        }
+        sql.append('(');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            append(values[i]);
+        }
+        sql.append(')');
+        if (++rows == batchSize) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * @return the statements of the rows added so far.
+     */
+    List<String> statements() {
+        flush();
+        return statements;
+    }
+
+    private void flush() {
+        if (sql != null) {
+            statements.add(sql.toString());
+            sql = null;
+            rows = 0;
+        }
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            sql.append("NULL");
+        } else if (value instanceof String) {
+            sql.append('\'').append(((String) value).replace("'", "''")).append('\'');
+        } else {
+            sql.append(value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mycompany.store.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipfian distribution of {@code n} elements: the element of rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / k^exponent}. The ranks are spread over the elements by a fixed permutation, so that the most drawn
+ * elements are not the first ones, such as the first products of each category.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    private final long step;
+
+    ZipfDistribution(int n, double exponent) {
+        cumulativeProbabilities = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulativeProbabilities[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulativeProbabilities[i] /= sum;
+        }
+        step = coprimeStep(n);
+    }
+
+    /**
+     * @return an element, from {@code 0} to {@code n - 1}.
+     */
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, cumulativeProbabilities.length - 1);
+        }
+        return (int) (((rank + 1) * step) % cumulativeProbabilities.length);
+    }
+
+    /**
+     * @return a step coprime with {@code n}, so that {@code (rank + 1) * step % n} is a permutation of the ranks.
+     */
+    private static long coprimeStep(int n) {
+        long step = 2_654_435_761L % n;
+        while (step == 0 || gcd(step, n) != 1) {
+            step++;
+        }
+        return step;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Time-to-ready of the application, from the creation of its context until it is ready to serve requests, in a fresh
+ * JVM per measurement as for a new pod, with and without the Liquibase fast path and the lazy initialisation of the
+ * beans off the hot path.
+ * <p>
+ * The application runs with the {@code prod} and {@code api-docs} profiles against an H2 database file, migrated by
+ * the warmup fork so that the measured boots find an up to date database, as most boots do.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="StartupBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, warmups = 1)
+public class StartupBenchmark {
+
+    private static final String DATABASE = "build/startup-benchmark/store";
+
+    @Param({ "true", "false" })
+    public boolean liquibaseFastPath;
+
+    @Param({ "true", "false" })
+    public boolean lazyInitialization;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public ConfigurableApplicationContext timeToReady() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.liquibase.url", "jdbc:h2:file:./" + DATABASE + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.url", "r2dbc:h2:file://././" + DATABASE + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.username", "r2dbc");
+        properties.put("spring.r2dbc.password", "");
+        properties.put("application.liquibase-fast-path.enabled", liquibaseFastPath);
+        properties.put("application.lazy-initialization.enabled", lazyInitialization);
+        properties.put("logging.level.ROOT", "WARN");
+        properties.put("logging.level.tech.jhipster", "WARN");
+        properties.put("logging.level.com.mycompany.store", "WARN");
+        context =
+            new SpringApplicationBuilder(StoreApp.class)
+                .profiles(JHipsterConstants.SPRING_PROFILE_PRODUCTION, JHipsterConstants.SPRING_PROFILE_API_DOCS)
+                .properties(properties)
+                .run();
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mycompany.store.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductCategory;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.domain.enumeration.OrderStatus;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.domain.enumeration.Size;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares the JSON, Smile and CBOR codecs registered by {@link JacksonConfiguration} on pages of products, product
+ * orders and invoices: encode and decode throughput, and payload size, printed once per trial.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="JacksonCodecBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonCodecBenchmark {
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "20", "1000" })
+    public int pageSize;
+
+    private ObjectWriter productWriter;
+
+    private ObjectReader productReader;
+
+    private ObjectWriter orderWriter;
+
+    private ObjectReader orderReader;
+
+    private ObjectWriter invoiceWriter;
+
+    private ObjectReader invoiceReader;
+
+    private List<Product> products;
+
+    private List<ProductOrder> orders;
+
+    private List<Invoice> invoices;
+
+    private byte[] encodedProducts;
+
+    private byte[] encodedOrders;
+
+    private byte[] encodedInvoices;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper mapper = objectMapper(format);
+        productWriter = mapper.writerFor(new TypeReference<List<Product>>() {});
+        productReader = mapper.readerFor(new TypeReference<List<Product>>() {});
+        orderWriter = mapper.writerFor(new TypeReference<List<ProductOrder>>() {});
+        orderReader = mapper.readerFor(new TypeReference<List<ProductOrder>>() {});
+        invoiceWriter = mapper.writerFor(new TypeReference<List<Invoice>>() {});
+        invoiceReader = mapper.readerFor(new TypeReference<List<Invoice>>() {});
+        products = new ArrayList<>(pageSize);
+        orders = new ArrayList<>(pageSize);
+        invoices = new ArrayList<>(pageSize);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ProductCategory category = new ProductCategory().id(1L).name("Books").description("Paper and electronic books");
+        for (long i = 0; i < pageSize; i++) {
+            products.add(
+                new Product()
+                    .id(i)
+                    .name("Product " + i)
+                    .description("Description of the product " + i)
+                    .price(BigDecimal.valueOf(999 + i, 2))
+                    .productSize(Size.values()[(int) (i % 5)])
+                    .productCategory(category)
+            );
+            orders.add(
+                new ProductOrder().id(i).placedDate(now.minusSeconds(i)).status(OrderStatus.values()[(int) (i % 3)]).code("ORDER-" + i)
+            );
+            invoices.add(
+                new Invoice()
+                    .id(i)
+                    .date(now.minusSeconds(i))
+                    .details("Invoice of the order ORDER-" + i)
+                    .status(InvoiceStatus.values()[(int) (i % 3)])
+                    .paymentMethod(PaymentMethod.values()[(int) (i % 3)])
+                    .paymentDate(now)
+                    .paymentAmount(BigDecimal.valueOf(1999 + i, 2))
+            );
+        }
+        encodedProducts = productWriter.writeValueAsBytes(products);
+        encodedOrders = orderWriter.writeValueAsBytes(orders);
+        encodedInvoices = invoiceWriter.writeValueAsBytes(invoices);
+        System.out.printf(
+            "%n%s payload of %d entities: products %d bytes, product orders %d bytes, invoices %d bytes%n",
+            format,
+            pageSize,
+            encodedProducts.length,
+            encodedOrders.length,
+            encodedInvoices.length
+        );
+    }
+
+    @Benchmark
+    public byte[] encodeProducts() throws IOException {
+        return productWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<Product> decodeProducts() throws IOException {
+        return productReader.readValue(encodedProducts);
+    }
+
+    @Benchmark
+    public byte[] encodeProductOrders() throws IOException {
+        return orderWriter.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<ProductOrder> decodeProductOrders() throws IOException {
+        return orderReader.readValue(encodedOrders);
+    }
+
+    @Benchmark
+    public byte[] encodeInvoices() throws IOException {
+        return invoiceWriter.writeValueAsBytes(invoices);
+    }
+
+    @Benchmark
+    public List<Invoice> decodeInvoices() throws IOException {
+        return invoiceReader.readValue(encodedInvoices);
+    }
+
+    /**
+     * Object mapper with the modules of {@link JacksonConfiguration}, as the Spring Boot builder creates it.
+     */
+    private static ObjectMapper objectMapper(String format) {
+        JsonFactory factory;
+        switch (format) {
+            case "smile":
+                factory = new SmileFactory();
+                break;
+            case "cbor":
+                factory = new CBORFactory();
+                break;
+            default:
+                factory = new JsonFactory();
+        }
+        return Jackson2ObjectMapperBuilder.json().factory(factory).modules(new JavaTimeModule(), new Jdk8Module()).build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.config.DatabaseConfiguration;
+import com.mycompany.store.service.ColumnConverter;
+import com.mycompany.store.service.EntityManager;
+import io.r2dbc.spi.ConnectionFactories;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * The persistence beans of {@link DatabaseConfiguration}, built for the H2 dialect without a Spring context.
+ * <p>
+ * The connection factory is never connected to: the benchmarks only convert rows and render SQL.
+ */
+final class PersistenceFixtures {
+
+    private final R2dbcCustomConversions conversions;
+
+    private final MappingR2dbcConverter converter;
+
+    private final DatabaseConfiguration configuration = new DatabaseConfiguration(new StandardEnvironment());
+
+    PersistenceFixtures() {
+        conversions = configuration.r2dbcCustomConversions(H2Dialect.INSTANCE);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingR2dbcConverter(mappingContext, conversions);
+    }
+
+    ColumnConverter columnConverter() {
+        return new ColumnConverter(conversions, converter);
+    }
+
+    EntityManager entityManager() {
+        DatabaseClient databaseClient = DatabaseClient
+            .builder()
+            .connectionFactory(ConnectionFactories.get("r2dbc:h2:mem:///benchmark"))
+            .bindMarkers(H2Dialect.INSTANCE.getBindMarkersFactory())
+            .build();
+        return new EntityManager(
+            configuration.sqlRenderer(H2Dialect.INSTANCE),
+            configuration.updateMapper(H2Dialect.INSTANCE, converter),
+            new R2dbcEntityTemplate(databaseClient, H2Dialect.INSTANCE, converter)
+        );
+    }
+}
@@ -0,0 +1,302 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.Customer;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductCategory;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.Shipment;
+import com.mycompany.store.domain.User;
+import com.mycompany.store.repository.rowmapper.CustomerRowMapper;
+import com.mycompany.store.repository.rowmapper.InvoiceRowMapper;
+import com.mycompany.store.repository.rowmapper.OrderItemRowMapper;
+import com.mycompany.store.repository.rowmapper.ProductCategoryRowMapper;
+import com.mycompany.store.repository.rowmapper.ProductOrderRowMapper;
+import com.mycompany.store.repository.rowmapper.ProductRowMapper;
+import com.mycompany.store.repository.rowmapper.ShipmentRowMapper;
+import com.mycompany.store.repository.rowmapper.UserRowMapper;
+import com.mycompany.store.service.ColumnConverter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mapping of a row to an entity, by {@link ColumnConverter#fromRow} and each row mapper, against
+ * {@link SyntheticRow}s holding the values as the H2 driver decodes them.
+ * <p>
+ * {@code fromRowDirect} reads a value the driver returns as is, {@code fromRowConverted} one it can't, which goes through
+ * the exception and the conversion service, as every {@link Instant} and enumeration column does.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="RowMapperBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String PREFIX = "e";
+
+    private ColumnConverter converter;
+
+    private ProductCategoryRowMapper productCategoryMapper;
+
+    private ProductRowMapper productMapper;
+
+    private CustomerRowMapper customerMapper;
+
+    private ProductOrderRowMapper productOrderMapper;
+
+    private OrderItemRowMapper orderItemMapper;
+
+    private InvoiceRowMapper invoiceMapper;
+
+    private ShipmentRowMapper shipmentMapper;
+
+    private UserRowMapper userMapper;
+
+    private SparseFieldset productFieldset;
+
+    private SyntheticRow productCategoryRow;
+
+    private SyntheticRow productRow;
+
+    private SyntheticRow customerRow;
+
+    private SyntheticRow productOrderRow;
+
+    private SyntheticRow orderItemRow;
+
+    private SyntheticRow invoiceRow;
+
+    private SyntheticRow shipmentRow;
+
+    private SyntheticRow userRow;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        converter = new PersistenceFixtures().columnConverter();
+        productCategoryMapper = new ProductCategoryRowMapper(converter);
+        productMapper = new ProductRowMapper(converter);
+        customerMapper = new CustomerRowMapper(converter);
+        productOrderMapper = new ProductOrderRowMapper(converter);
+        orderItemMapper = new OrderItemRowMapper(converter);
+        invoiceMapper = new InvoiceRowMapper(converter);
+        shipmentMapper = new ShipmentRowMapper(converter);
+        userMapper = new UserRowMapper(converter);
+        productFieldset = SparseFieldset.parse("name,price", ProductRepository.FIELDS);
+
+        LocalDateTime date = LocalDateTime.of(2021, 11, 8, 10, 30);
+        productCategoryRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of("id", 1L, "name", "Books", "description", "Paper and electronic books", "last_modified_date", date)
+            );
+        productRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    2L,
+                    "name",
+                    "Refactoring",
+                    "description",
+                    "Improving the design of existing code",
+                    "price",
+                    new BigDecimal("39.99"),
+                    "product_size",
+                    "M",
+                    "last_modified_date",
+                    date,
+                    "product_category_id",
+                    1L
+                )
+            );
+        customerRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    3L,
+                    "first_name",
+                    "Ada",
+                    "last_name",
+                    "Lovelace",
+                    "gender",
+                    "FEMALE",
+                    "email",
+                    "ada@localhost",
+                    "phone",
+                    "+44 20 7946 0000",
+                    "city",
+                    "London",
+                    "country",
+                    "United Kingdom",
+                    "last_modified_date",
+                    date,
+                    "user_id",
+                    4L
+                )
+            );
+        productOrderRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    5L,
+                    "placed_date",
+                    date,
+                    "status",
+                    "PENDING",
+                    "code",
+                    "ORDER-5",
+                    "total_amount",
+                    new BigDecimal("79.98"),
+                    "item_count",
+                    1,
+                    "customer_id",
+                    3L
+                )
+            );
+        orderItemRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    6L,
+                    "quantity",
+                    2,
+                    "total_price",
+                    new BigDecimal("79.98"),
+                    "status",
+                    "AVAILABLE",
+                    "product_id",
+                    2L,
+                    "order_id",
+                    5L
+                )
+            );
+        invoiceRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    7L,
+                    "date",
+                    date,
+                    "details",
+                    "Invoice of the order ORDER-5",
+                    "status",
+                    "PAID",
+                    "payment_method",
+                    "CREDIT_CARD",
+                    "payment_date",
+                    date,
+                    "payment_amount",
+                    new BigDecimal("79.98"),
+                    "order_id",
+                    5L
+                )
+            );
+        shipmentRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of("id", 8L, "tracking_code", "TRACK-8", "date", date, "details", "Shipped by post", "invoice_id", 7L)
+            );
+        userRow =
+            new SyntheticRow(
+                PREFIX,
+                Map.of(
+                    "id",
+                    4L,
+                    "login",
+                    "ada",
+                    "password",
+                    "$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC",
+                    "first_name",
+                    "Ada",
+                    "last_name",
+                    "Lovelace",
+                    "email",
+                    "ada@localhost",
+                    "activated",
+                    Boolean.TRUE,
+                    "lang_key",
+                    "en",
+                    "image_url",
+                    "http://placehold.it/50x50"
+                )
+            );
+    }
+
+    @Benchmark
+    public Long fromRowDirect() {
+        return converter.fromRow(productRow, "e_id", Long.class);
+    }
+
+    @Benchmark
+    public Instant fromRowConverted() {
+        return converter.fromRow(productRow, "e_last_modified_date", Instant.class);
+    }
+
+    @Benchmark
+    public ProductCategory productCategory() {
+        return productCategoryMapper.apply(productCategoryRow, PREFIX);
+    }
+
+    @Benchmark
+    public Product product() {
+        return productMapper.apply(productRow, PREFIX);
+    }
+
+    @Benchmark
+    public Product productFieldset() {
+        return productMapper.apply(productRow, PREFIX, productFieldset);
+    }
+
+    @Benchmark
+    public Customer customer() {
+        return customerMapper.apply(customerRow, PREFIX);
+    }
+
+    @Benchmark
+    public ProductOrder productOrder() {
+        return productOrderMapper.apply(productOrderRow, PREFIX);
+    }
+
+    @Benchmark
+    public OrderItem orderItem() {
+        return orderItemMapper.apply(orderItemRow, PREFIX);
+    }
+
+    @Benchmark
+    public Invoice invoice() {
+        return invoiceMapper.apply(invoiceRow, PREFIX);
+    }
+
+    @Benchmark
+    public Shipment shipment() {
+        return shipmentMapper.apply(shipmentRow, PREFIX);
+    }
+
+    @Benchmark
+    public User user() {
+        return userMapper.apply(userRow, PREFIX);
+    }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.store.repository;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.service.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+
+/**
+ * Measures the rendering of the selects of the repositories by {@link EntityManager#createSelect}, which every
+ * query does before going to the database: the select builder, the pagination, the sort and the criteria.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="SelectRenderingBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectRenderingBenchmark {
+
+    private static final Table productTable = Table.aliased("product", EntityManager.ENTITY_ALIAS);
+
+    private static final Table productCategoryTable = Table.aliased("product_category", "productCategory");
+
+    private static final Table productOrderTable = Table.aliased("product_order", EntityManager.ENTITY_ALIAS);
+
+    private static final Table customerTable = Table.aliased("customer", "customer");
+
+    private EntityManager entityManager;
+
+    private Pageable pageable;
+
+    private SparseFieldset productFieldset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        entityManager = new PersistenceFixtures().entityManager();
+        pageable = PageRequest.of(2, 20, Sort.by("name").ascending().and(Sort.by("id")));
+        productFieldset = SparseFieldset.parse("name,price", ProductRepository.FIELDS);
+    }
+
+    @Benchmark
+    public String productPage() {
+        List<Expression> columns = ProductSqlHelper.getColumns(productTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(ProductCategorySqlHelper.getColumns(productCategoryTable, "productCategory"));
+        return entityManager.createSelect(
+            Select
+                .builder()
+                .select(columns)
+                .from(productTable)
+                .leftOuterJoin(productCategoryTable)
+                .on(Column.create("product_category_id", productTable))
+                .equals(Column.create("id", productCategoryTable)),
+            Product.class,
+            pageable,
+            null
+        );
+    }
+
+    @Benchmark
+    public String productFieldsetPage() {
+        List<Expression> columns = ProductSqlHelper.getColumns(productTable, EntityManager.ENTITY_ALIAS, productFieldset);
+        return entityManager.createSelect(Select.builder().select(columns).from(productTable), Product.class, pageable, null);
+    }
+
+    @Benchmark
+    public String productOrderById() {
+        List<Expression> columns = ProductOrderSqlHelper.getColumns(productOrderTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(CustomerSqlHelper.getColumns(customerTable, "customer"));
+        return entityManager.createSelect(
+            Select
+                .builder()
+                .select(columns)
+                .from(productOrderTable)
+                .leftOuterJoin(customerTable)
+                .on(Column.create("customer_id", productOrderTable))
+                .equals(Column.create("id", customerTable)),
+            ProductOrder.class,
+            null,
+            where("id").is(42L)
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.mycompany.store.repository;
+
+import io.r2dbc.spi.Row;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory {@link Row} holding the values as the H2 driver decodes them: temporal columns as
+ * {@link java.time.LocalDateTime}, enumerations as {@link String}.
+ * <p>
+ * Like the driver, it only returns a value as its own type and throws otherwise, so that the
+ * {@link com.mycompany.store.service.ColumnConverter} falls back on its conversions as it does against the database.
+ */
+final class SyntheticRow implements Row {
+
+    private final Map<String, Object> values = new HashMap<>();
+
+    /**
+     * @param prefix the column prefix of the entity, as passed to its row mapper.
+     * @param valuesByColumn the values, by column name without the prefix.
+     */
+    SyntheticRow(String prefix, Map<String, Object> valuesByColumn) {
+        valuesByColumn.forEach((column, value) -> values.put(prefix + '_' + column, value));
+    }
+
+    @Override
+    public <T> T get(int index, Class<T> type) {
+        throw new UnsupportedOperationException("Columns are read by name");
+    }
+
+    @Override
+    public <T> T get(String name, Class<T> type) {
+        Object value = values.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " to " + type.getName());
+        }
+        return type.cast(value);
+    }
+
+    @Override
+    public Object get(String name) {
+        return values.get(name);
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the compare-and-set reservations of {@link StockCounters} with reservations serialised on a lock per
+ * product, as a row lock would, under contention: all the threads order among {@code products} products, a single one
+ * being a flash sale.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="StockCountersBenchmark"}, and with {@code -t <threads>} to vary the
+ * contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class StockCountersBenchmark {
+
+    @Param({ "1", "64" })
+    public int products;
+
+    private StockCounters counters;
+
+    private LockedCounter[] lockedCounters;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        // enough stock not to run out during an iteration
+        counters = new StockCounters();
+        lockedCounters = new LockedCounter[products];
+        for (int i = 0; i < products; i++) {
+            counters.put((long) i, Integer.MAX_VALUE);
+            lockedCounters[i] = new LockedCounter(Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public OrderItemStatus reserveCompareAndSet() {
+        return counters.reserve((long) ThreadLocalRandom.current().nextInt(products), 1);
+    }
+
+    @Benchmark
+    public OrderItemStatus reserveLocked() {
+        return lockedCounters[ThreadLocalRandom.current().nextInt(products)].reserve(1);
+    }
+
+    private static final class LockedCounter {
+
+        private int quantity;
+
+        LockedCounter(int quantity) {
+            this.quantity = quantity;
+        }
+
+        synchronized OrderItemStatus reserve(int reserved) {
+            if (quantity < reserved) {
+                return OrderItemStatus.OUT_OF_STOCK;
+            }
+            quantity -= reserved;
+            return OrderItemStatus.AVAILABLE;
+        }
+    }
+}
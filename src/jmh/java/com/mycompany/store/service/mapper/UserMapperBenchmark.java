@@ -0,0 +1,91 @@
+package com.mycompany.store.service.mapper;
+
+import com.mycompany.store.domain.Authority;
+import com.mycompany.store.domain.User;
+import com.mycompany.store.security.AuthoritiesConstants;
+import com.mycompany.store.service.dto.AdminUserDTO;
+import com.mycompany.store.service.dto.UserDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link UserMapper} conversions of pages of users, as the user management endpoints do.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhArgs="UserMapperBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "1000" })
+    public int pageSize;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    private List<AdminUserDTO> adminUserDTOs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        userMapper = new UserMapper();
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        Authority adminAuthority = new Authority();
+        adminAuthority.setName(AuthoritiesConstants.ADMIN);
+        users = new ArrayList<>(pageSize);
+        Instant now = Instant.now();
+        for (long i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setLogin("user-" + i);
+            user.setFirstName("First " + i);
+            user.setLastName("Last " + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setImageUrl("http://placehold.it/50x50");
+            user.setCreatedBy("system");
+            user.setCreatedDate(now);
+            user.setLastModifiedBy("system");
+            user.setLastModifiedDate(now);
+            user.setAuthorities(i % 10 == 0 ? Set.of(userAuthority, adminAuthority) : Set.of(userAuthority));
+            users.add(user);
+        }
+        adminUserDTOs = userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<User> userDTOsToUsers() {
+        return userMapper.userDTOsToUsers(adminUserDTOs);
+    }
+}
@@ -0,0 +1,156 @@
+package com.mycompany.store.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Requests sent to an endpoint at a fixed arrival rate, an open workload, and their latency histograms.
+ * <p>
+ * The response time of a request is measured from the time it was due, not from the time it was sent: when the
+ * requests queue up behind a slow one, or behind the load generator itself, their wait is counted instead of being
+ * omitted, which is the coordinated omission of closed-loop load generators. The service time, from the time the
+ * request was sent, is recorded as well to show the difference.
+ */
+final class EndpointLoad {
+
+    private final String name;
+
+    private final double rate;
+
+    private final Supplier<WebClient.RequestHeadersSpec<?>> request;
+
+    private final Histogram responseTimes = new ConcurrentHistogram(3);
+
+    private final Histogram serviceTimes = new ConcurrentHistogram(3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param name the name of the endpoint in the reports and options.
+     * @param rate the arrival rate, per second.
+     * @param request supplies each request, randomized.
+     */
+    EndpointLoad(String name, double rate, Supplier<WebClient.RequestHeadersSpec<?>> request) {
+        this.name = name;
+        this.rate = rate;
+        this.request = request;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Sends the requests, the first one at {@code startNanos}, and records those due after the warmup.
+     *
+     * @param startNanos the start of the load, in {@link System#nanoTime()}.
+     * @param warmup the duration of the warmup.
+     * @param duration the duration of the measurement.
+     * @param maxInFlight the maximum number of requests in flight.
+     * @param ticker the scheduler of the arrivals.
+     * @return a Mono completing when all the requests are answered.
+     */
+    Mono<Void> run(long startNanos, Duration warmup, Duration duration, int maxInFlight, Scheduler ticker) {
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long measuredFrom = startNanos + warmup.toNanos();
+        long arrivals = warmup.plus(duration).toNanos() / periodNanos;
+        Duration delay = Duration.ofNanos(Math.max(0, startNanos - System.nanoTime()));
+        return Flux
+            .interval(delay, Duration.ofNanos(periodNanos), ticker)
+            .take(arrivals)
+            .onBackpressureDrop(arrival -> {
+                if (startNanos + arrival * periodNanos >= measuredFrom) {
+                    dropped.increment();
+                }
+            })
+            .flatMap(arrival -> send(startNanos + arrival * periodNanos, measuredFrom), maxInFlight)
+            .then();
+    }
+
+    private Mono<Void> send(long dueNanos, long measuredFrom) {
+        long sentNanos = System.nanoTime();
+        return request
+            .get()
+            .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()))
+            .onErrorReturn(false)
+            .doOnNext(success -> {
+                if (dueNanos < measuredFrom) {
+                    return;
+                }
+                long now = System.nanoTime();
+                responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(now - dueNanos));
+                serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(now - sentNanos));
+                if (!success) {
+                    errors.increment();
+                }
+            })
+            .then();
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf(
+            "%-14s %9s %9s %7s %8s | %-41s | %-41s%n",
+            "endpoint",
+            "requests",
+            "req/s",
+            "errors",
+            "dropped",
+            "response time ms: p50 p90 p99 p99.9 max",
+            "service time ms: p50 p90 p99 p99.9 max"
+        );
+    }
+
+    void printSummary(PrintStream out, Duration duration) {
+        out.printf(
+            "%-14s %9d %9.1f %7d %8d | %s | %s%n",
+            name,
+            responseTimes.getTotalCount(),
+            responseTimes.getTotalCount() / (duration.toNanos() / 1e9),
+            errors.sum(),
+            dropped.sum(),
+            percentiles(responseTimes),
+            percentiles(serviceTimes)
+        );
+    }
+
+    /**
+     * Writes the percentile distributions of the response and service times, in milliseconds, in the format of the
+     * HdrHistogram plotter, to compare runs.
+     *
+     * @param directory the report directory.
+     * @throws IOException if a file could not be written.
+     */
+    void writeDistributions(Path directory) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".response.hgrm")))) {
+            responseTimes.outputPercentileDistribution(out, 1000.0);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".service.hgrm")))) {
+            serviceTimes.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format(
+            "%7.1f %7.1f %7.1f %7.1f %7.1f",
+            histogram.getValueAtPercentile(50) / 1000.0,
+            histogram.getValueAtPercentile(90) / 1000.0,
+            histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getMaxValue() / 1000.0
+        );
+    }
+}
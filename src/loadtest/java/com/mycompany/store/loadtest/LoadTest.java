@@ -0,0 +1,281 @@
+package com.mycompany.store.loadtest;
+
+import com.mycompany.store.StoreApp;
+import com.mycompany.store.domain.Customer;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductCategory;
+import com.mycompany.store.domain.enumeration.Gender;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.domain.enumeration.Size;
+import com.mycompany.store.service.CustomerService;
+import com.mycompany.store.service.ProductCategoryService;
+import com.mycompany.store.service.ProductService;
+import com.mycompany.store.service.dto.CheckoutDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Load test harness: starts the application on an in-memory H2 database, seeds a dataset, and sends a mix of requests
+ * at fixed arrival rates through a {@link WebClient}, to compare the latency and throughput of builds.
+ * <p>
+ * The traffic is made of logins, product pages, products by id, checkouts, and the user and order listings of an
+ * administrator. The response and service times of each endpoint, see {@link EndpointLoad}, are printed and written,
+ * with the percentile distributions, in the report directory.
+ * <p>
+ * The application runs with the {@code prod} profile, without the debug agents of {@code dev}, in the JVM of the load
+ * generator. To compare the scaling across cores, pin the whole JVM with {@code taskset}, or run the application in
+ * another one and give its {@code baseUrl}.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTestArgs="rate.checkout=50 duration=PT2M"}, see {@link LoadTestOptions}.
+ */
+public final class LoadTest {
+
+    private static final String[] ENDPOINTS = { "login", "products", "product", "checkout", "admin-users", "admin-orders" };
+
+    private final LoadTestOptions options;
+
+    private final SplittableRandom random;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    private final List<Long> customerIds = new ArrayList<>();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = new LoadTestOptions(args);
+        System.out.println("Load test with " + options);
+        new LoadTest(options).run();
+    }
+
+    private void run() throws IOException {
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl.isEmpty()) {
+            context = startApplication();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            seed(context);
+        }
+        ConnectionProvider connectionProvider = ConnectionProvider
+            .builder("load-test")
+            .maxConnections(options.maxInFlight() * ENDPOINTS.length)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        Scheduler ticker = Schedulers.newSingle("load-test-ticker");
+        try {
+            WebClient client = WebClient
+                .builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+            String userToken = authenticate(client, "user");
+            String adminToken = authenticate(client, "admin");
+            List<EndpointLoad> loads = endpoints(client, userToken, adminToken);
+
+            long startNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            Flux
+                .fromIterable(loads)
+                .flatMap(load -> load.run(startNanos, options.warmup(), options.duration(), options.maxInFlight(), ticker))
+                .blockLast();
+            report(loads);
+        } finally {
+            ticker.dispose();
+            connectionProvider.dispose();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.liquibase.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        properties.put("spring.r2dbc.username", "r2dbc");
+        properties.put("spring.r2dbc.password", "");
+        properties.put("logging.level.ROOT", "WARN");
+        properties.put("logging.level.tech.jhipster", "WARN");
+        properties.put("logging.level.com.mycompany.store", "WARN");
+        return new SpringApplicationBuilder(StoreApp.class)
+            .profiles(JHipsterConstants.SPRING_PROFILE_PRODUCTION)
+            .properties(properties)
+            .run();
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        ProductCategoryService productCategoryService = context.getBean(ProductCategoryService.class);
+        ProductService productService = context.getBean(ProductService.class);
+        CustomerService customerService = context.getBean(CustomerService.class);
+        long start = System.nanoTime();
+        List<ProductCategory> categories = Flux
+            .range(0, options.categories())
+            .concatMap(i -> productCategoryService.save(new ProductCategory().name("Category " + i).description("Category " + i)))
+            .collectList()
+            .block();
+        Flux
+            .range(0, options.products())
+            .map(i ->
+                new Product()
+                    .name("Product " + i)
+                    .description("Description of the product " + i)
+                    .price(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                    .productSize(Size.values()[random.nextInt(Size.values().length)])
+                    .productCategory(categories.get(random.nextInt(categories.size())))
+            )
+            .flatMap(productService::save, 8)
+            .doOnNext(product -> productIds.add(product.getId()))
+            .blockLast();
+        Flux
+            .range(0, options.customers())
+            .map(i ->
+                new Customer()
+                    .firstName("First " + i)
+                    .lastName("Last " + i)
+                    .gender(Gender.values()[i % Gender.values().length])
+                    .email("customer-" + i + "@localhost")
+                    .phone("+1 555 01" + String.format("%02d", i % 100))
+                    .addressLine1(i + " Main Street")
+                    .city("City " + i % 50)
+                    .country("Country " + i % 10)
+            )
+            .flatMap(customerService::save, 8)
+            .doOnNext(customer -> customerIds.add(customer.getId()))
+            .blockLast();
+        System.out.printf(
+            "Seeded %d categories, %d products and %d customers in %d ms%n",
+            categories.size(),
+            productIds.size(),
+            customerIds.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        );
+    }
+
+    private static String authenticate(WebClient client, String login) {
+        return client
+            .post()
+            .uri("/api/authenticate")
+            .bodyValue(Map.of("username", login, "password", login))
+            .retrieve()
+            .toBodilessEntity()
+            .map(response -> response.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+            .block();
+    }
+
+    private List<EndpointLoad> endpoints(WebClient client, String userToken, String adminToken) {
+        List<EndpointLoad> loads = new ArrayList<>();
+        addEndpoint(
+            loads,
+            "login",
+            () -> client.post().uri("/api/authenticate").bodyValue(Map.of("username", "user", "password", "user"))
+        );
+        addEndpoint(
+            loads,
+            "products",
+            () ->
+                client
+                    .get()
+                    .uri("/api/products?page={page}&size=20", nextInt(Math.max(1, productIds.size() / 20)))
+                    .header(HttpHeaders.AUTHORIZATION, userToken)
+        );
+        addEndpoint(
+            loads,
+            "product",
+            () -> client.get().uri("/api/products/{id}", nextId(productIds)).header(HttpHeaders.AUTHORIZATION, userToken)
+        );
+        addEndpoint(
+            loads,
+            "checkout",
+            () -> client.post().uri("/api/checkout").header(HttpHeaders.AUTHORIZATION, userToken).bodyValue(checkout())
+        );
+        addEndpoint(
+            loads,
+            "admin-users",
+            () -> client.get().uri("/api/admin/users?page=0&size=20").header(HttpHeaders.AUTHORIZATION, adminToken)
+        );
+        addEndpoint(
+            loads,
+            "admin-orders",
+            () -> client.get().uri("/api/product-orders?page=0&size=20&sort=id,desc").header(HttpHeaders.AUTHORIZATION, adminToken)
+        );
+        return loads;
+    }
+
+    private void addEndpoint(List<EndpointLoad> loads, String name, Supplier<WebClient.RequestHeadersSpec<?>> request) {
+        double rate = options.rate(name);
+        if (rate > 0) {
+            loads.add(new EndpointLoad(name, rate, request));
+        }
+    }
+
+    private CheckoutDTO checkout() {
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setCustomerId(customerIds.isEmpty() ? null : nextId(customerIds));
+        checkout.setPaymentMethod(PaymentMethod.values()[nextInt(PaymentMethod.values().length)]);
+        int items = 1 + nextInt(3);
+        for (int i = 0; i < items; i++) {
+            checkout.getItems().add(new CheckoutDTO.Item(nextId(productIds), 1 + nextInt(2)));
+        }
+        return checkout;
+    }
+
+    private Long nextId(List<Long> ids) {
+        return ids.isEmpty() ? 1L : ids.get(nextInt(ids.size()));
+    }
+
+    /**
+     * The requests are built on the ticker and the event loops, which share the random generator.
+     */
+    private synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private void report(List<EndpointLoad> loads) throws IOException {
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(summary, true, StandardCharsets.UTF_8)) {
+            out.printf(
+                "%d processors, %s warmup, %s measured, %s%n",
+                Runtime.getRuntime().availableProcessors(),
+                options.warmup(),
+                options.duration(),
+                options
+            );
+            EndpointLoad.printHeader(out);
+            for (EndpointLoad load : loads) {
+                load.printSummary(out, options.duration());
+            }
+        }
+        System.out.print(summary.toString(StandardCharsets.UTF_8));
+        Files.createDirectories(options.reportDir());
+        Files.write(options.reportDir().resolve("summary.txt"), summary.toByteArray());
+        for (EndpointLoad load : loads) {
+            load.writeDistributions(options.reportDir());
+        }
+        System.out.println("Reports written to " + options.reportDir().toAbsolutePath());
+    }
+}
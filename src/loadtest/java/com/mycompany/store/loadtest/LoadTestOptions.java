@@ -0,0 +1,101 @@
+package com.mycompany.store.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options of the {@link LoadTest}, given as {@code key=value} arguments.
+ * <ul>
+ *     <li>{@code baseUrl}: URL of an already running application, which must then be seeded by other means; by default
+ *     the application is started in this JVM, on an in-memory H2 database, and seeded.</li>
+ *     <li>{@code categories}, {@code products}, {@code customers}: size of the seeded dataset.</li>
+ *     <li>{@code rate.<endpoint>}: arrival rate of the requests to the endpoint, per second, {@code 0} to skip it.</li>
+ *     <li>{@code warmup}, {@code duration}: ISO-8601 durations of the warmup, which is not recorded, and of the
+ *     measurement.</li>
+ *     <li>{@code maxInFlight}: maximum number of requests in flight per endpoint, the arrivals beyond it being dropped and
+ *     counted.</li>
+ *     <li>{@code seed}: seed of the random dataset and requests.</li>
+ *     <li>{@code reportDir}: directory of the reports.</li>
+ * </ul>
+ */
+final class LoadTestOptions {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    LoadTestOptions(String... args) {
+        values.put("baseUrl", "");
+        values.put("categories", "20");
+        values.put("products", "1000");
+        values.put("customers", "200");
+        values.put("rate.login", "2");
+        values.put("rate.products", "100");
+        values.put("rate.product", "200");
+        values.put("rate.checkout", "20");
+        values.put("rate.admin-users", "2");
+        values.put("rate.admin-orders", "5");
+        values.put("warmup", "PT10S");
+        values.put("duration", "PT60S");
+        values.put("maxInFlight", "1000");
+        values.put("seed", "42");
+        values.put("reportDir", "build/reports/loadtest");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid option '" + arg + "', expected <key>=<value>");
+            }
+            String key = arg.substring(0, separator);
+            if (!values.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option '" + key + "', available options are " + values.keySet());
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+    }
+
+    String baseUrl() {
+        return values.get("baseUrl");
+    }
+
+    int categories() {
+        return Integer.parseInt(values.get("categories"));
+    }
+
+    int products() {
+        return Integer.parseInt(values.get("products"));
+    }
+
+    int customers() {
+        return Integer.parseInt(values.get("customers"));
+    }
+
+    double rate(String endpoint) {
+        return Double.parseDouble(values.get("rate." + endpoint));
+    }
+
+    Duration warmup() {
+        return Duration.parse(values.get("warmup"));
+    }
+
+    Duration duration() {
+        return Duration.parse(values.get("duration"));
+    }
+
+    int maxInFlight() {
+        return Integer.parseInt(values.get("maxInFlight"));
+    }
+
+    long seed() {
+        return Long.parseLong(values.get("seed"));
+    }
+
+    Path reportDir() {
+        return Paths.get(values.get("reportDir"));
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
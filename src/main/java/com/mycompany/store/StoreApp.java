@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
@@ -24,6 +25,11 @@ public class StoreApp {
 
     private static final Logger log = LoggerFactory.getLogger(StoreApp.class);
 
+    /**
+     * Maximum number of startup steps buffered for {@code /management/startup}.
+     */
+    private static final int STARTUP_STEPS = 4096;
+
     private final Environment env;
 
     public StoreApp(Environment env) {
@@ -66,6 +72,7 @@ public class StoreApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(StoreApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
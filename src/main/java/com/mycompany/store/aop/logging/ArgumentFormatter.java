@@ -0,0 +1,46 @@
+package com.mycompany.store.aop.logging;
+
+/**
+ * Formats method arguments for logs, truncating each of them so that large values, such as product images, are
+ * never written out in full.
+ */
+public final class ArgumentFormatter {
+
+    private static final String ELLIPSIS = "...";
+
+    private ArgumentFormatter() {}
+
+    /**
+     * Formats the arguments like {@link java.util.Arrays#toString(Object[])} does, each one being cut to
+     * {@code maxLength} characters.
+     *
+     * @param args the arguments.
+     * @param maxLength the maximum length of each formatted argument.
+     * @return the formatted arguments.
+     */
+    public static String format(Object[] args, int maxLength) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(format(args[i], maxLength));
+        }
+        return builder.append(']').toString();
+    }
+
+    private static String format(Object arg, int maxLength) {
+        if (arg instanceof byte[]) {
+            // don't render binary content, its size is what matters
+            return "byte[" + ((byte[]) arg).length + "]";
+        }
+        String value = String.valueOf(arg);
+        if (value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, Math.max(0, maxLength - ELLIPSIS.length())) + ELLIPSIS;
+    }
+}
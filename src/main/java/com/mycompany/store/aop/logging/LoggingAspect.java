@@ -1,6 +1,5 @@
 package com.mycompany.store.aop.logging;
 
-import java.util.Arrays;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -21,6 +20,8 @@ import tech.jhipster.config.JHipsterConstants;
 @Aspect
 public class LoggingAspect {
 
+    private static final int MAX_ARGUMENT_LENGTH = 200;
+
     private final Environment env;
 
     public LoggingAspect(Environment env) {
@@ -99,7 +100,11 @@ public class LoggingAspect {
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         Logger log = logger(joinPoint);
         if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug(
+                "Enter: {}() with argument[s] = {}",
+                joinPoint.getSignature().getName(),
+                ArgumentFormatter.format(joinPoint.getArgs(), MAX_ARGUMENT_LENGTH)
+            );
         }
         try {
             Object result = joinPoint.proceed();
@@ -108,7 +113,11 @@ public class LoggingAspect {
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            log.error(
+                "Illegal argument: {} in {}()",
+                ArgumentFormatter.format(joinPoint.getArgs(), MAX_ARGUMENT_LENGTH),
+                joinPoint.getSignature().getName()
+            );
             throw e;
         }
     }
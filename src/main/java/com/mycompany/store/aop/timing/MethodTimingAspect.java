@@ -0,0 +1,169 @@
+package com.mycompany.store.aop.timing;
+
+import com.mycompany.store.aop.logging.ArgumentFormatter;
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Aspect recording the latency of service, repository and Web REST endpoint methods into Micrometer timers.
+ * <p>
+ * For methods returning a {@link Mono} or a {@link Flux}, the timer starts when the returned publisher is subscribed
+ * to, and stops on its terminal signal, not when the method returns: the latency then covers the actual database and
+ * network work, and neither the time the publisher waits to be subscribed to nor several subscriptions skew it. Only a
+ * fraction of the calls, {@code application.method-timing.sample-rate}, is recorded, and the arguments are only
+ * formatted, truncated, when a sampled call is slower than {@code application.method-timing.slow-threshold}.
+ * <p>
+ * It is only registered when {@code application.method-timing.enabled} is {@code true}, so that disabled timing does
+ * not even proxy the beans.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    static final String METRIC_NAME = "store.method";
+
+    private final Logger log = LoggerFactory.getLogger(MethodTimingAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final int maxArgumentLength;
+
+    private final Map<JoinPoint.StaticPart, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.MethodTiming properties = applicationProperties.getMethodTiming();
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.maxArgumentLength = properties.getMaxArgumentLength();
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(com.mycompany.store.repository..*)" +
+        " || within(com.mycompany.store.service..*)" +
+        " || within(com.mycompany.store.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times sampled method calls until their result completes.
+     *
+     * @param joinPoint join point for advice.
+     * @return result, decorated to be timed when it is a {@link Mono} or a {@link Flux}.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, start, SignalType.ON_ERROR);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            Mono<?> mono = (Mono<?>) result;
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doFinally(signal -> record(joinPoint, subscribed, signal));
+            });
+        }
+        if (result instanceof Flux) {
+            Flux<?> flux = (Flux<?>) result;
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doFinally(signal -> record(joinPoint, subscribed, signal));
+            });
+        }
+        record(joinPoint, start, SignalType.ON_COMPLETE);
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long start, SignalType signal) {
+        long duration = System.nanoTime() - start;
+        timers.computeIfAbsent(joinPoint.getStaticPart(), MethodTimers::new).get(signal).record(duration, TimeUnit.NANOSECONDS);
+        if (duration >= slowThresholdNanos && log.isInfoEnabled()) {
+            log.info(
+                "Slow call: {}.{}() took {} ms with argument[s] = {}",
+                joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                joinPoint.getSignature().getName(),
+                TimeUnit.NANOSECONDS.toMillis(duration),
+                ArgumentFormatter.format(joinPoint.getArgs(), maxArgumentLength)
+            );
+        }
+    }
+
+    private class MethodTimers {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer cancel;
+
+        MethodTimers(JoinPoint.StaticPart staticPart) {
+            this.success = timer(staticPart, "success");
+            this.error = timer(staticPart, "error");
+            this.cancel = timer(staticPart, "cancel");
+        }
+
+        private Timer timer(JoinPoint.StaticPart staticPart, String outcome) {
+            return Timer
+                .builder(METRIC_NAME)
+                .tag("class", staticPart.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", staticPart.getSignature().getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+
+        Timer get(SignalType signal) {
+            switch (signal) {
+                case ON_ERROR:
+                    return error;
+                case CANCEL:
+                    return cancel;
+                default:
+                    return success;
+            }
+        }
+    }
+}
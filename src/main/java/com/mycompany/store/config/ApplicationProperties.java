@@ -1,5 +1,10 @@
 package com.mycompany.store.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +14,941 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final HttpCache httpCache = new HttpCache();
+
+    private final Stock stock = new Stock();
+
+    private final OrderTotals orderTotals = new OrderTotals();
+
+    private final SalesReport salesReport = new SalesReport();
+
+    private final InvoiceSettlement invoiceSettlement = new InvoiceSettlement();
+
+    private final LookupCache lookupCache = new LookupCache();
+
+    private final EntityChangeLog entityChangeLog = new EntityChangeLog();
+
+    private final BlockingDetection blockingDetection = new BlockingDetection();
+
+    private final QueryMonitoring queryMonitoring = new QueryMonitoring();
+
+    private final SchedulerMetrics schedulerMetrics = new SchedulerMetrics();
+
+    private final FlightRecording flightRecording = new FlightRecording();
+
+    private final LiquibaseFastPath liquibaseFastPath = new LiquibaseFastPath();
+
+    private final LazyInitialization lazyInitialization = new LazyInitialization();
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    public Stock getStock() {
+        return stock;
+    }
+
+    public OrderTotals getOrderTotals() {
+        return orderTotals;
+    }
+
+    public SalesReport getSalesReport() {
+        return salesReport;
+    }
+
+    public InvoiceSettlement getInvoiceSettlement() {
+        return invoiceSettlement;
+    }
+
+    public LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
+    public EntityChangeLog getEntityChangeLog() {
+        return entityChangeLog;
+    }
+
+    public BlockingDetection getBlockingDetection() {
+        return blockingDetection;
+    }
+
+    public QueryMonitoring getQueryMonitoring() {
+        return queryMonitoring;
+    }
+
+    public SchedulerMetrics getSchedulerMetrics() {
+        return schedulerMetrics;
+    }
+
+    public FlightRecording getFlightRecording() {
+        return flightRecording;
+    }
+
+    public LiquibaseFastPath getLiquibaseFastPath() {
+        return liquibaseFastPath;
+    }
+
+    public LazyInitialization getLazyInitialization() {
+        return lazyInitialization;
+    }
+
+    public static class PasswordHashing {
+
+        private int strength = 10;
+
+        private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        private int queueCapacity = 100;
+
+        private long retryAfterSeconds = 1;
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+
+        private long retryAfterSeconds = 1;
+
+        /**
+         * Route groups, each with its own limit. The first group with a matching path wins.
+         */
+        private Map<String, Group> groups = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public Map<String, Group> getGroups() {
+            return groups;
+        }
+
+        public void setGroups(Map<String, Group> groups) {
+            this.groups = groups;
+        }
+
+        public static class Group {
+
+            private List<String> paths = new ArrayList<>();
+
+            private int initialLimit = 20;
+
+            private int minLimit = 2;
+
+            private int maxLimit = 200;
+
+            private double rttTolerance = 1.5;
+
+            private double smoothing = 0.2;
+
+            public List<String> getPaths() {
+                return paths;
+            }
+
+            public void setPaths(List<String> paths) {
+                this.paths = paths;
+            }
+
+            public int getInitialLimit() {
+                return initialLimit;
+            }
+
+            public void setInitialLimit(int initialLimit) {
+                this.initialLimit = initialLimit;
+            }
+
+            public int getMinLimit() {
+                return minLimit;
+            }
+
+            public void setMinLimit(int minLimit) {
+                this.minLimit = minLimit;
+            }
+
+            public int getMaxLimit() {
+                return maxLimit;
+            }
+
+            public void setMaxLimit(int maxLimit) {
+                this.maxLimit = maxLimit;
+            }
+
+            public double getRttTolerance() {
+                return rttTolerance;
+            }
+
+            public void setRttTolerance(double rttTolerance) {
+                this.rttTolerance = rttTolerance;
+            }
+
+            public double getSmoothing() {
+                return smoothing;
+            }
+
+            public void setSmoothing(double smoothing) {
+                this.smoothing = smoothing;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        private boolean enabled = true;
+
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        private int batchSize = 50;
+
+        private int ratePerSecond = 10;
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long a dispatcher owns the emails it picked up, after which another node may send them.
+         */
+        private Duration lease = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class UserCleanup {
+
+        private int chunkSize = 500;
+
+        /**
+         * Pause between two chunks, to leave room for the regular traffic.
+         */
+        private Duration chunkPause = Duration.ofMillis(200);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getChunkPause() {
+            return chunkPause;
+        }
+
+        public void setChunkPause(Duration chunkPause) {
+            this.chunkPause = chunkPause;
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the calls which are timed, between 0 and 1.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Timed calls slower than this are logged with their arguments.
+         */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        private int maxArgumentLength = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public int getMaxArgumentLength() {
+            return maxArgumentLength;
+        }
+
+        public void setMaxArgumentLength(int maxArgumentLength) {
+            this.maxArgumentLength = maxArgumentLength;
+        }
+    }
+
+    public static class HttpCache {
+
+        /**
+         * {@code Cache-Control} header of the conditional responses of the resources not listed in {@code cache-control}.
+         */
+        private String defaultCacheControl = "private, no-cache";
+
+        /**
+         * {@code Cache-Control} header of the conditional responses, by resource name such as {@code products}. The
+         * resources require authentication, so {@code public} and {@code s-maxage} are refused.
+         */
+        private Map<String, String> cacheControl = new LinkedHashMap<>();
+
+        public String getDefaultCacheControl() {
+            return defaultCacheControl;
+        }
+
+        public void setDefaultCacheControl(String defaultCacheControl) {
+            this.defaultCacheControl = defaultCacheControl;
+        }
+
+        public Map<String, String> getCacheControl() {
+            return cacheControl;
+        }
+
+        public void setCacheControl(Map<String, String> cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+    }
+
+    public static class Stock {
+
+        /**
+         * Delay between two writes of the changed stock to the database.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of products which stock is written with a single statement.
+         */
+        private int batchSize = 500;
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class OrderTotals {
+
+        /**
+         * Cron expression of the rebuild of the order totals and customer summaries, {@code -} to disable it.
+         */
+        private String rebuildCron = "0 30 2 * * ?";
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
+
+    public static class SalesReport {
+
+        /**
+         * Whether the sales rollups of the days of the logged sales changes are refreshed periodically.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two refreshes of the sales rollups of the days of the logged sales changes.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of logged sales changes which days are refreshed at once.
+         */
+        private int batchSize = 10000;
+
+        /**
+         * Maximum number of days which sales rollups are computed concurrently.
+         */
+        private int parallelism = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class InvoiceSettlement {
+
+        /**
+         * Number of lines of a settlement file settled in a single transaction.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Maximum number of invoice ids, and of malformed lines, listed in the reconciliation summary of a file.
+         */
+        private int maxReported = 100;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxReported() {
+            return maxReported;
+        }
+
+        public void setMaxReported(int maxReported) {
+            this.maxReported = maxReported;
+        }
+    }
+
+    public static class LookupCache {
+
+        /**
+         * Maximum number of codes cached by each lookup cache, {@code 0} to disable them.
+         */
+        private int maximumSize = 10_000;
+
+        /**
+         * Time to live of the cached ids of the codes, which are checked on every lookup.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * Time to live of the cached codes which matched nothing.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+
+    public static class EntityChangeLog {
+
+        /**
+         * Whether this node tails the entity change log to invalidate its caches, and caches the entities it invalidates.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two reads of the entity change log.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of changes read at once.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Time after which an id skipped by a read is deemed rolled back, longer than the longest transaction.
+         */
+        private Duration gapTimeout = Duration.ofMinutes(1);
+
+        /**
+         * Age after which the changes are purged.
+         */
+        private Duration retention = Duration.ofDays(1);
+
+        /**
+         * Cron expression of the purge of the changes older than the retention.
+         */
+        private String purgeCron = "0 15 * * * ?";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getGapTimeout() {
+            return gapTimeout;
+        }
+
+        public void setGapTimeout(Duration gapTimeout) {
+            this.gapTimeout = gapTimeout;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+
+    public static class BlockingDetection {
+
+        /**
+         * Whether BlockHound and the event loop watchdog run, reporting instead of failing the blocking calls.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Delay after which a task still waiting for its event loop or parallel thread is reported as a stall.
+         */
+        private Duration stallThreshold = Duration.ofMillis(100);
+
+        /**
+         * Maximum number of stack traces kept for /management/blocking.
+         */
+        private int maxSamples = 50;
+
+        /**
+         * Minimum delay between two stack traces of the same blocking method or stalled thread pool.
+         */
+        private Duration sampleInterval = Duration.ofSeconds(10);
+
+        /**
+         * Methods allowed to block, as {@code <class name>#<method name>}, the blocking calls they make not being reported.
+         */
+        private List<String> allowedBlockingCalls = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getStallThreshold() {
+            return stallThreshold;
+        }
+
+        public void setStallThreshold(Duration stallThreshold) {
+            this.stallThreshold = stallThreshold;
+        }
+
+        public int getMaxSamples() {
+            return maxSamples;
+        }
+
+        public void setMaxSamples(int maxSamples) {
+            this.maxSamples = maxSamples;
+        }
+
+        public Duration getSampleInterval() {
+            return sampleInterval;
+        }
+
+        public void setSampleInterval(Duration sampleInterval) {
+            this.sampleInterval = sampleInterval;
+        }
+
+        public List<String> getAllowedBlockingCalls() {
+            return allowedBlockingCalls;
+        }
+
+        public void setAllowedBlockingCalls(List<String> allowedBlockingCalls) {
+            this.allowedBlockingCalls = allowedBlockingCalls;
+        }
+    }
+
+    public static class QueryMonitoring {
+
+        private boolean enabled = false;
+
+        /**
+         * Statements slower than this, until their rows are consumed, are logged with their calling repository method.
+         */
+        private Duration slowThreshold = Duration.ofMillis(200);
+
+        /**
+         * Maximum number of SQL fingerprints tagged in the metrics, the statements of the others being tagged {@code other}.
+         */
+        private int maxFingerprints = 200;
+
+        /**
+         * Requests running more statements than this are logged with the fingerprints of their statements.
+         */
+        private int maxStatementsPerRequest = 20;
+
+        /**
+         * Whether to send the number of statements of each request in a {@code Server-Timing} response header.
+         */
+        private boolean serverTiming = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public int getMaxFingerprints() {
+            return maxFingerprints;
+        }
+
+        public void setMaxFingerprints(int maxFingerprints) {
+            this.maxFingerprints = maxFingerprints;
+        }
+
+        public int getMaxStatementsPerRequest() {
+            return maxStatementsPerRequest;
+        }
+
+        public void setMaxStatementsPerRequest(int maxStatementsPerRequest) {
+            this.maxStatementsPerRequest = maxStatementsPerRequest;
+        }
+
+        public boolean isServerTiming() {
+            return serverTiming;
+        }
+
+        public void setServerTiming(boolean serverTiming) {
+            this.serverTiming = serverTiming;
+        }
+    }
+
+    public static class SchedulerMetrics {
+
+        private boolean enabled = true;
+
+        /**
+         * Delay between two probes of each event loop and parallel thread, measuring the latency of their tasks.
+         */
+        private Duration probeInterval = Duration.ofMillis(50);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getProbeInterval() {
+            return probeInterval;
+        }
+
+        public void setProbeInterval(Duration probeInterval) {
+            this.probeInterval = probeInterval;
+        }
+    }
+
+    public static class FlightRecording {
+
+        /**
+         * Duration of the recordings of /management/jfr without a duration parameter.
+         */
+        private Duration defaultDuration = Duration.ofSeconds(30);
+
+        private Duration maxDuration = Duration.ofMinutes(5);
+
+        /**
+         * Flight recorder settings of the recordings without a settings parameter, {@code default} for a low overhead
+         * or {@code profile} for more details.
+         */
+        private String settings = "default";
+
+        public Duration getDefaultDuration() {
+            return defaultDuration;
+        }
+
+        public void setDefaultDuration(Duration defaultDuration) {
+            this.defaultDuration = defaultDuration;
+        }
+
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        public void setMaxDuration(Duration maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+
+        public String getSettings() {
+            return settings;
+        }
+
+        public void setSettings(String settings) {
+            this.settings = settings;
+        }
+    }
+
+    public static class LiquibaseFastPath {
+
+        /**
+         * Whether to skip Liquibase when the database was last updated with the same changelog set.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class LazyInitialization {
+
+        private boolean enabled = false;
+
+        /**
+         * Packages of the beans, or of the configurations declaring them, created on first use rather than at startup.
+         */
+        private List<String> packages = new ArrayList<>(
+            List.of("springfox.", "tech.jhipster.config.apidoc.", "org.thymeleaf.", "org.springframework.boot.autoconfigure.thymeleaf.")
+        );
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getPackages() {
+            return packages;
+        }
+
+        public void setPackages(List<String> packages) {
+            this.packages = packages;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.mycompany.store.config;
 
+import com.mycompany.store.monitoring.ExecutorMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +29,8 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
+    private ThreadPoolTaskExecutor threadPoolTaskExecutor;
+
     public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
     }
@@ -36,9 +44,18 @@ public class AsyncConfiguration implements AsyncConfigurer {
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        threadPoolTaskExecutor = executor;
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "application.scheduler-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder taskExecutorMetrics(@Qualifier("taskExecutor") Executor taskExecutor) {
+        // the pool is created with the taskExecutor bean, which wraps it
+        ThreadPoolExecutor pool = threadPoolTaskExecutor.getThreadPoolExecutor();
+        return meterRegistry -> ExecutorMetrics.bind(meterRegistry, "taskExecutor", () -> List.of(pool));
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,53 @@
+package com.mycompany.store.config;
+
+import com.mycompany.store.monitoring.BlockingCallMonitor;
+import com.mycompany.store.monitoring.BlockingCallsEndpoint;
+import com.mycompany.store.monitoring.EventLoopWatchdog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.blockhound.BlockHound;
+
+/**
+ * Detection of the blocking calls and stalls of the event loops and parallel threads, enabled by
+ * {@code application.blocking-detection.enabled}. The stalls are reported by the {@link EventLoopWatchdog} of the
+ * {@link SchedulerMetricsConfiguration}, which runs even when the scheduler metrics are disabled.
+ * <p>
+ * Unlike in the tests, BlockHound reports the blocking calls to the {@link BlockingCallMonitor} instead of throwing an
+ * error, so that the requests making them still complete. It instruments the JDK classes once per JVM, which requires
+ * a JDK with the {@code jdk.attach} module, and the blocking methods then cost a thread check on every call.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.blocking-detection", name = "enabled", havingValue = "true")
+public class BlockingDetectionConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(BlockingDetectionConfiguration.class);
+
+    @Bean
+    public BlockingCallMonitor blockingCallMonitor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        BlockingCallMonitor monitor = new BlockingCallMonitor(applicationProperties, meterRegistry);
+        // the integrations of Reactor and Reactor Netty tell BlockHound which threads must not block
+        BlockHound.Builder builder = BlockHound
+            .builder()
+            .loadIntegrations()
+            .blockingMethodCallback(method -> monitor.blockingCall(method.toString()));
+        for (String allowed : applicationProperties.getBlockingDetection().getAllowedBlockingCalls()) {
+            int separator = allowed.indexOf('#');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid allowed blocking call '" + allowed + "', expected <class>#<method>");
+            }
+            builder.allowBlockingCallsInside(allowed.substring(0, separator), allowed.substring(separator + 1));
+        }
+        builder.install();
+        log.info("Blocking call detection installed");
+        return monitor;
+    }
+
+    @Bean
+    public BlockingCallsEndpoint blockingCallsEndpoint(BlockingCallMonitor monitor) {
+        return new BlockingCallsEndpoint(monitor);
+    }
+}
@@ -0,0 +1,140 @@
+package com.mycompany.store.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import liquibase.exception.LiquibaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import tech.jhipster.config.liquibase.AsyncSpringLiquibase;
+
+/**
+ * {@link AsyncSpringLiquibase} skipping Liquibase when the database was last updated with the same changelog set.
+ * <p>
+ * The checksum of the changelogs, their data files, contexts and labels is passed to the changelog as the
+ * {@code changelogSetChecksum} parameter, stored in the {@code changelog_checksum} table by the last changeset of
+ * {@code master.xml}, and compared with the stored one on the next boots: when they match, the parsing and the
+ * validation of the whole changelog set against the {@code databasechangelog} table are skipped.
+ */
+public class FastPathSpringLiquibase extends AsyncSpringLiquibase {
+
+    static final String CHECKSUM_PARAMETER = "changelogSetChecksum";
+
+    private static final String CHANGELOG_RESOURCES = "classpath*:config/liquibase/**/*.*";
+
+    private static final String CHANGELOG_DIRECTORY = "config/liquibase/";
+
+    private final Logger log = LoggerFactory.getLogger(FastPathSpringLiquibase.class);
+
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+    private final Map<String, String> parameters = new HashMap<>();
+
+    public FastPathSpringLiquibase(Executor executor, Environment env) {
+        super(executor, env);
+        super.setChangeLogParameters(parameters);
+    }
+
+    @Override
+    public void setChangeLogParameters(Map<String, String> changeLogParameters) {
+        parameters.clear();
+        if (changeLogParameters != null) {
+            parameters.putAll(changeLogParameters);
+        }
+    }
+
+    @Override
+    protected void initDb() throws LiquibaseException {
+        String checksum = isDropFirst() ? null : checksum();
+        if (checksum != null && checksum.equals(storedChecksum())) {
+            log.info("Liquibase changelog set {} already applied, skipping Liquibase", checksum);
+            closeDataSource();
+            return;
+        }
+        if (checksum != null) {
+            parameters.put(CHECKSUM_PARAMETER, checksum);
+        }
+        super.initDb();
+    }
+
+    /**
+     * @return the SHA-256 of the changelog set, {@code null} if it can't be read.
+     */
+    String checksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Resource[] resources = resourceResolver.getResources(CHANGELOG_RESOURCES);
+            Arrays.sort(resources, Comparator.comparing(FastPathSpringLiquibase::changelogPath));
+            for (Resource resource : resources) {
+                if (!resource.isReadable()) {
+                    continue;
+                }
+                digest.update(changelogPath(resource).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            digest.update(String.valueOf(getContexts()).getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(getLabels()).getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest.digest()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.warn("Could not compute the checksum of the Liquibase changelog set, running Liquibase: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the checksum stored by the last update, {@code null} if none, such as before the first update.
+     */
+    String storedChecksum() {
+        try (
+            Connection connection = getDataSource().getConnection();
+            PreparedStatement statement = connection.prepareStatement("SELECT checksum FROM changelog_checksum WHERE id = 'master'");
+            ResultSet resultSet = statement.executeQuery()
+        ) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        } catch (SQLException e) {
+            log.debug("No stored Liquibase changelog set checksum: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeDataSource() {
+        // the data source is created for Liquibase only, and closed once it has run
+        if (getDataSource() instanceof Closeable) {
+            try {
+                ((Closeable) getDataSource()).close();
+            } catch (IOException e) {
+                log.warn("Could not close the Liquibase data source", e);
+            }
+        }
+    }
+
+    private static String changelogPath(Resource resource) {
+        String url;
+        try {
+            url = resource.getURL().toString();
+        } catch (IOException e) {
+            url = String.valueOf(resource.getFilename());
+        }
+        int directory = url.lastIndexOf(CHANGELOG_DIRECTORY);
+        return directory < 0 ? url : url.substring(directory);
+    }
+}
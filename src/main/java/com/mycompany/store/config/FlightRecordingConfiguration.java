@@ -0,0 +1,23 @@
+package com.mycompany.store.config;
+
+import com.mycompany.store.monitoring.FlightRecordingEndpoint;
+import com.mycompany.store.monitoring.FlightRecordings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * On demand flight recordings, through {@code /management/jfr}.
+ */
+@Configuration
+public class FlightRecordingConfiguration {
+
+    @Bean
+    public FlightRecordings flightRecordings(ApplicationProperties applicationProperties) {
+        return new FlightRecordings(applicationProperties);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecordingEndpoint(flightRecordings);
+    }
+}
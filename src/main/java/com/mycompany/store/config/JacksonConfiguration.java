@@ -1,11 +1,36 @@
 package com.mycompany.store.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.store.monitoring.RecordedJackson2JsonEncoder;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
 import org.zalando.problem.ProblemModule;
 import org.zalando.problem.violations.ConstraintViolationProblemModule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Configuration
 public class JacksonConfiguration {
@@ -39,4 +64,101 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /**
+     * Serializes all the properties of the entities annotated with {@link com.fasterxml.jackson.annotation.JsonFilter},
+     * unless a response overrides their filter with the fields it requested.
+     *
+     * @return the corresponding object mapper builder customizer.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer serializeAllFiltersCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Binary {@code application/x-jackson-smile} and {@code application/cbor} codecs, for the server and the
+     * {@link org.springframework.web.reactive.function.client.WebClient}, so that service-to-service clients can skip
+     * text JSON parsing.
+     * <p>
+     * Their object mappers are built by the same {@link Jackson2ObjectMapperBuilder} as the JSON one: they have the same
+     * modules and features, and honour the same Jackson annotations of the entities.
+     * <p>
+     * CBOR can't be streamed: its codecs only handle whole values, and a {@link Flux} body is written and read as one
+     * CBOR array.
+     *
+     * @param builder the Spring Boot configured builder, a new instance for each injection point.
+     * @return the codec customizer.
+     */
+    @Bean
+    public CodecCustomizer binaryJacksonCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        return configurer -> {
+            CodecConfigurer.CustomCodecs customCodecs = configurer.customCodecs();
+            customCodecs.register(new Jackson2SmileEncoder(smileMapper));
+            customCodecs.register(new Jackson2SmileDecoder(smileMapper));
+            customCodecs.register(new NonStreamingCborEncoder(cborMapper));
+            customCodecs.register(new NonStreamingCborDecoder(cborMapper));
+        };
+    }
+
+    /**
+     * JSON encoder recording the serialisation of the bodies as flight recorder events, with the Spring Boot configured
+     * object mapper. It is ordered after the Spring Boot Jackson codec customizer, whose encoder it replaces.
+     *
+     * @param objectMapper the Spring Boot configured object mapper.
+     * @return the codec customizer.
+     */
+    @Bean
+    @Order(1)
+    public CodecCustomizer recordedJsonEncoderCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new RecordedJackson2JsonEncoder(objectMapper));
+    }
+
+    /**
+     * CBOR encoder writing a {@link Flux} as one array, instead of failing as {@link Jackson2CborEncoder} does.
+     */
+    static class NonStreamingCborEncoder extends Jackson2CborEncoder {
+
+        NonStreamingCborEncoder(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+            Publisher<?> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            @Nullable MimeType mimeType,
+            @Nullable Map<String, Object> hints
+        ) {
+            if (inputStream instanceof Mono) {
+                return Mono.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream).collectList().map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints)).flux();
+        }
+    }
+
+    /**
+     * CBOR decoder reading a {@link Flux} from one array, instead of failing as {@link Jackson2CborDecoder} does.
+     */
+    static class NonStreamingCborDecoder extends Jackson2CborDecoder {
+
+        NonStreamingCborDecoder(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Flux<Object> decode(
+            Publisher<DataBuffer> input,
+            ResolvableType elementType,
+            @Nullable MimeType mimeType,
+            @Nullable Map<String, Object> hints
+        ) {
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return decodeToMono(input, listType, mimeType, hints).<Object>flatMapIterable(values -> (List<?>) values);
+        }
+    }
 }
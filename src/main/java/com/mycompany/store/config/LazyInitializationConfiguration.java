@@ -0,0 +1,31 @@
+package com.mycompany.store.config;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Lazy initialisation of the beans of {@code application.lazy-initialization.packages}, enabled by
+ * {@code application.lazy-initialization.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.lazy-initialization", name = "enabled", havingValue = "true")
+public class LazyInitializationConfiguration {
+
+    /**
+     * The packages are bound from the environment, as the bean factory post-processors are created before the
+     * {@link ApplicationProperties}.
+     */
+    @Bean
+    public static SelectiveLazyInitializationPostProcessor selectiveLazyInitializationPostProcessor(Environment environment) {
+        List<String> packages = Binder
+            .get(environment)
+            .bind("application.lazy-initialization.packages", Bindable.listOf(String.class))
+            .orElseGet(() -> new ApplicationProperties().getLazyInitialization().getPackages());
+        return new SelectiveLazyInitializationPostProcessor(packages);
+    }
+}
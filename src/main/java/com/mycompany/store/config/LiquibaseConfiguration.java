@@ -34,9 +34,12 @@ public class LiquibaseConfiguration {
     public SpringLiquibase liquibase(
         @Qualifier("taskExecutor") Executor executor,
         LiquibaseProperties liquibaseProperties,
-        R2dbcProperties dataSourceProperties
+        R2dbcProperties dataSourceProperties,
+        ApplicationProperties applicationProperties
     ) {
-        SpringLiquibase liquibase = createAsyncSpringLiquibase(this.env, executor, liquibaseProperties, dataSourceProperties);
+        SpringLiquibase liquibase = applicationProperties.getLiquibaseFastPath().isEnabled()
+            ? createFastPathSpringLiquibase(this.env, executor, liquibaseProperties, dataSourceProperties)
+            : createAsyncSpringLiquibase(this.env, executor, liquibaseProperties, dataSourceProperties);
         liquibase.setChangeLog("classpath:config/liquibase/master.xml");
         liquibase.setContexts(liquibaseProperties.getContexts());
         liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
@@ -69,6 +72,17 @@ public class LiquibaseConfiguration {
         return liquibase;
     }
 
+    public static SpringLiquibase createFastPathSpringLiquibase(
+        Environment env,
+        Executor executor,
+        LiquibaseProperties liquibaseProperties,
+        R2dbcProperties dataSourceProperties
+    ) {
+        SpringLiquibase liquibase = new FastPathSpringLiquibase(executor, env);
+        liquibase.setDataSource(createNewDataSource(liquibaseProperties, dataSourceProperties));
+        return liquibase;
+    }
+
     private static DataSource createNewDataSource(LiquibaseProperties liquibaseProperties, R2dbcProperties dataSourceProperties) {
         String user = getProperty(liquibaseProperties::getUser, dataSourceProperties::getUsername);
         String password = getProperty(liquibaseProperties::getPassword, dataSourceProperties::getPassword);
@@ -0,0 +1,40 @@
+package com.mycompany.store.config;
+
+import com.mycompany.store.monitoring.QueryFingerprintsEndpoint;
+import com.mycompany.store.monitoring.QueryMetrics;
+import com.mycompany.store.monitoring.QueryMonitoringPostProcessor;
+import com.mycompany.store.web.filter.StatementCountWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics and slow query log of the R2DBC statements, and count of the statements of each request, enabled by
+ * {@code application.query-monitoring.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-monitoring", name = "enabled", havingValue = "true")
+public class QueryMonitoringConfiguration {
+
+    @Bean
+    public static QueryMonitoringPostProcessor queryMonitoringPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new QueryMonitoringPostProcessor(queryMetrics);
+    }
+
+    @Bean
+    public QueryMetrics queryMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new QueryMetrics(applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    public QueryFingerprintsEndpoint queryFingerprintsEndpoint(QueryMetrics queryMetrics) {
+        return new QueryFingerprintsEndpoint(queryMetrics);
+    }
+
+    @Bean
+    public StatementCountWebFilter statementCountWebFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new StatementCountWebFilter(applicationProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.store.config;
+
+import com.mycompany.store.monitoring.BlockingCallMonitor;
+import com.mycompany.store.monitoring.EventLoopWatchdog;
+import com.mycompany.store.monitoring.SchedulerExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Saturation metrics of the threads running the requests, enabled by {@code application.scheduler-metrics.enabled}:
+ * the task latency and pending tasks of the reactor-netty event loops, the task latency of the parallel scheduler, and
+ * the threads, active threads and queued tasks of the Reactor schedulers, the taskExecutor pool being measured by the
+ * {@link AsyncConfiguration}. They tell an overloaded event loop, a full scheduler and a slow database apart.
+ * <p>
+ * The {@link EventLoopWatchdog} probing the event loops and parallel threads also runs when only
+ * {@code application.blocking-detection.enabled} is set, since it reports their stalls.
+ */
+@Configuration
+public class SchedulerMetricsConfiguration {
+
+    @Bean(initMethod = "install", destroyMethod = "uninstall")
+    @ConditionalOnProperty(prefix = "application.scheduler-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public SchedulerExecutors schedulerExecutors(MeterRegistry meterRegistry) {
+        return new SchedulerExecutors(meterRegistry);
+    }
+
+    /**
+     * @param schedulerExecutors with the scheduler metrics, installed before the parallel scheduler is first used here.
+     */
+    @Bean(destroyMethod = "stop")
+    @Conditional(EventLoopWatchdogCondition.class)
+    public EventLoopWatchdog eventLoopWatchdog(
+        ObjectProvider<SchedulerExecutors> schedulerExecutors,
+        ObjectProvider<BlockingCallMonitor> blockingCallMonitor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        // resolved first, so that the parallel executors created below are measured
+        schedulerExecutors.getIfAvailable();
+        EventLoopWatchdog watchdog = new EventLoopWatchdog(blockingCallMonitor.getIfAvailable(), applicationProperties, meterRegistry);
+        // the server runs on the global event loops, see ReactorResourceFactory
+        watchdog.watch("reactor-http", HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE));
+        for (int i = 0; i < Schedulers.DEFAULT_POOL_SIZE; i++) {
+            // the workers of the parallel scheduler are assigned round-robin, one per thread
+            Scheduler.Worker worker = Schedulers.parallel().createWorker();
+            watchdog.watch("parallel", worker::schedule);
+        }
+        watchdog.start();
+        return watchdog;
+    }
+
+    /**
+     * Matches when the scheduler metrics or the blocking detection are enabled, either of which needs the probes.
+     */
+    static class EventLoopWatchdogCondition extends AnyNestedCondition {
+
+        EventLoopWatchdogCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "application.scheduler-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+        static class SchedulerMetricsEnabled {}
+
+        @ConditionalOnProperty(prefix = "application.blocking-detection", name = "enabled", havingValue = "true")
+        static class BlockingDetectionEnabled {}
+    }
+}
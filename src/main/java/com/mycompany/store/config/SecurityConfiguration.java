@@ -3,9 +3,11 @@ package com.mycompany.store.config;
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
 import com.mycompany.store.security.AuthoritiesConstants;
+import com.mycompany.store.security.PasswordHashingService;
 import com.mycompany.store.security.jwt.JWTFilter;
 import com.mycompany.store.security.jwt.TokenProvider;
 import com.mycompany.store.web.filter.SpaWebFilter;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -38,34 +40,43 @@ public class SecurityConfiguration {
 
     private final SecurityProblemSupport problemSupport;
 
+    private final ApplicationProperties applicationProperties;
+
     public SecurityConfiguration(
         ReactiveUserDetailsService userDetailsService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
-        SecurityProblemSupport problemSupport
+        SecurityProblemSupport problemSupport,
+        ApplicationProperties applicationProperties
     ) {
         this.userDetailsService = userDetailsService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
         this.problemSupport = problemSupport;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(applicationProperties.getPasswordHashing().getStrength());
     }
 
     @Bean
-    public ReactiveAuthenticationManager reactiveAuthenticationManager() {
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(PasswordHashingService passwordHashingService) {
         UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
             userDetailsService
         );
-        authenticationManager.setPasswordEncoder(passwordEncoder());
-        return authenticationManager;
+        // Password checks run on the bounded hashing pool, not on the shared boundedElastic scheduler
+        authenticationManager.setPasswordEncoder(passwordHashingService.getTimedPasswordEncoder());
+        authenticationManager.setScheduler(passwordHashingService.getScheduler());
+        return authentication ->
+            authenticationManager
+                .authenticate(authentication)
+                .onErrorMap(RejectedExecutionException.class, passwordHashingService::rejected);
     }
 
     @Bean
-    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, ReactiveAuthenticationManager authenticationManager) {
         // @formatter:off
         http
             .securityMatcher(new NegatedServerWebExchangeMatcher(new OrServerWebExchangeMatcher(
@@ -76,7 +87,7 @@ public class SecurityConfiguration {
                 .disable()
             .addFilterAt(new SpaWebFilter(), SecurityWebFiltersOrder.AUTHENTICATION)
             .addFilterAt(new JWTFilter(tokenProvider), SecurityWebFiltersOrder.HTTP_BASIC)
-            .authenticationManager(reactiveAuthenticationManager())
+            .authenticationManager(authenticationManager)
             .exceptionHandling()
                 .accessDeniedHandler(problemSupport)
                 .authenticationEntryPoint(problemSupport)
@@ -0,0 +1,66 @@
+package com.mycompany.store.config;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * Makes the beans of some packages, off the request hot path, lazy, so that they are only created when first used
+ * rather than before the application is ready, unlike {@code spring.main.lazy-initialization} which makes every bean
+ * lazy and moves their creation to the first requests.
+ * <p>
+ * A bean matches when its class, or the class declaring its factory method, is in one of the packages. The
+ * {@link SmartInitializingSingleton}s are left eager, as they expect to run at startup.
+ */
+public class SelectiveLazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    private final Logger log = LoggerFactory.getLogger(SelectiveLazyInitializationPostProcessor.class);
+
+    private final List<String> packages;
+
+    public SelectiveLazyInitializationPostProcessor(List<String> packages) {
+        this.packages = packages;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int lazyBeans = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            String className = declaringClassName(definition);
+            if (className != null && matches(className) && !isSmartInitializingSingleton(beanFactory, beanName)) {
+                definition.setLazyInit(true);
+                lazyBeans++;
+            }
+        }
+        log.debug("Made {} beans of {} lazy", lazyBeans, packages);
+    }
+
+    private boolean matches(String className) {
+        return packages.stream().anyMatch(className::startsWith);
+    }
+
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition) {
+            MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+
+    private static boolean isSmartInitializingSingleton(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        Class<?> type = beanFactory.getType(beanName, false);
+        return type != null && SmartInitializingSingleton.class.isAssignableFrom(type);
+    }
+}
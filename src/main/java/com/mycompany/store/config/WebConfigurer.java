@@ -1,6 +1,7 @@
 package com.mycompany.store.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.store.web.resource.ContentHashETagResourceResolver;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +19,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.resource.EncodedResourceResolver;
 import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
 import org.springframework.web.server.WebExceptionHandler;
 import org.zalando.problem.spring.webflux.advice.ProblemExceptionHandler;
@@ -86,7 +88,14 @@ public class WebConfigurer implements WebFluxConfigurer {
     @Bean
     ResourceHandlerRegistrationCustomizer registrationCustomizer() {
         // Disable built-in cache control to use our custom filter instead
-        return registration -> registration.setCacheControl(null);
+        return registration ->
+            registration
+                .setCacheControl(null)
+                // Not cached, so that every request goes through the ETag check
+                .resourceChain(false)
+                .addResolver(new ContentHashETagResourceResolver())
+                // Serve the .br or .gz sibling emitted by the webpack build, according to Accept-Encoding
+                .addResolver(new EncodedResourceResolver());
     }
 
     @Bean
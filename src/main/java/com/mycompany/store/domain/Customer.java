@@ -1,8 +1,10 @@
 package com.mycompany.store.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mycompany.store.domain.enumeration.Gender;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import javax.validation.constraints.*;
@@ -69,6 +71,10 @@ public class Customer implements Serializable {
     @Column("user_id")
     private Long userId;
 
+    @JsonIgnore
+    @Column("last_modified_date")
+    private Instant lastModifiedDate = Instant.now();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -254,6 +260,14 @@ public class Customer implements Serializable {
         this.userId = user;
     }
 
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
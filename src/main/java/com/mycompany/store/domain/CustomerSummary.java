@@ -0,0 +1,99 @@
+package com.mycompany.store.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The totals of the orders of a {@link Customer}, maintained by the
+ * {@link com.mycompany.store.service.OrderTotalsService}.
+ */
+@Table("customer_summary")
+public class CustomerSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("customer_id")
+    private Long customerId;
+
+    /**
+     * Number of order items of all the orders of the customer.
+     */
+    @Column("item_count")
+    private Integer itemCount;
+
+    /**
+     * Sum of the total prices of the order items of all the orders of the customer.
+     */
+    @Column("total_amount")
+    private BigDecimal totalAmount;
+
+    /**
+     * Sum of the payment amounts of the paid invoices of all the orders of the customer: the lifetime spend.
+     */
+    @Column("total_paid")
+    private BigDecimal totalPaid;
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getTotalPaid() {
+        return totalPaid;
+    }
+
+    public void setTotalPaid(BigDecimal totalPaid) {
+        this.totalPaid = totalPaid;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CustomerSummary)) {
+            return false;
+        }
+        return customerId != null && customerId.equals(((CustomerSummary) o).customerId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CustomerSummary{" +
+            "customerId=" + getCustomerId() +
+            ", itemCount=" + getItemCount() +
+            ", totalAmount=" + getTotalAmount() +
+            ", totalPaid=" + getTotalPaid() +
+            "}";
+    }
+}
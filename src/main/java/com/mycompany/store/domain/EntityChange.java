@@ -0,0 +1,81 @@
+package com.mycompany.store.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A write of an entity, logged by the {@link com.mycompany.store.service.EntityChangeLog} for the other nodes to
+ * invalidate their caches.
+ */
+@Table("entity_change_log")
+public class EntityChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("entity_type")
+    private String entityType;
+
+    @Column("entity_key")
+    private String entityKey;
+
+    @Column("changed_date")
+    private Instant changedDate;
+
+    public EntityChange() {}
+
+    public EntityChange(String entityType, String entityKey, Instant changedDate) {
+        this.entityType = entityType;
+        this.entityKey = entityKey;
+        this.changedDate = changedDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityKey() {
+        return entityKey;
+    }
+
+    public void setEntityKey(String entityKey) {
+        this.entityKey = entityKey;
+    }
+
+    public Instant getChangedDate() {
+        return changedDate;
+    }
+
+    public void setChangedDate(Instant changedDate) {
+        this.changedDate = changedDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChange{" +
+            "id=" + id +
+            ", entityType='" + entityType + "'" +
+            ", entityKey='" + entityKey + "'" +
+            ", changedDate='" + changedDate + "'" +
+            "}";
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.store.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mycompany.store.domain.enumeration.InvoiceStatus;
 import com.mycompany.store.domain.enumeration.PaymentMethod;
@@ -41,7 +42,9 @@ public class Invoice implements Serializable {
     @Column("payment_method")
     private PaymentMethod paymentMethod;
 
-    @NotNull(message = "must not be null")
+    /**
+     * The date of the payment, required once the invoice is paid.
+     */
     @Column("payment_date")
     private Instant paymentDate;
 
@@ -206,6 +209,12 @@ public class Invoice implements Serializable {
         this.orderId = productOrder;
     }
 
+    @JsonIgnore
+    @AssertTrue(message = "must not be null when the invoice is paid")
+    public boolean isPaymentDateSetWhenPaid() {
+        return status != InvoiceStatus.PAID || paymentDate != null;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -1,5 +1,7 @@
 package com.mycompany.store.domain;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mycompany.store.domain.enumeration.OrderItemStatus;
 import java.io.Serializable;
@@ -14,6 +16,7 @@ import org.springframework.data.relational.core.mapping.Table;
  * A OrderItem.
  */
 @Table("order_item")
+@JsonFilter("orderItem")
 public class OrderItem implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -50,6 +53,13 @@ public class OrderItem implements Serializable {
     @Column("order_id")
     private Long orderId;
 
+    /**
+     * The quantity taken out of the stock of the product, or {@code null} if none was.
+     */
+    @JsonIgnore
+    @Column("reserved_quantity")
+    private Integer reservedQuantity;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -148,6 +158,14 @@ public class OrderItem implements Serializable {
         this.orderId = productOrder;
     }
 
+    public Integer getReservedQuantity() {
+        return this.reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -1,10 +1,13 @@
 package com.mycompany.store.domain;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.mycompany.store.domain.enumeration.Size;
 import io.swagger.annotations.ApiModel;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
@@ -16,6 +19,7 @@ import org.springframework.data.relational.core.mapping.Table;
  */
 @ApiModel(description = "Product sold by the Online store")
 @Table("product")
+@JsonFilter("product")
 public class Product implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -53,6 +57,10 @@ public class Product implements Serializable {
     @Column("product_category_id")
     private Long productCategoryId;
 
+    @JsonIgnore
+    @Column("last_modified_date")
+    private Instant lastModifiedDate = Instant.now();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -168,6 +176,14 @@ public class Product implements Serializable {
         this.productCategoryId = productCategory;
     }
 
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
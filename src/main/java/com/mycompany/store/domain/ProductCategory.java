@@ -1,7 +1,9 @@
 package com.mycompany.store.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import javax.validation.constraints.*;
@@ -33,6 +35,10 @@ public class ProductCategory implements Serializable {
     @JsonIgnoreProperties(value = { "productCategory" }, allowSetters = true)
     private Set<Product> products = new HashSet<>();
 
+    @JsonIgnore
+    @Column("last_modified_date")
+    private Instant lastModifiedDate = Instant.now();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -105,6 +111,14 @@ public class ProductCategory implements Serializable {
         return this;
     }
 
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
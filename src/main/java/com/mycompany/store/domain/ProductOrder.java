@@ -1,13 +1,16 @@
 package com.mycompany.store.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mycompany.store.domain.enumeration.OrderStatus;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -36,6 +39,22 @@ public class ProductOrder implements Serializable {
     @Column("code")
     private String code;
 
+    /**
+     * Sum of the total prices of the order items, maintained by the {@code OrderTotalsService}.
+     */
+    @ReadOnlyProperty
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column("total_amount")
+    private BigDecimal totalAmount;
+
+    /**
+     * Number of order items, maintained by the {@code OrderTotalsService}.
+     */
+    @ReadOnlyProperty
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column("item_count")
+    private Integer itemCount;
+
     @Transient
     @JsonIgnoreProperties(value = { "product", "order" }, allowSetters = true)
     private Set<OrderItem> orderItems = new HashSet<>();
@@ -105,6 +124,22 @@ public class ProductOrder implements Serializable {
         this.code = code;
     }
 
+    public BigDecimal getTotalAmount() {
+        return this.totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Integer getItemCount() {
+        return this.itemCount;
+    }
+
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+
     public Set<OrderItem> getOrderItems() {
         return this.orderItems;
     }
@@ -216,6 +251,8 @@ public class ProductOrder implements Serializable {
             ", placedDate='" + getPlacedDate() + "'" +
             ", status='" + getStatus() + "'" +
             ", code='" + getCode() + "'" +
+            ", totalAmount=" + getTotalAmount() +
+            ", itemCount=" + getItemCount() +
             "}";
     }
 }
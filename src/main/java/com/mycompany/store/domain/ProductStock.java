@@ -0,0 +1,76 @@
+package com.mycompany.store.domain;
+
+import java.io.Serializable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The stock of a {@link Product}, persisted behind the in-memory counters of the
+ * {@link com.mycompany.store.service.StockService}.
+ */
+@Table("product_stock")
+public class ProductStock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("product_id")
+    private Long productId;
+
+    @NotNull
+    @Min(0)
+    @Column("quantity")
+    private Integer quantity;
+
+    public ProductStock() {}
+
+    public ProductStock(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductStock)) {
+            return false;
+        }
+        return productId != null && productId.equals(((ProductStock) o).productId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductStock{" +
+            "productId=" + getProductId() +
+            ", quantity=" + getQuantity() +
+            "}";
+    }
+}
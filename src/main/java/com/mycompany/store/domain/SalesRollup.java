@@ -0,0 +1,148 @@
+package com.mycompany.store.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The sales of a day, for a product category, a customer country and a payment method, computed by the
+ * {@link com.mycompany.store.service.SalesReportService}. Amounts are in cents.
+ */
+@Table("sales_rollup")
+public class SalesRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * {@link #productCategoryId} of the products without category.
+     */
+    public static final long NO_CATEGORY = 0L;
+
+    /**
+     * {@link #country} of the orders without customer or country, and {@link #paymentMethod} of the orders without
+     * invoice.
+     */
+    public static final String NONE = "";
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("sales_day")
+    private LocalDate salesDay;
+
+    @Column("product_category_id")
+    private long productCategoryId;
+
+    @Column("country")
+    private String country;
+
+    @Column("payment_method")
+    private String paymentMethod;
+
+    @Column("revenue_cents")
+    private long revenueCents;
+
+    @Column("quantity")
+    private long quantity;
+
+    @Column("item_count")
+    private long itemCount;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getSalesDay() {
+        return salesDay;
+    }
+
+    public void setSalesDay(LocalDate salesDay) {
+        this.salesDay = salesDay;
+    }
+
+    public long getProductCategoryId() {
+        return productCategoryId;
+    }
+
+    public void setProductCategoryId(long productCategoryId) {
+        this.productCategoryId = productCategoryId;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    public void setRevenueCents(long revenueCents) {
+        this.revenueCents = revenueCents;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SalesRollup)) {
+            return false;
+        }
+        return id != null && id.equals(((SalesRollup) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesRollup{" +
+            "salesDay='" + getSalesDay() + "'" +
+            ", productCategoryId=" + getProductCategoryId() +
+            ", country='" + getCountry() + "'" +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            ", revenueCents=" + getRevenueCents() +
+            ", quantity=" + getQuantity() +
+            ", itemCount=" + getItemCount() +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.store.domain.enumeration;
+
+/**
+ * The MailOutboxStatus enumeration.
+ */
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+}
@@ -0,0 +1,167 @@
+package com.mycompany.store.monitoring;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records the blocking calls made on the threads which must not block, reported by BlockHound, and the stalls of these
+ * threads, reported by the {@link EventLoopWatchdog}.
+ * <p>
+ * They are counted in the {@code store.blocking.calls} and {@code store.blocking.stalls} counters, by thread pool, and
+ * their stack traces are sampled, at most one per {@code application.blocking-detection.sample-interval} for each
+ * blocking method or stalled pool, for {@code /management/blocking}. Recording never blocks nor throws, as it runs on
+ * the offending thread.
+ */
+public class BlockingCallMonitor {
+
+    static final String METRIC_PREFIX = "store.blocking";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxSamples;
+
+    private final long sampleIntervalNanos;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> lastSampled = new ConcurrentHashMap<>();
+
+    private final Deque<Sample> samples = new ConcurrentLinkedDeque<>();
+
+    public BlockingCallMonitor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.BlockingDetection properties = applicationProperties.getBlockingDetection();
+        this.meterRegistry = meterRegistry;
+        this.maxSamples = properties.getMaxSamples();
+        this.sampleIntervalNanos = properties.getSampleInterval().toNanos();
+    }
+
+    /**
+     * Records a blocking call made by the current thread.
+     *
+     * @param method the blocking method, such as {@code java.lang.Thread.sleep}.
+     */
+    public void blockingCall(String method) {
+        Thread thread = Thread.currentThread();
+        String pool = pool(thread);
+        counters.computeIfAbsent("calls:" + pool + ':' + method, key -> counter("calls", "pool", pool, "method", method)).increment();
+        if (shouldSample("calls:" + method)) {
+            addSample(new Sample("blocking-call", thread.getName(), method, new Throwable().getStackTrace()));
+        }
+    }
+
+    /**
+     * Records a stall of a thread, which hasn't run a task submitted for longer than the stall threshold.
+     *
+     * @param pool the name of the thread pool.
+     * @param thread the stalled thread, {@code null} if unknown.
+     * @param delayNanos the time the task has been waiting for.
+     */
+    public void stall(String pool, Thread thread, long delayNanos) {
+        counters.computeIfAbsent("stalls:" + pool, key -> counter("stalls", "pool", pool)).increment();
+        if (thread != null && shouldSample("stalls:" + pool)) {
+            String detail = "no task run for " + TimeUnit.NANOSECONDS.toMillis(delayNanos) + " ms";
+            addSample(new Sample("stall", thread.getName(), detail, thread.getStackTrace()));
+        }
+    }
+
+    /**
+     * @return the sampled stack traces, the most recent first.
+     */
+    public List<Sample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    public void clearSamples() {
+        samples.clear();
+        lastSampled.clear();
+    }
+
+    /**
+     * Name of the pool of a thread, its name without the trailing index, such as {@code reactor-http-epoll}.
+     */
+    static String pool(Thread thread) {
+        String name = thread.getName();
+        int end = name.length();
+        while (end > 0 && Character.isDigit(name.charAt(end - 1))) {
+            end--;
+        }
+        while (end > 0 && name.charAt(end - 1) == '-') {
+            end--;
+        }
+        return end == 0 ? name : name.substring(0, end);
+    }
+
+    private Counter counter(String name, String... tags) {
+        return Counter.builder(METRIC_PREFIX + '.' + name).tags(tags).register(meterRegistry);
+    }
+
+    private boolean shouldSample(String key) {
+        long now = System.nanoTime();
+        Long last = lastSampled.get(key);
+        if (last == null) {
+            return lastSampled.putIfAbsent(key, now) == null;
+        }
+        return now - last >= sampleIntervalNanos && lastSampled.replace(key, last, now);
+    }
+
+    private void addSample(Sample sample) {
+        samples.addFirst(sample);
+        while (samples.size() > maxSamples) {
+            samples.pollLast();
+        }
+    }
+
+    /**
+     * A sampled blocking call or stall.
+     */
+    public static final class Sample {
+
+        private final Instant time = Instant.now();
+
+        private final String type;
+
+        private final String thread;
+
+        private final String detail;
+
+        private final List<String> stackTrace;
+
+        Sample(String type, String thread, String detail, StackTraceElement[] stackTrace) {
+            this.type = type;
+            this.thread = thread;
+            this.detail = detail;
+            this.stackTrace = Arrays.stream(stackTrace).map(StackTraceElement::toString).collect(Collectors.toList());
+        }
+
+        public Instant getTime() {
+            return time;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        public List<String> getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.store.monitoring;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /management/blocking}: the sampled blocking calls and stalls of the {@link BlockingCallMonitor}, which a
+ * {@code DELETE} clears.
+ */
+@Endpoint(id = "blocking")
+public class BlockingCallsEndpoint {
+
+    private final BlockingCallMonitor monitor;
+
+    public BlockingCallsEndpoint(BlockingCallMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<BlockingCallMonitor.Sample> samples() {
+        return monitor.getSamples();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        monitor.clearSamples();
+    }
+}
@@ -0,0 +1,166 @@
+package com.mycompany.store.monitoring;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog probing the event loops and parallel threads: it submits a no-op task to each of them every
+ * {@code application.scheduler-metrics.probe-interval}, and records how long it waits to run in the
+ * {@code store.event.loop.delay} timer, the latency any task submitted to the thread would have.
+ * <p>
+ * With a {@link BlockingCallMonitor}, it also reports a stall, with the stack trace of the thread, when a probe waits
+ * for longer than {@code application.blocking-detection.stall-threshold}. A stall reveals a long task as well as a
+ * blocking call which BlockHound can't see, such as a busy loop or a lock. The watchdog runs on its own thread, so that
+ * it keeps probing when all the watched threads are stalled.
+ */
+public class EventLoopWatchdog {
+
+    static final String DELAY_METRIC = "store.event.loop.delay";
+
+    static final String PENDING_TASKS_METRIC = "store.event.loop.pending.tasks";
+
+    private final BlockingCallMonitor monitor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long stallThresholdNanos;
+
+    private final long probeIntervalNanos;
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param monitor the monitor the stalls are reported to, {@code null} to only record the delays.
+     * @param applicationProperties the properties.
+     * @param meterRegistry the registry of the delay timers.
+     */
+    public EventLoopWatchdog(BlockingCallMonitor monitor, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.meterRegistry = meterRegistry;
+        this.stallThresholdNanos = applicationProperties.getBlockingDetection().getStallThreshold().toNanos();
+        this.probeIntervalNanos = applicationProperties.getSchedulerMetrics().getProbeInterval().toNanos();
+    }
+
+    /**
+     * Watches a thread.
+     *
+     * @param pool the name of the pool of the thread, to tag the metrics.
+     * @param executor runs the probes on the thread.
+     */
+    public void watch(String pool, Executor executor) {
+        Timer delay = Timer.builder(DELAY_METRIC).tag("pool", pool).publishPercentileHistogram().register(meterRegistry);
+        probes.add(new Probe(pool, executor, delay));
+    }
+
+    /**
+     * Watches the threads of an event loop group, and registers the {@code store.event.loop.pending.tasks} gauges of
+     * its event loops.
+     *
+     * @param pool the name of the pool of the threads, to tag the metrics.
+     * @param eventLoopGroup the event loop group.
+     */
+    public void watch(String pool, EventLoopGroup eventLoopGroup) {
+        int index = 0;
+        for (EventExecutor eventLoop : eventLoopGroup) {
+            watch(pool, eventLoop);
+            if (eventLoop instanceof SingleThreadEventExecutor) {
+                Gauge
+                    .builder(PENDING_TASKS_METRIC, (SingleThreadEventExecutor) eventLoop, SingleThreadEventExecutor::pendingTasks)
+                    .tag("pool", pool)
+                    .tag("loop", String.valueOf(index))
+                    .register(meterRegistry);
+            }
+            index++;
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "event-loop-watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            scheduler.scheduleWithFixedDelay(this::probe, probeIntervalNanos, probeIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    void probe() {
+        long now = System.nanoTime();
+        for (Probe probe : probes) {
+            probe.tick(now);
+        }
+    }
+
+    private final class Probe implements Runnable {
+
+        private final String pool;
+
+        private final Executor executor;
+
+        private final Timer delay;
+
+        /**
+         * Time the pending probe was submitted at, {@code 0} when none is pending.
+         */
+        private volatile long submittedAt;
+
+        private volatile Thread thread;
+
+        private boolean stallReported;
+
+        Probe(String pool, Executor executor, Timer delay) {
+            this.pool = pool;
+            this.executor = executor;
+            this.delay = delay;
+        }
+
+        void tick(long now) {
+            long submitted = submittedAt;
+            if (submitted != 0) {
+                if (monitor != null && !stallReported && now - submitted > stallThresholdNanos) {
+                    stallReported = true;
+                    monitor.stall(pool, thread, now - submitted);
+                }
+                return;
+            }
+            stallReported = false;
+            submittedAt = now;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // the thread is shutting down
+                submittedAt = 0;
+            }
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            delay.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            submittedAt = 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.store.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gauges of the usage of thread pools: their {@code store.executor.threads}, {@code store.executor.active} threads
+ * running a task and {@code store.executor.queued} tasks, tagged by pool name.
+ */
+public final class ExecutorMetrics {
+
+    static final String METRIC_PREFIX = "store.executor";
+
+    private ExecutorMetrics() {}
+
+    /**
+     * Registers the gauges of a pool.
+     *
+     * @param meterRegistry the registry.
+     * @param name the name of the pool.
+     * @param executors the executors making up the pool, summed up.
+     */
+    public static void bind(
+        MeterRegistry meterRegistry,
+        String name,
+        Supplier<? extends Collection<? extends ThreadPoolExecutor>> executors
+    ) {
+        gauge(meterRegistry, "threads", name, executors, ThreadPoolExecutor::getPoolSize);
+        gauge(meterRegistry, "active", name, executors, ThreadPoolExecutor::getActiveCount);
+        gauge(meterRegistry, "queued", name, executors, executor -> executor.getQueue().size());
+    }
+
+    private static void gauge(
+        MeterRegistry meterRegistry,
+        String metric,
+        String name,
+        Supplier<? extends Collection<? extends ThreadPoolExecutor>> executors,
+        ToIntFunction<ThreadPoolExecutor> value
+    ) {
+        Gauge
+            .builder(METRIC_PREFIX + '.' + metric, executors, supplier -> supplier.get().stream().mapToInt(value).sum())
+            .tag("name", name)
+            .strongReference(true)
+            .register(meterRegistry);
+    }
+}
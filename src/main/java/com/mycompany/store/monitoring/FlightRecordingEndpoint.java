@@ -0,0 +1,33 @@
+package com.mycompany.store.monitoring;
+
+import java.time.Duration;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code /management/jfr}: records the application for a duration, such as {@code ?duration=60s}, and returns the
+ * {@code .jfr} file, to open in JDK Mission Control. A request made while another recording is running is answered
+ * with {@code 429 Too Many Requests}.
+ */
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private final FlightRecordings flightRecordings;
+
+    public FlightRecordingEndpoint(FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Mono<WebEndpointResponse<Resource>> record(@Nullable Duration duration, @Nullable String settings) {
+        return flightRecordings
+            .record(duration, settings)
+            .map(WebEndpointResponse::new)
+            .defaultIfEmpty(new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS))
+            .onErrorReturn(IllegalArgumentException.class, new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST));
+    }
+}
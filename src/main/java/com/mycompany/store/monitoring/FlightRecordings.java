@@ -0,0 +1,105 @@
+package com.mycompany.store.monitoring;
+
+import com.mycompany.store.config.ApplicationProperties;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Time-boxed flight recordings of the application, one at a time, including the JVM events and the events of the
+ * store, such as the {@link QueryEvent}s.
+ * <p>
+ * The recording is dumped to a temporary file, deleted once it has been read.
+ */
+public class FlightRecordings {
+
+    private final Logger log = LoggerFactory.getLogger(FlightRecordings.class);
+
+    private final ApplicationProperties.FlightRecording properties;
+
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public FlightRecordings(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getFlightRecording();
+    }
+
+    /**
+     * Records the application.
+     *
+     * @param duration the duration of the recording, bounded by {@code application.flight-recording.max-duration}, the
+     * default one if {@code null}.
+     * @param settings the name of the flight recorder settings, such as {@code profile}, the default ones if
+     * {@code null}.
+     * @return the recording, once done, or an empty Mono if another recording is running.
+     */
+    public Mono<Resource> record(Duration duration, String settings) {
+        Duration recordingDuration = duration == null ? properties.getDefaultDuration() : duration;
+        Duration boundedDuration = recordingDuration.compareTo(properties.getMaxDuration()) > 0
+            ? properties.getMaxDuration()
+            : recordingDuration;
+        String settingsName = settings == null ? properties.getSettings() : settings;
+        return Mono.defer(() -> {
+            Configuration configuration;
+            try {
+                configuration = Configuration.getConfiguration(settingsName);
+            } catch (IOException | ParseException e) {
+                return Mono.error(new IllegalArgumentException("Unknown flight recorder settings '" + settingsName + "'", e));
+            }
+            if (!recording.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            Recording jfr = new Recording(configuration);
+            jfr.setName("store-" + Instant.now());
+            jfr.start();
+            log.info("Started flight recording {} for {} with the {} settings", jfr.getName(), boundedDuration, settingsName);
+            return Mono
+                .delay(boundedDuration)
+                .then(Mono.fromCallable(() -> dump(jfr)).subscribeOn(Schedulers.boundedElastic()))
+                .doFinally(signal -> {
+                    jfr.close();
+                    recording.set(false);
+                });
+        });
+    }
+
+    private Resource dump(Recording jfr) throws IOException {
+        jfr.stop();
+        Path file = Files.createTempFile("store-", ".jfr");
+        try {
+            jfr.dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        log.info("Dumped flight recording {}, {} bytes", jfr.getName(), Files.size(file));
+        return new InputStreamResource(deleteOnClose(file), jfr.getName());
+    }
+
+    private static InputStream deleteOnClose(Path file) throws IOException {
+        file.toFile().deleteOnExit();
+        return new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.mycompany.store.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of an R2DBC statement, from its execution until its rows are consumed.
+ */
+@Name("com.mycompany.store.Query")
+@Label("Query")
+@Category({ "Store", "Database" })
+@Description("R2DBC statement, from its execution until its rows are consumed")
+@StackTrace(false)
+class QueryEvent extends Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("SQL")
+    @Description("Normalised statement")
+    String sql;
+
+    @Label("Origin")
+    @Description("Repository method which ran the statement")
+    String origin;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Outcome")
+    String outcome;
+}
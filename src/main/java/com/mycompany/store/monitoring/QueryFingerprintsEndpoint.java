@@ -0,0 +1,24 @@
+package com.mycompany.store.monitoring;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /management/queries}: the normalised SQL statements behind the {@code fingerprint} tags of the
+ * {@code store.r2dbc.query} metrics.
+ */
+@Endpoint(id = "queries")
+public class QueryFingerprintsEndpoint {
+
+    private final QueryMetrics metrics;
+
+    public QueryFingerprintsEndpoint(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ReadOperation
+    public List<SqlFingerprint> fingerprints() {
+        return metrics.getFingerprints();
+    }
+}
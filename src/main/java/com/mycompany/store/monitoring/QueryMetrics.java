@@ -0,0 +1,185 @@
+package com.mycompany.store.monitoring;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Metrics of the R2DBC statements by {@link SqlFingerprint}, recorded by the {@link QueryMonitoringConnectionFactory}.
+ * <p>
+ * Each statement is timed from its execution until its rows are consumed in the {@code store.r2dbc.query} timer, tagged
+ * by fingerprint, operation, table and outcome, and its rows are counted in the {@code store.r2dbc.query.rows}
+ * summary. Only the first {@code application.query-monitoring.max-fingerprints} fingerprints are tagged, the others
+ * being tagged {@code other}, to bound the number of series. The statements slower than
+ * {@code application.query-monitoring.slow-threshold} are logged with the repository method which ran them and the
+ * shapes of their bind parameters, never their values.
+ */
+public class QueryMetrics {
+
+    static final String METRIC_NAME = "store.r2dbc.query";
+
+    static final String OTHER = "other";
+
+    /**
+     * Key of the Reactor context entry naming the repository method which runs the statements.
+     */
+    public static final String ORIGIN_CONTEXT_KEY = QueryMetrics.class.getName() + ".origin";
+
+    /**
+     * Bound of the cache of the fingerprints by SQL string, as some statements inline their values.
+     */
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(QueryMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowThresholdNanos;
+
+    private final int maxFingerprints;
+
+    private final Map<String, SqlFingerprint> fingerprintsBySql = new ConcurrentHashMap<>();
+
+    private final Map<String, SqlFingerprint> taggedFingerprints = new ConcurrentHashMap<>();
+
+    private final Map<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.QueryMonitoring properties = applicationProperties.getQueryMonitoring();
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.maxFingerprints = properties.getMaxFingerprints();
+    }
+
+    public SqlFingerprint fingerprint(String sql) {
+        SqlFingerprint fingerprint = fingerprintsBySql.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            if (fingerprintsBySql.size() < MAX_CACHED_STATEMENTS) {
+                fingerprintsBySql.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param fingerprint the fingerprint of the statement.
+     * @param origin the repository method which ran it.
+     * @param durationNanos the time from its execution until its rows were consumed.
+     * @param rows the number of rows it returned.
+     * @param signal how its execution ended.
+     * @param bindings the shapes of its bind parameters, only computed for the slow statements.
+     */
+    public void record(
+        SqlFingerprint fingerprint,
+        String origin,
+        long durationNanos,
+        long rows,
+        SignalType signal,
+        Supplier<String> bindings
+    ) {
+        QueryMeters queryMeters = meters.get(fingerprint.getId());
+        if (queryMeters == null) {
+            queryMeters = register(fingerprint);
+        }
+        queryMeters.get(signal).record(durationNanos, TimeUnit.NANOSECONDS);
+        queryMeters.rows.record(rows);
+        if (durationNanos >= slowThresholdNanos && log.isInfoEnabled()) {
+            log.info(
+                "Slow query {} took {} ms with outcome {} and {} rows, from {} with bindings {}: {}",
+                fingerprint.getId(),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                outcome(signal),
+                rows,
+                origin,
+                bindings.get(),
+                fingerprint.getSql()
+            );
+        }
+    }
+
+    /**
+     * @return the fingerprints tagged in the metrics.
+     */
+    public List<SqlFingerprint> getFingerprints() {
+        return taggedFingerprints.values().stream().sorted((a, b) -> a.getId().compareTo(b.getId())).collect(Collectors.toList());
+    }
+
+    static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_ERROR:
+                return "error";
+            case CANCEL:
+                return "cancel";
+            default:
+                return "success";
+        }
+    }
+
+    private QueryMeters register(SqlFingerprint fingerprint) {
+        if (taggedFingerprints.size() < maxFingerprints) {
+            taggedFingerprints.putIfAbsent(fingerprint.getId(), fingerprint);
+            return meters.computeIfAbsent(fingerprint.getId(), id -> new QueryMeters(id, fingerprint));
+        }
+        // the statements over the bound share the meters of their operation and table
+        String key = OTHER + ':' + fingerprint.getOperation() + ':' + fingerprint.getTable();
+        return meters.computeIfAbsent(key, id -> new QueryMeters(OTHER, fingerprint));
+    }
+
+    private class QueryMeters {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer cancel;
+
+        private final DistributionSummary rows;
+
+        QueryMeters(String id, SqlFingerprint fingerprint) {
+            this.success = timer(id, fingerprint, outcome(SignalType.ON_COMPLETE));
+            this.error = timer(id, fingerprint, outcome(SignalType.ON_ERROR));
+            this.cancel = timer(id, fingerprint, outcome(SignalType.CANCEL));
+            this.rows =
+                DistributionSummary
+                    .builder(METRIC_NAME + ".rows")
+                    .tag("fingerprint", id)
+                    .tag("operation", fingerprint.getOperation())
+                    .tag("table", fingerprint.getTable())
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String id, SqlFingerprint fingerprint, String outcome) {
+            return Timer
+                .builder(METRIC_NAME)
+                .tag("fingerprint", id)
+                .tag("operation", fingerprint.getOperation())
+                .tag("table", fingerprint.getTable())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+
+        Timer get(SignalType signal) {
+            switch (signal) {
+                case ON_ERROR:
+                    return error;
+                case CANCEL:
+                    return cancel;
+                default:
+                    return success;
+            }
+        }
+    }
+}
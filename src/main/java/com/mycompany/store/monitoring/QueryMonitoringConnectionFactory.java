@@ -0,0 +1,421 @@
+package com.mycompany.store.monitoring;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Proxy of a {@link ConnectionFactory} recording the executions of the statements of its connections in the
+ * {@link QueryMetrics}.
+ * <p>
+ * An execution lasts until all its results are consumed, through {@link Result#map} or {@link Result#getRowsUpdated},
+ * so that it covers the fetching of the rows. The repository method running it is read from the
+ * {@link QueryMetrics#ORIGIN_CONTEXT_KEY} entry of the Reactor context. The bind parameters are kept until the
+ * execution to describe the slow statements. The executions are counted in the {@link StatementCounter} of the
+ * Reactor context of the request, if any.
+ * <p>
+ * The executions are also recorded as {@link QueryEvent}s, and the mappings of their rows as {@link RowMappingEvent}s,
+ * for the flight recordings.
+ */
+public class QueryMonitoringConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionFactory delegate;
+
+    private final QueryMetrics metrics;
+
+    public QueryMonitoringConnectionFactory(ConnectionFactory delegate, QueryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(MonitoredConnection::new);
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        // the connection pool bean is disposed through this proxy
+        if (delegate instanceof Disposable) {
+            ((Disposable) delegate).dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable && ((Disposable) delegate).isDisposed();
+    }
+
+    private class MonitoredConnection implements Connection, Wrapped<Connection> {
+
+        private final Connection delegate;
+
+        MonitoredConnection(Connection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Statement createStatement(String sql) {
+            return new MonitoredStatement(delegate.createStatement(sql), sql);
+        }
+
+        @Override
+        public Batch createBatch() {
+            return new MonitoredBatch(delegate.createBatch());
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction() {
+            return delegate.beginTransaction();
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return delegate.close();
+        }
+
+        @Override
+        public Publisher<Void> commitTransaction() {
+            return delegate.commitTransaction();
+        }
+
+        @Override
+        public Publisher<Void> createSavepoint(String name) {
+            return delegate.createSavepoint(name);
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return delegate.isAutoCommit();
+        }
+
+        @Override
+        public ConnectionMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+
+        @Override
+        public IsolationLevel getTransactionIsolationLevel() {
+            return delegate.getTransactionIsolationLevel();
+        }
+
+        @Override
+        public Publisher<Void> releaseSavepoint(String name) {
+            return delegate.releaseSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransaction() {
+            return delegate.rollbackTransaction();
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+            return delegate.rollbackTransactionToSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> setAutoCommit(boolean autoCommit) {
+            return delegate.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+            return delegate.setTransactionIsolationLevel(isolationLevel);
+        }
+
+        @Override
+        public Publisher<Boolean> validate(ValidationDepth depth) {
+            return delegate.validate(depth);
+        }
+
+        @Override
+        public Connection unwrap() {
+            return delegate;
+        }
+    }
+
+    private class MonitoredStatement implements Statement, Wrapped<Statement> {
+
+        private final Statement delegate;
+
+        private final String sql;
+
+        /**
+         * Parameters of the current binding, by index or name, the {@link Class} of the value when bound to {@code null}.
+         */
+        private Map<Object, Object> bindings = new LinkedHashMap<>();
+
+        private int bindingCount = 1;
+
+        MonitoredStatement(Statement delegate, String sql) {
+            this.delegate = delegate;
+            this.sql = sql;
+        }
+
+        @Override
+        public Statement add() {
+            delegate.add();
+            bindings = new LinkedHashMap<>();
+            bindingCount++;
+            return this;
+        }
+
+        @Override
+        public Statement bind(int index, Object value) {
+            delegate.bind(index, value);
+            bindings.put(index, value);
+            return this;
+        }
+
+        @Override
+        public Statement bind(String name, Object value) {
+            delegate.bind(name, value);
+            bindings.put(name, value);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(int index, Class<?> type) {
+            delegate.bindNull(index, type);
+            bindings.put(index, type);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(String name, Class<?> type) {
+            delegate.bindNull(name, type);
+            bindings.put(name, type);
+            return this;
+        }
+
+        @Override
+        public Statement returnGeneratedValues(String... columns) {
+            delegate.returnGeneratedValues(columns);
+            return this;
+        }
+
+        @Override
+        public Statement fetchSize(int rows) {
+            delegate.fetchSize(rows);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            Map<Object, Object> lastBindings = bindings;
+            int count = bindingCount;
+            return monitorExecution(delegate.execute(), sql, () -> shapes(lastBindings, count));
+        }
+
+        @Override
+        public Statement unwrap() {
+            return delegate;
+        }
+    }
+
+    private class MonitoredBatch implements Batch, Wrapped<Batch> {
+
+        private final Batch delegate;
+
+        private final List<String> statements = new ArrayList<>();
+
+        MonitoredBatch(Batch delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Batch add(String sql) {
+            delegate.add(sql);
+            statements.add(sql);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            return monitorExecution(delegate.execute(), String.join("; ", statements), () -> "[]");
+        }
+
+        @Override
+        public Batch unwrap() {
+            return delegate;
+        }
+    }
+
+    private Flux<Result> monitorExecution(Publisher<? extends Result> results, String sql, Supplier<String> bindings) {
+        SqlFingerprint fingerprint = metrics.fingerprint(sql);
+        return Flux.deferContextual(context -> {
+            context.<StatementCounter>getOrEmpty(StatementCounter.CONTEXT_KEY).ifPresent(counter -> counter.increment(fingerprint));
+            Execution execution = new Execution(fingerprint, context.getOrDefault(QueryMetrics.ORIGIN_CONTEXT_KEY, "unknown"), bindings);
+            return Flux.from(results).map(execution::monitor).doFinally(execution::done);
+        });
+    }
+
+    /**
+     * Shapes of the parameters of a binding, their types and the length of the strings and arrays.
+     */
+    static String shapes(Map<Object, Object> bindings, int count) {
+        String shapes = bindings
+            .entrySet()
+            .stream()
+            .map(binding -> binding.getKey() + "=" + shape(binding.getValue()))
+            .collect(Collectors.joining(", ", "[", "]"));
+        return count > 1 ? count + " x " + shapes : shapes;
+    }
+
+    private static String shape(Object value) {
+        if (value instanceof Class) {
+            return "null " + ((Class<?>) value).getSimpleName();
+        }
+        if (value instanceof CharSequence) {
+            return value.getClass().getSimpleName() + "(" + ((CharSequence) value).length() + ")";
+        }
+        if (value instanceof byte[]) {
+            return "byte[" + ((byte[]) value).length + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    /**
+     * An execution of a statement, done when it and all its results have terminated.
+     */
+    private class Execution {
+
+        private final SqlFingerprint fingerprint;
+
+        private final String origin;
+
+        private final Supplier<String> bindings;
+
+        private final long start = System.nanoTime();
+
+        /**
+         * The execution and its results which have not terminated yet.
+         */
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private final AtomicLong rows = new AtomicLong();
+
+        private volatile SignalType signal = SignalType.ON_COMPLETE;
+
+        private final QueryEvent event = new QueryEvent();
+
+        Execution(SqlFingerprint fingerprint, String origin, Supplier<String> bindings) {
+            this.fingerprint = fingerprint;
+            this.origin = origin;
+            this.bindings = bindings;
+            event.begin();
+        }
+
+        Result monitor(Result result) {
+            pending.incrementAndGet();
+            return new MonitoredResult(result, this);
+        }
+
+        void done(SignalType terminal) {
+            if (terminal != SignalType.ON_COMPLETE && signal != SignalType.ON_ERROR) {
+                signal = terminal;
+            }
+            if (pending.decrementAndGet() == 0) {
+                metrics.record(fingerprint, origin, System.nanoTime() - start, rows.get(), signal, bindings);
+                if (event.shouldCommit()) {
+                    event.fingerprint = fingerprint.getId();
+                    event.sql = fingerprint.getSql();
+                    event.origin = origin;
+                    event.rows = rows.get();
+                    event.outcome = QueryMetrics.outcome(signal);
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private static class MonitoredResult implements Result {
+
+        private final Result delegate;
+
+        private final Execution execution;
+
+        MonitoredResult(Result delegate, Execution execution) {
+            this.delegate = delegate;
+            this.execution = execution;
+        }
+
+        @Override
+        public Publisher<Integer> getRowsUpdated() {
+            return Mono.from(delegate.getRowsUpdated()).doFinally(execution::done);
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            RowMappingEvent event = new RowMappingEvent();
+            if (!event.isEnabled()) {
+                return Flux
+                    .from(
+                        delegate.map((row, metadata) -> {
+                            execution.rows.incrementAndGet();
+                            return mappingFunction.apply(row, metadata);
+                        })
+                    )
+                    .doFinally(execution::done);
+            }
+            // the mapping functions are only timed while a recording is running
+            AtomicLong rows = new AtomicLong();
+            AtomicLong mappingTime = new AtomicLong();
+            event.begin();
+            return Flux
+                .from(
+                    delegate.map((row, metadata) -> {
+                        execution.rows.incrementAndGet();
+                        rows.incrementAndGet();
+                        long start = System.nanoTime();
+                        try {
+                            return mappingFunction.apply(row, metadata);
+                        } finally {
+                            mappingTime.addAndGet(System.nanoTime() - start);
+                        }
+                    })
+                )
+                .doFinally(signal -> {
+                    event.fingerprint = execution.fingerprint.getId();
+                    event.rows = rows.get();
+                    event.mappingTime = mappingTime.get();
+                    event.commit();
+                    execution.done(signal);
+                });
+        }
+    }
+}
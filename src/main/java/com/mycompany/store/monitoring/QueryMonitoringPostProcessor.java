@@ -0,0 +1,82 @@
+package com.mycompany.store.monitoring;
+
+import io.r2dbc.spi.ConnectionFactory;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Wraps the {@link ConnectionFactory} in a {@link QueryMonitoringConnectionFactory}, and adds an interceptor to the
+ * repositories of the application writing the repository method which returned a {@link Mono} or a {@link Flux} in its
+ * Reactor context, for the slow query log.
+ */
+public class QueryMonitoringPostProcessor implements BeanPostProcessor {
+
+    private static final String REPOSITORY_PACKAGE = "com.mycompany.store.repository";
+
+    private final ObjectProvider<QueryMetrics> metrics;
+
+    /**
+     * @param metrics the metrics, only resolved when the connection factory is created, as the post-processors are
+     * created before the meter registry.
+     */
+    public QueryMonitoringPostProcessor(ObjectProvider<QueryMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionFactory && !(bean instanceof QueryMonitoringConnectionFactory)) {
+            return new QueryMonitoringConnectionFactory((ConnectionFactory) bean, metrics.getObject());
+        }
+        if (bean instanceof Repository && bean instanceof Advised) {
+            Advised repository = (Advised) bean;
+            for (Class<?> repositoryInterface : repository.getProxiedInterfaces()) {
+                if (repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    repository.addAdvice(0, new OriginInterceptor(repositoryInterface.getSimpleName()));
+                    break;
+                }
+            }
+        }
+        return bean;
+    }
+
+    private static class OriginInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        private final Map<Method, Context> contexts = new ConcurrentHashMap<>();
+
+        OriginInterceptor(String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (result instanceof Mono) {
+                return ((Mono<?>) result).contextWrite(context(invocation.getMethod()));
+            }
+            if (result instanceof Flux) {
+                return ((Flux<?>) result).contextWrite(context(invocation.getMethod()));
+            }
+            return result;
+        }
+
+        private Context context(Method method) {
+            return contexts.computeIfAbsent(
+                method,
+                key -> Context.of(QueryMetrics.ORIGIN_CONTEXT_KEY, repositoryName + "." + key.getName() + "()")
+            );
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.mycompany.store.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+/**
+ * JSON encoder recording the serialisation of each value as a {@link SerializationEvent}, for the flight recordings.
+ * <p>
+ * The bodies written as a {@code Mono}, such as the {@code ResponseEntity}s of the REST resources, are serialised in
+ * one value. The elements of a streamed {@code Flux} are serialised as they come, and are not recorded.
+ */
+public class RecordedJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    public RecordedJackson2JsonEncoder(ObjectMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+        Object value,
+        DataBufferFactory bufferFactory,
+        ResolvableType valueType,
+        MimeType mimeType,
+        Map<String, Object> hints
+    ) {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        DataBuffer buffer = super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        if (event.shouldCommit()) {
+            event.type = valueType.toString();
+            event.mediaType = mimeType != null ? mimeType.toString() : null;
+            event.size = buffer.readableByteCount();
+            event.commit();
+        }
+        return buffer;
+    }
+}
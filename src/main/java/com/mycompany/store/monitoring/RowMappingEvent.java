@@ -0,0 +1,32 @@
+package com.mycompany.store.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of the mapping of the rows of a result to entities, spanning their fetching: the time spent in
+ * the mapping functions is summed up in {@link #mappingTime}, rather than recorded by row.
+ */
+@Name("com.mycompany.store.RowMapping")
+@Label("Row Mapping")
+@Category({ "Store", "Database" })
+@Description("Rows of an R2DBC result mapped to entities")
+@StackTrace(false)
+class RowMappingEvent extends Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Mapping Time")
+    @Description("Time spent in the mapping function, out of the duration of the fetch")
+    @Timespan(Timespan.NANOSECONDS)
+    long mappingTime;
+}
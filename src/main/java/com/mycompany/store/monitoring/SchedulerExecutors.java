@@ -0,0 +1,72 @@
+package com.mycompany.store.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiFunction;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Decorator of the executors of the Reactor schedulers, registering the {@link ExecutorMetrics} of the executors of
+ * each type of scheduler, such as {@code parallel} or {@code boundedElastic}. The executors created by a
+ * {@code boundedElastic} scheduler, one per thread, are summed up, so that the number of series stays bounded.
+ * <p>
+ * Only the executors created once it is installed are measured: the default schedulers, created on first use, are
+ * measured as long as it is installed while the application starts.
+ */
+public class SchedulerExecutors implements BiFunction<Scheduler, ScheduledExecutorService, ScheduledExecutorService> {
+
+    private static final String DECORATOR_KEY = SchedulerExecutors.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Set<ThreadPoolExecutor>> executors = new ConcurrentHashMap<>();
+
+    public SchedulerExecutors(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void install() {
+        Schedulers.addExecutorServiceDecorator(DECORATOR_KEY, this);
+    }
+
+    public void uninstall() {
+        Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+    }
+
+    @Override
+    public ScheduledExecutorService apply(Scheduler scheduler, ScheduledExecutorService executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            executors.computeIfAbsent(name(scheduler), this::register).add((ThreadPoolExecutor) executor);
+        }
+        return executor;
+    }
+
+    private Set<ThreadPoolExecutor> register(String name) {
+        Set<ThreadPoolExecutor> pool = ConcurrentHashMap.newKeySet();
+        ExecutorMetrics.bind(
+            meterRegistry,
+            name,
+            () -> {
+                pool.removeIf(ThreadPoolExecutor::isShutdown);
+                return pool;
+            }
+        );
+        return pool;
+    }
+
+    /**
+     * Type of a scheduler, its class name without the {@code Scheduler} suffix, such as {@code boundedElastic}.
+     */
+    static String name(Scheduler scheduler) {
+        String name = scheduler.getClass().getSimpleName();
+        if (name.endsWith("Scheduler") && name.length() > "Scheduler".length()) {
+            name = name.substring(0, name.length() - "Scheduler".length());
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
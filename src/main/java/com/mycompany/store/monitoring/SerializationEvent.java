@@ -0,0 +1,28 @@
+package com.mycompany.store.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the serialisation of a body to JSON.
+ */
+@Name("com.mycompany.store.Serialization")
+@Label("Serialization")
+@Category({ "Store", "Web" })
+@StackTrace(false)
+class SerializationEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+}
@@ -0,0 +1,149 @@
+package com.mycompany.store.monitoring;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalised form of a SQL statement, identifying the statements which only differ by their literals and bind markers.
+ * <p>
+ * The string literals, numbers and bind markers are replaced by {@code ?}, the whitespace is collapsed, and the lists
+ * of values, such as those of an {@code IN} or of a multi-row {@code VALUES}, are collapsed to {@code (?+)}, so that
+ * the statements paged with inlined {@code LIMIT}s or filtered on lists of ids share their fingerprint.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern VALUE_LIST = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\+?\\)(?:, ?\\(\\?\\+?\\))+");
+
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+[\"`]?([\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    private final String sql;
+
+    private final String id;
+
+    private final String operation;
+
+    private final String table;
+
+    private SqlFingerprint(String sql) {
+        this.sql = sql;
+        this.id = String.format("%08x", sql.hashCode());
+        this.operation = operation(sql);
+        Matcher table = TABLE.matcher(sql);
+        this.table = table.find() ? table.group(1).toLowerCase(Locale.ROOT) : "none";
+    }
+
+    public static SqlFingerprint of(String sql) {
+        return new SqlFingerprint(normalize(sql));
+    }
+
+    /**
+     * @return the normalised statement.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * @return the hash of the normalised statement, which tags its metrics.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return {@code select}, {@code insert}, {@code update}, {@code delete} or {@code other}.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the first table of the statement, {@code none} if it has none.
+     */
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String toString() {
+        return id + ": " + sql;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i);
+                normalized.append('?');
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i);
+                normalized.append(sql, i, end);
+                i = end;
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (normalized.length() > 0 && i < length) {
+                    normalized.append(' ');
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && isIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+                normalized.append(sql, start, i);
+            } else if (Character.isDigit(c) || (c == '$' && i + 1 < length && Character.isDigit(sql.charAt(i + 1)))) {
+                i++;
+                while (i < length && (isIdentifierPart(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                normalized.append('?');
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        String values = VALUE_LIST.matcher(normalized).replaceAll("(?+)");
+        return ROW_LIST.matcher(values).replaceAll("(?+)+");
+    }
+
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static String operation(String sql) {
+        int end = sql.indexOf(' ');
+        String keyword = (end < 0 ? sql : sql.substring(0, end)).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+            case "insert":
+            case "update":
+            case "delete":
+                return keyword;
+            default:
+                return "other";
+        }
+    }
+}
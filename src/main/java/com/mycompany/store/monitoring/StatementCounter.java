@@ -0,0 +1,68 @@
+package com.mycompany.store.monitoring;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Counter of the R2DBC statements run for a request, carried in its Reactor context under {@link #CONTEXT_KEY} and
+ * incremented by the {@link QueryMonitoringConnectionFactory} on every execution, to reveal the N+1 patterns.
+ */
+public class StatementCounter {
+
+    public static final String CONTEXT_KEY = StatementCounter.class.getName();
+
+    /**
+     * Bound of the fingerprints counted for a request, the others are only counted in the total.
+     */
+    private static final int MAX_FINGERPRINTS = 50;
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final Map<String, FingerprintCount> fingerprints = new ConcurrentHashMap<>();
+
+    public void increment(SqlFingerprint fingerprint) {
+        count.incrementAndGet();
+        FingerprintCount fingerprintCount = fingerprints.get(fingerprint.getId());
+        if (fingerprintCount == null) {
+            if (fingerprints.size() >= MAX_FINGERPRINTS) {
+                return;
+            }
+            fingerprintCount = fingerprints.computeIfAbsent(fingerprint.getId(), id -> new FingerprintCount(fingerprint));
+        }
+        fingerprintCount.count.incrementAndGet();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the fingerprints of the statements, the most run first, as {@code 12 x 1a2b3c4d: select ...} lines.
+     */
+    public String describe() {
+        return fingerprints
+            .values()
+            .stream()
+            .sorted(Comparator.comparingInt(FingerprintCount::get).reversed())
+            .map(fingerprintCount -> fingerprintCount.get() + " x " + fingerprintCount.fingerprint)
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static class FingerprintCount {
+
+        private final SqlFingerprint fingerprint;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        FingerprintCount(SqlFingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        int get() {
+            return count.get();
+        }
+    }
+}
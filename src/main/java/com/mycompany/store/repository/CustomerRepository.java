@@ -1,6 +1,7 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.Customer;
+import java.time.Instant;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -43,4 +44,5 @@ interface CustomerRepositoryInternal {
     Mono<Customer> findById(Long id);
     Flux<Customer> findAllBy(Pageable pageable);
     Flux<Customer> findAllBy(Pageable pageable, Criteria criteria);
+    Mono<Instant> findLastModifiedDateById(Long id);
 }
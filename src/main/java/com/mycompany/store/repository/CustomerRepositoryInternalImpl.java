@@ -7,9 +7,11 @@ import com.mycompany.store.domain.Customer;
 import com.mycompany.store.domain.enumeration.Gender;
 import com.mycompany.store.repository.rowmapper.CustomerRowMapper;
 import com.mycompany.store.repository.rowmapper.UserRowMapper;
+import com.mycompany.store.service.ColumnConverter;
 import com.mycompany.store.service.EntityManager;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +40,7 @@ class CustomerRepositoryInternalImpl implements CustomerRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ColumnConverter converter;
 
     private final UserRowMapper userMapper;
     private final CustomerRowMapper customerMapper;
@@ -48,12 +51,14 @@ class CustomerRepositoryInternalImpl implements CustomerRepositoryInternal {
     public CustomerRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        ColumnConverter converter,
         UserRowMapper userMapper,
         CustomerRowMapper customerMapper
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.userMapper = userMapper;
         this.customerMapper = customerMapper;
     }
@@ -107,6 +112,26 @@ class CustomerRepositoryInternalImpl implements CustomerRepositoryInternal {
         return createQuery(null, where("id").is(id)).one();
     }
 
+    @Override
+    public Mono<Instant> findLastModifiedDateById(Long id) {
+        // the customer is returned with its user, a change of either one changes the response
+        return db
+            .sql(
+                "SELECT e.last_modified_date AS e_last_modified_date, e_user.last_modified_date AS user_last_modified_date" +
+                " FROM customer e LEFT OUTER JOIN jhi_user e_user ON e.user_id = e_user.id" +
+                " WHERE e.id = :id"
+            )
+            .bind("id", id)
+            .map(row -> {
+                Instant lastModifiedDate = converter.fromRow(row, "e_last_modified_date", Instant.class);
+                Instant userLastModifiedDate = converter.fromRow(row, "user_last_modified_date", Instant.class);
+                return userLastModifiedDate != null && userLastModifiedDate.isAfter(lastModifiedDate)
+                    ? userLastModifiedDate
+                    : lastModifiedDate;
+            })
+            .one();
+    }
+
     private Customer process(Row row, RowMetadata metadata) {
         Customer entity = customerMapper.apply(row, "e");
         entity.setUser(userMapper.apply(row, "user"));
@@ -154,6 +179,7 @@ class CustomerSqlHelper {
         columns.add(Column.aliased("address_line_2", table, columnPrefix + "_address_line_2"));
         columns.add(Column.aliased("city", table, columnPrefix + "_city"));
         columns.add(Column.aliased("country", table, columnPrefix + "_country"));
+        columns.add(Column.aliased("last_modified_date", table, columnPrefix + "_last_modified_date"));
 
         columns.add(Column.aliased("user_id", table, columnPrefix + "_user_id"));
         return columns;
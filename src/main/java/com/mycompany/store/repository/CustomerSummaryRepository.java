@@ -0,0 +1,85 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.CustomerSummary;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the {@link CustomerSummary} entity.
+ */
+@Repository
+public interface CustomerSummaryRepository extends R2dbcRepository<CustomerSummary, Long>, CustomerSummaryRepositoryInternal {
+    String SELECT_SUMMARIES =
+        "SELECT c.id, " +
+        "(SELECT COUNT(*) FROM order_item i JOIN product_order o ON i.order_id = o.id WHERE o.customer_id = c.id), " +
+        "COALESCE((SELECT SUM(i.total_price) FROM order_item i JOIN product_order o ON i.order_id = o.id " +
+        "WHERE o.customer_id = c.id), 0), " +
+        "COALESCE((SELECT SUM(v.payment_amount) FROM invoice v JOIN product_order o ON v.order_id = o.id " +
+        "WHERE o.customer_id = c.id AND v.status = 'PAID'), 0) " +
+        "FROM customer c";
+
+    /**
+     * Adds to the item totals of the customer of an order.
+     *
+     * @return the number of updated summaries, {@code 0} if the order has no customer or its customer has no summary yet.
+     */
+    @Modifying
+    @Query(
+        "UPDATE customer_summary SET item_count = item_count + :itemCount, total_amount = total_amount + :amount " +
+        "WHERE customer_id = (SELECT o.customer_id FROM product_order o WHERE o.id = :orderId)"
+    )
+    Mono<Integer> addToItemTotals(Long orderId, BigDecimal amount, int itemCount);
+
+    /**
+     * Adds to the paid total of the customer of an order.
+     *
+     * @return the number of updated summaries, {@code 0} if the order has no customer or its customer has no summary yet.
+     */
+    @Modifying
+    @Query(
+        "UPDATE customer_summary SET total_paid = total_paid + :amount " +
+        "WHERE customer_id = (SELECT o.customer_id FROM product_order o WHERE o.id = :orderId)"
+    )
+    Mono<Integer> addToTotalPaid(Long orderId, BigDecimal amount);
+
+    /**
+     * Creates the summary of a customer from its orders, unless it already exists.
+     *
+     * @return the number of created summaries, {@code 0} if the summary already exists. A summary created by a
+     *         concurrent transaction which didn't commit yet fails the insert with a duplicate key instead.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO customer_summary (customer_id, item_count, total_amount, total_paid) " +
+        SELECT_SUMMARIES +
+        " WHERE c.id = :customerId AND NOT EXISTS (SELECT 1 FROM customer_summary s WHERE s.customer_id = c.id)"
+    )
+    Mono<Integer> insertFromOrders(Long customerId);
+
+    /**
+     * Creates the summaries of all the customers from their orders.
+     */
+    @Modifying
+    @Query("INSERT INTO customer_summary (customer_id, item_count, total_amount, total_paid) " + SELECT_SUMMARIES)
+    Mono<Integer> insertAllFromOrders();
+
+    @Modifying
+    @Query("DELETE FROM customer_summary")
+    Mono<Integer> deleteAllSummaries();
+}
+
+interface CustomerSummaryRepositoryInternal {
+    /**
+     * Adds to the paid totals of the customers of orders, with a single statement executed once per order.
+     *
+     * @param amountsByOrder the amount to add for each order id.
+     * @return the ids of the orders which have no customer, or which customer has no summary yet.
+     */
+    Flux<Long> addToTotalPaid(Map<Long, BigDecimal> amountsByOrder);
+}
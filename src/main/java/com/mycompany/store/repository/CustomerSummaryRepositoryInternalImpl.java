@@ -0,0 +1,53 @@
+package com.mycompany.store.repository;
+
+import io.r2dbc.spi.Statement;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data SQL reactive custom repository implementation for the CustomerSummary entity.
+ */
+class CustomerSummaryRepositoryInternalImpl implements CustomerSummaryRepositoryInternal {
+
+    private final DatabaseClient db;
+
+    public CustomerSummaryRepositoryInternalImpl(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    @Override
+    public Flux<Long> addToTotalPaid(Map<Long, BigDecimal> amountsByOrder) {
+        if (amountsByOrder.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Map.Entry<Long, BigDecimal>> amounts = new ArrayList<>(amountsByOrder.entrySet());
+        BindMarkers bindMarkers = BindMarkersFactoryResolver.resolve(db.getConnectionFactory()).create();
+        String sql =
+            "UPDATE customer_summary SET total_paid = total_paid + " +
+            bindMarkers.next().getPlaceholder() +
+            " WHERE customer_id = (SELECT o.customer_id FROM product_order o WHERE o.id = " +
+            bindMarkers.next().getPlaceholder() +
+            ")";
+        return db
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                for (int i = 0; i < amounts.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    statement.bind(0, amounts.get(i).getValue()).bind(1, amounts.get(i).getKey());
+                }
+                return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+            })
+            .index()
+            .filter(updated -> updated.getT2() == 0)
+            .map(updated -> amounts.get(updated.getT1().intValue()).getKey());
+    }
+}
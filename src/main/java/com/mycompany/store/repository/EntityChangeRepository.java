@@ -0,0 +1,30 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.EntityChange;
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the {@link EntityChange} entity.
+ */
+@Repository
+public interface EntityChangeRepository extends R2dbcRepository<EntityChange, Long> {
+    @Query("SELECT * FROM entity_change_log entity WHERE entity.id > :afterId ORDER BY entity.id LIMIT :limit")
+    Flux<EntityChange> findAllAfter(long afterId, int limit);
+
+    @Query("SELECT * FROM entity_change_log entity WHERE entity.id IN (:ids)")
+    Flux<EntityChange> findAllByIdIn(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(entity.id), 0) FROM entity_change_log entity")
+    Mono<Long> findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM entity_change_log WHERE changed_date < :changedDate")
+    Mono<Integer> deleteByChangedDateBefore(Instant changedDate);
+}
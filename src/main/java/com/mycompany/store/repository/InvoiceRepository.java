@@ -1,6 +1,8 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.Invoice;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -43,4 +45,17 @@ interface InvoiceRepositoryInternal {
     Mono<Invoice> findById(Long id);
     Flux<Invoice> findAllBy(Pageable pageable);
     Flux<Invoice> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Finds the invoices with the given ids, with only their id, order id, status and payment amount.
+     */
+    Flux<Invoice> findSettlementStates(Collection<Long> ids);
+
+    /**
+     * Marks invoices as {@code PAID} on their payment date and amount, with a single statement executed once per
+     * invoice, unless they are not {@code ISSUED} any more.
+     *
+     * @return the number of updated rows of each invoice, in order.
+     */
+    Flux<Integer> settleAll(List<Invoice> invoices);
 }
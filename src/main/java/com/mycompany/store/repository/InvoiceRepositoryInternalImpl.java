@@ -8,12 +8,15 @@ import com.mycompany.store.domain.enumeration.InvoiceStatus;
 import com.mycompany.store.domain.enumeration.PaymentMethod;
 import com.mycompany.store.repository.rowmapper.InvoiceRowMapper;
 import com.mycompany.store.repository.rowmapper.ProductOrderRowMapper;
+import com.mycompany.store.service.ColumnConverter;
 import com.mycompany.store.service.EntityManager;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +32,8 @@ import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJ
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -44,6 +49,7 @@ class InvoiceRepositoryInternalImpl implements InvoiceRepositoryInternal {
 
     private final ProductOrderRowMapper productorderMapper;
     private final InvoiceRowMapper invoiceMapper;
+    private final ColumnConverter converter;
 
     private static final Table entityTable = Table.aliased("invoice", EntityManager.ENTITY_ALIAS);
     private static final Table orderTable = Table.aliased("product_order", "e_order");
@@ -52,13 +58,15 @@ class InvoiceRepositoryInternalImpl implements InvoiceRepositoryInternal {
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         ProductOrderRowMapper productorderMapper,
-        InvoiceRowMapper invoiceMapper
+        InvoiceRowMapper invoiceMapper,
+        ColumnConverter converter
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.productorderMapper = productorderMapper;
         this.invoiceMapper = invoiceMapper;
+        this.converter = converter;
     }
 
     @Override
@@ -136,6 +144,52 @@ class InvoiceRepositoryInternalImpl implements InvoiceRepositoryInternal {
         }
     }
 
+    @Override
+    public Flux<Invoice> findSettlementStates(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return db
+            .sql("SELECT id, order_id, status, payment_amount FROM invoice WHERE id IN (:ids)")
+            .bind("ids", ids)
+            .map((row, metadata) -> {
+                Invoice invoice = new Invoice()
+                    .id(converter.fromRow(row, "id", Long.class))
+                    .status(converter.fromRow(row, "status", InvoiceStatus.class))
+                    .paymentAmount(converter.fromRow(row, "payment_amount", BigDecimal.class));
+                invoice.setOrderId(converter.fromRow(row, "order_id", Long.class));
+                return invoice;
+            })
+            .all();
+    }
+
+    @Override
+    public Flux<Integer> settleAll(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return Flux.empty();
+        }
+        BindMarkers bindMarkers = BindMarkersFactoryResolver.resolve(db.getConnectionFactory()).create();
+        String sql =
+            "UPDATE invoice SET status = 'PAID', payment_date = " +
+            bindMarkers.next().getPlaceholder() +
+            ", payment_amount = " +
+            bindMarkers.next().getPlaceholder() +
+            " WHERE id = " +
+            bindMarkers.next().getPlaceholder() +
+            " AND status = 'ISSUED'";
+        return db.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int i = 0; i < invoices.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                Invoice invoice = invoices.get(i);
+                statement.bind(0, invoice.getPaymentDate()).bind(1, invoice.getPaymentAmount()).bind(2, invoice.getId());
+            }
+            return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+        });
+    }
+
     @Override
     public Mono<Integer> update(Invoice entity) {
         //fixme is this the proper way?
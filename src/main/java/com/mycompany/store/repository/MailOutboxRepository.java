@@ -0,0 +1,44 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.MailOutbox;
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the {@link MailOutbox} entity.
+ */
+@Repository
+public interface MailOutboxRepository extends R2dbcRepository<MailOutbox, Long> {
+    @Query(
+        "SELECT entity.id FROM mail_outbox entity WHERE entity.status = 'PENDING' AND entity.next_attempt_at <= :now " +
+        "ORDER BY entity.next_attempt_at, entity.id LIMIT :limit"
+    )
+    Flux<Long> findDueIds(Instant now, int limit);
+
+    /**
+     * Leases due emails to a dispatcher by tagging them with its claim token and pushing their next attempt after the
+     * lease, so that another node skips them and a crashed node's emails become due again once the lease expires.
+     */
+    @Modifying
+    @Query(
+        "UPDATE mail_outbox SET claim_token = :claimToken, next_attempt_at = :leaseUntil " +
+        "WHERE id IN (:ids) AND status = 'PENDING' AND next_attempt_at <= :now"
+    )
+    Mono<Integer> claim(Collection<Long> ids, String claimToken, Instant now, Instant leaseUntil);
+
+    @Query("SELECT * FROM mail_outbox entity WHERE entity.claim_token = :claimToken AND entity.status = 'PENDING'")
+    Flux<MailOutbox> findClaimed(String claimToken);
+
+    @Modifying
+    @Query("UPDATE mail_outbox SET status = 'SENT', sent_date = :sentDate, claim_token = NULL WHERE id IN (:ids)")
+    Mono<Integer> markSent(Collection<Long> ids, Instant sentDate);
+
+    @Query("SELECT COUNT(*) FROM mail_outbox entity WHERE entity.status = 'PENDING'")
+    Mono<Long> countPending();
+}
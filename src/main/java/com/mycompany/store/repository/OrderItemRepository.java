@@ -1,6 +1,8 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.OrderItem;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -15,6 +17,11 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface OrderItemRepository extends R2dbcRepository<OrderItem, Long>, OrderItemRepositoryInternal {
+    /**
+     * Fields which can be requested with a {@link SparseFieldset}.
+     */
+    Set<String> FIELDS = Set.of("id", "quantity", "totalPrice", "status", "product", "order");
+
     Flux<OrderItem> findAllBy(Pageable pageable);
 
     @Query("SELECT * FROM order_item entity WHERE entity.product_id = :id")
@@ -45,8 +52,14 @@ interface OrderItemRepositoryInternal {
     <S extends OrderItem> Mono<S> save(S entity);
     Mono<Integer> update(OrderItem entity);
 
+    /**
+     * Inserts new order items with a single multi-row statement, and sets their generated ids.
+     */
+    Flux<OrderItem> insertAll(List<OrderItem> entities);
+
     Flux<OrderItem> findAll();
     Mono<OrderItem> findById(Long id);
     Flux<OrderItem> findAllBy(Pageable pageable);
     Flux<OrderItem> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<OrderItem> findAllWithFieldset(Pageable pageable, SparseFieldset fieldset);
 }
@@ -9,8 +9,10 @@ import com.mycompany.store.repository.rowmapper.OrderItemRowMapper;
 import com.mycompany.store.repository.rowmapper.ProductOrderRowMapper;
 import com.mycompany.store.repository.rowmapper.ProductRowMapper;
 import com.mycompany.store.service.EntityManager;
+import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,10 +26,14 @@ import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectJoin;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -37,6 +43,8 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
 
+    private static final int INSERTED_COLUMNS = 6;
+
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
@@ -74,22 +82,43 @@ class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<OrderItem> findAllWithFieldset(Pageable pageable, SparseFieldset fieldset) {
+        return createQuery(pageable, null, fieldset).all();
+    }
+
     RowsFetchSpec<OrderItem> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = OrderItemSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(ProductSqlHelper.getColumns(productTable, "product"));
-        columns.addAll(ProductOrderSqlHelper.getColumns(orderTable, "order"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(productTable)
-            .on(Column.create("product_id", entityTable))
-            .equals(Column.create("id", productTable))
-            .leftOuterJoin(orderTable)
-            .on(Column.create("order_id", entityTable))
-            .equals(Column.create("id", orderTable));
-
-        String select = entityManager.createSelect(selectFrom, OrderItem.class, pageable, criteria);
+        return createQuery(pageable, criteria, SparseFieldset.ALL);
+    }
+
+    RowsFetchSpec<OrderItem> createQuery(Pageable pageable, Criteria criteria, SparseFieldset fieldset) {
+        List<Expression> columns = OrderItemSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fieldset);
+        if (fieldset.includes("product")) {
+            columns.addAll(ProductSqlHelper.getColumns(productTable, "product"));
+        }
+        if (fieldset.includes("order")) {
+            columns.addAll(ProductOrderSqlHelper.getColumns(orderTable, "order"));
+        }
+        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        // only join the relationships which are requested
+        SelectJoin selectJoin = selectFrom;
+        SelectFromAndJoinCondition selectFromAndJoin = null;
+        if (fieldset.includes("product")) {
+            selectFromAndJoin =
+                selectJoin
+                    .leftOuterJoin(productTable)
+                    .on(Column.create("product_id", entityTable))
+                    .equals(Column.create("id", productTable));
+            selectJoin = selectFromAndJoin;
+        }
+        if (fieldset.includes("order")) {
+            selectFromAndJoin =
+                selectJoin.leftOuterJoin(orderTable).on(Column.create("order_id", entityTable)).equals(Column.create("id", orderTable));
+        }
+
+        String select = selectFromAndJoin != null
+            ? entityManager.createSelect(selectFromAndJoin, OrderItem.class, pageable, criteria)
+            : entityManager.createSelect(selectFrom, OrderItem.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
         String selectWhere = Optional
             .ofNullable(criteria)
@@ -104,7 +133,7 @@ class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
                     .toString()
             )
             .orElse(select); // TODO remove once https://github.com/spring-projects/spring-data-jdbc/issues/907 will be fixed
-        return db.sql(selectWhere).map(this::process);
+        return db.sql(selectWhere).map((row, metadata) -> process(row, fieldset));
     }
 
     @Override
@@ -117,10 +146,14 @@ class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
         return createQuery(null, where("id").is(id)).one();
     }
 
-    private OrderItem process(Row row, RowMetadata metadata) {
-        OrderItem entity = orderitemMapper.apply(row, "e");
-        entity.setProduct(productMapper.apply(row, "product"));
-        entity.setOrder(productorderMapper.apply(row, "order"));
+    private OrderItem process(Row row, SparseFieldset fieldset) {
+        OrderItem entity = orderitemMapper.apply(row, "e", fieldset);
+        if (fieldset.includes("product")) {
+            entity.setProduct(productMapper.apply(row, "product"));
+        }
+        if (fieldset.includes("order")) {
+            entity.setOrder(productorderMapper.apply(row, "order"));
+        }
         return entity;
     }
 
@@ -129,6 +162,81 @@ class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
         return entityManager.insert(entity);
     }
 
+    @Override
+    public Flux<OrderItem> insertAll(List<OrderItem> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        BindMarkers bindMarkers = BindMarkersFactoryResolver.resolve(db.getConnectionFactory()).create();
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO order_item (quantity, total_price, status, product_id, order_id, reserved_quantity) VALUES "
+        );
+        for (int i = 0; i < entities.size(); i++) {
+            sql.append(i > 0 ? ", (" : "(");
+            for (int column = 0; column < INSERTED_COLUMNS; column++) {
+                sql.append(column > 0 ? ", " : "").append(bindMarkers.next().getPlaceholder());
+            }
+            sql.append(")");
+        }
+        Mono<List<Long>> ids = db.inConnection(connection -> {
+            Statement statement = connection.createStatement(sql.toString()).returnGeneratedValues("id");
+            for (int i = 0; i < entities.size(); i++) {
+                OrderItem entity = entities.get(i);
+                int index = i * INSERTED_COLUMNS;
+                statement.bind(index, entity.getQuantity()).bind(index + 1, entity.getTotalPrice());
+                statement.bind(index + 2, entity.getStatus().name());
+                bindNullable(statement, index + 3, entity.getProductId(), Long.class);
+                bindNullable(statement, index + 4, entity.getOrderId(), Long.class);
+                bindNullable(statement, index + 5, entity.getReservedQuantity(), Integer.class);
+            }
+            return Flux
+                .from(statement.execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                .collectList()
+                .flatMap(generatedIds -> generatedIds(connection, generatedIds, entities.size()));
+        });
+        return ids.flatMapIterable(generatedIds -> {
+            for (int i = 0; i < entities.size(); i++) {
+                entities.get(i).setId(generatedIds.get(i));
+            }
+            return entities;
+        });
+    }
+
+    /**
+     * Some drivers, such as the MySQL one, only return the id of the first row of a multi-row insert, the id of its
+     * {@code LAST_INSERT_ID()}. The ids of the rows of such an insert are allocated at once, but are only consecutive
+     * with an {@code auto_increment_increment} of 1: Galera and multi-primary group replication raise it to the number
+     * of nodes. The ids of the other rows are computed with the increment of the session which ran the insert.
+     */
+    private static Mono<List<Long>> generatedIds(Connection connection, List<Long> generatedIds, int rowCount) {
+        if (generatedIds.size() == rowCount) {
+            return Mono.just(generatedIds);
+        }
+        if (generatedIds.size() != 1) {
+            return Mono.error(new IllegalStateException("Expected " + rowCount + " generated ids, got " + generatedIds.size()));
+        }
+        return Flux
+            .from(connection.createStatement("SELECT @@auto_increment_increment").execute())
+            .concatMap(result -> result.map((row, metadata) -> row.get(0, Number.class).longValue()))
+            .next()
+            .map(increment -> {
+                List<Long> ids = new ArrayList<>(rowCount);
+                for (int row = 0; row < rowCount; row++) {
+                    ids.add(generatedIds.get(0) + row * increment);
+                }
+                return ids;
+            });
+    }
+
+    private static <T> void bindNullable(Statement statement, int index, T value, Class<T> type) {
+        if (value != null) {
+            statement.bind(index, value);
+        } else {
+            statement.bindNull(index, type);
+        }
+    }
+
     @Override
     public <S extends OrderItem> Mono<S> save(S entity) {
         if (entity.getId() == null) {
@@ -154,14 +262,31 @@ class OrderItemRepositoryInternalImpl implements OrderItemRepositoryInternal {
 class OrderItemSqlHelper {
 
     static List<Expression> getColumns(Table table, String columnPrefix) {
+        return getColumns(table, columnPrefix, SparseFieldset.ALL);
+    }
+
+    static List<Expression> getColumns(Table table, String columnPrefix, SparseFieldset fieldset) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
-        columns.add(Column.aliased("quantity", table, columnPrefix + "_quantity"));
-        columns.add(Column.aliased("total_price", table, columnPrefix + "_total_price"));
-        columns.add(Column.aliased("status", table, columnPrefix + "_status"));
+        if (fieldset.includes("quantity")) {
+            columns.add(Column.aliased("quantity", table, columnPrefix + "_quantity"));
+        }
+        if (fieldset.includes("totalPrice")) {
+            columns.add(Column.aliased("total_price", table, columnPrefix + "_total_price"));
+        }
+        if (fieldset.includes("status")) {
+            columns.add(Column.aliased("status", table, columnPrefix + "_status"));
+        }
 
-        columns.add(Column.aliased("product_id", table, columnPrefix + "_product_id"));
-        columns.add(Column.aliased("order_id", table, columnPrefix + "_order_id"));
+        if (fieldset.includes("product")) {
+            columns.add(Column.aliased("product_id", table, columnPrefix + "_product_id"));
+        }
+        if (fieldset.includes("order")) {
+            columns.add(Column.aliased("order_id", table, columnPrefix + "_order_id"));
+        }
+        if (fieldset.isAll()) {
+            columns.add(Column.aliased("reserved_quantity", table, columnPrefix + "_reserved_quantity"));
+        }
         return columns;
     }
 }
@@ -1,6 +1,7 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.ProductCategory;
+import java.time.Instant;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Spring Data SQL reactive repository for the ProductCategory entity.
@@ -35,4 +37,5 @@ interface ProductCategoryRepositoryInternal {
     Mono<ProductCategory> findById(Long id);
     Flux<ProductCategory> findAllBy(Pageable pageable);
     Flux<ProductCategory> findAllBy(Pageable pageable, Criteria criteria);
+    Mono<Tuple2<Long, Instant>> countAndFindLastModifiedDate();
 }
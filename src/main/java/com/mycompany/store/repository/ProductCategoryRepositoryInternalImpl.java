@@ -5,9 +5,11 @@ import static org.springframework.data.relational.core.query.Query.query;
 
 import com.mycompany.store.domain.ProductCategory;
 import com.mycompany.store.repository.rowmapper.ProductCategoryRowMapper;
+import com.mycompany.store.service.ColumnConverter;
 import com.mycompany.store.service.EntityManager;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +28,8 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Spring Data SQL reactive custom repository implementation for the ProductCategory entity.
@@ -36,6 +40,7 @@ class ProductCategoryRepositoryInternalImpl implements ProductCategoryRepository
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ColumnConverter converter;
 
     private final ProductCategoryRowMapper productcategoryMapper;
 
@@ -44,11 +49,13 @@ class ProductCategoryRepositoryInternalImpl implements ProductCategoryRepository
     public ProductCategoryRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        ColumnConverter converter,
         ProductCategoryRowMapper productcategoryMapper
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.productcategoryMapper = productcategoryMapper;
     }
 
@@ -94,6 +101,19 @@ class ProductCategoryRepositoryInternalImpl implements ProductCategoryRepository
         return createQuery(null, where("id").is(id)).one();
     }
 
+    @Override
+    public Mono<Tuple2<Long, Instant>> countAndFindLastModifiedDate() {
+        return db
+            .sql("SELECT COUNT(*) AS entity_count, MAX(e.last_modified_date) AS e_last_modified_date FROM product_category e")
+            .map(row ->
+                Tuples.of(
+                    converter.fromRow(row, "entity_count", Long.class),
+                    Optional.ofNullable(converter.fromRow(row, "e_last_modified_date", Instant.class)).orElse(Instant.EPOCH)
+                )
+            )
+            .one();
+    }
+
     private ProductCategory process(Row row, RowMetadata metadata) {
         ProductCategory entity = productcategoryMapper.apply(row, "e");
         return entity;
@@ -133,6 +153,7 @@ class ProductCategorySqlHelper {
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("name", table, columnPrefix + "_name"));
         columns.add(Column.aliased("description", table, columnPrefix + "_description"));
+        columns.add(Column.aliased("last_modified_date", table, columnPrefix + "_last_modified_date"));
 
         return columns;
     }
@@ -1,7 +1,9 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.ProductOrder;
+import java.math.BigDecimal;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
@@ -23,6 +25,24 @@ public interface ProductOrderRepository extends R2dbcRepository<ProductOrder, Lo
     @Query("SELECT * FROM product_order entity WHERE entity.customer_id IS NULL")
     Flux<ProductOrder> findAllWhereCustomerIsNull();
 
+    @Query("SELECT entity.customer_id FROM product_order entity WHERE entity.id = :id AND entity.customer_id IS NOT NULL")
+    Mono<Long> findCustomerIdById(Long id);
+
+    @Modifying
+    @Query("UPDATE product_order SET total_amount = total_amount + :amount, item_count = item_count + :itemCount WHERE id = :id")
+    Mono<Integer> addToTotals(Long id, BigDecimal amount, int itemCount);
+
+    /**
+     * Recomputes the totals of all the orders from their items.
+     */
+    @Modifying
+    @Query(
+        "UPDATE product_order SET " +
+        "total_amount = COALESCE((SELECT SUM(i.total_price) FROM order_item i WHERE i.order_id = product_order.id), 0), " +
+        "item_count = (SELECT COUNT(*) FROM order_item i WHERE i.order_id = product_order.id)"
+    )
+    Mono<Integer> recomputeTotals();
+
     // just to avoid having unambigous methods
     @Override
     Flux<ProductOrder> findAll();
@@ -43,4 +63,10 @@ interface ProductOrderRepositoryInternal {
     Mono<ProductOrder> findById(Long id);
     Flux<ProductOrder> findAllBy(Pageable pageable);
     Flux<ProductOrder> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Finds a product order by its code, through its index. Codes are not constrained to be unique, the match with the
+     * lowest id is returned.
+     */
+    Mono<ProductOrder> findFirstByCode(String code);
 }
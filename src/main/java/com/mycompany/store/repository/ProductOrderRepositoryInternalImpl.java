@@ -69,16 +69,20 @@ class ProductOrderRepositoryInternalImpl implements ProductOrderRepositoryIntern
         return createQuery(pageable, criteria).all();
     }
 
-    RowsFetchSpec<ProductOrder> createQuery(Pageable pageable, Criteria criteria) {
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ProductOrderSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(CustomerSqlHelper.getColumns(customerTable, "customer"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(customerTable)
             .on(Column.create("customer_id", entityTable))
             .equals(Column.create("id", customerTable));
+    }
+
+    RowsFetchSpec<ProductOrder> createQuery(Pageable pageable, Criteria criteria) {
+        SelectFromAndJoinCondition selectFrom = selectFrom();
 
         String select = entityManager.createSelect(selectFrom, ProductOrder.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -108,6 +112,16 @@ class ProductOrderRepositoryInternalImpl implements ProductOrderRepositoryIntern
         return createQuery(null, where("id").is(id)).one();
     }
 
+    @Override
+    public Mono<ProductOrder> findFirstByCode(String code) {
+        String select = entityManager.createSelect(selectFrom(), ProductOrder.class, null, null);
+        return db
+            .sql(select + " WHERE " + EntityManager.ENTITY_ALIAS + ".code = :code ORDER BY " + EntityManager.ENTITY_ALIAS + ".id")
+            .bind("code", code)
+            .map(this::process)
+            .first();
+    }
+
     private ProductOrder process(Row row, RowMetadata metadata) {
         ProductOrder entity = productorderMapper.apply(row, "e");
         entity.setCustomer(customerMapper.apply(row, "customer"));
@@ -149,6 +163,8 @@ class ProductOrderSqlHelper {
         columns.add(Column.aliased("placed_date", table, columnPrefix + "_placed_date"));
         columns.add(Column.aliased("status", table, columnPrefix + "_status"));
         columns.add(Column.aliased("code", table, columnPrefix + "_code"));
+        columns.add(Column.aliased("total_amount", table, columnPrefix + "_total_amount"));
+        columns.add(Column.aliased("item_count", table, columnPrefix + "_item_count"));
 
         columns.add(Column.aliased("customer_id", table, columnPrefix + "_customer_id"));
         return columns;
@@ -1,6 +1,8 @@
 package com.mycompany.store.repository;
 
 import com.mycompany.store.domain.Product;
+import java.time.Instant;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -15,6 +17,11 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface ProductRepository extends R2dbcRepository<Product, Long>, ProductRepositoryInternal {
+    /**
+     * Fields which can be requested with a {@link SparseFieldset}.
+     */
+    Set<String> FIELDS = Set.of("id", "name", "description", "price", "productSize", "image", "imageContentType", "productCategory");
+
     Flux<Product> findAllBy(Pageable pageable);
 
     @Query("SELECT * FROM product entity WHERE entity.product_category_id = :id")
@@ -43,4 +50,6 @@ interface ProductRepositoryInternal {
     Mono<Product> findById(Long id);
     Flux<Product> findAllBy(Pageable pageable);
     Flux<Product> findAllBy(Pageable pageable, Criteria criteria);
+    Flux<Product> findAllWithFieldset(Pageable pageable, SparseFieldset fieldset);
+    Mono<Instant> findLastModifiedDateById(Long id);
 }
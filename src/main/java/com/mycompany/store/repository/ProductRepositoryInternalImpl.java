@@ -7,10 +7,12 @@ import com.mycompany.store.domain.Product;
 import com.mycompany.store.domain.enumeration.Size;
 import com.mycompany.store.repository.rowmapper.ProductCategoryRowMapper;
 import com.mycompany.store.repository.rowmapper.ProductRowMapper;
+import com.mycompany.store.service.ColumnConverter;
 import com.mycompany.store.service.EntityManager;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -39,6 +42,7 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final ColumnConverter converter;
 
     private final ProductCategoryRowMapper productcategoryMapper;
     private final ProductRowMapper productMapper;
@@ -49,12 +53,14 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
     public ProductRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        ColumnConverter converter,
         ProductCategoryRowMapper productcategoryMapper,
         ProductRowMapper productMapper
     ) {
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.converter = converter;
         this.productcategoryMapper = productcategoryMapper;
         this.productMapper = productMapper;
     }
@@ -69,18 +75,32 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Flux<Product> findAllWithFieldset(Pageable pageable, SparseFieldset fieldset) {
+        return createQuery(pageable, null, fieldset).all();
+    }
+
     RowsFetchSpec<Product> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = ProductSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(ProductCategorySqlHelper.getColumns(productCategoryTable, "productCategory"));
-        SelectFromAndJoinCondition selectFrom = Select
-            .builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(productCategoryTable)
-            .on(Column.create("product_category_id", entityTable))
-            .equals(Column.create("id", productCategoryTable));
-
-        String select = entityManager.createSelect(selectFrom, Product.class, pageable, criteria);
+        return createQuery(pageable, criteria, SparseFieldset.ALL);
+    }
+
+    RowsFetchSpec<Product> createQuery(Pageable pageable, Criteria criteria, SparseFieldset fieldset) {
+        List<Expression> columns = ProductSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS, fieldset);
+        String select;
+        if (fieldset.includes("productCategory")) {
+            columns.addAll(ProductCategorySqlHelper.getColumns(productCategoryTable, "productCategory"));
+            SelectFromAndJoinCondition selectFrom = Select
+                .builder()
+                .select(columns)
+                .from(entityTable)
+                .leftOuterJoin(productCategoryTable)
+                .on(Column.create("product_category_id", entityTable))
+                .equals(Column.create("id", productCategoryTable));
+            select = entityManager.createSelect(selectFrom, Product.class, pageable, criteria);
+        } else {
+            SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+            select = entityManager.createSelect(selectFrom, Product.class, pageable, criteria);
+        }
         String alias = entityTable.getReferenceName().getReference();
         String selectWhere = Optional
             .ofNullable(criteria)
@@ -95,7 +115,7 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
                     .toString()
             )
             .orElse(select); // TODO remove once https://github.com/spring-projects/spring-data-jdbc/issues/907 will be fixed
-        return db.sql(selectWhere).map(this::process);
+        return db.sql(selectWhere).map((row, metadata) -> process(row, fieldset));
     }
 
     @Override
@@ -108,9 +128,32 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
         return createQuery(null, where("id").is(id)).one();
     }
 
-    private Product process(Row row, RowMetadata metadata) {
-        Product entity = productMapper.apply(row, "e");
-        entity.setProductCategory(productcategoryMapper.apply(row, "productCategory"));
+    @Override
+    public Mono<Instant> findLastModifiedDateById(Long id) {
+        // the product is returned with its category, a change of either one changes the response
+        return db
+            .sql(
+                "SELECT e.last_modified_date AS e_last_modified_date," +
+                " productCategory.last_modified_date AS productCategory_last_modified_date" +
+                " FROM product e LEFT OUTER JOIN product_category productCategory ON e.product_category_id = productCategory.id" +
+                " WHERE e.id = :id"
+            )
+            .bind("id", id)
+            .map(row -> {
+                Instant lastModifiedDate = converter.fromRow(row, "e_last_modified_date", Instant.class);
+                Instant categoryLastModifiedDate = converter.fromRow(row, "productCategory_last_modified_date", Instant.class);
+                return categoryLastModifiedDate != null && categoryLastModifiedDate.isAfter(lastModifiedDate)
+                    ? categoryLastModifiedDate
+                    : lastModifiedDate;
+            })
+            .one();
+    }
+
+    private Product process(Row row, SparseFieldset fieldset) {
+        Product entity = productMapper.apply(row, "e", fieldset);
+        if (fieldset.includes("productCategory")) {
+            entity.setProductCategory(productcategoryMapper.apply(row, "productCategory"));
+        }
         return entity;
     }
 
@@ -144,16 +187,37 @@ class ProductRepositoryInternalImpl implements ProductRepositoryInternal {
 class ProductSqlHelper {
 
     static List<Expression> getColumns(Table table, String columnPrefix) {
+        return getColumns(table, columnPrefix, SparseFieldset.ALL);
+    }
+
+    static List<Expression> getColumns(Table table, String columnPrefix, SparseFieldset fieldset) {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
-        columns.add(Column.aliased("name", table, columnPrefix + "_name"));
-        columns.add(Column.aliased("description", table, columnPrefix + "_description"));
-        columns.add(Column.aliased("price", table, columnPrefix + "_price"));
-        columns.add(Column.aliased("product_size", table, columnPrefix + "_product_size"));
-        columns.add(Column.aliased("image", table, columnPrefix + "_image"));
-        columns.add(Column.aliased("image_content_type", table, columnPrefix + "_image_content_type"));
-
-        columns.add(Column.aliased("product_category_id", table, columnPrefix + "_product_category_id"));
+        if (fieldset.includes("name")) {
+            columns.add(Column.aliased("name", table, columnPrefix + "_name"));
+        }
+        if (fieldset.includes("description")) {
+            columns.add(Column.aliased("description", table, columnPrefix + "_description"));
+        }
+        if (fieldset.includes("price")) {
+            columns.add(Column.aliased("price", table, columnPrefix + "_price"));
+        }
+        if (fieldset.includes("productSize")) {
+            columns.add(Column.aliased("product_size", table, columnPrefix + "_product_size"));
+        }
+        if (fieldset.includes("image")) {
+            columns.add(Column.aliased("image", table, columnPrefix + "_image"));
+        }
+        if (fieldset.includes("imageContentType")) {
+            columns.add(Column.aliased("image_content_type", table, columnPrefix + "_image_content_type"));
+        }
+        if (fieldset.isAll()) {
+            columns.add(Column.aliased("last_modified_date", table, columnPrefix + "_last_modified_date"));
+        }
+
+        if (fieldset.includes("productCategory")) {
+            columns.add(Column.aliased("product_category_id", table, columnPrefix + "_product_category_id"));
+        }
         return columns;
     }
 }
@@ -0,0 +1,31 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.ProductStock;
+import java.util.Map;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive repository for the {@link ProductStock} entity.
+ */
+@Repository
+public interface ProductStockRepository extends R2dbcRepository<ProductStock, Long>, ProductStockRepositoryInternal {
+    @Modifying
+    @Query("INSERT INTO product_stock (product_id, quantity) VALUES (:productId, :quantity)")
+    Mono<Integer> insertQuantity(Long productId, int quantity);
+
+    @Modifying
+    @Query("UPDATE product_stock SET quantity = :quantity WHERE product_id = :productId")
+    Mono<Integer> updateQuantity(Long productId, int quantity);
+}
+
+interface ProductStockRepositoryInternal {
+    /**
+     * Adds to the quantities of several products with a single statement, executed once per product. Changes rather than
+     * quantities are written, so that a write never overrides the changes made by another node.
+     */
+    Mono<Void> addQuantities(Map<Long, Integer> changes);
+}
@@ -0,0 +1,49 @@
+package com.mycompany.store.repository;
+
+import io.r2dbc.spi.Statement;
+import java.util.Map;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data SQL reactive custom repository implementation for the ProductStock entity.
+ */
+class ProductStockRepositoryInternalImpl implements ProductStockRepositoryInternal {
+
+    private final DatabaseClient db;
+
+    public ProductStockRepositoryInternalImpl(R2dbcEntityTemplate template) {
+        this.db = template.getDatabaseClient();
+    }
+
+    @Override
+    public Mono<Void> addQuantities(Map<Long, Integer> changes) {
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+        BindMarkers bindMarkers = BindMarkersFactoryResolver.resolve(db.getConnectionFactory()).create();
+        String sql =
+            "UPDATE product_stock SET quantity = quantity + " +
+            bindMarkers.next().getPlaceholder() +
+            " WHERE product_id = " +
+            bindMarkers.next().getPlaceholder();
+        return db
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                boolean first = true;
+                for (Map.Entry<Long, Integer> change : changes.entrySet()) {
+                    if (!first) {
+                        statement.add();
+                    }
+                    statement.bind(0, change.getValue()).bind(1, change.getKey());
+                    first = false;
+                }
+                return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+            })
+            .then();
+    }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * An order item with the dimensions of the sales reports: the product category, the customer country and the payment
+ * method of its order. Its total price is in cents.
+ */
+public final class SalesFact {
+
+    private final long totalPriceCents;
+
+    private final int quantity;
+
+    private final Long productCategoryId;
+
+    private final String country;
+
+    private final PaymentMethod paymentMethod;
+
+    public SalesFact(
+        long totalPriceCents,
+        int quantity,
+        @Nullable Long productCategoryId,
+        @Nullable String country,
+        @Nullable PaymentMethod paymentMethod
+    ) {
+        this.totalPriceCents = totalPriceCents;
+        this.quantity = quantity;
+        this.productCategoryId = productCategoryId;
+        this.country = country;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public long getTotalPriceCents() {
+        return totalPriceCents;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @Nullable
+    public Long getProductCategoryId() {
+        return productCategoryId;
+    }
+
+    @Nullable
+    public String getCountry() {
+        return country;
+    }
+
+    @Nullable
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+}
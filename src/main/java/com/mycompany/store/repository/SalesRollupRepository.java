@@ -0,0 +1,66 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.SalesRollup;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Spring Data SQL reactive repository for the {@link SalesRollup} entity.
+ */
+@Repository
+public interface SalesRollupRepository extends R2dbcRepository<SalesRollup, Long>, SalesRollupRepositoryInternal {
+    @Query("SELECT * FROM sales_rollup entity WHERE entity.sales_day BETWEEN :from AND :to")
+    Flux<SalesRollup> findAllBySalesDayBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM sales_rollup WHERE sales_day = :salesDay")
+    Mono<Integer> deleteBySalesDay(LocalDate salesDay);
+
+    /**
+     * Logs a change of the sales of the orders placed at a date.
+     */
+    @Modifying
+    @Query("INSERT INTO sales_change (placed_date) VALUES (:placedDate)")
+    Mono<Integer> insertSalesChange(Instant placedDate);
+
+    /**
+     * Logs a change of the sales of an order, at its placed date.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO sales_change (placed_date) " +
+        "SELECT o.placed_date FROM product_order o WHERE o.id = :orderId AND o.placed_date IS NOT NULL"
+    )
+    Mono<Integer> insertSalesChangeOfOrder(Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM sales_change WHERE id IN (:ids)")
+    Mono<Integer> deleteSalesChanges(Collection<Long> ids);
+}
+
+interface SalesRollupRepositoryInternal {
+    /**
+     * Finds the order items of the orders placed in a period, except the cancelled ones, with the dimensions of the
+     * sales reports.
+     */
+    Flux<SalesFact> findSalesFacts(Instant from, Instant to);
+
+    /**
+     * Inserts rollups with a single statement, executed once per rollup.
+     */
+    Mono<Void> insertAll(List<SalesRollup> rollups);
+
+    /**
+     * Finds the oldest logged sales changes, as their id and the placed date of their orders.
+     */
+    Flux<Tuple2<Long, Instant>> findSalesChanges(int limit);
+}
@@ -0,0 +1,104 @@
+package com.mycompany.store.repository;
+
+import com.mycompany.store.domain.SalesRollup;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.service.ColumnConverter;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Spring Data SQL reactive custom repository implementation for the SalesRollup entity.
+ */
+class SalesRollupRepositoryInternalImpl implements SalesRollupRepositoryInternal {
+
+    private static final String SALES_FACTS =
+        "SELECT i.total_price, i.quantity, p.product_category_id, c.country, " +
+        "(SELECT MIN(v.payment_method) FROM invoice v WHERE v.order_id = o.id) AS payment_method " +
+        "FROM order_item i " +
+        "JOIN product_order o ON i.order_id = o.id " +
+        "LEFT OUTER JOIN product p ON i.product_id = p.id " +
+        "LEFT OUTER JOIN customer c ON o.customer_id = c.id " +
+        "WHERE o.placed_date >= :from AND o.placed_date < :to AND o.status <> 'CANCELLED'";
+
+    private final DatabaseClient db;
+
+    private final ColumnConverter converter;
+
+    public SalesRollupRepositoryInternalImpl(R2dbcEntityTemplate template, ColumnConverter converter) {
+        this.db = template.getDatabaseClient();
+        this.converter = converter;
+    }
+
+    @Override
+    public Flux<SalesFact> findSalesFacts(Instant from, Instant to) {
+        return db.sql(SALES_FACTS).bind("from", from).bind("to", to).map((row, metadata) -> toSalesFact(row)).all();
+    }
+
+    private SalesFact toSalesFact(Row row) {
+        BigDecimal totalPrice = converter.fromRow(row, "total_price", BigDecimal.class);
+        Integer quantity = converter.fromRow(row, "quantity", Integer.class);
+        return new SalesFact(
+            totalPrice != null ? totalPrice.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0L,
+            quantity != null ? quantity : 0,
+            converter.fromRow(row, "product_category_id", Long.class),
+            converter.fromRow(row, "country", String.class),
+            converter.fromRow(row, "payment_method", PaymentMethod.class)
+        );
+    }
+
+    @Override
+    public Mono<Void> insertAll(List<SalesRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return Mono.empty();
+        }
+        BindMarkers bindMarkers = BindMarkersFactoryResolver.resolve(db.getConnectionFactory()).create();
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO sales_rollup " +
+            "(sales_day, product_category_id, country, payment_method, revenue_cents, quantity, item_count) VALUES ("
+        );
+        for (int i = 0; i < 7; i++) {
+            sql.append(i > 0 ? ", " : "").append(bindMarkers.next().getPlaceholder());
+        }
+        sql.append(")");
+        return db
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql.toString());
+                for (int i = 0; i < rollups.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    SalesRollup rollup = rollups.get(i);
+                    statement
+                        .bind(0, rollup.getSalesDay())
+                        .bind(1, rollup.getProductCategoryId())
+                        .bind(2, rollup.getCountry())
+                        .bind(3, rollup.getPaymentMethod())
+                        .bind(4, rollup.getRevenueCents())
+                        .bind(5, rollup.getQuantity())
+                        .bind(6, rollup.getItemCount());
+                }
+                return Flux.from(statement.execute()).concatMap(result -> result.getRowsUpdated());
+            })
+            .then();
+    }
+
+    @Override
+    public Flux<Tuple2<Long, Instant>> findSalesChanges(int limit) {
+        return db
+            .sql("SELECT id, placed_date FROM sales_change ORDER BY id LIMIT " + limit)
+            .map((row, metadata) -> Tuples.of(row.get("id", Long.class), converter.fromRow(row, "placed_date", Instant.class)))
+            .all();
+    }
+}
@@ -43,4 +43,10 @@ interface ShipmentRepositoryInternal {
     Mono<Shipment> findById(Long id);
     Flux<Shipment> findAllBy(Pageable pageable);
     Flux<Shipment> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Finds a shipment by its tracking code, through its index. Tracking codes are not constrained to be unique,
+     * the match with the lowest id is returned.
+     */
+    Mono<Shipment> findFirstByTrackingCode(String trackingCode);
 }
@@ -68,16 +68,20 @@ class ShipmentRepositoryInternalImpl implements ShipmentRepositoryInternal {
         return createQuery(pageable, criteria).all();
     }
 
-    RowsFetchSpec<Shipment> createQuery(Pageable pageable, Criteria criteria) {
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = ShipmentSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(InvoiceSqlHelper.getColumns(invoiceTable, "invoice"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(invoiceTable)
             .on(Column.create("invoice_id", entityTable))
             .equals(Column.create("id", invoiceTable));
+    }
+
+    RowsFetchSpec<Shipment> createQuery(Pageable pageable, Criteria criteria) {
+        SelectFromAndJoinCondition selectFrom = selectFrom();
 
         String select = entityManager.createSelect(selectFrom, Shipment.class, pageable, criteria);
         String alias = entityTable.getReferenceName().getReference();
@@ -107,6 +111,23 @@ class ShipmentRepositoryInternalImpl implements ShipmentRepositoryInternal {
         return createQuery(null, where("id").is(id)).one();
     }
 
+    @Override
+    public Mono<Shipment> findFirstByTrackingCode(String trackingCode) {
+        String select = entityManager.createSelect(selectFrom(), Shipment.class, null, null);
+        return db
+            .sql(
+                select +
+                " WHERE " +
+                EntityManager.ENTITY_ALIAS +
+                ".tracking_code = :trackingCode ORDER BY " +
+                EntityManager.ENTITY_ALIAS +
+                ".id"
+            )
+            .bind("trackingCode", trackingCode)
+            .map(this::process)
+            .first();
+    }
+
     private Shipment process(Row row, RowMetadata metadata) {
         Shipment entity = shipmentMapper.apply(row, "e");
         entity.setInvoice(invoiceMapper.apply(row, "invoice"));
@@ -0,0 +1,86 @@
+package com.mycompany.store.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Fields of an entity requested by a client, such as {@code fields=id,name,price}.
+ * <p>
+ * Repositories only select, and row mappers only read, the columns of the requested fields, and skip the joins of
+ * the relationships which are not requested. The identifier is always included. A relationship is requested as a
+ * whole, by its name, which selects its foreign key and the columns of the related entity.
+ */
+public final class SparseFieldset {
+
+    /**
+     * All the fields of the entity.
+     */
+    public static final SparseFieldset ALL = new SparseFieldset(null);
+
+    private static final String ID = "id";
+
+    private final Set<String> fields;
+
+    private SparseFieldset(@Nullable Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated list of fields.
+     *
+     * @param value the list of fields, or {@code null} or blank for all of them.
+     * @param availableFields the fields of the entity, which the requested ones must belong to.
+     * @return the fieldset.
+     * @throws IllegalArgumentException if a requested field is not one of the available fields.
+     */
+    public static SparseFieldset parse(@Nullable String value, Set<String> availableFields) {
+        if (!StringUtils.hasText(value)) {
+            return ALL;
+        }
+        Set<String> fields = Arrays
+            .stream(value.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : fields) {
+            if (!availableFields.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', available fields are " + availableFields);
+            }
+        }
+        fields.add(ID);
+        return new SparseFieldset(Collections.unmodifiableSet(fields));
+    }
+
+    /**
+     * @return {@code true} if all the fields of the entity are requested.
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * @return the requested fields, or {@code null} if all the fields of the entity are requested.
+     */
+    @Nullable
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param field the name of a field.
+     * @return {@code true} if the field is requested.
+     */
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", fields);
+    }
+}
@@ -7,6 +7,7 @@ import com.mycompany.store.domain.Authority;
 import com.mycompany.store.domain.User;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.relational.core.sql.Column;
@@ -56,6 +58,21 @@ public interface UserRepository extends R2dbcRepository<User, Long>, UserReposit
 
     @Query("DELETE FROM jhi_user_authority WHERE user_id = :userId")
     Mono<Void> deleteUserAuthorities(Long userId);
+
+    @Query(
+        "SELECT id FROM jhi_user WHERE activated = false AND activation_key IS NOT NULL AND created_date < :dateTime " +
+        "AND id > :afterId ORDER BY id LIMIT :limit"
+    )
+    Flux<Long> findNotActivatedUserIdsAfter(LocalDateTime dateTime, long afterId, int limit);
+
+    // the users are checked again, so that a user activated since it was selected is kept
+    @Modifying
+    @Query("DELETE FROM jhi_user_authority WHERE user_id IN (SELECT id FROM jhi_user WHERE id IN (:userIds) AND activated = false)")
+    Mono<Integer> deleteNotActivatedUserAuthorities(Collection<Long> userIds);
+
+    @Modifying
+    @Query("DELETE FROM jhi_user WHERE id IN (:userIds) AND activated = false")
+    Mono<Integer> deleteNotActivatedUsers(Collection<Long> userIds);
 }
 
 interface DeleteExtended<T> {
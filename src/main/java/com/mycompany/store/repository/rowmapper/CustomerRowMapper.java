@@ -4,6 +4,7 @@ import com.mycompany.store.domain.Customer;
 import com.mycompany.store.domain.enumeration.Gender;
 import com.mycompany.store.service.ColumnConverter;
 import io.r2dbc.spi.Row;
+import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -36,6 +37,7 @@ public class CustomerRowMapper implements BiFunction<Row, String, Customer> {
         entity.setAddressLine2(converter.fromRow(row, prefix + "_address_line_2", String.class));
         entity.setCity(converter.fromRow(row, prefix + "_city", String.class));
         entity.setCountry(converter.fromRow(row, prefix + "_country", String.class));
+        entity.setLastModifiedDate(converter.fromRow(row, prefix + "_last_modified_date", Instant.class));
         entity.setUserId(converter.fromRow(row, prefix + "_user_id", Long.class));
         return entity;
     }
@@ -2,6 +2,7 @@ package com.mycompany.store.repository.rowmapper;
 
 import com.mycompany.store.domain.OrderItem;
 import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import com.mycompany.store.repository.SparseFieldset;
 import com.mycompany.store.service.ColumnConverter;
 import io.r2dbc.spi.Row;
 import java.math.BigDecimal;
@@ -26,13 +27,34 @@ public class OrderItemRowMapper implements BiFunction<Row, String, OrderItem> {
      */
     @Override
     public OrderItem apply(Row row, String prefix) {
+        return apply(row, prefix, SparseFieldset.ALL);
+    }
+
+    /**
+     * Take a {@link Row} and a column prefix, and extract the requested fields.
+     * @return the {@link OrderItem} stored in the database, without the fields which were not requested.
+     */
+    public OrderItem apply(Row row, String prefix, SparseFieldset fieldset) {
         OrderItem entity = new OrderItem();
         entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setQuantity(converter.fromRow(row, prefix + "_quantity", Integer.class));
-        entity.setTotalPrice(converter.fromRow(row, prefix + "_total_price", BigDecimal.class));
-        entity.setStatus(converter.fromRow(row, prefix + "_status", OrderItemStatus.class));
-        entity.setProductId(converter.fromRow(row, prefix + "_product_id", Long.class));
-        entity.setOrderId(converter.fromRow(row, prefix + "_order_id", Long.class));
+        if (fieldset.includes("quantity")) {
+            entity.setQuantity(converter.fromRow(row, prefix + "_quantity", Integer.class));
+        }
+        if (fieldset.includes("totalPrice")) {
+            entity.setTotalPrice(converter.fromRow(row, prefix + "_total_price", BigDecimal.class));
+        }
+        if (fieldset.includes("status")) {
+            entity.setStatus(converter.fromRow(row, prefix + "_status", OrderItemStatus.class));
+        }
+        if (fieldset.includes("product")) {
+            entity.setProductId(converter.fromRow(row, prefix + "_product_id", Long.class));
+        }
+        if (fieldset.includes("order")) {
+            entity.setOrderId(converter.fromRow(row, prefix + "_order_id", Long.class));
+        }
+        if (fieldset.isAll()) {
+            entity.setReservedQuantity(converter.fromRow(row, prefix + "_reserved_quantity", Integer.class));
+        }
         return entity;
     }
 }
@@ -3,6 +3,7 @@ package com.mycompany.store.repository.rowmapper;
 import com.mycompany.store.domain.ProductCategory;
 import com.mycompany.store.service.ColumnConverter;
 import io.r2dbc.spi.Row;
+import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -28,6 +29,7 @@ public class ProductCategoryRowMapper implements BiFunction<Row, String, Product
         entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
         entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
+        entity.setLastModifiedDate(converter.fromRow(row, prefix + "_last_modified_date", Instant.class));
         return entity;
     }
 }
@@ -4,6 +4,7 @@ import com.mycompany.store.domain.ProductOrder;
 import com.mycompany.store.domain.enumeration.OrderStatus;
 import com.mycompany.store.service.ColumnConverter;
 import io.r2dbc.spi.Row;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,8 @@ public class ProductOrderRowMapper implements BiFunction<Row, String, ProductOrd
         entity.setPlacedDate(converter.fromRow(row, prefix + "_placed_date", Instant.class));
         entity.setStatus(converter.fromRow(row, prefix + "_status", OrderStatus.class));
         entity.setCode(converter.fromRow(row, prefix + "_code", String.class));
+        entity.setTotalAmount(converter.fromRow(row, prefix + "_total_amount", BigDecimal.class));
+        entity.setItemCount(converter.fromRow(row, prefix + "_item_count", Integer.class));
         entity.setCustomerId(converter.fromRow(row, prefix + "_customer_id", Long.class));
         return entity;
     }
@@ -2,9 +2,11 @@ package com.mycompany.store.repository.rowmapper;
 
 import com.mycompany.store.domain.Product;
 import com.mycompany.store.domain.enumeration.Size;
+import com.mycompany.store.repository.SparseFieldset;
 import com.mycompany.store.service.ColumnConverter;
 import io.r2dbc.spi.Row;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -26,15 +28,40 @@ public class ProductRowMapper implements BiFunction<Row, String, Product> {
      */
     @Override
     public Product apply(Row row, String prefix) {
+        return apply(row, prefix, SparseFieldset.ALL);
+    }
+
+    /**
+     * Take a {@link Row} and a column prefix, and extract the requested fields.
+     * @return the {@link Product} stored in the database, without the fields which were not requested.
+     */
+    public Product apply(Row row, String prefix, SparseFieldset fieldset) {
         Product entity = new Product();
         entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setPrice(converter.fromRow(row, prefix + "_price", BigDecimal.class));
-        entity.setProductSize(converter.fromRow(row, prefix + "_product_size", Size.class));
-        entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
-        entity.setProductCategoryId(converter.fromRow(row, prefix + "_product_category_id", Long.class));
+        if (fieldset.includes("name")) {
+            entity.setName(converter.fromRow(row, prefix + "_name", String.class));
+        }
+        if (fieldset.includes("description")) {
+            entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
+        }
+        if (fieldset.includes("price")) {
+            entity.setPrice(converter.fromRow(row, prefix + "_price", BigDecimal.class));
+        }
+        if (fieldset.includes("productSize")) {
+            entity.setProductSize(converter.fromRow(row, prefix + "_product_size", Size.class));
+        }
+        if (fieldset.includes("imageContentType")) {
+            entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
+        }
+        if (fieldset.includes("image")) {
+            entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
+        }
+        if (fieldset.isAll()) {
+            entity.setLastModifiedDate(converter.fromRow(row, prefix + "_last_modified_date", Instant.class));
+        }
+        if (fieldset.includes("productCategory")) {
+            entity.setProductCategoryId(converter.fromRow(row, prefix + "_product_category_id", Long.class));
+        }
         return entity;
     }
 }
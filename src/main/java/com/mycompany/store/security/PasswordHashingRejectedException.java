@@ -0,0 +1,20 @@
+package com.mycompany.store.security;
+
+/**
+ * This exception is thrown when the password hashing pool is saturated and a hashing request cannot be queued.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds, Throwable cause) {
+        super("Too many concurrent password hashing requests", cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,179 @@
+package com.mycompany.store.security;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs password hashing on a dedicated, size-limited worker pool.
+ * <p>
+ * BCrypt is CPU bound on purpose: running it on the Netty event loops or on the shared {@code boundedElastic} pool lets
+ * a login burst starve request handling. Work submitted when the pool and its queue are full is rejected immediately
+ * with a {@link PasswordHashingRejectedException}, which is translated to a {@code 429 (Too Many Requests)} response.
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final String METRIC_PREFIX = "store.password.hashing";
+
+    private final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder timedPasswordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Scheduler scheduler;
+
+    private final Counter rejectedCounter;
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingService(
+        PasswordEncoder passwordEncoder,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        log.debug("Creating password hashing pool with {} threads and queue {}", properties.getPoolSize(), properties.getQueueCapacity());
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.executor =
+            new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("store-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+            );
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        this.timedPasswordEncoder =
+            new TimedPasswordEncoder(
+                passwordEncoder,
+                Timer.builder(METRIC_PREFIX).tag("operation", "encode").register(meterRegistry),
+                Timer.builder(METRIC_PREFIX).tag("operation", "matches").register(meterRegistry)
+            );
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Hashes the given password on the hashing pool.
+     *
+     * @param rawPassword the clear text password.
+     * @return the encoded password, or a {@link PasswordHashingRejectedException} if the pool is saturated.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono
+            .fromCallable(() -> timedPasswordEncoder.encode(rawPassword))
+            .subscribeOn(scheduler)
+            .onErrorMap(RejectedExecutionException.class, this::rejected);
+    }
+
+    /**
+     * Generates a password and hashes it on the hashing pool, as the generation of a random password may read the
+     * entropy source.
+     *
+     * @param passwordGenerator generates the clear text password.
+     * @return the encoded password, or a {@link PasswordHashingRejectedException} if the pool is saturated.
+     */
+    public Mono<String> encodeGenerated(Supplier<? extends CharSequence> passwordGenerator) {
+        return Mono
+            .fromCallable(() -> timedPasswordEncoder.encode(passwordGenerator.get()))
+            .subscribeOn(scheduler)
+            .onErrorMap(RejectedExecutionException.class, this::rejected);
+    }
+
+    /**
+     * Checks a clear text password against its encoded form on the hashing pool.
+     *
+     * @param rawPassword the clear text password.
+     * @param encodedPassword the stored, encoded password.
+     * @return {@code true} if the passwords match, or a {@link PasswordHashingRejectedException} if the pool is saturated.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return Mono
+            .fromCallable(() -> timedPasswordEncoder.matches(rawPassword, encodedPassword))
+            .subscribeOn(scheduler)
+            .onErrorMap(RejectedExecutionException.class, this::rejected);
+    }
+
+    /**
+     * Translates a rejection from the hashing pool into a {@link PasswordHashingRejectedException}.
+     *
+     * @param e the rejection.
+     * @return the translated exception.
+     */
+    public PasswordHashingRejectedException rejected(Throwable e) {
+        rejectedCounter.increment();
+        log.debug("Rejected password hashing request, pool is saturated");
+        return new PasswordHashingRejectedException(retryAfterSeconds, e);
+    }
+
+    /**
+     * @return the {@link Scheduler} backed by the hashing pool, for components which hash passwords themselves.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return a {@link PasswordEncoder} recording the latency of each operation, to be used on the hashing pool only.
+     */
+    public PasswordEncoder getTimedPasswordEncoder() {
+        return timedPasswordEncoder;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private static class TimedPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        private final Timer encodeTimer;
+
+        private final Timer matchesTimer;
+
+        TimedPasswordEncoder(PasswordEncoder delegate, Timer encodeTimer, Timer matchesTimer) {
+            this.delegate = delegate;
+            this.encodeTimer = encodeTimer;
+            this.matchesTimer = matchesTimer;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            Boolean matches = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+            return Boolean.TRUE.equals(matches);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.store.security.jwt;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the validation of a JWT: its parsing and the check of its signature and expiration.
+ */
+@Name("com.mycompany.store.JwtValidation")
+@Label("JWT Validation")
+@Category({ "Store", "Security" })
+@StackTrace(false)
+class JwtValidationEvent extends Event {
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Failure")
+    String failure;
+}
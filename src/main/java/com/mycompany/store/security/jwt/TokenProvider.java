@@ -91,12 +91,18 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String authToken) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
         try {
             jwtParser.parseClaimsJws(authToken);
+            event.valid = true;
             return true;
         } catch (JwtException | IllegalArgumentException e) {
+            event.failure = e.getClass().getSimpleName();
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
+        } finally {
+            event.commit();
         }
         return false;
     }
@@ -0,0 +1,140 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import com.mycompany.store.domain.enumeration.OrderStatus;
+import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.repository.OrderItemRepository;
+import com.mycompany.store.repository.ProductOrderRepository;
+import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.service.dto.CheckoutDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service placing an order from a basket: the {@link ProductOrder}, its {@link OrderItem}s and its {@link Invoice} are
+ * written in one transaction.
+ * <p>
+ * A checkout runs the same statements whatever the size of the basket: one select of the ordered products, one insert
+ * of the order, one multi-row insert of the items, the updates of the totals of the order and of its customer, and one
+ * insert of the invoice. The invoice is issued, it gets its payment date once it is paid.
+ */
+@Service
+@Transactional
+public class CheckoutService {
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final ProductRepository productRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final StockService stockService;
+
+    private final OrderTotalsService orderTotalsService;
+
+    private final SalesReportService salesReportService;
+
+    public CheckoutService(
+        ProductRepository productRepository,
+        ProductOrderRepository productOrderRepository,
+        OrderItemRepository orderItemRepository,
+        InvoiceRepository invoiceRepository,
+        StockService stockService,
+        OrderTotalsService orderTotalsService,
+        SalesReportService salesReportService
+    ) {
+        this.productRepository = productRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.stockService = stockService;
+        this.orderTotalsService = orderTotalsService;
+        this.salesReportService = salesReportService;
+    }
+
+    /**
+     * Place an order from a basket, priced with the current prices of the products. The stock of the items is reserved,
+     * which sets their status, when the stock of their product is tracked.
+     *
+     * @param checkout the basket.
+     * @return the pending order, with its items and its issued invoice.
+     * @throws UnknownProductException {@code Mono#error} if a product of the basket doesn't exist.
+     */
+    public Mono<ProductOrder> checkout(CheckoutDTO checkout) {
+        log.debug("Request to check out : {}", checkout);
+        Set<Long> productIds = checkout.getItems().stream().map(CheckoutDTO.Item::getProductId).collect(Collectors.toSet());
+        return productRepository
+            .findAllById(productIds)
+            .collectMap(Product::getId)
+            .flatMap(products -> {
+                if (products.size() < productIds.size()) {
+                    Set<Long> unknownProductIds = new LinkedHashSet<>(productIds);
+                    unknownProductIds.removeAll(products.keySet());
+                    return Mono.error(new UnknownProductException(unknownProductIds));
+                }
+                Instant now = Instant.now();
+                ProductOrder order = new ProductOrder().placedDate(now).status(OrderStatus.PENDING).code(UUID.randomUUID().toString());
+                order.setCustomerId(checkout.getCustomerId());
+                return productOrderRepository
+                    .insert(order)
+                    .flatMap(savedOrder -> insertItemsAndInvoice(checkout, products, savedOrder, now));
+            });
+    }
+
+    private Mono<ProductOrder> insertItemsAndInvoice(CheckoutDTO checkout, Map<Long, Product> products, ProductOrder order, Instant now) {
+        List<OrderItem> items = new ArrayList<>(checkout.getItems().size());
+        BigDecimal paymentAmount = BigDecimal.ZERO;
+        for (CheckoutDTO.Item line : checkout.getItems()) {
+            Product product = products.get(line.getProductId());
+            BigDecimal totalPrice = product.getPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+            OrderItem item = new OrderItem().quantity(line.getQuantity()).totalPrice(totalPrice).status(OrderItemStatus.AVAILABLE);
+            item.setProduct(product);
+            item.setOrder(order);
+            items.add(item);
+            paymentAmount = paymentAmount.add(totalPrice);
+        }
+        Invoice invoice = new Invoice()
+            .date(now)
+            .details(checkout.getDetails())
+            .status(InvoiceStatus.ISSUED)
+            .paymentMethod(checkout.getPaymentMethod())
+            .paymentAmount(paymentAmount);
+        invoice.setOrder(order);
+        order.setTotalAmount(paymentAmount);
+        order.setItemCount(items.size());
+        return stockService
+            .reserveAll(items)
+            .thenMany(Flux.defer(() -> orderItemRepository.insertAll(items)))
+            .then(orderTotalsService.orderItemsCreated(order.getId(), items))
+            .then(invoiceRepository.insert(invoice))
+            .flatMap(savedInvoice -> salesReportService.salesChanged(now).thenReturn(savedInvoice))
+            .map(savedInvoice -> {
+                order.setOrderItems(new HashSet<>(items));
+                order.setInvoices(new HashSet<>(Set.of(savedInvoice)));
+                return order;
+            });
+    }
+}
@@ -2,6 +2,7 @@ package com.mycompany.store.service;
 
 import com.mycompany.store.domain.Customer;
 import com.mycompany.store.repository.CustomerRepository;
+import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +34,7 @@ public class CustomerService {
      */
     public Mono<Customer> save(Customer customer) {
         log.debug("Request to save Customer : {}", customer);
+        customer.setLastModifiedDate(Instant.now());
         return customerRepository.save(customer);
     }
 
@@ -75,6 +77,7 @@ public class CustomerService {
                 if (customer.getCountry() != null) {
                     existingCustomer.setCountry(customer.getCountry());
                 }
+                existingCustomer.setLastModifiedDate(Instant.now());
 
                 return existingCustomer;
             })
@@ -114,6 +117,18 @@ public class CustomerService {
         return customerRepository.findById(id);
     }
 
+    /**
+     * Get the last modification date of one customer, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the last modification date of the entity or of the entities it is returned with.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Instant> findLastModifiedDate(Long id) {
+        log.debug("Request to get the last modification date of Customer : {}", id);
+        return customerRepository.findLastModifiedDateById(id);
+    }
+
     /**
      * Delete the customer by id.
      *
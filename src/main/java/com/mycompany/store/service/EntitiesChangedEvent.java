@@ -0,0 +1,43 @@
+package com.mycompany.store.service;
+
+import java.util.Set;
+
+/**
+ * Application event published by the {@link EntityChangePoller} when entities were written, on this node or another
+ * one. Caches listen to it to evict the entities.
+ */
+public final class EntitiesChangedEvent {
+
+    private final String entityType;
+
+    private final Set<String> keys;
+
+    public EntitiesChangedEvent(String entityType, Set<String> keys) {
+        this.entityType = entityType;
+        this.keys = keys;
+    }
+
+    /**
+     * @param type the type of an entity.
+     * @return {@code true} if the changed entities are of this type.
+     */
+    public boolean concerns(Class<?> type) {
+        return type.getSimpleName().equals(entityType);
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the keys of the changed entities, as given to {@link EntityChangeLog#record(Class, Object)}.
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        return "EntitiesChangedEvent{entityType='" + entityType + "', keys=" + keys + "}";
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.domain.EntityChange;
+import com.mycompany.store.repository.EntityChangeRepository;
+import java.time.Instant;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service logging the writes of the entities cached in memory, in the transaction of the write, so that the
+ * {@link EntityChangePoller} of every node invalidates its caches.
+ */
+@Service
+public class EntityChangeLog {
+
+    private final EntityChangeRepository entityChangeRepository;
+
+    public EntityChangeLog(EntityChangeRepository entityChangeRepository) {
+        this.entityChangeRepository = entityChangeRepository;
+    }
+
+    /**
+     * Logs the write of an entity.
+     *
+     * @param entityType the type of the entity.
+     * @param key the key of the entity in the caches, its id or a natural key.
+     * @return a Mono to signal the write of the log.
+     */
+    public Mono<Void> record(Class<?> entityType, Object key) {
+        EntityChange change = new EntityChange(entityType.getSimpleName(), String.valueOf(key), Instant.now());
+        return entityChangeRepository.save(change).then();
+    }
+}
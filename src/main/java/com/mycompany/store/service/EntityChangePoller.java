@@ -0,0 +1,188 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.EntityChange;
+import com.mycompany.store.repository.EntityChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service tailing the {@code entity_change_log} table, on every node, and publishing an {@link EntitiesChangedEvent}
+ * per entity type for the caches to evict the changed entities.
+ * <p>
+ * The log is read by id, after a high-water mark which starts at the last id when the node starts. Ids are allocated
+ * when a change is inserted but only become visible when its transaction commits, so an id skipped by a read may show
+ * up later: skipped ids are read again on every poll, until they show up or for
+ * {@code application.entity-change-log.gap-timeout}, after which their transaction is deemed rolled back.
+ * <p>
+ * The lag between a write and its eviction is recorded in the {@code store.entity.change.lag} timer, from the clock of
+ * the writing node.
+ */
+@Service
+public class EntityChangePoller {
+
+    private static final String METRIC_PREFIX = "store.entity.change";
+
+    private static final int MAX_GAPS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(EntityChangePoller.class);
+
+    private final EntityChangeRepository entityChangeRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.EntityChangeLog properties;
+
+    private final Counter changeCounter;
+
+    private final Timer lagTimer;
+
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    private volatile long highWaterMark = -1;
+
+    /**
+     * Ids skipped by a read, with the time they were noticed, in {@link System#nanoTime()}.
+     */
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    public EntityChangePoller(
+        EntityChangeRepository entityChangeRepository,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.entityChangeRepository = entityChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getEntityChangeLog();
+        this.changeCounter = Counter.builder(METRIC_PREFIX + "s").register(meterRegistry);
+        this.lagTimer = Timer.builder(METRIC_PREFIX + ".lag").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".gaps", this, EntityChangePoller::gapCount).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".high.water.mark", this, poller -> poller.highWaterMark).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.entity-change-log.poll-interval:PT1S}")
+    public void pollScheduled() {
+        if (properties.isEnabled() && polling.compareAndSet(false, true)) {
+            poll().doFinally(signal -> polling.set(false)).subscribe(null, e -> log.error("Could not poll the entity change log", e));
+        }
+    }
+
+    @Scheduled(cron = "${application.entity-change-log.purge-cron:0 15 * * * ?}")
+    public void purgeScheduled() {
+        purge().subscribe(null, e -> log.error("Could not purge the entity change log", e));
+    }
+
+    /**
+     * Reads the changes logged since the last poll, batch after batch, and publishes them. The first poll only
+     * initializes the high-water mark.
+     *
+     * @return the number of changes read.
+     */
+    public Mono<Integer> poll() {
+        if (highWaterMark < 0) {
+            return entityChangeRepository
+                .findMaxId()
+                .doOnNext(maxId -> {
+                    highWaterMark = maxId;
+                    log.debug("Tailing the entity change log after id {}", maxId);
+                })
+                .thenReturn(0);
+        }
+        return pollBatch().expand(read -> read.afterMark < properties.getBatchSize() ? Mono.empty() : pollBatch()).reduce(0, Read::sum);
+    }
+
+    private Mono<Read> pollBatch() {
+        return Mono.defer(() -> {
+            List<Long> gapIds = expireGaps();
+            long mark = highWaterMark;
+            Flux<EntityChange> gapChanges = gapIds.isEmpty() ? Flux.empty() : entityChangeRepository.findAllByIdIn(gapIds);
+            return gapChanges
+                .concatWith(entityChangeRepository.findAllAfter(mark, properties.getBatchSize()))
+                .collectList()
+                .map(changes -> publish(changes, mark));
+        });
+    }
+
+    private synchronized List<Long> expireGaps() {
+        long expiredBefore = System.nanoTime() - properties.getGapTimeout().toNanos();
+        gaps.values().removeIf(noticed -> noticed - expiredBefore < 0);
+        return new ArrayList<>(gaps.keySet());
+    }
+
+    private synchronized Read publish(List<EntityChange> changes, long mark) {
+        Map<String, Set<String>> keysByType = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        int afterMark = 0;
+        for (EntityChange change : changes) {
+            long id = change.getId();
+            if (id > mark) {
+                afterMark++;
+                for (long gap = highWaterMark + 1; gap < id && gaps.size() < MAX_GAPS; gap++) {
+                    gaps.put(gap, System.nanoTime());
+                }
+                highWaterMark = Math.max(highWaterMark, id);
+            } else {
+                gaps.remove(id);
+            }
+            keysByType.computeIfAbsent(change.getEntityType(), type -> new LinkedHashSet<>()).add(change.getEntityKey());
+            lagTimer.record(Duration.between(change.getChangedDate(), now).abs());
+        }
+        changeCounter.increment(changes.size());
+        keysByType.forEach((type, keys) -> eventPublisher.publishEvent(new EntitiesChangedEvent(type, keys)));
+        if (!changes.isEmpty()) {
+            log.debug("Published {} entity changes, up to id {}", changes.size(), highWaterMark);
+        }
+        return new Read(changes.size(), afterMark);
+    }
+
+    /**
+     * Deletes the changes older than {@code application.entity-change-log.retention}, which every node has read.
+     *
+     * @return the number of deleted changes.
+     */
+    public Mono<Integer> purge() {
+        return entityChangeRepository
+            .deleteByChangedDateBefore(Instant.now().minus(properties.getRetention()))
+            .doOnNext(deleted -> log.debug("Purged {} entity changes", deleted));
+    }
+
+    private synchronized int gapCount() {
+        return gaps.size();
+    }
+
+    private static final class Read {
+
+        private final int total;
+
+        private final int afterMark;
+
+        Read(int total, int afterMark) {
+            this.total = total;
+            this.afterMark = afterMark;
+        }
+
+        static int sum(int total, Read read) {
+            return total + read.total;
+        }
+    }
+}
@@ -21,19 +21,46 @@ public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
 
-    public InvoiceService(InvoiceRepository invoiceRepository) {
+    private final OrderTotalsService orderTotalsService;
+
+    private final SalesReportService salesReportService;
+
+    public InvoiceService(
+        InvoiceRepository invoiceRepository,
+        OrderTotalsService orderTotalsService,
+        SalesReportService salesReportService
+    ) {
         this.invoiceRepository = invoiceRepository;
+        this.orderTotalsService = orderTotalsService;
+        this.salesReportService = salesReportService;
     }
 
     /**
-     * Save a invoice.
+     * Save a invoice, and update the paid total of the customer of its order.
      *
      * @param invoice the entity to save.
      * @return the persisted entity.
      */
     public Mono<Invoice> save(Invoice invoice) {
         log.debug("Request to save Invoice : {}", invoice);
-        return invoiceRepository.save(invoice);
+        if (invoice.getId() != null) {
+            return invoiceRepository.findById(invoice.getId()).flatMap(existingInvoice -> saveAndUpdateTotals(existingInvoice, invoice));
+        }
+        return saveAndUpdateTotals(null, invoice);
+    }
+
+    private Mono<Invoice> saveAndUpdateTotals(Invoice before, Invoice invoice) {
+        return invoiceRepository
+            .save(invoice)
+            .flatMap(result -> orderTotalsService.invoiceChanged(before, result).then(salesChanged(before, result)).thenReturn(result));
+    }
+
+    private Mono<Void> salesChanged(Invoice before, Invoice after) {
+        Mono<Void> orderChanged = salesReportService.orderChanged(after.getOrderId());
+        if (before != null && before.getOrderId() != null && !before.getOrderId().equals(after.getOrderId())) {
+            return salesReportService.orderChanged(before.getOrderId()).then(orderChanged);
+        }
+        return orderChanged;
     }
 
     /**
@@ -47,7 +74,9 @@ public class InvoiceService {
 
         return invoiceRepository
             .findById(invoice.getId())
-            .map(existingInvoice -> {
+            .flatMap(existingInvoice -> {
+                Invoice before = new Invoice().status(existingInvoice.getStatus()).paymentAmount(existingInvoice.getPaymentAmount());
+                before.setOrderId(existingInvoice.getOrderId());
                 if (invoice.getDate() != null) {
                     existingInvoice.setDate(invoice.getDate());
                 }
@@ -67,9 +96,8 @@ public class InvoiceService {
                     existingInvoice.setPaymentAmount(invoice.getPaymentAmount());
                 }
 
-                return existingInvoice;
-            })
-            .flatMap(invoiceRepository::save);
+                return saveAndUpdateTotals(before, existingInvoice);
+            });
     }
 
     /**
@@ -106,13 +134,20 @@ public class InvoiceService {
     }
 
     /**
-     * Delete the invoice by id.
+     * Delete the invoice by id, and update the paid total of the customer of its order.
      *
      * @param id the id of the entity.
      * @return a Mono to signal the deletion
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Invoice : {}", id);
-        return invoiceRepository.deleteById(id);
+        return invoiceRepository
+            .findById(id)
+            .flatMap(invoice ->
+                invoiceRepository
+                    .deleteById(id)
+                    .then(orderTotalsService.invoiceChanged(invoice, null))
+                    .then(salesReportService.orderChanged(invoice.getOrderId()))
+            );
     }
 }
@@ -0,0 +1,226 @@
+package com.mycompany.store.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.service.dto.SettlementDTO;
+import com.mycompany.store.service.dto.SettlementSummaryDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Service settling invoices in bulk from payment settlement files.
+ * <p>
+ * The file is read as a stream of lines, {@code invoiceId,amount,date} in CSV or
+ * {@code {"invoiceId":…,"amount":…,"date":…}} in NDJSON, and settled by batches of
+ * {@code application.invoice-settlement.batch-size} lines, each in its own transaction: one query reads the status of
+ * the invoices of the batch, one statement marks the {@code ISSUED} ones as {@code PAID} and one statement adds the
+ * paid amounts to the customer summaries. Settling a file again is harmless, its invoices are already paid.
+ */
+@Service
+public class InvoiceSettlementService {
+
+    /**
+     * The formats of the settlement files.
+     */
+    public enum Format {
+        CSV,
+        NDJSON,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceSettlementService.class);
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final OrderTotalsService orderTotalsService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ObjectReader settlementReader;
+
+    private final ApplicationProperties.InvoiceSettlement properties;
+
+    public InvoiceSettlementService(
+        InvoiceRepository invoiceRepository,
+        OrderTotalsService orderTotalsService,
+        TransactionalOperator transactionalOperator,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.invoiceRepository = invoiceRepository;
+        this.orderTotalsService = orderTotalsService;
+        this.transactionalOperator = transactionalOperator;
+        this.settlementReader = objectMapper.readerFor(SettlementDTO.class);
+        this.properties = applicationProperties.getInvoiceSettlement();
+    }
+
+    /**
+     * Settles the invoices of a settlement file.
+     *
+     * @param lines the lines of the file. A first CSV line which doesn't start with a digit is a header, blank lines
+     *        are ignored.
+     * @param format the format of the file.
+     * @return the reconciliation of the file with the invoices.
+     */
+    public Mono<SettlementSummaryDTO> settle(Flux<String> lines, Format format) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            SettlementSummaryDTO summary = new SettlementSummaryDTO();
+            return lines
+                .index((index, line) -> parse(index + 1, line, format))
+                .filter(line -> line.settlement != null || line.error != null)
+                .buffer(properties.getBatchSize())
+                .concatMap(batch -> transactionalOperator.transactional(settleBatch(batch, summary)))
+                .then(
+                    Mono.fromSupplier(() -> {
+                        log.debug("Settled invoices in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), summary);
+                        return summary;
+                    })
+                );
+        });
+    }
+
+    private Mono<Void> settleBatch(List<ParsedLine> batch, SettlementSummaryDTO summary) {
+        List<SettlementDTO> settlements = new ArrayList<>(batch.size());
+        Set<Long> ids = new HashSet<>();
+        for (ParsedLine line : batch) {
+            if (line.error != null) {
+                summary.setMalformedCount(summary.getMalformedCount() + 1);
+                addReported(summary.getMalformedLines(), "line " + line.number + ": " + line.error);
+            } else {
+                settlements.add(line.settlement);
+                ids.add(line.settlement.getInvoiceId());
+            }
+        }
+        return invoiceRepository
+            .findSettlementStates(ids)
+            .collectMap(Invoice::getId)
+            .flatMap(invoices -> {
+                List<Invoice> payments = new ArrayList<>(settlements.size());
+                Set<Long> settledIds = new HashSet<>();
+                for (SettlementDTO settlement : settlements) {
+                    Invoice invoice = invoices.get(settlement.getInvoiceId());
+                    if (invoice == null) {
+                        summary.setUnknownCount(summary.getUnknownCount() + 1);
+                        addReported(summary.getUnknownInvoiceIds(), settlement.getInvoiceId());
+                    } else if (invoice.getStatus() == InvoiceStatus.PAID || !settledIds.add(invoice.getId())) {
+                        summary.setAlreadyPaidCount(summary.getAlreadyPaidCount() + 1);
+                    } else if (invoice.getStatus() == InvoiceStatus.CANCELLED) {
+                        summary.setCancelledCount(summary.getCancelledCount() + 1);
+                        addReported(summary.getCancelledInvoiceIds(), invoice.getId());
+                    } else {
+                        if (invoice.getPaymentAmount() != null && invoice.getPaymentAmount().compareTo(settlement.getAmount()) != 0) {
+                            summary.setAmountMismatchCount(summary.getAmountMismatchCount() + 1);
+                            addReported(summary.getAmountMismatchInvoiceIds(), invoice.getId());
+                        }
+                        Invoice payment = new Invoice()
+                            .id(invoice.getId())
+                            .paymentAmount(settlement.getAmount())
+                            .paymentDate(settlement.getDate());
+                        payment.setOrderId(invoice.getOrderId());
+                        payments.add(payment);
+                    }
+                }
+                return Flux
+                    .fromIterable(payments)
+                    .zipWith(invoiceRepository.settleAll(payments))
+                    .collect(
+                        LinkedHashMap<Long, BigDecimal>::new,
+                        (paidAmountsByOrder, settled) -> paid(summary, paidAmountsByOrder, settled)
+                    )
+                    .flatMap(orderTotalsService::invoicesPaid);
+            });
+    }
+
+    private static void paid(SettlementSummaryDTO summary, Map<Long, BigDecimal> paidAmountsByOrder, Tuple2<Invoice, Integer> settled) {
+        Invoice payment = settled.getT1();
+        if (settled.getT2() == 0) {
+            // paid since it was read
+            summary.setAlreadyPaidCount(summary.getAlreadyPaidCount() + 1);
+            return;
+        }
+        summary.setSettledCount(summary.getSettledCount() + 1);
+        summary.setSettledAmount(summary.getSettledAmount().add(payment.getPaymentAmount()));
+        if (payment.getOrderId() != null) {
+            paidAmountsByOrder.merge(payment.getOrderId(), payment.getPaymentAmount(), BigDecimal::add);
+        }
+    }
+
+    private <T> void addReported(List<T> reported, T value) {
+        if (reported.size() < properties.getMaxReported()) {
+            reported.add(value);
+        }
+    }
+
+    private ParsedLine parse(long number, String line, Format format) {
+        if (line.isBlank() || (format == Format.CSV && number == 1 && !Character.isDigit(line.strip().charAt(0)))) {
+            return new ParsedLine(number, null, null);
+        }
+        SettlementDTO settlement;
+        try {
+            settlement = format == Format.NDJSON ? settlementReader.readValue(line) : parseCsv(line);
+        } catch (JsonProcessingException e) {
+            return new ParsedLine(number, null, e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            return new ParsedLine(number, null, e.getMessage());
+        }
+        if (settlement.getInvoiceId() == null || settlement.getAmount() == null || settlement.getDate() == null) {
+            return new ParsedLine(number, null, "invoiceId, amount and date are required");
+        }
+        if (settlement.getAmount().signum() < 0 || settlement.getAmount().scale() > 2) {
+            return new ParsedLine(number, null, "amount must not be negative, with at most 2 decimals");
+        }
+        return new ParsedLine(number, settlement, null);
+    }
+
+    private static SettlementDTO parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("expected 3 fields, invoiceId, amount and date, but got " + fields.length);
+        }
+        String date = fields[2].strip();
+        return new SettlementDTO(
+            Long.valueOf(fields[0].strip()),
+            new BigDecimal(fields[1].strip()),
+            date.length() == 10 ? LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant() : Instant.parse(date)
+        );
+    }
+
+    /**
+     * A line of a settlement file, with either a settlement or an error, or neither when it is blank or the header.
+     */
+    private static final class ParsedLine {
+
+        private final long number;
+
+        private final SettlementDTO settlement;
+
+        private final String error;
+
+        ParsedLine(long number, SettlementDTO settlement, String error) {
+            this.number = number;
+            this.settlement = settlement;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.mycompany.store.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Small in-memory cache of lookups by a natural key, which also remembers the keys that matched nothing.
+ * <p>
+ * Entries expire after a time to live, shorter for the negative ones, since a key can start matching when an entity is
+ * written on another node. The least recently used entry is evicted past the maximum size.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public final class LookupCache<K, V> {
+
+    private final int maximumSize;
+
+    private final long ttlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<K, Entry<V>> entries;
+
+    public LookupCache(int maximumSize, Duration ttl, Duration negativeTtl) {
+        this(maximumSize, ttl, negativeTtl, System::nanoTime);
+    }
+
+    LookupCache(int maximumSize, Duration ttl, Duration negativeTtl, LongSupplier nanoClock) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > LookupCache.this.maximumSize;
+                }
+            };
+    }
+
+    /**
+     * @param key the key.
+     * @return the cached value, the cached absence of a value, or a miss if the key isn't cached or expired.
+     */
+    public synchronized Lookup<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Lookup.miss();
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            return Lookup.miss();
+        }
+        return entry.value != null ? Lookup.hit(entry.value) : Lookup.absent();
+    }
+
+    /**
+     * @param key the key.
+     * @param value the value, or {@code null} if the key matches nothing.
+     */
+    public synchronized void put(K key, @Nullable V value) {
+        if (maximumSize > 0) {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + (value != null ? ttlNanos : negativeTtlNanos)));
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Forgets a key once the current transaction completes, so that a lookup running concurrently with the transaction
+     * can't cache what it read before the commit. Without a transaction, the key is forgotten right away.
+     *
+     * @param key the key.
+     * @return a Mono to signal that the key is forgotten, or will be when the transaction completes.
+     */
+    public Mono<Void> invalidateAfterCompletion(K key) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizations ->
+                synchronizations.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> invalidate(key));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .switchIfEmpty(Mono.fromRunnable(() -> invalidate(key)))
+            .then();
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Result of a lookup in the cache: a value, the absence of a value, or a miss when the cache knows nothing of the key.
+     *
+     * @param <V> the type of the value.
+     */
+    public static final class Lookup<V> {
+
+        private static final Lookup<?> MISS = new Lookup<>(false, null);
+
+        private static final Lookup<?> ABSENT = new Lookup<>(true, null);
+
+        private final boolean cached;
+
+        private final V value;
+
+        private Lookup(boolean cached, @Nullable V value) {
+            this.cached = cached;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Lookup<V> miss() {
+            return (Lookup<V>) MISS;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Lookup<V> absent() {
+            return (Lookup<V>) ABSENT;
+        }
+
+        static <V> Lookup<V> hit(V value) {
+            return new Lookup<>(true, value);
+        }
+
+        /**
+         * @return {@code true} if the cache knows nothing of the key, which must be looked up.
+         */
+        public boolean isMiss() {
+            return !cached;
+        }
+
+        /**
+         * @return {@code true} if the key is cached as matching nothing.
+         */
+        public boolean isAbsent() {
+            return cached && value == null;
+        }
+
+        /**
+         * @return the cached value, {@code null} on a miss or when the key is cached as matching nothing.
+         */
+        @Nullable
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return isMiss() ? "Lookup{miss}" : "Lookup{value=" + value + "}";
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.MailOutbox;
+import com.mycompany.store.domain.enumeration.MailOutboxStatus;
+import com.mycompany.store.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends the emails queued by the {@link MailService}.
+ * <p>
+ * Due emails are leased in batches, sent over a single connection to the mail server, then marked as sent with one
+ * statement. Failed emails are retried with an exponential backoff until {@code application.mail-outbox.max-attempts}
+ * is reached. Full batches are spaced out to stay under {@code application.mail-outbox.rate-per-second}.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    private static final String METRIC_PREFIX = "store.mail.outbox";
+
+    private static final int LAST_ERROR_MAX_LENGTH = 512;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final Duration batchPause;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    private final Timer batchTimer;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    public MailOutboxDispatcher(
+        MailOutboxRepository mailOutboxRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getMailOutbox();
+        this.batchPause = Duration.ofMillis(1000L * properties.getBatchSize() / Math.max(1, properties.getRatePerSecond()));
+        this.batchTimer =
+            Timer.builder(METRIC_PREFIX + ".batch").description("Time spent sending a batch of emails").register(meterRegistry);
+        this.sentCounter = Counter.builder(METRIC_PREFIX + ".sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder(METRIC_PREFIX + ".retried").register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pending, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval:PT5S}")
+    public void dispatchPendingEmails() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!dispatching.compareAndSet(false, true)) {
+            log.debug("Skipping the mail outbox poll, the previous dispatch is still running");
+            return;
+        }
+        dispatch().doFinally(signal -> dispatching.set(false)).subscribe(null, e -> log.error("Could not dispatch the pending emails", e));
+    }
+
+    /**
+     * Sends all the emails which are due, batch after batch.
+     *
+     * @return the number of emails which were picked up, whether they could be sent or not.
+     */
+    public Mono<Integer> dispatch() {
+        return dispatchBatch()
+            .expand(count -> count < properties.getBatchSize() ? Mono.empty() : dispatchBatch().delaySubscription(batchPause))
+            .reduce(0, Integer::sum)
+            .flatMap(count -> mailOutboxRepository.countPending().doOnNext(pending::set).thenReturn(count))
+            .doOnNext(count -> {
+                if (count > 0) {
+                    log.debug("Dispatched {} emails, {} still pending", count, pending.get());
+                }
+            });
+    }
+
+    private Mono<Integer> dispatchBatch() {
+        Instant now = Instant.now();
+        String claimToken = UUID.randomUUID().toString();
+        return mailOutboxRepository
+            .findDueIds(now, properties.getBatchSize())
+            .collectList()
+            .filter(ids -> !ids.isEmpty())
+            .flatMap(ids -> mailOutboxRepository.claim(ids, claimToken, now, now.plus(properties.getLease())))
+            .flatMapMany(claimed -> mailOutboxRepository.findClaimed(claimToken))
+            .collectList()
+            .flatMap(batch -> batch.isEmpty() ? Mono.just(0) : send(batch).thenReturn(batch.size()));
+    }
+
+    private Mono<Void> send(List<MailOutbox> batch) {
+        return Mono
+            .fromCallable(() -> batchTimer.record(() -> mailService.sendBatch(batch)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(failures -> saveResults(batch, failures));
+    }
+
+    private Mono<Void> saveResults(List<MailOutbox> batch, Map<Long, Exception> failures) {
+        Instant now = Instant.now();
+        List<Long> sentIds = batch.stream().map(MailOutbox::getId).filter(id -> !failures.containsKey(id)).collect(Collectors.toList());
+        Mono<Void> markSent = sentIds.isEmpty()
+            ? Mono.empty()
+            : mailOutboxRepository.markSent(sentIds, now).doOnNext(count -> sentCounter.increment(count)).then();
+        Mono<Void> reschedule = Flux
+            .fromIterable(batch)
+            .filter(mail -> failures.containsKey(mail.getId()))
+            .map(mail -> retryOrFail(mail, failures.get(mail.getId()), now))
+            .concatMap(mailOutboxRepository::save)
+            .then();
+        return markSent.then(reschedule);
+    }
+
+    private MailOutbox retryOrFail(MailOutbox mail, Exception failure, Instant now) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setClaimToken(null);
+        mail.setLastError(abbreviate(String.valueOf(failure.getMessage())));
+        if (mail.getAttempts() >= properties.getMaxAttempts()) {
+            log.warn("Giving up on email {} to '{}' after {} attempts", mail.getId(), mail.getRecipient(), mail.getAttempts(), failure);
+            mail.setStatus(MailOutboxStatus.FAILED);
+            failedCounter.increment();
+        } else {
+            mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+            retriedCounter.increment();
+        }
+        return mail;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration maxBackoff = properties.getMaxBackoff();
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 || backoff.isNegative() ? maxBackoff : backoff;
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() > LAST_ERROR_MAX_LENGTH ? message.substring(0, LAST_ERROR_MAX_LENGTH) : message;
+    }
+}
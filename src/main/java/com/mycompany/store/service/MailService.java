@@ -1,26 +1,40 @@
 package com.mycompany.store.service;
 
+import com.mycompany.store.domain.MailOutbox;
 import com.mycompany.store.domain.User;
+import com.mycompany.store.domain.enumeration.MailOutboxStatus;
+import com.mycompany.store.repository.MailOutboxRepository;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are not sent right away: they are written to the {@code mail_outbox} table, in the transaction of the caller
+ * when there is one, and the {@link MailOutboxDispatcher} sends them in batches.
  */
 @Service
 public class MailService {
@@ -39,74 +53,128 @@ public class MailService {
 
     private final SpringTemplateEngine templateEngine;
 
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final Map<String, Locale> locales = new ConcurrentHashMap<>();
+
+    private final Map<Locale, Map<String, String>> subjects = new ConcurrentHashMap<>();
+
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
         MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        @Lazy SpringTemplateEngine templateEngine,
+        MailOutboxRepository mailOutboxRepository
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
+        this.mailOutboxRepository = mailOutboxRepository;
     }
 
-    @Async
-    public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+    public Mono<Void> sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        Instant now = Instant.now();
+        MailOutbox mail = new MailOutbox();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setContent(content);
+        mail.setMultipart(isMultipart);
+        mail.setHtml(isHtml);
+        mail.setStatus(MailOutboxStatus.PENDING);
+        mail.setNextAttemptAt(now);
+        mail.setCreatedDate(now);
+        return mailOutboxRepository.save(mail).then();
     }
 
-    @Async
-    public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
+    public Mono<Void> sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
+            return Mono.empty();
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        // Rendering may read templates and message bundles from the classpath, keep it off the event loop
+        return Mono
+            .fromCallable(() -> {
+                Locale locale = locales.computeIfAbsent(user.getLangKey(), Locale::forLanguageTag);
+                Context context = new Context(locale);
+                context.setVariable(USER, user);
+                context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+                // Parsed templates are cached by Thymeleaf itself, only the variables differ from one user to the other
+                String content = templateEngine.process(templateName, context);
+                String subject = subjects
+                    .computeIfAbsent(locale, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(titleKey, key -> messageSource.getMessage(key, null, locale));
+                return sendEmail(user.getEmail(), subject, content, false, true);
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(Function.identity());
     }
 
-    @Async
-    public void sendActivationEmail(User user) {
+    public Mono<Void> sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+        return sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
-    public void sendCreationEmail(User user) {
+    public Mono<Void> sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+        return sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
-    public void sendPasswordResetMail(User user) {
+    public Mono<Void> sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+        return sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+    }
+
+    /**
+     * Sends a batch of emails from the outbox over a single connection to the mail server.
+     * <p>
+     * This method blocks until the mail server has answered, it must not be called from a non-blocking thread.
+     *
+     * @param batch the emails to send.
+     * @return the errors of the emails which could not be sent, by outbox id.
+     */
+    public Map<Long, Exception> sendBatch(List<MailOutbox> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        for (MailOutbox mail : batch) {
+            try {
+                ids.put(createMimeMessage(mail), mail.getId());
+            } catch (MessagingException e) {
+                failures.put(mail.getId(), e);
+            }
+        }
+        if (ids.isEmpty()) {
+            return failures;
+        }
+        try {
+            javaMailSender.send(ids.keySet().toArray(new MimeMessage[0]));
+            log.debug("Sent {} emails", ids.size());
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> failures.put(ids.get(message), exception));
+            log.warn("{} of {} emails could not be sent", e.getFailedMessages().size(), ids.size());
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e));
+            log.warn("Emails could not be sent", e);
+        }
+        return failures;
+    }
+
+    private MimeMessage createMimeMessage(MailOutbox mail) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        return mimeMessage;
     }
 }
@@ -2,6 +2,7 @@ package com.mycompany.store.service;
 
 import com.mycompany.store.domain.OrderItem;
 import com.mycompany.store.repository.OrderItemRepository;
+import com.mycompany.store.repository.SparseFieldset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,23 +22,58 @@ public class OrderItemService {
 
     private final OrderItemRepository orderItemRepository;
 
-    public OrderItemService(OrderItemRepository orderItemRepository) {
+    private final StockService stockService;
+
+    private final OrderTotalsService orderTotalsService;
+
+    private final SalesReportService salesReportService;
+
+    public OrderItemService(
+        OrderItemRepository orderItemRepository,
+        StockService stockService,
+        OrderTotalsService orderTotalsService,
+        SalesReportService salesReportService
+    ) {
         this.orderItemRepository = orderItemRepository;
+        this.stockService = stockService;
+        this.orderTotalsService = orderTotalsService;
+        this.salesReportService = salesReportService;
     }
 
     /**
-     * Save a orderItem.
+     * Save a orderItem, update the totals of its order and log the change of its sales. The stock of the orderItem is
+     * reserved, which sets its status, if the stock of its product is tracked.
      *
      * @param orderItem the entity to save.
      * @return the persisted entity.
      */
     public Mono<OrderItem> save(OrderItem orderItem) {
         log.debug("Request to save OrderItem : {}", orderItem);
-        return orderItemRepository.save(orderItem);
+        if (orderItem.getId() != null) {
+            return orderItemRepository
+                .findById(orderItem.getId())
+                .flatMap(existingOrderItem -> saveAndUpdateTotals(existingOrderItem, orderItem));
+        }
+        return saveAndUpdateTotals(null, orderItem);
+    }
+
+    private Mono<OrderItem> saveAndUpdateTotals(OrderItem before, OrderItem orderItem) {
+        return stockService
+            .reserve(before, orderItem)
+            .then(Mono.defer(() -> orderItemRepository.save(orderItem)))
+            .flatMap(result -> orderTotalsService.orderItemChanged(before, result).then(salesChanged(before, result)).thenReturn(result));
+    }
+
+    private Mono<Void> salesChanged(OrderItem before, OrderItem after) {
+        Mono<Void> orderChanged = salesReportService.orderChanged(after.getOrderId());
+        if (before != null && before.getOrderId() != null && !before.getOrderId().equals(after.getOrderId())) {
+            return salesReportService.orderChanged(before.getOrderId()).then(orderChanged);
+        }
+        return orderChanged;
     }
 
     /**
-     * Partially update a orderItem.
+     * Partially update a orderItem. The stock of the orderItem is reserved again if its quantity changes.
      *
      * @param orderItem the entity to update partially.
      * @return the persisted entity.
@@ -47,7 +83,11 @@ public class OrderItemService {
 
         return orderItemRepository
             .findById(orderItem.getId())
-            .map(existingOrderItem -> {
+            .flatMap(existingOrderItem -> {
+                OrderItem before = new OrderItem().totalPrice(existingOrderItem.getTotalPrice());
+                before.setOrderId(existingOrderItem.getOrderId());
+                before.setProductId(existingOrderItem.getProductId());
+                before.setReservedQuantity(existingOrderItem.getReservedQuantity());
                 if (orderItem.getQuantity() != null) {
                     existingOrderItem.setQuantity(orderItem.getQuantity());
                 }
@@ -58,9 +98,8 @@ public class OrderItemService {
                     existingOrderItem.setStatus(orderItem.getStatus());
                 }
 
-                return existingOrderItem;
-            })
-            .flatMap(orderItemRepository::save);
+                return saveAndUpdateTotals(before, existingOrderItem);
+            });
     }
 
     /**
@@ -75,6 +114,19 @@ public class OrderItemService {
         return orderItemRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get all the orderItems, with only the requested fields.
+     *
+     * @param pageable the pagination information.
+     * @param fieldset the requested fields.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<OrderItem> findAll(Pageable pageable, SparseFieldset fieldset) {
+        log.debug("Request to get all OrderItems with fields : {}", fieldset);
+        return orderItemRepository.findAllWithFieldset(pageable, fieldset);
+    }
+
     /**
      * Returns the number of orderItems available.
      * @return the number of entities in the database.
@@ -97,13 +149,22 @@ public class OrderItemService {
     }
 
     /**
-     * Delete the orderItem by id.
+     * Delete the orderItem by id, update the totals of its order, log the change of its sales and release the stock it
+     * reserved.
      *
      * @param id the id of the entity.
      * @return a Mono to signal the deletion
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete OrderItem : {}", id);
-        return orderItemRepository.deleteById(id);
+        return orderItemRepository
+            .findById(id)
+            .flatMap(orderItem ->
+                orderItemRepository
+                    .deleteById(id)
+                    .then(orderTotalsService.orderItemChanged(orderItem, null))
+                    .then(salesReportService.orderChanged(orderItem.getOrderId()))
+                    .then(stockService.release(orderItem))
+            );
     }
 }
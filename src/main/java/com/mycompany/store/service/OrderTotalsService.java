@@ -0,0 +1,260 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.domain.CustomerSummary;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.repository.CustomerRepository;
+import com.mycompany.store.repository.CustomerSummaryRepository;
+import com.mycompany.store.repository.ProductOrderRepository;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service maintaining the denormalised totals of the orders, {@code product_order.total_amount} and
+ * {@code product_order.item_count}, and of the customers, the {@link CustomerSummary}.
+ * <p>
+ * They are updated incrementally, in the transaction of every order item and invoice write, by adding the difference
+ * between the entity before and after the write. The summary of a customer is created from its orders the first time
+ * one of them changes. {@link #rebuild()} recomputes everything from the order items and invoices, every night, to
+ * catch up with the changes made outside of the services, such as an order moved to another customer.
+ */
+@Service
+public class OrderTotalsService {
+
+    private final Logger log = LoggerFactory.getLogger(OrderTotalsService.class);
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final CustomerSummaryRepository customerSummaryRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public OrderTotalsService(
+        ProductOrderRepository productOrderRepository,
+        CustomerSummaryRepository customerSummaryRepository,
+        CustomerRepository customerRepository,
+        TransactionalOperator transactionalOperator
+    ) {
+        this.productOrderRepository = productOrderRepository;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.customerRepository = customerRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Updates the totals after an order item was created, updated or deleted.
+     *
+     * @param before the order item before the write, {@code null} if it was created.
+     * @param after the order item after the write, {@code null} if it was deleted.
+     * @return a Mono to signal the update.
+     */
+    @Transactional
+    public Mono<Void> orderItemChanged(@Nullable OrderItem before, @Nullable OrderItem after) {
+        Map<Long, Difference> differences = new LinkedHashMap<>();
+        if (before != null && before.getOrderId() != null) {
+            differences.merge(before.getOrderId(), new Difference(totalPrice(before).negate(), -1), Difference::add);
+        }
+        if (after != null && after.getOrderId() != null) {
+            differences.merge(after.getOrderId(), new Difference(totalPrice(after), 1), Difference::add);
+        }
+        return Flux
+            .fromIterable(differences.entrySet())
+            .filter(difference -> !difference.getValue().isZero())
+            .concatMap(difference -> addToItemTotals(difference.getKey(), difference.getValue()))
+            .then();
+    }
+
+    /**
+     * Updates the totals after order items were created in the same order, with a single difference.
+     *
+     * @param orderId the id of the order.
+     * @param orderItems the created order items.
+     * @return a Mono to signal the update.
+     */
+    @Transactional
+    public Mono<Void> orderItemsCreated(Long orderId, List<OrderItem> orderItems) {
+        BigDecimal amount = orderItems.stream().map(OrderTotalsService::totalPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return addToItemTotals(orderId, new Difference(amount, orderItems.size()));
+    }
+
+    /**
+     * Updates the totals after an invoice was created, updated or deleted.
+     *
+     * @param before the invoice before the write, {@code null} if it was created.
+     * @param after the invoice after the write, {@code null} if it was deleted.
+     * @return a Mono to signal the update.
+     */
+    @Transactional
+    public Mono<Void> invoiceChanged(@Nullable Invoice before, @Nullable Invoice after) {
+        Map<Long, BigDecimal> differences = new LinkedHashMap<>();
+        if (before != null && before.getOrderId() != null) {
+            differences.merge(before.getOrderId(), paidAmount(before).negate(), BigDecimal::add);
+        }
+        if (after != null && after.getOrderId() != null) {
+            differences.merge(after.getOrderId(), paidAmount(after), BigDecimal::add);
+        }
+        return Flux
+            .fromIterable(differences.entrySet())
+            .filter(difference -> difference.getValue().signum() != 0)
+            .concatMap(difference -> {
+                Mono<Integer> addToTotalPaid = customerSummaryRepository.addToTotalPaid(difference.getKey(), difference.getValue());
+                return addToTotalPaid.flatMap(updated ->
+                    updated > 0 ? Mono.empty() : createCustomerSummary(difference.getKey(), addToTotalPaid)
+                );
+            })
+            .then();
+    }
+
+    /**
+     * Updates the totals after invoices were paid in bulk. The summaries missing are created once per customer, as
+     * several of the orders may belong to the same customer.
+     *
+     * @param paidAmountsByOrder the amount paid for each order id.
+     * @return a Mono to signal the update.
+     */
+    public Mono<Void> invoicesPaid(Map<Long, BigDecimal> paidAmountsByOrder) {
+        return customerSummaryRepository
+            .addToTotalPaid(paidAmountsByOrder)
+            .concatMap(orderId -> productOrderRepository.findCustomerIdById(orderId).map(customerId -> Map.entry(customerId, orderId)))
+            .collectMultimap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+            .flatMapIterable(Map::entrySet)
+            .concatMap(ordersByCustomer -> {
+                Map<Long, BigDecimal> paidAmounts = new LinkedHashMap<>();
+                ordersByCustomer.getValue().forEach(orderId -> paidAmounts.put(orderId, paidAmountsByOrder.get(orderId)));
+                return createSummaryOfCustomer(ordersByCustomer.getKey(), customerSummaryRepository.addToTotalPaid(paidAmounts));
+            })
+            .then();
+    }
+
+    /**
+     * Get the summary of a customer.
+     *
+     * @param customerId the id of the customer.
+     * @return the summary, with zero totals if none of the orders of the customer changed since the last rebuild, or
+     *         empty if the customer doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public Mono<CustomerSummary> findCustomerSummary(Long customerId) {
+        return customerSummaryRepository
+            .findById(customerId)
+            .switchIfEmpty(
+                customerRepository
+                    .existsById(customerId)
+                    .filter(exists -> exists)
+                    .map(exists -> {
+                        CustomerSummary summary = new CustomerSummary();
+                        summary.setCustomerId(customerId);
+                        summary.setItemCount(0);
+                        summary.setTotalAmount(BigDecimal.ZERO);
+                        summary.setTotalPaid(BigDecimal.ZERO);
+                        return summary;
+                    })
+            );
+    }
+
+    /**
+     * The totals are rebuilt everyday, at 02:30 (am). The rebuild runs in the background, the scheduler thread is
+     * released right away.
+     */
+    @Scheduled(cron = "${application.order-totals.rebuild-cron:0 30 2 * * ?}")
+    public void rebuildScheduled() {
+        rebuild().subscribe(null, e -> log.error("Could not rebuild the order totals", e));
+    }
+
+    /**
+     * Recomputes the totals of all the orders and customers from the order items and invoices, in one transaction.
+     *
+     * @return the number of customer summaries.
+     */
+    public Mono<Integer> rebuild() {
+        long start = System.nanoTime();
+        return transactionalOperator
+            .transactional(
+                productOrderRepository
+                    .recomputeTotals()
+                    .then(customerSummaryRepository.deleteAllSummaries())
+                    .then(customerSummaryRepository.insertAllFromOrders())
+            )
+            .doOnNext(count ->
+                log.info(
+                    "Rebuilt the order totals and {} customer summaries in {} ms",
+                    count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                )
+            );
+    }
+
+    private Mono<Void> addToItemTotals(Long orderId, Difference difference) {
+        Mono<Integer> addToCustomerTotals = customerSummaryRepository.addToItemTotals(orderId, difference.amount, difference.itemCount);
+        return productOrderRepository
+            .addToTotals(orderId, difference.amount, difference.itemCount)
+            .then(addToCustomerTotals)
+            .flatMap(updated -> updated > 0 ? Mono.empty() : createCustomerSummary(orderId, addToCustomerTotals));
+    }
+
+    /**
+     * Creates the summary of the customer of an order, from its orders, which already include the current write. When
+     * another transaction created the summary meanwhile, without the current write, the write is applied to it instead.
+     *
+     * @param orderId the id of the order.
+     * @param write the update applying the current write to the summary.
+     */
+    private Mono<Void> createCustomerSummary(Long orderId, Mono<Integer> write) {
+        return productOrderRepository.findCustomerIdById(orderId).flatMap(customerId -> createSummaryOfCustomer(customerId, write));
+    }
+
+    private Mono<Void> createSummaryOfCustomer(Long customerId, Publisher<?> write) {
+        return customerSummaryRepository
+            .insertFromOrders(customerId)
+            .onErrorResume(DataIntegrityViolationException.class, e -> Mono.just(0))
+            .flatMap(inserted -> inserted > 0 ? Mono.<Void>empty() : Flux.from(write).then())
+            .then();
+    }
+
+    private static BigDecimal totalPrice(OrderItem orderItem) {
+        return orderItem.getTotalPrice() != null ? orderItem.getTotalPrice() : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal paidAmount(Invoice invoice) {
+        return invoice.getStatus() == InvoiceStatus.PAID && invoice.getPaymentAmount() != null
+            ? invoice.getPaymentAmount()
+            : BigDecimal.ZERO;
+    }
+
+    private static final class Difference {
+
+        private final BigDecimal amount;
+
+        private final int itemCount;
+
+        Difference(BigDecimal amount, int itemCount) {
+            this.amount = amount;
+            this.itemCount = itemCount;
+        }
+
+        Difference add(Difference other) {
+            return new Difference(amount.add(other.amount), itemCount + other.itemCount);
+        }
+
+        boolean isZero() {
+            return amount.signum() == 0 && itemCount == 0;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.mycompany.store.service;
 
+import com.mycompany.store.config.ApplicationProperties;
 import com.mycompany.store.domain.ProductCategory;
 import com.mycompany.store.repository.ProductCategoryRepository;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Service Implementation for managing {@link ProductCategory}.
+ * <p>
+ * When {@code application.entity-change-log.enabled} is {@code true}, the list of all the productCategories is cached in
+ * memory, and evicted on every write, on this node or, through the {@link EntityChangeLog}, on another one.
  */
 @Service
 @Transactional
@@ -21,8 +29,25 @@ public class ProductCategoryService {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryService(ProductCategoryRepository productCategoryRepository) {
+    private final EntityChangeLog entityChangeLog;
+
+    private final boolean cacheAll;
+
+    private volatile List<ProductCategory> allProductCategories;
+
+    /**
+     * Incremented by every eviction, so that a list loaded concurrently with a write is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductCategoryService(
+        ProductCategoryRepository productCategoryRepository,
+        EntityChangeLog entityChangeLog,
+        ApplicationProperties applicationProperties
+    ) {
         this.productCategoryRepository = productCategoryRepository;
+        this.entityChangeLog = entityChangeLog;
+        this.cacheAll = applicationProperties.getEntityChangeLog().isEnabled();
     }
 
     /**
@@ -33,7 +58,8 @@ public class ProductCategoryService {
      */
     public Mono<ProductCategory> save(ProductCategory productCategory) {
         log.debug("Request to save ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        productCategory.setLastModifiedDate(Instant.now());
+        return productCategoryRepository.save(productCategory).flatMap(this::logChange);
     }
 
     /**
@@ -54,10 +80,29 @@ public class ProductCategoryService {
                 if (productCategory.getDescription() != null) {
                     existingProductCategory.setDescription(productCategory.getDescription());
                 }
+                existingProductCategory.setLastModifiedDate(Instant.now());
 
                 return existingProductCategory;
             })
-            .flatMap(productCategoryRepository::save);
+            .flatMap(productCategoryRepository::save)
+            .flatMap(this::logChange);
+    }
+
+    private Mono<ProductCategory> logChange(ProductCategory productCategory) {
+        evictAll();
+        return entityChangeLog.record(ProductCategory.class, productCategory.getId()).thenReturn(productCategory);
+    }
+
+    @EventListener
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        if (event.concerns(ProductCategory.class)) {
+            evictAll();
+        }
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        allProductCategories = null;
     }
 
     /**
@@ -68,7 +113,35 @@ public class ProductCategoryService {
     @Transactional(readOnly = true)
     public Flux<ProductCategory> findAll() {
         log.debug("Request to get all ProductCategories");
-        return productCategoryRepository.findAll();
+        if (!cacheAll) {
+            return productCategoryRepository.findAll();
+        }
+        List<ProductCategory> cached = allProductCategories;
+        if (cached != null) {
+            return Flux.fromIterable(cached);
+        }
+        long loadedGeneration = generation.get();
+        return productCategoryRepository
+            .findAll()
+            .collectList()
+            .doOnNext(productCategories -> {
+                if (generation.get() == loadedGeneration) {
+                    allProductCategories = List.copyOf(productCategories);
+                }
+            })
+            .flatMapIterable(productCategories -> productCategories);
+    }
+
+    /**
+     * Get the number of productCategories and their last modification date, which together change whenever the list
+     * of all the productCategories does.
+     *
+     * @return the number of entities and their last modification date.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Tuple2<Long, Instant>> countAndFindLastModifiedDate() {
+        log.debug("Request to get the version of all ProductCategories");
+        return productCategoryRepository.countAndFindLastModifiedDate();
     }
 
     /**
@@ -100,6 +173,9 @@ public class ProductCategoryService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete ProductCategory : {}", id);
-        return productCategoryRepository.deleteById(id);
+        return productCategoryRepository
+            .deleteById(id)
+            .then(Mono.fromRunnable(this::evictAll))
+            .then(entityChangeLog.record(ProductCategory.class, id));
     }
 }
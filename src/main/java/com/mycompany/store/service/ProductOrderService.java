@@ -1,5 +1,6 @@
 package com.mycompany.store.service;
 
+import com.mycompany.store.config.ApplicationProperties;
 import com.mycompany.store.domain.ProductOrder;
 import com.mycompany.store.repository.ProductOrderRepository;
 import org.slf4j.Logger;
@@ -21,23 +22,39 @@ public class ProductOrderService {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderService(ProductOrderRepository productOrderRepository) {
+    private final SalesReportService salesReportService;
+
+    private final LookupCache<String, Long> orderIdsByCode;
+
+    public ProductOrderService(
+        ProductOrderRepository productOrderRepository,
+        SalesReportService salesReportService,
+        ApplicationProperties applicationProperties
+    ) {
         this.productOrderRepository = productOrderRepository;
+        this.salesReportService = salesReportService;
+        ApplicationProperties.LookupCache properties = applicationProperties.getLookupCache();
+        this.orderIdsByCode = new LookupCache<>(properties.getMaximumSize(), properties.getTtl(), properties.getNegativeTtl());
     }
 
     /**
-     * Save a productOrder.
+     * Save a productOrder, and log the change of its sales, on the day it was placed before and after the save.
      *
      * @param productOrder the entity to save.
      * @return the persisted entity.
      */
     public Mono<ProductOrder> save(ProductOrder productOrder) {
         log.debug("Request to save ProductOrder : {}", productOrder);
-        return productOrderRepository.save(productOrder);
+        return salesReportService
+            .orderChanged(productOrder.getId())
+            .then(Mono.defer(() -> productOrderRepository.save(productOrder)))
+            .flatMap(this::salesChanged)
+            .flatMap(this::invalidateCode);
     }
 
     /**
-     * Partially update a productOrder.
+     * Partially update a productOrder, and log the change of its sales, on the day it was placed before and after the
+     * update.
      *
      * @param productOrder the entity to update partially.
      * @return the persisted entity.
@@ -45,8 +62,9 @@ public class ProductOrderService {
     public Mono<ProductOrder> partialUpdate(ProductOrder productOrder) {
         log.debug("Request to partially update ProductOrder : {}", productOrder);
 
-        return productOrderRepository
-            .findById(productOrder.getId())
+        return salesReportService
+            .orderChanged(productOrder.getId())
+            .then(productOrderRepository.findById(productOrder.getId()))
             .map(existingProductOrder -> {
                 if (productOrder.getPlacedDate() != null) {
                     existingProductOrder.setPlacedDate(productOrder.getPlacedDate());
@@ -60,7 +78,20 @@ public class ProductOrderService {
 
                 return existingProductOrder;
             })
-            .flatMap(productOrderRepository::save);
+            .flatMap(productOrderRepository::save)
+            .flatMap(this::salesChanged)
+            .flatMap(this::invalidateCode);
+    }
+
+    private Mono<ProductOrder> salesChanged(ProductOrder productOrder) {
+        return salesReportService.salesChanged(productOrder.getPlacedDate()).thenReturn(productOrder);
+    }
+
+    private Mono<ProductOrder> invalidateCode(ProductOrder productOrder) {
+        if (productOrder.getCode() == null) {
+            return Mono.just(productOrder);
+        }
+        return orderIdsByCode.invalidateAfterCompletion(productOrder.getCode()).thenReturn(productOrder);
     }
 
     /**
@@ -97,13 +128,43 @@ public class ProductOrderService {
     }
 
     /**
-     * Delete the productOrder by id.
+     * Get one productOrder by code. The id of the productOrder with a code, or its absence, is cached: a cached code is
+     * looked up by id, and checked, and a cached absence is not looked up at all.
+     *
+     * @param code the code.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Mono<ProductOrder> findOneByCode(String code) {
+        log.debug("Request to get ProductOrder by code : {}", code);
+        LookupCache.Lookup<Long> id = orderIdsByCode.getIfPresent(code);
+        if (id.isMiss()) {
+            return loadProductOrderByCode(code);
+        }
+        if (id.isAbsent()) {
+            return Mono.empty();
+        }
+        return productOrderRepository
+            .findById(id.getValue())
+            .filter(result -> code.equals(result.getCode()))
+            .switchIfEmpty(Mono.defer(() -> loadProductOrderByCode(code)));
+    }
+
+    private Mono<ProductOrder> loadProductOrderByCode(String code) {
+        return productOrderRepository
+            .findFirstByCode(code)
+            .doOnNext(result -> orderIdsByCode.put(code, result.getId()))
+            .switchIfEmpty(Mono.fromRunnable(() -> orderIdsByCode.put(code, null)));
+    }
+
+    /**
+     * Delete the productOrder by id, and log the change of its sales.
      *
      * @param id the id of the entity.
      * @return a Mono to signal the deletion
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete ProductOrder : {}", id);
-        return productOrderRepository.deleteById(id);
+        return salesReportService.orderChanged(id).then(productOrderRepository.deleteById(id));
     }
 }
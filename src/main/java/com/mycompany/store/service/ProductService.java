@@ -2,6 +2,8 @@ package com.mycompany.store.service;
 
 import com.mycompany.store.domain.Product;
 import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.repository.SparseFieldset;
+import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +23,11 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final EntityChangeLog entityChangeLog;
+
+    public ProductService(ProductRepository productRepository, EntityChangeLog entityChangeLog) {
         this.productRepository = productRepository;
+        this.entityChangeLog = entityChangeLog;
     }
 
     /**
@@ -33,7 +38,8 @@ public class ProductService {
      */
     public Mono<Product> save(Product product) {
         log.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        product.setLastModifiedDate(Instant.now());
+        return productRepository.save(product).flatMap(this::logChange);
     }
 
     /**
@@ -66,10 +72,16 @@ public class ProductService {
                 if (product.getImageContentType() != null) {
                     existingProduct.setImageContentType(product.getImageContentType());
                 }
+                existingProduct.setLastModifiedDate(Instant.now());
 
                 return existingProduct;
             })
-            .flatMap(productRepository::save);
+            .flatMap(productRepository::save)
+            .flatMap(this::logChange);
+    }
+
+    private Mono<Product> logChange(Product product) {
+        return entityChangeLog.record(Product.class, product.getId()).thenReturn(product);
     }
 
     /**
@@ -84,6 +96,19 @@ public class ProductService {
         return productRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get all the products, with only the requested fields.
+     *
+     * @param pageable the pagination information.
+     * @param fieldset the requested fields.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Product> findAll(Pageable pageable, SparseFieldset fieldset) {
+        log.debug("Request to get all Products with fields : {}", fieldset);
+        return productRepository.findAllWithFieldset(pageable, fieldset);
+    }
+
     /**
      * Returns the number of products available.
      * @return the number of entities in the database.
@@ -105,6 +130,18 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    /**
+     * Get the last modification date of one product, without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the last modification date of the entity or of the entities it is returned with.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Instant> findLastModifiedDate(Long id) {
+        log.debug("Request to get the last modification date of Product : {}", id);
+        return productRepository.findLastModifiedDateById(id);
+    }
+
     /**
      * Delete the product by id.
      *
@@ -113,6 +150,6 @@ public class ProductService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Product : {}", id);
-        return productRepository.deleteById(id);
+        return productRepository.deleteById(id).then(entityChangeLog.record(Product.class, id));
     }
 }
@@ -0,0 +1,319 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.SalesRollup;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.repository.SalesFact;
+import com.mycompany.store.repository.SalesRollupRepository;
+import com.mycompany.store.service.dto.SalesReportDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Service computing the sales reports from pre-aggregated {@link SalesRollup}s.
+ * <p>
+ * A day is the unit of aggregation: its rollups, one per product category, customer country and payment method, are
+ * recomputed from its order items and replaced in one transaction. The writes of the orders, their items and invoices
+ * log the day of the changed order with {@link #orderChanged} or {@link #salesChanged}, in their transaction, and the
+ * logged days are refreshed every {@code application.sales-report.refresh-interval}, up to
+ * {@code application.sales-report.parallelism} days at once. Changes of the category of a product or of the country
+ * of a customer only apply to the days refreshed afterwards, or on demand with {@link #refresh}. Amounts are summed in
+ * cents, as {@code long}s, and only turned into {@link BigDecimal}s in the reports.
+ * <p>
+ * Reports of any period merge the rollups of its days along the requested dimensions.
+ */
+@Service
+public class SalesReportService {
+
+    /**
+     * The dimensions a sales report can be grouped by.
+     */
+    public enum Dimension {
+        DAY("day"),
+        CATEGORY("category"),
+        COUNTRY("country"),
+        PAYMENT_METHOD("paymentMethod");
+
+        private final String parameterName;
+
+        Dimension(String parameterName) {
+            this.parameterName = parameterName;
+        }
+
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        /**
+         * @param parameterName the name of the dimension in the requests, such as {@code paymentMethod}.
+         * @return the dimension.
+         * @throws IllegalArgumentException if no dimension has this name.
+         */
+        public static Dimension fromParameterName(String parameterName) {
+            return Arrays
+                .stream(values())
+                .filter(dimension -> dimension.parameterName.equals(parameterName))
+                .findFirst()
+                .orElseThrow(() ->
+                    new IllegalArgumentException(
+                        "Unknown dimension '" + parameterName + "', available dimensions are day, category, country and paymentMethod"
+                    )
+                );
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(SalesReportService.class);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties.SalesReport properties;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public SalesReportService(
+        SalesRollupRepository salesRollupRepository,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.properties = applicationProperties.getSalesReport();
+    }
+
+    /**
+     * Logs a change of the sales of an order, in the transaction of the write, so that the rollups of the day it was
+     * placed are refreshed.
+     *
+     * @param orderId the id of the order, {@code null} for none.
+     * @return a Mono to signal the write of the log.
+     */
+    public Mono<Void> orderChanged(@Nullable Long orderId) {
+        return orderId != null ? salesRollupRepository.insertSalesChangeOfOrder(orderId).then() : Mono.empty();
+    }
+
+    /**
+     * Logs a change of the sales of the orders placed at a date, in the transaction of the write, so that the rollups
+     * of its day are refreshed.
+     *
+     * @param placedDate the placed date of the changed orders, {@code null} for none.
+     * @return a Mono to signal the write of the log.
+     */
+    public Mono<Void> salesChanged(@Nullable Instant placedDate) {
+        return placedDate != null ? salesRollupRepository.insertSalesChange(placedDate).then() : Mono.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${application.sales-report.refresh-interval:PT5M}")
+    public void refreshChangedDays() {
+        if (properties.isEnabled() && refreshing.compareAndSet(false, true)) {
+            refreshChanges()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(null, e -> log.error("Could not refresh the sales rollups", e));
+        }
+    }
+
+    /**
+     * Recomputes the rollups of the days of the oldest {@code application.sales-report.batch-size} logged changes, and
+     * deletes these changes with the rollups they invalidated. The changes logged while a day is recomputed are kept,
+     * for the next refresh.
+     *
+     * @return the number of rollups of the refreshed days.
+     */
+    public Mono<Long> refreshChanges() {
+        return salesRollupRepository
+            .findSalesChanges(properties.getBatchSize())
+            .collectMultimap(change -> LocalDate.ofInstant(change.getT2(), ZoneOffset.UTC), Tuple2::getT1)
+            .flatMapMany(changesByDay -> Flux.fromIterable(changesByDay.entrySet()))
+            .flatMap(dayChanges -> refreshDay(dayChanges.getKey(), dayChanges.getValue()), Math.max(1, properties.getParallelism()))
+            .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Recomputes the rollups of a period.
+     *
+     * @param from the first day of the period, in UTC.
+     * @param to the last day of the period, in UTC.
+     * @return the number of rollups of the period.
+     */
+    public Mono<Long> refresh(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        return Flux
+            .fromStream(() -> from.datesUntil(to.plusDays(1)))
+            .flatMap(day -> refreshDay(day, List.of()), Math.max(1, properties.getParallelism()))
+            .reduce(0L, Long::sum)
+            .doOnNext(count ->
+                log.debug(
+                    "Refreshed {} sales rollups from {} to {} in {} ms",
+                    count,
+                    from,
+                    to,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                )
+            );
+    }
+
+    private Mono<Long> refreshDay(LocalDate day, Collection<Long> changeIds) {
+        return salesRollupRepository
+            .findSalesFacts(day.atStartOfDay(ZoneOffset.UTC).toInstant(), day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+            .collect(DayAggregator::new, DayAggregator::add)
+            .map(aggregator -> aggregator.toRollups(day))
+            .flatMap(rollups ->
+                transactionalOperator.transactional(
+                    salesRollupRepository
+                        .deleteBySalesDay(day)
+                        .then(salesRollupRepository.insertAll(rollups))
+                        .then(changeIds.isEmpty() ? Mono.empty() : salesRollupRepository.deleteSalesChanges(changeIds))
+                        .thenReturn((long) rollups.size())
+                )
+            );
+    }
+
+    /**
+     * Get the sales of a period, grouped by the given dimensions.
+     *
+     * @param from the first day of the period, in UTC.
+     * @param to the last day of the period, in UTC.
+     * @param groupBy the dimensions to group the sales by, none for the total.
+     * @return the sales of each combination of the dimensions, by day and then by decreasing revenue.
+     */
+    @Transactional(readOnly = true)
+    public Mono<List<SalesReportDTO>> findSales(LocalDate from, LocalDate to, Set<Dimension> groupBy) {
+        return salesRollupRepository
+            .findAllBySalesDayBetween(from, to)
+            .collect(HashMap<List<Object>, long[]>::new, (totals, rollup) -> merge(totals, rollup, groupBy))
+            .map(totals -> {
+                List<SalesReportDTO> report = new ArrayList<>(totals.size());
+                totals.forEach((key, sums) -> report.add(toSalesReport(key, sums)));
+                report.sort(
+                    Comparator
+                        .comparing(SalesReportDTO::getDay, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(SalesReportDTO::getRevenue, Comparator.reverseOrder())
+                );
+                return report;
+            });
+    }
+
+    private static void merge(Map<List<Object>, long[]> totals, SalesRollup rollup, Set<Dimension> groupBy) {
+        List<Object> key = Arrays.asList(
+            groupBy.contains(Dimension.DAY) ? rollup.getSalesDay() : null,
+            groupBy.contains(Dimension.CATEGORY) && rollup.getProductCategoryId() != SalesRollup.NO_CATEGORY
+                ? rollup.getProductCategoryId()
+                : null,
+            groupBy.contains(Dimension.COUNTRY) && !SalesRollup.NONE.equals(rollup.getCountry()) ? rollup.getCountry() : null,
+            groupBy.contains(Dimension.PAYMENT_METHOD) && !SalesRollup.NONE.equals(rollup.getPaymentMethod())
+                ? rollup.getPaymentMethod()
+                : null
+        );
+        long[] sums = totals.computeIfAbsent(key, k -> new long[3]);
+        sums[0] += rollup.getRevenueCents();
+        sums[1] += rollup.getQuantity();
+        sums[2] += rollup.getItemCount();
+    }
+
+    private static SalesReportDTO toSalesReport(List<Object> key, long[] sums) {
+        SalesReportDTO salesReport = new SalesReportDTO();
+        salesReport.setDay((LocalDate) key.get(0));
+        salesReport.setProductCategoryId((Long) key.get(1));
+        salesReport.setCountry((String) key.get(2));
+        salesReport.setPaymentMethod(key.get(3) != null ? PaymentMethod.valueOf((String) key.get(3)) : null);
+        salesReport.setRevenue(BigDecimal.valueOf(sums[0], 2));
+        salesReport.setQuantity(sums[1]);
+        salesReport.setItemCount(sums[2]);
+        return salesReport;
+    }
+
+    /**
+     * Sums the order items of a day by product category, customer country and payment method, in cents.
+     */
+    private static final class DayAggregator {
+
+        private final Map<RollupKey, long[]> sums = new HashMap<>();
+
+        void add(SalesFact fact) {
+            RollupKey key = new RollupKey(
+                fact.getProductCategoryId() != null ? fact.getProductCategoryId() : SalesRollup.NO_CATEGORY,
+                fact.getCountry() != null ? fact.getCountry().toUpperCase(Locale.ROOT) : SalesRollup.NONE,
+                fact.getPaymentMethod() != null ? fact.getPaymentMethod().name() : SalesRollup.NONE
+            );
+            long[] sum = sums.computeIfAbsent(key, k -> new long[3]);
+            sum[0] = Math.addExact(sum[0], fact.getTotalPriceCents());
+            sum[1] += fact.getQuantity();
+            sum[2]++;
+        }
+
+        List<SalesRollup> toRollups(LocalDate day) {
+            List<SalesRollup> rollups = new ArrayList<>(sums.size());
+            sums.forEach((key, sum) -> {
+                SalesRollup rollup = new SalesRollup();
+                rollup.setSalesDay(day);
+                rollup.setProductCategoryId(key.productCategoryId);
+                rollup.setCountry(key.country);
+                rollup.setPaymentMethod(key.paymentMethod);
+                rollup.setRevenueCents(sum[0]);
+                rollup.setQuantity(sum[1]);
+                rollup.setItemCount(sum[2]);
+                rollups.add(rollup);
+            });
+            return rollups;
+        }
+    }
+
+    private static final class RollupKey {
+
+        private final long productCategoryId;
+
+        private final String country;
+
+        private final String paymentMethod;
+
+        RollupKey(long productCategoryId, String country, String paymentMethod) {
+            this.productCategoryId = productCategoryId;
+            this.country = country;
+            this.paymentMethod = paymentMethod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RollupKey)) {
+                return false;
+            }
+            RollupKey other = (RollupKey) o;
+            return (
+                productCategoryId == other.productCategoryId && country.equals(other.country) && paymentMethod.equals(other.paymentMethod)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productCategoryId, country, paymentMethod);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.store.service;
 
+import com.mycompany.store.config.ApplicationProperties;
 import com.mycompany.store.domain.Shipment;
 import com.mycompany.store.repository.ShipmentRepository;
 import org.slf4j.Logger;
@@ -21,8 +22,13 @@ public class ShipmentService {
 
     private final ShipmentRepository shipmentRepository;
 
-    public ShipmentService(ShipmentRepository shipmentRepository) {
+    private final LookupCache<String, Long> shipmentIdsByTrackingCode;
+
+    public ShipmentService(ShipmentRepository shipmentRepository, ApplicationProperties applicationProperties) {
         this.shipmentRepository = shipmentRepository;
+        ApplicationProperties.LookupCache properties = applicationProperties.getLookupCache();
+        this.shipmentIdsByTrackingCode =
+            new LookupCache<>(properties.getMaximumSize(), properties.getTtl(), properties.getNegativeTtl());
     }
 
     /**
@@ -33,7 +39,7 @@ public class ShipmentService {
      */
     public Mono<Shipment> save(Shipment shipment) {
         log.debug("Request to save Shipment : {}", shipment);
-        return shipmentRepository.save(shipment);
+        return shipmentRepository.save(shipment).flatMap(this::invalidateTrackingCode);
     }
 
     /**
@@ -60,7 +66,15 @@ public class ShipmentService {
 
                 return existingShipment;
             })
-            .flatMap(shipmentRepository::save);
+            .flatMap(shipmentRepository::save)
+            .flatMap(this::invalidateTrackingCode);
+    }
+
+    private Mono<Shipment> invalidateTrackingCode(Shipment shipment) {
+        if (shipment.getTrackingCode() == null) {
+            return Mono.just(shipment);
+        }
+        return shipmentIdsByTrackingCode.invalidateAfterCompletion(shipment.getTrackingCode()).thenReturn(shipment);
     }
 
     /**
@@ -96,6 +110,36 @@ public class ShipmentService {
         return shipmentRepository.findById(id);
     }
 
+    /**
+     * Get one shipment by tracking code. The id of the shipment with a tracking code, or its absence, is cached: a
+     * cached tracking code is looked up by id, and checked, and a cached absence is not looked up at all.
+     *
+     * @param trackingCode the tracking code.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Shipment> findOneByTrackingCode(String trackingCode) {
+        log.debug("Request to get Shipment by tracking code : {}", trackingCode);
+        LookupCache.Lookup<Long> id = shipmentIdsByTrackingCode.getIfPresent(trackingCode);
+        if (id.isMiss()) {
+            return loadShipmentByTrackingCode(trackingCode);
+        }
+        if (id.isAbsent()) {
+            return Mono.empty();
+        }
+        return shipmentRepository
+            .findById(id.getValue())
+            .filter(result -> trackingCode.equals(result.getTrackingCode()))
+            .switchIfEmpty(Mono.defer(() -> loadShipmentByTrackingCode(trackingCode)));
+    }
+
+    private Mono<Shipment> loadShipmentByTrackingCode(String trackingCode) {
+        return shipmentRepository
+            .findFirstByTrackingCode(trackingCode)
+            .doOnNext(result -> shipmentIdsByTrackingCode.put(trackingCode, result.getId()))
+            .switchIfEmpty(Mono.fromRunnable(() -> shipmentIdsByTrackingCode.put(trackingCode, null)));
+    }
+
     /**
      * Delete the shipment by id.
      *
@@ -0,0 +1,200 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.lang.Nullable;
+
+/**
+ * In-memory stock counters of the products, reserved with compare-and-set so that concurrent orders of the same
+ * product never wait on a lock.
+ * <p>
+ * Every change is added to the unwritten change of its product and marks it dirty, until {@link #drainDirty(int)} hands
+ * the change over to be persisted. A product is only drained before its change is taken, so a change racing with the
+ * drain marks it dirty again and is never lost.
+ */
+public final class StockCounters {
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts tracking the stock of a product, or overrides it and forgets its unwritten change, without marking it
+     * dirty. Only meant for a stock which was just read from or written to the database while none of its changes was
+     * being persisted.
+     *
+     * @param productId the id of the product.
+     * @param quantity the quantity in stock.
+     */
+    public void put(Long productId, int quantity) {
+        Counter counter = counters.putIfAbsent(productId, new Counter(quantity));
+        if (counter != null) {
+            counter.quantity.set(quantity);
+            counter.unwritten.set(0);
+        }
+    }
+
+    /**
+     * Sets the stock of a tracked product, adding the difference with its current stock to its unwritten change, so
+     * that the stock persisted converges to it whatever changes are being persisted meanwhile.
+     *
+     * @param productId the id of the product.
+     * @param quantity the quantity in stock.
+     * @return {@code true} if the stock was set, or {@code false} if the stock of the product isn't tracked.
+     */
+    public boolean set(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        int change = quantity - counter.quantity.getAndSet(quantity);
+        if (change != 0) {
+            counter.unwritten.addAndGet(change);
+            dirty.add(productId);
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking the stock of a product.
+     *
+     * @param productId the id of the product.
+     */
+    public void remove(Long productId) {
+        counters.remove(productId);
+        dirty.remove(productId);
+    }
+
+    /**
+     * Stops tracking the stock of all the products.
+     */
+    public void clear() {
+        counters.clear();
+        dirty.clear();
+    }
+
+    /**
+     * @param productId the id of the product.
+     * @return the quantity in stock, or {@code null} if the stock of the product isn't tracked.
+     */
+    @Nullable
+    public Integer get(Long productId) {
+        Counter counter = counters.get(productId);
+        return counter != null ? counter.quantity.get() : null;
+    }
+
+    /**
+     * Takes a quantity out of the stock of a product, if there is enough of it.
+     *
+     * @param productId the id of the product.
+     * @param quantity the quantity to reserve.
+     * @return {@link OrderItemStatus#AVAILABLE} if the quantity was reserved, {@link OrderItemStatus#OUT_OF_STOCK} if
+     *         there isn't enough stock, or {@code null} if the stock of the product isn't tracked.
+     */
+    @Nullable
+    public OrderItemStatus reserve(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            return null;
+        }
+        int current = counter.quantity.get();
+        while (current >= quantity) {
+            int witness = counter.quantity.compareAndExchange(current, current - quantity);
+            if (witness == current) {
+                counter.unwritten.addAndGet(-quantity);
+                dirty.add(productId);
+                return OrderItemStatus.AVAILABLE;
+            }
+            current = witness;
+        }
+        return OrderItemStatus.OUT_OF_STOCK;
+    }
+
+    /**
+     * Puts a reserved quantity back into the stock of a product.
+     *
+     * @param productId the id of the product.
+     * @param quantity the quantity to release.
+     */
+    public void release(Long productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter != null) {
+            counter.quantity.addAndGet(quantity);
+            counter.unwritten.addAndGet(quantity);
+            dirty.add(productId);
+        }
+    }
+
+    /**
+     * Gives drained changes back, when they couldn't be persisted.
+     *
+     * @param changes the ids of the products, with their drained change.
+     */
+    public void restore(Collection<Map.Entry<Long, Integer>> changes) {
+        for (Map.Entry<Long, Integer> change : changes) {
+            Counter counter = counters.get(change.getKey());
+            if (counter != null) {
+                counter.unwritten.addAndGet(change.getValue());
+                dirty.add(change.getKey());
+            }
+        }
+    }
+
+    /**
+     * @return the number of products which stock changed since it was last drained.
+     */
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * @return the number of products which stock is tracked.
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Hands over the changes of the stock of the products since they were last drained.
+     *
+     * @param max the maximum number of products to drain.
+     * @return the ids of the drained products, with the quantity added to their stock, negative when it was reserved.
+     */
+    public List<Map.Entry<Long, Integer>> drainDirty(int max) {
+        List<Map.Entry<Long, Integer>> drained = new ArrayList<>(Math.min(max, dirty.size()));
+        Iterator<Long> iterator = dirty.iterator();
+        while (drained.size() < max && iterator.hasNext()) {
+            Long productId = iterator.next();
+            iterator.remove();
+            Counter counter = counters.get(productId);
+            if (counter != null) {
+                int change = counter.unwritten.getAndSet(0);
+                if (change != 0) {
+                    drained.add(Map.entry(productId, change));
+                }
+            }
+        }
+        return drained;
+    }
+
+    private static final class Counter {
+
+        private final AtomicInteger quantity;
+
+        /**
+         * The sum of the changes which weren't drained yet.
+         */
+        private final AtomicInteger unwritten = new AtomicInteger();
+
+        private Counter(int quantity) {
+            this.quantity = new AtomicInteger(quantity);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.mycompany.store.service;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.ProductStock;
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import com.mycompany.store.repository.ProductStockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service reserving the stock of the products ordered by {@link OrderItem}s.
+ * <p>
+ * The stock is held in memory by {@link StockCounters} and reserved with compare-and-set, so that a flash sale doesn't
+ * serialise the orders of a product on the lock of its database row. The changes of the stock are written behind to the
+ * {@code product_stock} table, as increments, in batches of {@code application.stock.batch-size} every
+ * {@code application.stock.flush-interval}, and the counters are rebuilt from it before the web server starts. As the
+ * counters are owned by a single node, orders must not be spread over several nodes while the stock is tracked.
+ * <p>
+ * Each order item records the quantity it reserved, which is all that is released when it changes or is deleted.
+ * Stock is reserved within the transaction writing the order item and given back if it rolls back, while stock is only
+ * released once the transaction commits.
+ * <p>
+ * The stock of products without a {@code product_stock} row isn't tracked: their order items keep the status they were
+ * given.
+ */
+@Service
+public class StockService implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "store.stock";
+
+    /**
+     * Starts before the web server, which is started in the {@link SmartLifecycle#DEFAULT_PHASE} - 1 phase.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2;
+
+    private static final Duration FLUSH_POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Logger log = LoggerFactory.getLogger(StockService.class);
+
+    private final ProductStockRepository productStockRepository;
+
+    private final ApplicationProperties.Stock properties;
+
+    private final StockCounters counters = new StockCounters();
+
+    private final Counter reservedCounter;
+
+    private final Counter rejectedCounter;
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private volatile boolean running;
+
+    public StockService(
+        ProductStockRepository productStockRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.productStockRepository = productStockRepository;
+        this.properties = applicationProperties.getStock();
+        this.reservedCounter = Counter.builder(METRIC_PREFIX + ".reservations").tag("outcome", "reserved").register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".reservations").tag("outcome", "rejected").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", counters, StockCounters::size).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".dirty", counters, StockCounters::dirtyCount).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        load().block();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        withoutFlush(this::flush).block();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Scheduled(fixedDelayString = "${application.stock.flush-interval:PT1S}")
+    public void flushScheduled() {
+        if (flushing.compareAndSet(false, true)) {
+            flush().doFinally(signal -> flushing.set(false)).subscribe(null, e -> log.error("Could not write the stock", e));
+        }
+    }
+
+    /**
+     * Rebuilds the stock counters from the database.
+     *
+     * @return the number of products which stock is tracked.
+     */
+    public Mono<Integer> load() {
+        return productStockRepository
+            .findAll()
+            .collectList()
+            .map(stocks -> {
+                counters.clear();
+                stocks.forEach(stock -> counters.put(stock.getProductId(), stock.getQuantity()));
+                log.info("Loaded the stock of {} products", stocks.size());
+                return stocks.size();
+            });
+    }
+
+    /**
+     * Writes the changes of the stock to the database, batch after batch.
+     *
+     * @return the number of products which stock was written.
+     */
+    public Mono<Integer> flush() {
+        return Flux
+            .defer(() -> Flux.just(counters.drainDirty(properties.getBatchSize())))
+            .repeat()
+            .takeUntil(batch -> batch.size() < properties.getBatchSize())
+            .filter(batch -> !batch.isEmpty())
+            .concatMap(this::flushBatch)
+            .reduce(0, Integer::sum);
+    }
+
+    private Mono<Integer> flushBatch(List<Map.Entry<Long, Integer>> batch) {
+        Map<Long, Integer> changes = batch
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum, LinkedHashMap::new));
+        return productStockRepository
+            .addQuantities(changes)
+            .thenReturn(batch.size())
+            .onErrorResume(e -> {
+                log.warn("Could not write the stock of {} products, will retry", batch.size(), e);
+                counters.restore(batch);
+                return Mono.just(0);
+            });
+    }
+
+    /**
+     * Get the stock of a product.
+     *
+     * @param productId the id of the product.
+     * @return the stock, or empty if the stock of the product isn't tracked.
+     */
+    public Mono<ProductStock> findOne(Long productId) {
+        return Mono.justOrEmpty(counters.get(productId)).map(quantity -> new ProductStock(productId, quantity));
+    }
+
+    /**
+     * Set the stock of a product, and start tracking it if it wasn't. The stock of a tracked product is set in memory
+     * and the difference with its former stock is written behind like any other change, so that the stock written
+     * converges to it even though changes drained before are still being written. The stock of an untracked product is
+     * written through to the database, once no change is being written.
+     *
+     * @param stock the stock of the product.
+     * @return the stock.
+     */
+    public Mono<ProductStock> save(ProductStock stock) {
+        log.debug("Request to save ProductStock : {}", stock);
+        Long productId = stock.getProductId();
+        int quantity = stock.getQuantity();
+        return Mono
+            .fromSupplier(() -> counters.set(productId, quantity))
+            .filter(tracked -> !tracked)
+            .flatMap(untracked ->
+                withoutFlush(() ->
+                    productStockRepository
+                        .updateQuantity(productId, quantity)
+                        .flatMap(updated -> updated > 0 ? Mono.just(updated) : productStockRepository.insertQuantity(productId, quantity))
+                        .doOnNext(saved -> counters.put(productId, quantity))
+                )
+            )
+            .thenReturn(stock);
+    }
+
+    /**
+     * Stop tracking the stock of a product, once no change is being written, so that none is written after the
+     * deletion.
+     *
+     * @param productId the id of the product.
+     * @return a Mono to signal the deletion.
+     */
+    public Mono<Void> delete(Long productId) {
+        log.debug("Request to delete ProductStock : {}", productId);
+        return withoutFlush(() -> productStockRepository.deleteById(productId).doOnSuccess(done -> counters.remove(productId)));
+    }
+
+    /**
+     * Writes to the {@code product_stock} table once the flush running, if any, is done, holding off the next one until
+     * the write is done.
+     */
+    private <T> Mono<T> withoutFlush(Supplier<Mono<T>> write) {
+        return Mono
+            .fromSupplier(() -> flushing.compareAndSet(false, true) ? Boolean.TRUE : null)
+            .repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts.delayElements(FLUSH_POLL_INTERVAL))
+            .flatMap(acquired -> Mono.defer(write).doFinally(signal -> flushing.set(false)));
+    }
+
+    /**
+     * Reserve the stock of an order item which is created or updated, and set its status and its reserved quantity
+     * accordingly, if the stock of its product is tracked. The quantity it reserved before, if any, is reused when the
+     * product is the same, and released once the current transaction commits otherwise.
+     *
+     * @param before the order item as it is stored, or {@code null} if it is new.
+     * @param orderItem the order item to save.
+     * @return a Mono to signal the reservation, which must be subscribed to in the transaction saving the order item.
+     */
+    public Mono<Void> reserve(@Nullable OrderItem before, OrderItem orderItem) {
+        return inTransaction(changes -> reserve(before, orderItem, changes));
+    }
+
+    /**
+     * Reserve the stock of new order items, and set their status and their reserved quantity accordingly, if the stock
+     * of their product is tracked.
+     *
+     * @param orderItems the new order items.
+     * @return a Mono to signal the reservation, which must be subscribed to in the transaction saving the order items.
+     */
+    public Mono<Void> reserveAll(List<OrderItem> orderItems) {
+        return inTransaction(changes -> orderItems.forEach(orderItem -> reserve(null, orderItem, changes)));
+    }
+
+    /**
+     * Release the stock reserved by an order item once the current transaction commits.
+     *
+     * @param orderItem the order item, as it is stored.
+     * @return a Mono to signal the release, which must be subscribed to in the transaction deleting the order item.
+     */
+    public Mono<Void> release(OrderItem orderItem) {
+        return inTransaction(changes -> {
+            if (orderItem.getReservedQuantity() != null) {
+                changes.releaseOnCommit(orderItem.getProductId(), orderItem.getReservedQuantity());
+            }
+        });
+    }
+
+    private void reserve(@Nullable OrderItem before, OrderItem orderItem, StockChanges changes) {
+        Long reservedProductId = before != null && before.getReservedQuantity() != null ? before.getProductId() : null;
+        int reserved = reservedProductId != null ? before.getReservedQuantity() : 0;
+        int kept = 0;
+        orderItem.setReservedQuantity(null);
+        Long productId = orderItem.getProductId();
+        Integer quantity = orderItem.getQuantity();
+        if (productId != null && quantity != null) {
+            boolean sameProduct = productId.equals(reservedProductId);
+            int missing = sameProduct ? quantity - reserved : quantity;
+            OrderItemStatus status;
+            if (missing > 0) {
+                status = counters.reserve(productId, missing);
+            } else {
+                status = counters.get(productId) != null ? OrderItemStatus.AVAILABLE : null;
+            }
+            if (status == OrderItemStatus.AVAILABLE) {
+                orderItem.setStatus(status);
+                orderItem.setReservedQuantity(quantity);
+                kept = sameProduct ? Math.min(reserved, quantity) : 0;
+                if (missing > 0) {
+                    changes.releaseOnRollback(productId, missing);
+                    reservedCounter.increment();
+                }
+            } else if (status != null) {
+                orderItem.setStatus(status);
+                rejectedCounter.increment();
+            }
+        }
+        if (reserved > kept) {
+            changes.releaseOnCommit(reservedProductId, reserved - kept);
+        }
+    }
+
+    private Mono<Void> inTransaction(Consumer<StockChanges> reservations) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .doOnNext(synchronizations -> {
+                if (!synchronizations.isSynchronizationActive()) {
+                    throw new IllegalStateException("Stock can only be reserved and released in a transaction");
+                }
+                StockChanges changes = new StockChanges();
+                reservations.accept(changes);
+                synchronizations.registerSynchronization(changes);
+            })
+            .then();
+    }
+
+    /**
+     * The stock to release once a transaction completes.
+     */
+    private final class StockChanges implements TransactionSynchronization {
+
+        private final List<Map.Entry<Long, Integer>> onCommit = new ArrayList<>();
+
+        private final List<Map.Entry<Long, Integer>> onRollback = new ArrayList<>();
+
+        void releaseOnCommit(Long productId, int quantity) {
+            onCommit.add(Map.entry(productId, quantity));
+        }
+
+        void releaseOnRollback(Long productId, int quantity) {
+            onRollback.add(Map.entry(productId, quantity));
+        }
+
+        @Override
+        public Mono<Void> afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                onCommit.forEach(release -> counters.release(release.getKey(), release.getValue()));
+            } else if (status == STATUS_ROLLED_BACK) {
+                onRollback.forEach(release -> counters.release(release.getKey(), release.getValue()));
+            } else if (!onCommit.isEmpty() || !onRollback.isEmpty()) {
+                log.warn("Unknown outcome of a transaction, the stock it reserved or released is kept as is: {}", this);
+            }
+            return Mono.empty();
+        }
+
+        @Override
+        public String toString() {
+            return "StockChanges{onCommit=" + onCommit + ", onRollback=" + onRollback + "}";
+        }
+    }
+}
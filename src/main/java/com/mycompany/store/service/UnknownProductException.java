@@ -0,0 +1,12 @@
+package com.mycompany.store.service;
+
+import java.util.Collection;
+
+public class UnknownProductException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownProductException(Collection<Long> productIds) {
+        super("Unknown product(s): " + productIds);
+    }
+}
@@ -1,11 +1,13 @@
 package com.mycompany.store.service;
 
+import com.mycompany.store.config.ApplicationProperties;
 import com.mycompany.store.config.Constants;
 import com.mycompany.store.domain.Authority;
 import com.mycompany.store.domain.User;
 import com.mycompany.store.repository.AuthorityRepository;
 import com.mycompany.store.repository.UserRepository;
 import com.mycompany.store.security.AuthoritiesConstants;
+import com.mycompany.store.security.PasswordHashingService;
 import com.mycompany.store.security.SecurityUtils;
 import com.mycompany.store.service.dto.AdminUserDTO;
 import com.mycompany.store.service.dto.UserDTO;
@@ -14,13 +16,14 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -36,14 +39,34 @@ public class UserService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final MailService mailService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final EntityChangeLog entityChangeLog;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordHashingService passwordHashingService,
+        AuthorityRepository authorityRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        TransactionalOperator transactionalOperator,
+        EntityChangeLog entityChangeLog
+    ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.authorityRepository = authorityRepository;
+        this.mailService = mailService;
+        this.applicationProperties = applicationProperties;
+        this.transactionalOperator = transactionalOperator;
+        this.entityChangeLog = entityChangeLog;
     }
 
     @Transactional
@@ -66,13 +89,16 @@ public class UserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
-            .map(user -> {
-                user.setPassword(passwordEncoder.encode(newPassword));
-                user.setResetKey(null);
-                user.setResetDate(null);
-                return user;
-            })
+            .flatMap(user ->
+                passwordHashingService
+                    .encode(newPassword)
+                    .map(encryptedPassword -> {
+                        user.setPassword(encryptedPassword);
+                        user.setResetKey(null);
+                        user.setResetDate(null);
+                        return user;
+                    })
+            )
             .flatMap(this::saveUser);
     }
 
@@ -87,7 +113,8 @@ public class UserService {
                 user.setResetDate(Instant.now());
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .flatMap(user -> mailService.sendPasswordResetMail(user).thenReturn(user));
     }
 
     @Transactional
@@ -109,28 +136,26 @@ public class UserService {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
-            .then(
-                Mono.fromCallable(() -> {
-                    User newUser = new User();
-                    String encryptedPassword = passwordEncoder.encode(password);
-                    newUser.setLogin(userDTO.getLogin().toLowerCase());
-                    // new user gets initially a generated password
-                    newUser.setPassword(encryptedPassword);
-                    newUser.setFirstName(userDTO.getFirstName());
-                    newUser.setLastName(userDTO.getLastName());
-                    if (userDTO.getEmail() != null) {
-                        newUser.setEmail(userDTO.getEmail().toLowerCase());
-                    }
-                    newUser.setImageUrl(userDTO.getImageUrl());
-                    newUser.setLangKey(userDTO.getLangKey());
-                    // new user is not active
-                    newUser.setActivated(false);
-                    // new user gets registration key
-                    newUser.setActivationKey(RandomUtil.generateActivationKey());
-                    return newUser;
-                })
-            )
+            .then(passwordHashingService.encode(password))
+            // emitted on the hashing pool, where generating the activation key may read the entropy source
+            .map(encryptedPassword -> {
+                User newUser = new User();
+                newUser.setLogin(userDTO.getLogin().toLowerCase());
+                // new user gets initially a generated password
+                newUser.setPassword(encryptedPassword);
+                newUser.setFirstName(userDTO.getFirstName());
+                newUser.setLastName(userDTO.getLastName());
+                if (userDTO.getEmail() != null) {
+                    newUser.setEmail(userDTO.getEmail().toLowerCase());
+                }
+                newUser.setImageUrl(userDTO.getImageUrl());
+                newUser.setLangKey(userDTO.getLangKey());
+                // new user is not active
+                newUser.setActivated(false);
+                // new user gets registration key
+                newUser.setActivationKey(RandomUtil.generateActivationKey());
+                return newUser;
+            })
             .flatMap(newUser -> {
                 Set<Authority> authorities = new HashSet<>();
                 return authorityRepository
@@ -140,7 +165,8 @@ public class UserService {
                     .doOnNext(user -> user.setAuthorities(authorities))
                     .flatMap(this::saveUser)
                     .doOnNext(user -> log.debug("Created Information for User: {}", user));
-            });
+            })
+            .flatMap(user -> mailService.sendActivationEmail(user).thenReturn(user));
     }
 
     @Transactional
@@ -163,17 +189,20 @@ public class UserService {
             .flatMap(authorityRepository::findById)
             .doOnNext(authority -> user.getAuthorities().add(authority))
             .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
-            .map(newUser -> {
-                String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
-                newUser.setPassword(encryptedPassword);
-                newUser.setResetKey(RandomUtil.generateResetKey());
-                newUser.setResetDate(Instant.now());
-                newUser.setActivated(true);
-                return newUser;
-            })
+            .flatMap(newUser ->
+                passwordHashingService
+                    .encodeGenerated(RandomUtil::generatePassword)
+                    .map(encryptedPassword -> {
+                        newUser.setPassword(encryptedPassword);
+                        newUser.setResetKey(RandomUtil.generateResetKey());
+                        newUser.setResetDate(Instant.now());
+                        newUser.setActivated(true);
+                        return newUser;
+                    })
+            )
             .flatMap(this::saveUser)
-            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1));
+            .doOnNext(user1 -> log.debug("Created Information for User: {}", user1))
+            .flatMap(user1 -> mailService.sendCreationEmail(user1).thenReturn(user1));
     }
 
     /**
@@ -187,6 +216,7 @@ public class UserService {
         return userRepository
             .findById(userDTO.getId())
             .flatMap(user -> {
+                String previousLogin = user.getLogin();
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -198,8 +228,12 @@ public class UserService {
                 user.setLangKey(userDTO.getLangKey());
                 Set<Authority> managedAuthorities = user.getAuthorities();
                 managedAuthorities.clear();
-                return userRepository
-                    .deleteUserAuthorities(user.getId())
+                // the users cached by their former login must be evicted too
+                Mono<Void> loginChange = previousLogin.equals(user.getLogin())
+                    ? Mono.empty()
+                    : entityChangeLog.record(User.class, previousLogin);
+                return loginChange
+                    .then(userRepository.deleteUserAuthorities(user.getId()))
                     .thenMany(Flux.fromIterable(userDTO.getAuthorities()))
                     .flatMap(authorityRepository::findById)
                     .map(managedAuthorities::add)
@@ -214,7 +248,7 @@ public class UserService {
     public Mono<Void> deleteUser(String login) {
         return userRepository
             .findOneByLogin(login)
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> userRepository.delete(user).then(entityChangeLog.record(User.class, user.getLogin())).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
             .then();
     }
@@ -258,6 +292,7 @@ public class UserService {
                     user.setCreatedBy(login);
                 }
                 user.setLastModifiedBy(login);
+                user.setLastModifiedDate(Instant.now());
                 // Saving the relationship can be done in an entity callback
                 // once https://github.com/spring-projects/spring-data-r2dbc/issues/215 is done
                 return userRepository
@@ -266,6 +301,7 @@ public class UserService {
                         Flux
                             .fromIterable(user.getAuthorities())
                             .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
+                            .then(entityChangeLog.record(User.class, savedUser.getLogin()))
                             .then(Mono.just(savedUser))
                     );
             });
@@ -276,16 +312,20 @@ public class UserService {
         return SecurityUtils
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
-            .publishOn(Schedulers.boundedElastic())
-            .map(user -> {
-                String currentEncryptedPassword = user.getPassword();
-                if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
-                    throw new InvalidPasswordException();
-                }
-                String encryptedPassword = passwordEncoder.encode(newPassword);
-                user.setPassword(encryptedPassword);
-                return user;
-            })
+            .flatMap(user ->
+                passwordHashingService
+                    .matches(currentClearTextPassword, user.getPassword())
+                    .flatMap(matches -> {
+                        if (!matches) {
+                            return Mono.error(new InvalidPasswordException());
+                        }
+                        return passwordHashingService.encode(newPassword);
+                    })
+                    .map(encryptedPassword -> {
+                        user.setPassword(encryptedPassword);
+                        return user;
+                    })
+            )
             .flatMap(this::saveUser)
             .doOnNext(user -> log.debug("Changed password for User: {}", user))
             .then();
@@ -319,21 +359,82 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am). The cleanup runs in the background, the scheduler thread
+     * is released right away.
      */
     @Scheduled(cron = "0 0 1 * * ?")
     public void removeNotActivatedUsers() {
-        removeNotActivatedUsersReactively().blockLast();
+        removeNotActivatedUsersReactively().subscribe(null, e -> log.error("Could not remove not activated users", e));
     }
 
-    @Transactional
-    public Flux<User> removeNotActivatedUsersReactively() {
+    /**
+     * Deletes the not activated users by chunks of ids, each chunk in its own transaction with one statement for the
+     * authorities and one for the users, and pauses between chunks.
+     *
+     * @return the number of deleted users.
+     */
+    public Mono<Long> removeNotActivatedUsersReactively() {
+        LocalDateTime createdBefore = LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC);
+        ApplicationProperties.UserCleanup userCleanup = applicationProperties.getUserCleanup();
+        long start = System.nanoTime();
+        return removeNotActivatedUsersChunk(createdBefore, 0L, userCleanup.getChunkSize())
+            .expand(chunk ->
+                chunk.selected < userCleanup.getChunkSize()
+                    ? Mono.empty()
+                    : removeNotActivatedUsersChunk(createdBefore, chunk.lastId, userCleanup.getChunkSize())
+                        .delaySubscription(userCleanup.getChunkPause())
+            )
+            .reduce(new RemovedUsersChunk(0L, 0, 0, 0), RemovedUsersChunk::add)
+            .map(total -> {
+                log.info(
+                    "Removed {} not activated users and {} of their authorities in {} ms",
+                    total.users,
+                    total.authorities,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                );
+                return (long) total.users;
+            });
+    }
+
+    private Mono<RemovedUsersChunk> removeNotActivatedUsersChunk(LocalDateTime createdBefore, long afterId, int chunkSize) {
         return userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
-                LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC)
+            .findNotActivatedUserIdsAfter(createdBefore, afterId, chunkSize)
+            .collectList()
+            .filter(userIds -> !userIds.isEmpty())
+            .flatMap(userIds ->
+                transactionalOperator.transactional(
+                    userRepository
+                        .deleteNotActivatedUserAuthorities(userIds)
+                        .flatMap(authorities ->
+                            userRepository
+                                .deleteNotActivatedUsers(userIds)
+                                .map(users -> new RemovedUsersChunk(userIds.get(userIds.size() - 1), userIds.size(), users, authorities))
+                        )
+                )
             )
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
-            .doOnNext(user -> log.debug("Deleted User: {}", user));
+            .doOnNext(chunk -> log.debug("Deleted {} not activated users up to id {}", chunk.users, chunk.lastId));
+    }
+
+    private static class RemovedUsersChunk {
+
+        private final long lastId;
+
+        private final int selected;
+
+        private final int users;
+
+        private final int authorities;
+
+        RemovedUsersChunk(long lastId, int selected, int users, int authorities) {
+            this.lastId = lastId;
+            this.selected = selected;
+            this.users = users;
+            this.authorities = authorities;
+        }
+
+        RemovedUsersChunk add(RemovedUsersChunk other) {
+            return new RemovedUsersChunk(other.lastId, selected + other.selected, users + other.users, authorities + other.authorities);
+        }
     }
 
     /**
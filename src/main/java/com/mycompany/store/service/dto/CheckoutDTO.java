@@ -0,0 +1,120 @@
+package com.mycompany.store.service.dto;
+
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A DTO representing a basket to check out - the customer, the payment method and the ordered products.
+ */
+public class CheckoutDTO {
+
+    private Long customerId;
+
+    @NotNull
+    private PaymentMethod paymentMethod;
+
+    private String details;
+
+    @Valid
+    @NotEmpty
+    private List<Item> items = new ArrayList<>();
+
+    public CheckoutDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "CheckoutDTO{" +
+            "customerId=" +
+            customerId +
+            ", paymentMethod='" +
+            paymentMethod +
+            "'" +
+            ", items=" +
+            items +
+            "}"
+        );
+    }
+
+    /**
+     * A line of the basket - a product and its quantity.
+     */
+    public static class Item {
+
+        @NotNull
+        private Long productId;
+
+        @NotNull
+        @Min(1)
+        private Integer quantity;
+
+        public Item() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Item(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" + "productId=" + productId + ", quantity=" + quantity + "}";
+        }
+    }
+}
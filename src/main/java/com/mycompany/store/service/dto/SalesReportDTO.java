@@ -0,0 +1,102 @@
+package com.mycompany.store.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing a line of a sales report: the sales of a combination of the requested dimensions. The dimensions
+ * which are not requested, or unknown, are absent.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesReportDTO {
+
+    private LocalDate day;
+
+    private Long productCategoryId;
+
+    private String country;
+
+    private PaymentMethod paymentMethod;
+
+    private BigDecimal revenue;
+
+    private long quantity;
+
+    private long itemCount;
+
+    public SalesReportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getProductCategoryId() {
+        return productCategoryId;
+    }
+
+    public void setProductCategoryId(Long productCategoryId) {
+        this.productCategoryId = productCategoryId;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(long quantity) {
+        this.quantity = quantity;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(long itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesReportDTO{" +
+            "day=" + day +
+            ", productCategoryId=" + productCategoryId +
+            ", country='" + country + "'" +
+            ", paymentMethod='" + paymentMethod + "'" +
+            ", revenue=" + revenue +
+            ", quantity=" + quantity +
+            ", itemCount=" + itemCount +
+            "}";
+    }
+}
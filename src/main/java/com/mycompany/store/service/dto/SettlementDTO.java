@@ -0,0 +1,60 @@
+package com.mycompany.store.service.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A DTO representing a line of a payment settlement file: the payment of an invoice.
+ */
+public class SettlementDTO {
+
+    private Long invoiceId;
+
+    private BigDecimal amount;
+
+    private Instant date;
+
+    public SettlementDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SettlementDTO(Long invoiceId, BigDecimal amount, Instant date) {
+        this.invoiceId = invoiceId;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    public Long getInvoiceId() {
+        return invoiceId;
+    }
+
+    public void setInvoiceId(Long invoiceId) {
+        this.invoiceId = invoiceId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Instant getDate() {
+        return date;
+    }
+
+    public void setDate(Instant date) {
+        this.date = date;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SettlementDTO{" +
+            "invoiceId=" + invoiceId +
+            ", amount=" + amount +
+            ", date='" + date + "'" +
+            "}";
+    }
+}
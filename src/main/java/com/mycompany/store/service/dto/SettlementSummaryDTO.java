@@ -0,0 +1,136 @@
+package com.mycompany.store.service.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the reconciliation of a payment settlement file with the invoices. The lists of invoice ids and
+ * of malformed lines only hold the first ones, their counts hold all of them.
+ */
+public class SettlementSummaryDTO {
+
+    private long settledCount;
+
+    private BigDecimal settledAmount = BigDecimal.ZERO;
+
+    private long alreadyPaidCount;
+
+    private long amountMismatchCount;
+
+    private List<Long> amountMismatchInvoiceIds = new ArrayList<>();
+
+    private long cancelledCount;
+
+    private List<Long> cancelledInvoiceIds = new ArrayList<>();
+
+    private long unknownCount;
+
+    private List<Long> unknownInvoiceIds = new ArrayList<>();
+
+    private long malformedCount;
+
+    private List<String> malformedLines = new ArrayList<>();
+
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    public void setSettledCount(long settledCount) {
+        this.settledCount = settledCount;
+    }
+
+    public BigDecimal getSettledAmount() {
+        return settledAmount;
+    }
+
+    public void setSettledAmount(BigDecimal settledAmount) {
+        this.settledAmount = settledAmount;
+    }
+
+    public long getAlreadyPaidCount() {
+        return alreadyPaidCount;
+    }
+
+    public void setAlreadyPaidCount(long alreadyPaidCount) {
+        this.alreadyPaidCount = alreadyPaidCount;
+    }
+
+    public long getAmountMismatchCount() {
+        return amountMismatchCount;
+    }
+
+    public void setAmountMismatchCount(long amountMismatchCount) {
+        this.amountMismatchCount = amountMismatchCount;
+    }
+
+    public List<Long> getAmountMismatchInvoiceIds() {
+        return amountMismatchInvoiceIds;
+    }
+
+    public void setAmountMismatchInvoiceIds(List<Long> amountMismatchInvoiceIds) {
+        this.amountMismatchInvoiceIds = amountMismatchInvoiceIds;
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount;
+    }
+
+    public void setCancelledCount(long cancelledCount) {
+        this.cancelledCount = cancelledCount;
+    }
+
+    public List<Long> getCancelledInvoiceIds() {
+        return cancelledInvoiceIds;
+    }
+
+    public void setCancelledInvoiceIds(List<Long> cancelledInvoiceIds) {
+        this.cancelledInvoiceIds = cancelledInvoiceIds;
+    }
+
+    public long getUnknownCount() {
+        return unknownCount;
+    }
+
+    public void setUnknownCount(long unknownCount) {
+        this.unknownCount = unknownCount;
+    }
+
+    public List<Long> getUnknownInvoiceIds() {
+        return unknownInvoiceIds;
+    }
+
+    public void setUnknownInvoiceIds(List<Long> unknownInvoiceIds) {
+        this.unknownInvoiceIds = unknownInvoiceIds;
+    }
+
+    public long getMalformedCount() {
+        return malformedCount;
+    }
+
+    public void setMalformedCount(long malformedCount) {
+        this.malformedCount = malformedCount;
+    }
+
+    public List<String> getMalformedLines() {
+        return malformedLines;
+    }
+
+    public void setMalformedLines(List<String> malformedLines) {
+        this.malformedLines = malformedLines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SettlementSummaryDTO{" +
+            "settledCount=" + settledCount +
+            ", settledAmount=" + settledAmount +
+            ", alreadyPaidCount=" + alreadyPaidCount +
+            ", amountMismatchCount=" + amountMismatchCount +
+            ", cancelledCount=" + cancelledCount +
+            ", unknownCount=" + unknownCount +
+            ", malformedCount=" + malformedCount +
+            "}";
+    }
+}
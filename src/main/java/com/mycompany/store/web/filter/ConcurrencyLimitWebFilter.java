@@ -0,0 +1,124 @@
+package com.mycompany.store.web.filter;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Sheds load with {@code 503 (Service Unavailable)} once a route group has more requests in flight than its adaptive
+ * {@link GradientConcurrencyLimit} allows.
+ * <p>
+ * It runs before the Spring Security filter chain, so rejected requests cost neither a JWT validation nor a database
+ * round trip.
+ */
+@Component
+@Order(ConcurrencyLimitWebFilter.ORDER)
+public class ConcurrencyLimitWebFilter implements WebFilter {
+
+    /**
+     * Runs before Spring Security's {@code WebFilterChainProxy}, which is ordered at -100.
+     */
+    public static final int ORDER = -200;
+
+    private static final String METRIC_PREFIX = "store.concurrency";
+
+    private final Logger log = LoggerFactory.getLogger(ConcurrencyLimitWebFilter.class);
+
+    private final List<RouteGroup> routeGroups = new ArrayList<>();
+
+    private final String retryAfter;
+
+    public ConcurrencyLimitWebFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.ConcurrencyLimit properties = applicationProperties.getConcurrencyLimit();
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+        if (properties.isEnabled()) {
+            properties.getGroups().forEach((name, group) -> routeGroups.add(new RouteGroup(name, group, meterRegistry)));
+            log.debug("Limiting concurrency for route groups {}", properties.getGroups().keySet());
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (routeGroups.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        RouteGroup routeGroup = routeGroups.stream().filter(group -> group.matches(path)).findFirst().orElse(null);
+        if (routeGroup == null) {
+            return chain.filter(exchange);
+        }
+        GradientConcurrencyLimit limit = routeGroup.limit;
+        if (!limit.tryAcquire()) {
+            routeGroup.rejected.increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+            return response.setComplete();
+        }
+        long start = System.nanoTime();
+        return Mono.defer(() -> chain.filter(exchange)).doFinally(signal -> release(limit, exchange, signal, System.nanoTime() - start));
+    }
+
+    /**
+     * The errors, and the server errors answered by the exception handlers, are drops which back the limit off; the
+     * requests cancelled by their clients say nothing about the load.
+     */
+    private static void release(GradientConcurrencyLimit limit, ServerWebExchange exchange, SignalType signal, long rttNanos) {
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+            limit.releaseDropped();
+        } else {
+            limit.release(rttNanos, signal == SignalType.ON_COMPLETE);
+        }
+    }
+
+    private static class RouteGroup {
+
+        private final List<PathPattern> patterns;
+
+        private final GradientConcurrencyLimit limit;
+
+        private final Counter rejected;
+
+        RouteGroup(String name, ApplicationProperties.ConcurrencyLimit.Group group, MeterRegistry meterRegistry) {
+            this.patterns = group.getPaths().stream().map(PathPatternParser.defaultInstance::parse).collect(Collectors.toList());
+            this.limit =
+                new GradientConcurrencyLimit(
+                    group.getInitialLimit(),
+                    group.getMinLimit(),
+                    group.getMaxLimit(),
+                    group.getRttTolerance(),
+                    group.getSmoothing()
+                );
+            this.rejected = Counter.builder(METRIC_PREFIX + ".rejected").tag("group", name).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".limit", limit, GradientConcurrencyLimit::getLimit).tag("group", name).register(meterRegistry);
+            Gauge
+                .builder(METRIC_PREFIX + ".inflight", limit, GradientConcurrencyLimit::getInFlight)
+                .tag("group", name)
+                .register(meterRegistry);
+        }
+
+        boolean matches(PathContainer path) {
+            return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mycompany.store.web.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit which adapts to the observed round-trip time, in the spirit of the gradient algorithms used by
+ * TCP congestion control.
+ * <p>
+ * A slow moving average of the round-trip time stands for the "no queueing" latency. Whenever a request completes,
+ * the ratio between that average and the request's latency (the gradient) shrinks the limit when requests queue up
+ * downstream, for instance because MySQL slows down, and lets it grow again by a small headroom once latency recovers.
+ * The requests which fail, such as those which time out, are drops: they don't update the average, whose samples would
+ * be meaningless, but back the limit off right away.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final int LONG_RTT_WINDOW = 600;
+
+    /**
+     * Ratio the limit is multiplied by on each drop.
+     */
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double rttTolerance;
+
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRttNanos;
+
+    private long samples;
+
+    /**
+     * @param initialLimit the limit until the first samples, clamped to {@code [minLimit, maxLimit]}.
+     * @param minLimit the lowest limit, at least 1.
+     * @param maxLimit the highest limit.
+     * @param rttTolerance the ratio of the average round-trip time tolerated before the limit shrinks.
+     * @param smoothing the weight of each new limit in the current one.
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits [" + minLimit + ", " + maxLimit + "]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Tries to reserve a slot for a new request.
+     *
+     * @return {@code true} if the request may proceed, in which case {@link #release(long, boolean)} must be called.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot reserved by {@link #tryAcquire()}.
+     *
+     * @param rttNanos the time the request took.
+     * @param sample whether the round-trip time is meaningful and should update the limit.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample && rttNanos > 0) {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    /**
+     * Releases a slot reserved by {@link #tryAcquire()} for a request which failed, and backs the limit off.
+     */
+    public void releaseDropped() {
+        inFlight.decrementAndGet();
+        onDrop();
+    }
+
+    private synchronized void onDrop() {
+        estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+        limit = (int) estimatedLimit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        samples++;
+        if (samples == 1) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / Math.min(samples, LONG_RTT_WINDOW);
+        }
+        // Don't grow the limit when the application does not use it
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.mycompany.store.web.filter;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.monitoring.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Counts the R2DBC statements run for each request, through a {@link StatementCounter} in its Reactor context.
+ * <p>
+ * The count is recorded in the {@code store.http.server.statements} summary, tagged by method and handler pattern, and
+ * the requests over {@code application.query-monitoring.max-statements-per-request} are logged with the fingerprints of
+ * their statements. With {@code application.query-monitoring.server-timing}, it is also sent in a {@code Server-Timing}
+ * header, which only covers the statements run before the response is committed.
+ */
+@Order(StatementCountWebFilter.ORDER)
+public class StatementCountWebFilter implements WebFilter {
+
+    /**
+     * Runs before Spring Security's {@code WebFilterChainProxy}, which is ordered at -100, and after the
+     * {@link ConcurrencyLimitWebFilter}.
+     */
+    public static final int ORDER = -150;
+
+    static final String METRIC_NAME = "store.http.server.statements";
+
+    private final Logger log = LoggerFactory.getLogger(StatementCountWebFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxStatements;
+
+    private final boolean serverTiming;
+
+    public StatementCountWebFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.QueryMonitoring properties = applicationProperties.getQueryMonitoring();
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = properties.getMaxStatementsPerRequest();
+        this.serverTiming = properties.isServerTiming();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        StatementCounter counter = new StatementCounter();
+        if (serverTiming) {
+            exchange
+                .getResponse()
+                .beforeCommit(() -> {
+                    exchange.getResponse().getHeaders().add("Server-Timing", "db;desc=\"" + counter.getCount() + " statements\"");
+                    return Mono.empty();
+                });
+        }
+        return chain
+            .filter(exchange)
+            .contextWrite(Context.of(StatementCounter.CONTEXT_KEY, counter))
+            .doFinally(signal -> record(exchange, counter));
+    }
+
+    private void record(ServerWebExchange exchange, StatementCounter counter) {
+        // the requests without a handler, such as the static resources, would only add series of zeros
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        int count = counter.getCount();
+        DistributionSummary
+            .builder(METRIC_NAME)
+            .tag("method", request.getMethodValue())
+            .tag("uri", pattern.getPatternString())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(1000.0)
+            .register(meterRegistry)
+            .record(count);
+        if (count > maxStatements) {
+            log.warn(
+                "Request {} {} ran {} statements, over the maximum of {}:\n{}",
+                request.getMethodValue(),
+                pattern.getPatternString(),
+                count,
+                maxStatements,
+                counter.describe()
+            );
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.store.web.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.resource.AbstractResourceResolver;
+import org.springframework.web.reactive.resource.HttpResource;
+import org.springframework.web.reactive.resource.ResourceResolverChain;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Resolver giving static resources a strong {@code ETag} computed from their content, and answering
+ * {@code If-None-Match} requests with {@code 304 (Not Modified)}.
+ * <p>
+ * It must come before the {@link org.springframework.web.reactive.resource.EncodedResourceResolver} in the chain, so
+ * that each encoding of a resource, which has different bytes, gets its own {@code ETag}. Hashes are computed once per
+ * file and modification date, off the event loop.
+ */
+public class ContentHashETagResourceResolver extends AbstractResourceResolver {
+
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+    @Override
+    protected Mono<Resource> resolveResourceInternal(
+        @Nullable ServerWebExchange exchange,
+        String requestPath,
+        List<? extends Resource> locations,
+        ResourceResolverChain chain
+    ) {
+        Mono<Resource> resolved = chain.resolveResource(exchange, requestPath, locations);
+        if (exchange == null) {
+            return resolved;
+        }
+        return resolved.flatMap(resource -> checkNotModified(exchange, resource).thenReturn(resource));
+    }
+
+    @Override
+    protected Mono<String> resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    private Mono<Void> checkNotModified(ServerWebExchange exchange, Resource resource) {
+        long lastModified;
+        try {
+            lastModified = resource.lastModified();
+        } catch (IOException e) {
+            return Mono.empty();
+        }
+        String key = resource.getDescription() + '@' + lastModified;
+        String cachedETag = etags.get(key);
+        Mono<String> etag = cachedETag != null
+            ? Mono.just(cachedETag)
+            : Mono.fromCallable(() -> etags.computeIfAbsent(key, k -> hash(resource))).subscribeOn(Schedulers.boundedElastic());
+        return etag
+            .doOnNext(value -> {
+                // the ResourceWebHandler only checks the modification date, which it then finds not modified as well
+                if (exchange.checkNotModified(value, Instant.ofEpochMilli(lastModified)) && resource instanceof HttpResource) {
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.setVary(((HttpResource) resource).getResponseHeaders().getVary());
+                }
+            })
+            .then();
+    }
+
+    private static String hash(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return DigestUtils.md5DigestAsHex(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.store.web.rest;
+
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.service.CheckoutService;
+import com.mycompany.store.service.dto.CheckoutDTO;
+import java.net.URI;
+import java.net.URISyntaxException;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for placing orders from a basket.
+ */
+@RestController
+@RequestMapping("/api")
+public class CheckoutResource {
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutResource.class);
+
+    private static final String ENTITY_NAME = "productOrder";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutResource(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * {@code POST  /checkout} : Place an order from a basket.
+     *
+     * @param checkout the basket to check out.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new productOrder, with its
+     * orderItems and its invoice, or with status {@code 400 (Bad Request)} if a product of the basket doesn't exist.
+     */
+    @PostMapping("/checkout")
+    public Mono<ResponseEntity<ProductOrder>> checkout(@Valid @RequestBody CheckoutDTO checkout) {
+        log.debug("REST request to check out : {}", checkout);
+        return checkoutService
+            .checkout(checkout)
+            .map(result -> {
+                try {
+                    return ResponseEntity
+                        .created(new URI("/api/product-orders/" + result.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+}
@@ -1,9 +1,12 @@
 package com.mycompany.store.web.rest;
 
 import com.mycompany.store.domain.Customer;
+import com.mycompany.store.domain.CustomerSummary;
 import com.mycompany.store.repository.CustomerRepository;
 import com.mycompany.store.service.CustomerService;
+import com.mycompany.store.service.OrderTotalsService;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import com.mycompany.store.web.rest.util.ConditionalResponses;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -25,12 +28,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.store.domain.Customer}.
@@ -50,9 +53,20 @@ public class CustomerResource {
 
     private final CustomerRepository customerRepository;
 
-    public CustomerResource(CustomerService customerService, CustomerRepository customerRepository) {
+    private final ConditionalResponses conditionalResponses;
+
+    private final OrderTotalsService orderTotalsService;
+
+    public CustomerResource(
+        CustomerService customerService,
+        CustomerRepository customerRepository,
+        ConditionalResponses conditionalResponses,
+        OrderTotalsService orderTotalsService
+    ) {
         this.customerService = customerService;
         this.customerRepository = customerRepository;
+        this.orderTotalsService = orderTotalsService;
+        this.conditionalResponses = conditionalResponses;
     }
 
     /**
@@ -198,13 +212,37 @@ public class CustomerResource {
      * {@code GET  /customers/:id} : get the "id" customer.
      *
      * @param id the id of the customer to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customer, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, to check the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the customer, or with status {@code 304 (Not Modified)}
+     * if it didn't change, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/customers/{id}")
-    public Mono<ResponseEntity<Customer>> getCustomer(@PathVariable Long id) {
+    public Mono<ResponseEntity<Customer>> getCustomer(@PathVariable Long id, ServerWebExchange exchange) {
         log.debug("REST request to get Customer : {}", id);
-        Mono<Customer> customer = customerService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(customer);
+        return customerService
+            .findLastModifiedDate(id)
+            .flatMap(lastModifiedDate ->
+                conditionalResponses.respond(
+                    exchange,
+                    "customers",
+                    ConditionalResponses.eTag(lastModifiedDate),
+                    lastModifiedDate,
+                    () -> customerService.findOne(id)
+                )
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * {@code GET  /customers/:id/summary} : get the totals of the orders of the "id" customer.
+     *
+     * @param id the id of the customer.
+     * @return the summary, or status {@code 404 (Not Found)} if the customer doesn't exist.
+     */
+    @GetMapping("/customers/{id}/summary")
+    public Mono<CustomerSummary> getCustomerSummary(@PathVariable Long id) {
+        log.debug("REST request to get the summary of Customer : {}", id);
+        return orderTotalsService.findCustomerSummary(id).switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
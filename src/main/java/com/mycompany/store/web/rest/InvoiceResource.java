@@ -2,11 +2,15 @@ package com.mycompany.store.web.rest;
 
 import com.mycompany.store.domain.Invoice;
 import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.security.AuthoritiesConstants;
 import com.mycompany.store.service.InvoiceService;
+import com.mycompany.store.service.InvoiceSettlementService;
+import com.mycompany.store.service.dto.SettlementSummaryDTO;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -15,6 +19,8 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +29,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -43,6 +50,8 @@ public class InvoiceResource {
 
     private static final String ENTITY_NAME = "invoice";
 
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes();
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -50,9 +59,16 @@ public class InvoiceResource {
 
     private final InvoiceRepository invoiceRepository;
 
-    public InvoiceResource(InvoiceService invoiceService, InvoiceRepository invoiceRepository) {
+    private final InvoiceSettlementService invoiceSettlementService;
+
+    public InvoiceResource(
+        InvoiceService invoiceService,
+        InvoiceRepository invoiceRepository,
+        InvoiceSettlementService invoiceSettlementService
+    ) {
         this.invoiceService = invoiceService;
         this.invoiceRepository = invoiceRepository;
+        this.invoiceSettlementService = invoiceSettlementService;
     }
 
     /**
@@ -168,6 +184,31 @@ public class InvoiceResource {
             });
     }
 
+    /**
+     * {@code POST  /invoices/settlements} : Settle the invoices of a payment settlement file, streamed as CSV,
+     * {@code invoiceId,amount,date} with an optional header line, or as NDJSON.
+     *
+     * @param request the request, which body is the settlement file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the reconciliation of the file
+     * with the invoices.
+     */
+    @PostMapping(value = "/invoices/settlements", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<SettlementSummaryDTO> settleInvoices(ServerHttpRequest request) {
+        MediaType contentType = request.getHeaders().getContentType();
+        log.debug("REST request to settle Invoices from a {} file", contentType);
+        Flux<String> lines = LINE_DECODER.decode(
+            request.getBody(),
+            ResolvableType.forClass(String.class),
+            contentType,
+            Collections.emptyMap()
+        );
+        InvoiceSettlementService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+            ? InvoiceSettlementService.Format.NDJSON
+            : InvoiceSettlementService.Format.CSV;
+        return invoiceSettlementService.settle(lines, format);
+    }
+
     /**
      * {@code GET  /invoices} : get all the invoices.
      *
@@ -2,12 +2,13 @@ package com.mycompany.store.web.rest;
 
 import com.mycompany.store.domain.OrderItem;
 import com.mycompany.store.repository.OrderItemRepository;
+import com.mycompany.store.repository.SparseFieldset;
 import com.mycompany.store.service.OrderItemService;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import com.mycompany.store.web.rest.util.SparseProjections;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -22,6 +23,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -172,15 +174,27 @@ public class OrderItemResource {
      * {@code GET  /order-items} : get all the orderItems.
      *
      * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, all of them if {@code null}.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of orderItems in body, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
      */
     @GetMapping("/order-items")
-    public Mono<ResponseEntity<List<OrderItem>>> getAllOrderItems(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllOrderItems(
+        Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
         log.debug("REST request to get a page of OrderItems");
+        SparseFieldset fieldset;
+        try {
+            fieldset = SparseFieldset.parse(fields, OrderItemRepository.FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldsinvalid");
+        }
         return orderItemService
             .countAll()
-            .zipWith(orderItemService.findAll(pageable).collectList())
+            .zipWith(orderItemService.findAll(pageable, fieldset).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
                     .ok()
@@ -190,7 +204,7 @@ public class OrderItemResource {
                             new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
                         )
                     )
-                    .body(countWithEntities.getT2());
+                    .body(SparseProjections.project(countWithEntities.getT2(), OrderItem.class, fieldset));
             });
     }
 
@@ -4,6 +4,7 @@ import com.mycompany.store.domain.ProductCategory;
 import com.mycompany.store.repository.ProductCategoryRepository;
 import com.mycompany.store.service.ProductCategoryService;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import com.mycompany.store.web.rest.util.ConditionalResponses;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -42,9 +44,16 @@ public class ProductCategoryResource {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryResource(ProductCategoryService productCategoryService, ProductCategoryRepository productCategoryRepository) {
+    private final ConditionalResponses conditionalResponses;
+
+    public ProductCategoryResource(
+        ProductCategoryService productCategoryService,
+        ProductCategoryRepository productCategoryRepository,
+        ConditionalResponses conditionalResponses
+    ) {
         this.productCategoryService = productCategoryService;
         this.productCategoryRepository = productCategoryRepository;
+        this.conditionalResponses = conditionalResponses;
     }
 
     /**
@@ -164,12 +173,25 @@ public class ProductCategoryResource {
     /**
      * {@code GET  /product-categories} : get all the productCategories.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productCategories in body.
+     * @param exchange the current exchange, to check the {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productCategories in body, or with status
+     * {@code 304 (Not Modified)} if it didn't change.
      */
     @GetMapping("/product-categories")
-    public Mono<List<ProductCategory>> getAllProductCategories() {
+    public Mono<ResponseEntity<List<ProductCategory>>> getAllProductCategories(ServerWebExchange exchange) {
         log.debug("REST request to get all ProductCategories");
-        return productCategoryService.findAll().collectList();
+        // a deleted category doesn't change the last modification date, the list gets no Last-Modified header
+        return productCategoryService
+            .countAndFindLastModifiedDate()
+            .flatMap(version ->
+                conditionalResponses.respond(
+                    exchange,
+                    "product-categories",
+                    ConditionalResponses.eTag(version.getT1(), version.getT2()),
+                    null,
+                    () -> productCategoryService.findAll().collectList()
+                )
+            );
     }
 
     /**
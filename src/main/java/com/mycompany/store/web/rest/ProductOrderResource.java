@@ -207,6 +207,19 @@ public class ProductOrderResource {
         return ResponseUtil.wrapOrNotFound(productOrder);
     }
 
+    /**
+     * {@code GET  /product-orders/by-code/:code} : get the productOrder with the "code" code.
+     *
+     * @param code the code of the productOrder to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the productOrder, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/product-orders/by-code/{code}")
+    public Mono<ResponseEntity<ProductOrder>> getProductOrderByCode(@PathVariable String code) {
+        log.debug("REST request to get ProductOrder by code : {}", code);
+        Mono<ProductOrder> productOrder = productOrderService.findOneByCode(code);
+        return ResponseUtil.wrapOrNotFound(productOrder);
+    }
+
     /**
      * {@code DELETE  /product-orders/:id} : delete the "id" productOrder.
      *
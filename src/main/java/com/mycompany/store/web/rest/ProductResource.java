@@ -2,12 +2,14 @@ package com.mycompany.store.web.rest;
 
 import com.mycompany.store.domain.Product;
 import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.repository.SparseFieldset;
 import com.mycompany.store.service.ProductService;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import com.mycompany.store.web.rest.util.ConditionalResponses;
+import com.mycompany.store.web.rest.util.SparseProjections;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -22,15 +24,16 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.store.domain.Product}.
@@ -50,9 +53,12 @@ public class ProductResource {
 
     private final ProductRepository productRepository;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    private final ConditionalResponses conditionalResponses;
+
+    public ProductResource(ProductService productService, ProductRepository productRepository, ConditionalResponses conditionalResponses) {
         this.productService = productService;
         this.productRepository = productRepository;
+        this.conditionalResponses = conditionalResponses;
     }
 
     /**
@@ -172,15 +178,27 @@ public class ProductResource {
      * {@code GET  /products} : get all the products.
      *
      * @param pageable the pagination information.
+     * @param fields the comma separated fields to return, all of them if {@code null}.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body, or with status
+     * {@code 400 (Bad Request)} if a field is unknown.
      */
     @GetMapping("/products")
-    public Mono<ResponseEntity<List<Product>>> getAllProducts(Pageable pageable, ServerHttpRequest request) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllProducts(
+        Pageable pageable,
+        @RequestParam(required = false) String fields,
+        ServerHttpRequest request
+    ) {
         log.debug("REST request to get a page of Products");
+        SparseFieldset fieldset;
+        try {
+            fieldset = SparseFieldset.parse(fields, ProductRepository.FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "fieldsinvalid");
+        }
         return productService
             .countAll()
-            .zipWith(productService.findAll(pageable).collectList())
+            .zipWith(productService.findAll(pageable, fieldset).collectList())
             .map(countWithEntities -> {
                 return ResponseEntity
                     .ok()
@@ -190,7 +208,7 @@ public class ProductResource {
                             new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
                         )
                     )
-                    .body(countWithEntities.getT2());
+                    .body(SparseProjections.project(countWithEntities.getT2(), Product.class, fieldset));
             });
     }
 
@@ -198,13 +216,25 @@ public class ProductResource {
      * {@code GET  /products/:id} : get the "id" product.
      *
      * @param id the id of the product to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, to check the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product, or with status {@code 304 (Not Modified)}
+     * if it didn't change, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/products/{id}")
-    public Mono<ResponseEntity<Product>> getProduct(@PathVariable Long id) {
+    public Mono<ResponseEntity<Product>> getProduct(@PathVariable Long id, ServerWebExchange exchange) {
         log.debug("REST request to get Product : {}", id);
-        Mono<Product> product = productService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(product);
+        return productService
+            .findLastModifiedDate(id)
+            .flatMap(lastModifiedDate ->
+                conditionalResponses.respond(
+                    exchange,
+                    "products",
+                    ConditionalResponses.eTag(lastModifiedDate),
+                    lastModifiedDate,
+                    () -> productService.findOne(id)
+                )
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
@@ -0,0 +1,91 @@
+package com.mycompany.store.web.rest;
+
+import com.mycompany.store.security.AuthoritiesConstants;
+import com.mycompany.store.service.SalesReportService;
+import com.mycompany.store.service.dto.SalesReportDTO;
+import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the sales reports, see {@link SalesReportService}.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class SalesReportResource {
+
+    private final Logger log = LoggerFactory.getLogger(SalesReportResource.class);
+
+    private static final String ENTITY_NAME = "salesReport";
+
+    private final SalesReportService salesReportService;
+
+    public SalesReportResource(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    /**
+     * {@code GET  /reports/sales} : get the sales of a period.
+     *
+     * @param from the first day of the period, in UTC.
+     * @param to the last day of the period, in UTC.
+     * @param groupBy the comma separated dimensions to group the sales by, among {@code day}, {@code category},
+     * {@code country} and {@code paymentMethod}, the total sales if {@code null}.
+     * @return the sales of each combination of the dimensions, or status {@code 400 (Bad Request)} if the period or a
+     * dimension is not valid.
+     */
+    @GetMapping("/sales")
+    public Mono<List<SalesReportDTO>> getSales(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) String groupBy
+    ) {
+        log.debug("REST request to get the sales from {} to {} by {}", from, to, groupBy);
+        checkPeriod(from, to);
+        Set<SalesReportService.Dimension> dimensions = EnumSet.noneOf(SalesReportService.Dimension.class);
+        if (StringUtils.hasText(groupBy)) {
+            try {
+                for (String dimension : groupBy.split(",")) {
+                    dimensions.add(SalesReportService.Dimension.fromParameterName(dimension.trim()));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "groupbyinvalid");
+            }
+        }
+        return salesReportService.findSales(from, to, dimensions);
+    }
+
+    /**
+     * {@code POST  /reports/sales/refresh} : recompute the sales rollups of a period, to backfill days older than the
+     * ones refreshed periodically.
+     *
+     * @param from the first day of the period, in UTC.
+     * @param to the last day of the period, in UTC.
+     * @return the number of rollups of the period, or status {@code 400 (Bad Request)} if the period is not valid.
+     */
+    @PostMapping("/sales/refresh")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<Long> refreshSales(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.debug("REST request to refresh the sales from {} to {}", from, to);
+        checkPeriod(from, to);
+        return salesReportService.refresh(from, to);
+    }
+
+    private static void checkPeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("The period ends before it starts", ENTITY_NAME, "periodinvalid");
+        }
+    }
+}
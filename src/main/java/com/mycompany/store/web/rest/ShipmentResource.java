@@ -207,6 +207,19 @@ public class ShipmentResource {
         return ResponseUtil.wrapOrNotFound(shipment);
     }
 
+    /**
+     * {@code GET  /shipments/by-tracking/:code} : get the shipment with the "code" tracking code.
+     *
+     * @param code the tracking code of the shipment to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the shipment, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/shipments/by-tracking/{code}")
+    public Mono<ResponseEntity<Shipment>> getShipmentByTrackingCode(@PathVariable String code) {
+        log.debug("REST request to get Shipment by tracking code : {}", code);
+        Mono<Shipment> shipment = shipmentService.findOneByTrackingCode(code);
+        return ResponseUtil.wrapOrNotFound(shipment);
+    }
+
     /**
      * {@code DELETE  /shipments/:id} : delete the "id" shipment.
      *
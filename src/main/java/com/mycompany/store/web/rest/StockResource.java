@@ -0,0 +1,105 @@
+package com.mycompany.store.web.rest;
+
+import com.mycompany.store.domain.ProductStock;
+import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.security.AuthoritiesConstants;
+import com.mycompany.store.service.StockService;
+import com.mycompany.store.web.rest.errors.BadRequestAlertException;
+import javax.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for managing the stock of the products, see {@link StockService}.
+ */
+@RestController
+@RequestMapping("/api")
+public class StockResource {
+
+    private final Logger log = LoggerFactory.getLogger(StockResource.class);
+
+    private static final String ENTITY_NAME = "productStock";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final StockService stockService;
+
+    private final ProductRepository productRepository;
+
+    public StockResource(StockService stockService, ProductRepository productRepository) {
+        this.stockService = stockService;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * {@code GET  /products/:id/stock} : get the stock of the "id" product.
+     *
+     * @param id the id of the product.
+     * @return the stock, or status {@code 404 (Not Found)} if the stock of the product isn't tracked.
+     */
+    @GetMapping("/products/{id}/stock")
+    public Mono<ProductStock> getStock(@PathVariable Long id) {
+        log.debug("REST request to get the stock of Product : {}", id);
+        return stockService.findOne(id).switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * {@code PUT  /products/:id/stock} : set the stock of the "id" product, and start tracking it.
+     *
+     * @param id the id of the product.
+     * @param stock the stock of the product.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stock,
+     * or with status {@code 400 (Bad Request)} if the product doesn't exist or the stock is not valid.
+     */
+    @PutMapping("/products/{id}/stock")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<ResponseEntity<ProductStock>> updateStock(@PathVariable Long id, @Valid @RequestBody ProductStock stock) {
+        log.debug("REST request to update the stock of Product : {}, {}", id, stock);
+        stock.setProductId(id);
+        return productRepository
+            .existsById(id)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+                }
+                return stockService.save(stock);
+            })
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+                    .body(result)
+            );
+    }
+
+    /**
+     * {@code DELETE  /products/:id/stock} : stop tracking the stock of the "id" product.
+     *
+     * @param id the id of the product.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping("/products/{id}/stock")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<ResponseEntity<Void>> deleteStock(@PathVariable Long id) {
+        log.debug("REST request to delete the stock of Product : {}", id);
+        return stockService
+            .delete(id)
+            .then(
+                Mono.just(
+                    ResponseEntity
+                        .noContent()
+                        .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+                        .<Void>build()
+                )
+            );
+    }
+}
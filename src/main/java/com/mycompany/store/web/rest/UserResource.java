@@ -4,7 +4,6 @@ import com.mycompany.store.config.Constants;
 import com.mycompany.store.domain.User;
 import com.mycompany.store.repository.UserRepository;
 import com.mycompany.store.security.AuthoritiesConstants;
-import com.mycompany.store.service.MailService;
 import com.mycompany.store.service.UserService;
 import com.mycompany.store.service.dto.AdminUserDTO;
 import com.mycompany.store.web.rest.errors.BadRequestAlertException;
@@ -89,12 +88,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -133,7 +129,6 @@ public class UserResource {
                 }
                 return userService.createUser(userDTO);
             })
-            .doOnSuccess(mailService::sendCreationEmail)
             .map(user -> {
                 try {
                     return ResponseEntity
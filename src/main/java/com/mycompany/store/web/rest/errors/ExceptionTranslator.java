@@ -1,5 +1,7 @@
 package com.mycompany.store.web.rest.errors;
 
+import com.mycompany.store.security.PasswordHashingRejectedException;
+import com.mycompany.store.service.UnknownProductException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.stereotype.Component;
@@ -149,6 +152,16 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handleUnknownProductException(UnknownProductException ex, ServerWebExchange request) {
+        BadRequestAlertException problem = new BadRequestAlertException(ex.getMessage(), "product", "productnotfound");
+        return create(
+            problem,
+            request,
+            HeaderUtil.createFailureAlert(applicationName, true, problem.getEntityName(), problem.getErrorKey(), problem.getMessage())
+        );
+    }
+
     @ExceptionHandler
     public Mono<ResponseEntity<Problem>> handleBadRequestAlertException(BadRequestAlertException ex, ServerWebExchange request) {
         return create(
@@ -164,6 +177,17 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(ex, problem, request);
     }
 
+    @ExceptionHandler
+    public Mono<ResponseEntity<Problem>> handlePasswordHashingRejectedException(
+        PasswordHashingRejectedException ex,
+        ServerWebExchange request
+    ) {
+        Problem problem = Problem.builder().withStatus(Status.TOO_MANY_REQUESTS).withDetail(ex.getMessage()).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return create(ex, problem, request, headers);
+    }
+
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
@@ -0,0 +1,121 @@
+package com.mycompany.store.web.rest.util;
+
+import com.mycompany.store.config.ApplicationProperties;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds the responses of the {@code GET} requests which can be answered with {@code 304 (Not Modified)}.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} validators are computed from modification dates read by a light query,
+ * so that the body is only loaded when the client doesn't already have it. The {@code Cache-Control} header comes
+ * from {@code application.http-cache}, by resource name. The responses vary on the {@code Accept} header, as the same
+ * URL is served as JSON or CBOR.
+ * <p>
+ * The resources answered here are under {@code /api/**}, which requires authentication: their responses must not be
+ * stored by shared caches, which would replay them to any client, so a {@code public} or {@code s-maxage}
+ * {@code Cache-Control} is refused.
+ */
+@Component
+public class ConditionalResponses {
+
+    private final ApplicationProperties.HttpCache properties;
+
+    public ConditionalResponses(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getHttpCache();
+        checkPrivate("default-cache-control", properties.getDefaultCacheControl());
+        properties.getCacheControl().forEach((resourceName, cacheControl) -> checkPrivate("cache-control." + resourceName, cacheControl));
+    }
+
+    private static void checkPrivate(String property, String cacheControl) {
+        if (isPublic(cacheControl)) {
+            throw new IllegalArgumentException(
+                "Invalid application.http-cache." +
+                property +
+                " '" +
+                cacheControl +
+                "': the /api resources require authentication, shared caches must not store their responses"
+            );
+        }
+    }
+
+    /**
+     * Weak {@code ETag} of a representation which changes with the given modification date.
+     *
+     * @param lastModifiedDate the last modification date of the representation.
+     * @return the {@code ETag}.
+     */
+    public static String eTag(Instant lastModifiedDate) {
+        return "W/\"" + Long.toHexString(toEpochMicros(lastModifiedDate)) + "\"";
+    }
+
+    /**
+     * Weak {@code ETag} of a list which changes with the given number of entities and last modification date: deleting
+     * an entity changes the former, creating or updating one the latter.
+     *
+     * @param count the number of entities in the list.
+     * @param lastModifiedDate the last modification date of the entities.
+     * @return the {@code ETag}.
+     */
+    public static String eTag(long count, Instant lastModifiedDate) {
+        return "W/\"" + Long.toHexString(count) + '-' + Long.toHexString(toEpochMicros(lastModifiedDate)) + "\"";
+    }
+
+    /**
+     * Answers {@code 304 (Not Modified)} when the request validators match, or else loads the body.
+     *
+     * @param exchange the current exchange.
+     * @param resourceName the name of the resource, to look up its {@code Cache-Control} header.
+     * @param eTag the current {@code ETag} of the resource.
+     * @param lastModifiedDate the current last modification date of the resource, {@code null} when it can't be
+     *        trusted, for lists which entities can be deleted.
+     * @param body supplies the body, only subscribed to when the resource was modified.
+     * @param <T> the type of the body.
+     * @return the {@link ResponseEntity} with status {@code 304 (Not Modified)}, or with status {@code 200 (OK)} and the
+     *         body, or empty if the body is.
+     */
+    public <T> Mono<ResponseEntity<T>> respond(
+        ServerWebExchange exchange,
+        String resourceName,
+        String eTag,
+        @Nullable Instant lastModifiedDate,
+        Supplier<Mono<T>> body
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        if (lastModifiedDate != null) {
+            headers.setLastModified(lastModifiedDate);
+        }
+        String cacheControl = properties.getCacheControl().getOrDefault(resourceName, properties.getDefaultCacheControl());
+        headers.setCacheControl(cacheControl);
+        headers.setVary(List.of(HttpHeaders.ACCEPT));
+        boolean notModified = lastModifiedDate != null
+            ? exchange.checkNotModified(eTag, lastModifiedDate)
+            : exchange.checkNotModified(eTag);
+        if (notModified) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build());
+        }
+        return body.get().map(value -> ResponseEntity.ok().headers(headers).body(value));
+    }
+
+    private static boolean isPublic(String cacheControl) {
+        return Arrays
+            .stream(cacheControl.split(","))
+            .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+            .anyMatch(directive -> directive.equals("public") || directive.startsWith("s-maxage"));
+    }
+
+    private static long toEpochMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
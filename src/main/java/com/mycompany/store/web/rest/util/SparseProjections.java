@@ -0,0 +1,48 @@
+package com.mycompany.store.web.rest.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mycompany.store.repository.SparseFieldset;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.Assert;
+
+/**
+ * Builds the bodies of the responses listing entities read with a {@link SparseFieldset}.
+ * <p>
+ * The entities are serialized with the {@link JsonFilter} of their type, which only writes the requested fields, and
+ * the foreign keys of the requested relationships, when some fields only were requested. The other fields are left out
+ * of the response even when they are set, and the requested ones are written even when they are {@code null}. Related
+ * entities are written with all their fields.
+ */
+public final class SparseProjections {
+
+    private SparseProjections() {}
+
+    /**
+     * @param body the entities read with the fieldset.
+     * @param entityType the type of the entities, annotated with {@link JsonFilter}.
+     * @param fieldset the requested fields.
+     * @return the body, serialized with the requested fields only.
+     */
+    public static MappingJacksonValue project(Object body, Class<?> entityType, SparseFieldset fieldset) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fieldset.isAll()) {
+            JsonFilter filter = entityType.getAnnotation(JsonFilter.class);
+            Assert.notNull(filter, () -> entityType + " isn't annotated with @JsonFilter");
+            Set<String> properties = new HashSet<>();
+            for (String field : fieldset.getFields()) {
+                properties.add(field);
+                properties.add(field + "Id");
+            }
+            value.setFilters(
+                new SimpleFilterProvider()
+                    .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                    .addFilter(filter.value(), SimpleBeanPropertyFilter.filterOutAllExcept(properties))
+            );
+        }
+        return value;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mycompany.store.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Test class for the {@link MethodTimingAspect}.
+ */
+class MethodTimingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        Signature signature = mock(Signature.class);
+        when(signature.getDeclaringType()).thenReturn(MethodTimingAspectTest.class);
+        when(signature.getName()).thenReturn("findAll");
+        JoinPoint.StaticPart staticPart = mock(JoinPoint.StaticPart.class);
+        when(staticPart.getSignature()).thenReturn(signature);
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getStaticPart()).thenReturn(staticPart);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "argument" });
+    }
+
+    @Test
+    void testMonoIsTimedUntilItCompletes() throws Throwable {
+        Sinks.One<String> sink = Sinks.one();
+        when(joinPoint.proceed()).thenReturn(sink.asMono());
+
+        Mono<?> result = (Mono<?>) new MethodTimingAspect(applicationProperties, meterRegistry).timeAround(joinPoint);
+        result.subscribe();
+        assertThat(meterRegistry.find(MethodTimingAspect.METRIC_NAME).timer()).isNull();
+
+        sink.tryEmitValue("value");
+        assertThat(timer("success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testMonoIsTimedFromItsSubscription() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.just("value"));
+
+        Mono<?> result = (Mono<?>) new MethodTimingAspect(applicationProperties, meterRegistry).timeAround(joinPoint);
+        Thread.sleep(50);
+        result.block();
+        result.block();
+
+        assertThat(timer("success").count()).isEqualTo(2);
+        assertThat(timer("success").max(TimeUnit.MILLISECONDS)).isLessThan(50);
+    }
+
+    @Test
+    void testFluxErrorIsTimed() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Flux.error(new IllegalStateException()));
+
+        Flux<?> result = (Flux<?>) new MethodTimingAspect(applicationProperties, meterRegistry).timeAround(joinPoint);
+
+        assertThatThrownBy(result::blockLast).isInstanceOf(IllegalStateException.class);
+        assertThat(timer("error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSynchronousResultIsTimed() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("value");
+
+        assertThat(new MethodTimingAspect(applicationProperties, meterRegistry).timeAround(joinPoint)).isEqualTo("value");
+        assertThat(timer("success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnsampledCallsAreNotDecorated() throws Throwable {
+        applicationProperties.getMethodTiming().setSampleRate(0);
+        Mono<String> mono = Mono.just("value");
+        when(joinPoint.proceed()).thenReturn(mono);
+
+        assertThat(new MethodTimingAspect(applicationProperties, meterRegistry).timeAround(joinPoint)).isSameAs(mono);
+        assertThat(meterRegistry.find(MethodTimingAspect.METRIC_NAME).timer()).isNull();
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry
+            .get(MethodTimingAspect.METRIC_NAME)
+            .tag("class", "MethodTimingAspectTest")
+            .tag("method", "findAll")
+            .tag("outcome", outcome)
+            .timer();
+    }
+}
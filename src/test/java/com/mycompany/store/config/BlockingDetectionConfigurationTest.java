@@ -0,0 +1,62 @@
+package com.mycompany.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.monitoring.BlockingCallMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Test class for the {@link BlockingDetectionConfiguration}.
+ * <p>
+ * BlockHound is installed once per JVM, and the tests already install it to throw on blocking calls, so the
+ * configuration is installed in a JVM of its own.
+ */
+class BlockingDetectionConfigurationTest {
+
+    @Test
+    void testSleepOnParallelThreadIsReported() throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (Runtime.version().feature() >= 13) {
+            command.add("-XX:+AllowRedefinitionToAddDeleteMethods");
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SleepOnParallelThread.class.getName());
+        Process process = new ProcessBuilder(command).inheritIO().start();
+
+        assertThat(process.waitFor(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).isZero();
+    }
+
+    /**
+     * Installs the configuration, sleeps on a parallel thread, and exits with 0 if the sleep was reported.
+     */
+    public static class SleepOnParallelThread {
+
+        public static void main(String[] args) {
+            MeterRegistry meterRegistry = new SimpleMeterRegistry();
+            BlockingCallMonitor monitor = new BlockingDetectionConfiguration()
+                .blockingCallMonitor(new ApplicationProperties(), meterRegistry);
+
+            Mono
+                .fromCallable(() -> {
+                    Thread.sleep(10);
+                    return true;
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block();
+
+            double calls = meterRegistry.find("store.blocking.calls").counters().stream().mapToDouble(counter -> counter.count()).sum();
+            System.exit(calls > 0 && !monitor.getSamples().isEmpty() ? 0 : 1);
+        }
+    }
+}
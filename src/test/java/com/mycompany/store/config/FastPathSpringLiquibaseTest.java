@@ -0,0 +1,76 @@
+package com.mycompany.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Test class for the {@link FastPathSpringLiquibase}.
+ */
+class FastPathSpringLiquibaseTest {
+
+    private static final String URL = "jdbc:h2:mem:fastpathliquibase;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(DataSourceBuilder.create().url(URL).username("sa").password("").build());
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testChecksumIsStoredByTheUpdate() throws Exception {
+        FastPathSpringLiquibase liquibase = liquibase();
+        liquibase.afterPropertiesSet();
+
+        String stored = jdbcTemplate.queryForObject("SELECT checksum FROM changelog_checksum WHERE id = 'master'", String.class);
+        assertThat(stored).hasSize(64).isEqualTo(liquibase().checksum());
+    }
+
+    @Test
+    void testUnchangedChangelogSetIsSkipped() throws Exception {
+        liquibase().afterPropertiesSet();
+        // a full run would fail to create the tables again
+        jdbcTemplate.execute("DELETE FROM databasechangelog");
+
+        liquibase().afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM databasechangelog", Integer.class)).isZero();
+    }
+
+    @Test
+    void testChangedChangelogSetIsApplied() throws Exception {
+        liquibase().afterPropertiesSet();
+        jdbcTemplate.execute("UPDATE changelog_checksum SET checksum = 'stale'");
+
+        liquibase().afterPropertiesSet();
+
+        String stored = jdbcTemplate.queryForObject("SELECT checksum FROM changelog_checksum WHERE id = 'master'", String.class);
+        assertThat(stored).isEqualTo(liquibase().checksum());
+    }
+
+    @Test
+    void testChecksumDependsOnTheContexts() {
+        FastPathSpringLiquibase other = liquibase();
+        other.setContexts("dev");
+
+        assertThat(other.checksum()).isNotEqualTo(liquibase().checksum());
+    }
+
+    private FastPathSpringLiquibase liquibase() {
+        FastPathSpringLiquibase liquibase = new FastPathSpringLiquibase(Runnable::run, new MockEnvironment());
+        DataSource dataSource = DataSourceBuilder.create().url(URL).username("sa").password("").build();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts("test");
+        return liquibase;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.store.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the CBOR codecs of the {@link JacksonConfiguration}.
+ */
+class JacksonConfigurationTest {
+
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private ObjectMapper cborMapper;
+
+    @BeforeEach
+    public void setup() {
+        cborMapper = new ObjectMapper(new CBORFactory());
+    }
+
+    @Test
+    void testFluxIsEncodedAsOneCborArray() throws Exception {
+        List<DataBuffer> buffers = encode(Flux.just("first", "second"));
+
+        assertThat(buffers).hasSize(1);
+        byte[] bytes = new byte[buffers.get(0).readableByteCount()];
+        buffers.get(0).read(bytes);
+        assertThat(cborMapper.readValue(bytes, String[].class)).containsExactly("first", "second");
+    }
+
+    @Test
+    void testMonoIsEncodedAsOneCborValue() throws Exception {
+        List<DataBuffer> buffers = encode(Mono.just("only"));
+
+        assertThat(buffers).hasSize(1);
+        byte[] bytes = new byte[buffers.get(0).readableByteCount()];
+        buffers.get(0).read(bytes);
+        assertThat(cborMapper.readValue(bytes, String.class)).isEqualTo("only");
+    }
+
+    @Test
+    void testFluxIsDecodedFromOneCborArray() {
+        List<DataBuffer> buffers = encode(Flux.just("first", "second"));
+
+        List<Object> values = new JacksonConfiguration.NonStreamingCborDecoder(cborMapper)
+            .decode(Flux.fromIterable(buffers), STRING_TYPE, MediaType.APPLICATION_CBOR, null)
+            .collectList()
+            .block();
+
+        assertThat(values).containsExactly("first", "second");
+    }
+
+    private List<DataBuffer> encode(Publisher<String> values) {
+        return new JacksonConfiguration.NonStreamingCborEncoder(cborMapper)
+            .encode(values, DefaultDataBufferFactory.sharedInstance, STRING_TYPE, MediaType.APPLICATION_CBOR, null)
+            .collectList()
+            .block();
+    }
+}
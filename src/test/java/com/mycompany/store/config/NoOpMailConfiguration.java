@@ -1,12 +1,13 @@
 package com.mycompany.store.config;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.mycompany.store.service.MailService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
 
 @Configuration
 public class NoOpMailConfiguration {
@@ -15,7 +16,9 @@ public class NoOpMailConfiguration {
 
     public NoOpMailConfiguration() {
         mockMailService = mock(MailService.class);
-        doNothing().when(mockMailService).sendActivationEmail(any());
+        when(mockMailService.sendActivationEmail(any())).thenReturn(Mono.empty());
+        when(mockMailService.sendCreationEmail(any())).thenReturn(Mono.empty());
+        when(mockMailService.sendPasswordResetMail(any())).thenReturn(Mono.empty());
     }
 
     @Bean
@@ -0,0 +1,109 @@
+package com.mycompany.store.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link EventLoopWatchdog} and {@link BlockingCallMonitor}.
+ */
+class EventLoopWatchdogTest {
+
+    private MeterRegistry meterRegistry;
+
+    private BlockingCallMonitor monitor;
+
+    private EventLoopWatchdog watchdog;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBlockingDetection().setStallThreshold(Duration.ofMillis(20));
+        applicationProperties.getBlockingDetection().setMaxSamples(2);
+        monitor = new BlockingCallMonitor(applicationProperties, meterRegistry);
+        watchdog = new EventLoopWatchdog(monitor, applicationProperties, meterRegistry);
+        executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-loop-1"));
+        watchdog.watch("test-loop", executor);
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testProbeDelayIsRecorded() throws Exception {
+        watchdog.probe();
+        executor.submit(() -> {}).get();
+
+        assertThat(meterRegistry.get(EventLoopWatchdog.DELAY_METRIC).tag("pool", "test-loop").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(BlockingCallMonitor.METRIC_PREFIX + ".stalls").counter()).isNull();
+    }
+
+    @Test
+    void testStallIsReportedOnce() throws Exception {
+        // run a first probe to learn the thread of the executor
+        watchdog.probe();
+        executor.submit(() -> {}).get();
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        watchdog.probe();
+        Thread.sleep(50);
+        watchdog.probe();
+        watchdog.probe();
+        release.countDown();
+
+        assertThat(meterRegistry.get(BlockingCallMonitor.METRIC_PREFIX + ".stalls").tag("pool", "test-loop").counter().count())
+            .isEqualTo(1);
+        assertThat(monitor.getSamples())
+            .singleElement()
+            .satisfies(sample -> {
+                assertThat(sample.getType()).isEqualTo("stall");
+                assertThat(sample.getThread()).isEqualTo("test-loop-1");
+                assertThat(sample.getStackTrace()).anyMatch(frame -> frame.contains("CountDownLatch.await"));
+            });
+    }
+
+    @Test
+    void testBlockingCallSamplesAreRateLimited() {
+        monitor.blockingCall("java.lang.Thread.sleep");
+        monitor.blockingCall("java.lang.Thread.sleep");
+        monitor.blockingCall("java.io.FileInputStream.readBytes");
+
+        String calls = BlockingCallMonitor.METRIC_PREFIX + ".calls";
+        assertThat(meterRegistry.get(calls).tag("method", "java.lang.Thread.sleep").counter().count()).isEqualTo(2);
+        assertThat(monitor.getSamples())
+            .extracting(BlockingCallMonitor.Sample::getDetail)
+            .containsExactly("java.io.FileInputStream.readBytes", "java.lang.Thread.sleep");
+
+        monitor.clearSamples();
+        assertThat(monitor.getSamples()).isEmpty();
+    }
+
+    @Test
+    void testPoolIsThreadNameWithoutIndex() {
+        assertThat(BlockingCallMonitor.pool(new Thread("reactor-http-epoll-3"))).isEqualTo("reactor-http-epoll");
+        assertThat(BlockingCallMonitor.pool(new Thread("parallel-12"))).isEqualTo("parallel");
+        assertThat(BlockingCallMonitor.pool(new Thread("main"))).isEqualTo("main");
+    }
+}
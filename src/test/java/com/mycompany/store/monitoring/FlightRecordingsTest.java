@@ -0,0 +1,83 @@
+package com.mycompany.store.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.store.config.ApplicationProperties;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link FlightRecordings}.
+ */
+class FlightRecordingsTest {
+
+    private FlightRecordings flightRecordings;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getFlightRecording().setMaxDuration(Duration.ofMillis(500));
+        flightRecordings = new FlightRecordings(applicationProperties);
+    }
+
+    @Test
+    void testRecordingContainsStoreEvents() throws Exception {
+        Mono<Resource> recording = flightRecordings
+            .record(Duration.ofMillis(200), null)
+            .doOnSubscribe(subscription -> {
+                QueryEvent event = new QueryEvent();
+                event.begin();
+                event.fingerprint = "0000002a";
+                event.rows = 3;
+                event.commit();
+            });
+        Resource resource = recording.block(Duration.ofSeconds(10));
+
+        Path file = Files.createTempFile("flight-recordings-test-", ".jfr");
+        try {
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            List<RecordedEvent> queries = RecordingFile
+                .readAllEvents(file)
+                .stream()
+                .filter(event -> event.getEventType().getName().equals("com.mycompany.store.Query"))
+                .collect(Collectors.toList());
+            assertThat(queries).hasSize(1);
+            assertThat(queries.get(0).getString("fingerprint")).isEqualTo("0000002a");
+            assertThat(queries.get(0).getLong("rows")).isEqualTo(3);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testOneRecordingAtATime() {
+        Mono<Resource> first = flightRecordings.record(Duration.ofMillis(300), null);
+        Mono<Boolean> second = flightRecordings.record(Duration.ofMillis(300), null).hasElement();
+
+        Boolean secondRecorded = first.zipWith(second).map(results -> results.getT2()).block(Duration.ofSeconds(10));
+        assertThat(secondRecorded).isFalse();
+        Resource afterFirst = flightRecordings.record(Duration.ofMillis(10), null).block(Duration.ofSeconds(10));
+        assertThat(afterFirst).isNotNull();
+    }
+
+    @Test
+    void testUnknownSettings() {
+        Mono<Resource> recording = flightRecordings.record(null, "unknown");
+
+        assertThatThrownBy(() -> recording.block(Duration.ofSeconds(10))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
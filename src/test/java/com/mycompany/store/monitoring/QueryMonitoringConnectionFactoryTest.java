@@ -0,0 +1,111 @@
+package com.mycompany.store.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.util.context.Context;
+
+/**
+ * Test class for the {@link QueryMonitoringConnectionFactory} and {@link QueryMetrics}.
+ */
+class QueryMonitoringConnectionFactoryTest {
+
+    private static final String SELECT = "SELECT name FROM query_monitoring WHERE id > $1";
+
+    private MeterRegistry meterRegistry;
+
+    private DatabaseClient db;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryMonitoring().setSlowThreshold(Duration.ZERO);
+        applicationProperties.getQueryMonitoring().setMaxFingerprints(4);
+        QueryMetrics metrics = new QueryMetrics(applicationProperties, meterRegistry);
+        db =
+            DatabaseClient.create(
+                new QueryMonitoringConnectionFactory(
+                    ConnectionFactories.get("r2dbc:h2:mem:///querymonitoring;DB_CLOSE_DELAY=-1"),
+                    metrics
+                )
+            );
+        db.sql("DROP TABLE IF EXISTS query_monitoring").then().block();
+        db.sql("CREATE TABLE query_monitoring (id BIGINT PRIMARY KEY, name VARCHAR(50))").then().block();
+        db.sql("INSERT INTO query_monitoring VALUES (1, 'a'), (2, 'b'), (3, 'c')").then().block();
+    }
+
+    @Test
+    void testRowsAreCountedByFingerprint() {
+        List<String> names = db
+            .sql(SELECT)
+            .bind(0, 1L)
+            .map(row -> row.get("name", String.class))
+            .all()
+            .collectList()
+            .contextWrite(Context.of(QueryMetrics.ORIGIN_CONTEXT_KEY, "TestRepository.findAll()"))
+            .block();
+        db.sql(SELECT).bind(0, 2L).map(row -> row.get("name", String.class)).all().collectList().block();
+
+        assertThat(names).containsExactly("b", "c");
+        String fingerprint = SqlFingerprint.of(SELECT).getId();
+        assertThat(meterRegistry.get(QueryMetrics.METRIC_NAME).tag("fingerprint", fingerprint).tag("outcome", "success").timer().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get(QueryMetrics.METRIC_NAME + ".rows").tag("fingerprint", fingerprint).summary().totalAmount())
+            .isEqualTo(3);
+        assertThat(meterRegistry.get(QueryMetrics.METRIC_NAME).tag("fingerprint", fingerprint).timer().getId().getTag("table"))
+            .isEqualTo("query_monitoring");
+    }
+
+    @Test
+    void testErrorsAreTagged() {
+        assertThatThrownBy(() -> db.sql("SELECT * FROM missing_table").fetch().all().blockLast()).isInstanceOf(Exception.class);
+
+        assertThat(meterRegistry.get(QueryMetrics.METRIC_NAME).tag("table", "missing_table").tag("outcome", "error").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testFingerprintsOverTheBoundAreTaggedOther() {
+        db.sql("SELECT id FROM query_monitoring").fetch().all().blockLast();
+        db.sql("SELECT name FROM query_monitoring").fetch().all().blockLast();
+
+        // the drop, create and insert of the setup and the first select took the four fingerprints
+        assertThat(meterRegistry.get(QueryMetrics.METRIC_NAME).tag("fingerprint", QueryMetrics.OTHER).timer().count()).isEqualTo(1);
+        String first = SqlFingerprint.of("SELECT id FROM query_monitoring").getId();
+        assertThat(meterRegistry.find(QueryMetrics.METRIC_NAME).tag("fingerprint", first).timer()).isNotNull();
+    }
+
+    @Test
+    void testStatementsAreCountedInTheContextCounter() {
+        StatementCounter counter = new StatementCounter();
+        db
+            .sql(SELECT)
+            .bind(0, 1L)
+            .fetch()
+            .all()
+            .thenMany(db.sql(SELECT).bind(0, 2L).fetch().all())
+            .then(db.sql("UPDATE query_monitoring SET name = 'd' WHERE id = 3").then())
+            .contextWrite(Context.of(StatementCounter.CONTEXT_KEY, counter))
+            .block();
+
+        assertThat(counter.getCount()).isEqualTo(3);
+        assertThat(counter.describe()).startsWith("2 x " + SqlFingerprint.of(SELECT));
+    }
+
+    @Test
+    void testBindingShapes() {
+        assertThat(QueryMonitoringConnectionFactory.shapes(Map.of(0, "abc"), 1)).isEqualTo("[0=String(3)]");
+        assertThat(QueryMonitoringConnectionFactory.shapes(Map.of("$1", Long.class), 3)).isEqualTo("3 x [$1=null Long]");
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.store.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Test class for the {@link SchedulerExecutors}.
+ */
+class SchedulerExecutorsTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SchedulerExecutors schedulerExecutors;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        schedulerExecutors = new SchedulerExecutors(meterRegistry);
+        schedulerExecutors.install();
+    }
+
+    @AfterEach
+    public void teardown() {
+        schedulerExecutors.uninstall();
+    }
+
+    @Test
+    void testExecutorsAreMeasuredByTypeOfScheduler() throws Exception {
+        Scheduler scheduler = Schedulers.newParallel("scheduler-executors-test", 2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 3; i++) {
+                scheduler.schedule(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(gauge("threads")).isEqualTo(2);
+            assertThat(gauge("active")).isEqualTo(2);
+            assertThat(gauge("queued")).isEqualTo(1);
+        } finally {
+            release.countDown();
+            scheduler.dispose();
+        }
+        assertThat(gauge("threads")).isZero();
+    }
+
+    @Test
+    void testNameIsTypeOfScheduler() {
+        Scheduler scheduler = Schedulers.newBoundedElastic(1, 1, "scheduler-executors-name");
+        try {
+            assertThat(SchedulerExecutors.name(scheduler)).isEqualTo("boundedElastic");
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    private double gauge(String metric) {
+        return meterRegistry.get(ExecutorMetrics.METRIC_PREFIX + '.' + metric).tag("name", "parallel").gauge().value();
+    }
+}
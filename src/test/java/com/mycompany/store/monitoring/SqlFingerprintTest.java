@@ -0,0 +1,42 @@
+package com.mycompany.store.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SqlFingerprint}.
+ */
+class SqlFingerprintTest {
+
+    @Test
+    void testLiteralsAndBindMarkersAreReplaced() {
+        SqlFingerprint fingerprint = SqlFingerprint.of(
+            "SELECT e.id, e.name FROM product e\n  WHERE e.name = 'it''s' AND e.price > 10.5 AND e.id = $1 LIMIT 20 OFFSET 40"
+        );
+
+        assertThat(fingerprint.getSql())
+            .isEqualTo("SELECT e.id, e.name FROM product e WHERE e.name = ? AND e.price > ? AND e.id = ? LIMIT ? OFFSET ?");
+        assertThat(fingerprint.getOperation()).isEqualTo("select");
+        assertThat(fingerprint.getTable()).isEqualTo("product");
+    }
+
+    @Test
+    void testListsAreCollapsed() {
+        assertThat(SqlFingerprint.of("SELECT * FROM product WHERE id IN (1, 2, 3)").getSql())
+            .isEqualTo(SqlFingerprint.of("SELECT * FROM product WHERE id IN (4,5)").getSql())
+            .isEqualTo("SELECT * FROM product WHERE id IN (?+)");
+        assertThat(SqlFingerprint.of("INSERT INTO order_item (quantity, product_id) VALUES ($1, $2), ($3, $4)").getSql())
+            .isEqualTo("INSERT INTO order_item (quantity, product_id) VALUES (?+)+");
+    }
+
+    @Test
+    void testIdentifiersAreKept() {
+        SqlFingerprint fingerprint = SqlFingerprint.of("UPDATE \"jhi_user\" SET address_line1 = ? WHERE t1.id = ?");
+
+        assertThat(fingerprint.getSql()).isEqualTo("UPDATE \"jhi_user\" SET address_line1 = ? WHERE t1.id = ?");
+        assertThat(fingerprint.getOperation()).isEqualTo("update");
+        assertThat(fingerprint.getTable()).isEqualTo("jhi_user");
+        assertThat(fingerprint.getId()).isEqualTo(SqlFingerprint.of("UPDATE \"jhi_user\" SET address_line1 = 'x' WHERE t1.id = 2").getId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.mycompany.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link PasswordHashingService} utility class.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPasswordHashing().setPoolSize(1);
+        applicationProperties.getPasswordHashing().setQueueCapacity(1);
+        applicationProperties.getPasswordHashing().setRetryAfterSeconds(3);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(new LatchedPasswordEncoder(release), applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        release.countDown();
+        assertThat(passwordHashingService.encode("password").block()).isEqualTo("{hashed}password");
+        assertThat(passwordHashingService.matches("password", "{hashed}password").block()).isTrue();
+        assertThat(passwordHashingService.matches("wrong", "{hashed}password").block()).isFalse();
+        assertThat(meterRegistry.get("store.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("store.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testEncodeGeneratedRunsTheGeneratorOnTheHashingPool() {
+        release.countDown();
+        String thread = Thread.currentThread().getName();
+        String[] generatorThread = new String[1];
+        String encoded = passwordHashingService
+            .encodeGenerated(() -> {
+                generatorThread[0] = Thread.currentThread().getName();
+                return "generated";
+            })
+            .block();
+
+        assertThat(encoded).isEqualTo("{hashed}generated");
+        assertThat(generatorThread[0]).isNotEqualTo(thread);
+    }
+
+    @Test
+    void testRejectsWhenPoolIsSaturated() {
+        // one request occupies the single worker, the next one fills the queue
+        passwordHashingService.encode("first").subscribe();
+        passwordHashingService.encode("second").subscribe();
+
+        assertThatThrownBy(() -> passwordHashingService.encode("third").block())
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .hasFieldOrPropertyWithValue("retryAfterSeconds", 3L);
+        assertThat(meterRegistry.get("store.password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static class LatchedPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release;
+
+        LatchedPasswordEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return ("{hashed}" + rawPassword).equals(encodedPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mycompany.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.domain.EntityChange;
+import com.mycompany.store.domain.ProductCategory;
+import com.mycompany.store.domain.User;
+import com.mycompany.store.repository.EntityChangeRepository;
+import com.mycompany.store.web.rest.ProductCategoryResourceIT;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+
+/**
+ * Integration tests for {@link EntityChangePoller}.
+ */
+@IntegrationTest
+class EntityChangePollerIT {
+
+    @Autowired
+    private EntityChangePoller entityChangePoller;
+
+    @Autowired
+    private EntityChangeLog entityChangeLog;
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
+    @Autowired
+    private ProductCategoryService productCategoryService;
+
+    @Autowired
+    private ApplicationEventMulticaster eventMulticaster;
+
+    @Autowired
+    private EntityManager em;
+
+    private final List<EntitiesChangedEvent> events = new CopyOnWriteArrayList<>();
+
+    private final ApplicationListener<ApplicationEvent> listener = event -> {
+        Object payload = event instanceof PayloadApplicationEvent ? ((PayloadApplicationEvent<?>) event).getPayload() : null;
+        if (payload instanceof EntitiesChangedEvent) {
+            events.add((EntitiesChangedEvent) payload);
+        }
+    };
+
+    @BeforeEach
+    public void initTest() {
+        // initializes the high-water mark, then reads the changes logged by other tests
+        entityChangePoller.poll().block();
+        entityChangePoller.poll().block();
+        eventMulticaster.addApplicationListener(listener);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        eventMulticaster.removeApplicationListener(listener);
+        ProductCategoryResourceIT.deleteEntities(em);
+        em.deleteAll(EntityChange.class).block();
+    }
+
+    @Test
+    void pollPublishesTheLoggedChangesByEntityType() {
+        entityChangeLog.record(ProductCategory.class, 42L).block();
+        entityChangeLog.record(User.class, "someone").block();
+        entityChangeLog.record(ProductCategory.class, 43L).block();
+
+        assertThat(entityChangePoller.poll().block()).isEqualTo(3);
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).concerns(ProductCategory.class)).isTrue();
+        assertThat(events.get(0).getKeys()).containsExactly("42", "43");
+        assertThat(events.get(1).concerns(User.class)).isTrue();
+        assertThat(events.get(1).getKeys()).containsExactly("someone");
+
+        assertThat(entityChangePoller.poll().block()).isZero();
+    }
+
+    @Test
+    void serviceWritesAreLogged() {
+        ProductCategory productCategory = productCategoryService.save(ProductCategoryResourceIT.createEntity(em)).block();
+
+        entityChangePoller.poll().block();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).concerns(ProductCategory.class)).isTrue();
+        assertThat(events.get(0).getKeys()).containsExactly(String.valueOf(productCategory.getId()));
+    }
+
+    @Test
+    void skippedIdIsReadWhenItShowsUp() {
+        EntityChange skipped = entityChangeRepository.save(new EntityChange("ProductCategory", "1", Instant.now())).block();
+        entityChangeRepository.save(new EntityChange("ProductCategory", "2", Instant.now())).block();
+        // as if the transaction of the first change had not committed yet
+        entityChangeRepository.deleteById(skipped.getId()).block();
+
+        assertThat(entityChangePoller.poll().block()).isEqualTo(1);
+        assertThat(events.get(0).getKeys()).containsExactly("2");
+
+        em.insert(skipped).block();
+
+        assertThat(entityChangePoller.poll().block()).isEqualTo(1);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).getKeys()).containsExactly("1");
+    }
+}
@@ -0,0 +1,156 @@
+package com.mycompany.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link LookupCache}.
+ */
+class LookupCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private LookupCache<String, Long> cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = new LookupCache<>(2, Duration.ofSeconds(60), Duration.ofSeconds(5), now::get);
+    }
+
+    @Test
+    void testMissingKeyIsNotCached() {
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+    }
+
+    @Test
+    void testValueAndAbsenceAreCached() {
+        cache.put("a", 1L);
+        cache.put("b", null);
+
+        assertThat(cache.getIfPresent("a").getValue()).isEqualTo(1L);
+        assertThat(cache.getIfPresent("b").isAbsent()).isTrue();
+    }
+
+    @Test
+    void testAbsenceExpiresBeforeValue() {
+        cache.put("a", 1L);
+        cache.put("b", null);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(cache.getIfPresent("a").getValue()).isEqualTo(1L);
+        assertThat(cache.getIfPresent("b").isMiss()).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(55).toNanos());
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.getIfPresent("a");
+        cache.put("c", 3L);
+
+        assertThat(cache.getIfPresent("a").getValue()).isEqualTo(1L);
+        assertThat(cache.getIfPresent("b").isMiss()).isTrue();
+        assertThat(cache.getIfPresent("c").getValue()).isEqualTo(3L);
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.put("a", null);
+        cache.put("b", 2L);
+
+        cache.invalidate("a");
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+        assertThat(cache.getIfPresent("b").getValue()).isEqualTo(2L);
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testHitIsNeitherMissNorAbsent() {
+        cache.put("a", 1L);
+
+        LookupCache.Lookup<Long> lookup = cache.getIfPresent("a");
+        assertThat(lookup.isMiss()).isFalse();
+        assertThat(lookup.isAbsent()).isFalse();
+    }
+
+    @Test
+    void testInvalidateAfterCompletionWithoutTransaction() {
+        cache.put("a", null);
+
+        cache.invalidateAfterCompletion("a").block();
+
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+    }
+
+    @Test
+    void testInvalidateAfterCompletionWaitsForTheCommit() {
+        cache.put("a", null);
+
+        Boolean absentBeforeCommit = TransactionalOperator
+            .create(new NoOpTransactionManager())
+            .transactional(cache.invalidateAfterCompletion("a").then(Mono.fromCallable(() -> cache.getIfPresent("a").isAbsent())))
+            .block();
+
+        assertThat(absentBeforeCommit).isTrue();
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+    }
+
+    @Test
+    void testInvalidateAfterCompletionOnRollback() {
+        cache.put("a", null);
+
+        TransactionalOperator
+            .create(new NoOpTransactionManager())
+            .transactional(cache.invalidateAfterCompletion("a").then(Mono.error(new IllegalStateException("rollback"))))
+            .onErrorResume(IllegalStateException.class, e -> Mono.empty())
+            .block();
+
+        assertThat(cache.getIfPresent("a").isMiss()).isTrue();
+    }
+
+    /**
+     * Transaction manager without a resource, which runs the synchronizations of its transactions.
+     */
+    private static final class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(
+            TransactionSynchronizationManager synchronizationManager,
+            Object transaction,
+            TransactionDefinition definition
+        ) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.mycompany.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.domain.MailOutbox;
+import com.mycompany.store.domain.enumeration.MailOutboxStatus;
+import com.mycompany.store.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Integration tests for {@link MailOutboxDispatcher}.
+ */
+@IntegrationTest
+class MailOutboxDispatcherIT {
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    private RecordingJavaMailSender javaMailSender;
+
+    private MeterRegistry meterRegistry;
+
+    private MailService mailService;
+
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @BeforeEach
+    public void setup() {
+        mailOutboxRepository.deleteAll().block();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.MailOutbox properties = applicationProperties.getMailOutbox();
+        properties.setBatchSize(2);
+        properties.setRatePerSecond(1000);
+        properties.setMaxAttempts(2);
+        properties.setInitialBackoff(Duration.ofMinutes(1));
+        javaMailSender = new RecordingJavaMailSender();
+        meterRegistry = new SimpleMeterRegistry();
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, mailOutboxRepository);
+        mailOutboxDispatcher = new MailOutboxDispatcher(mailOutboxRepository, mailService, applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testSendsPendingEmailsInBatches() {
+        for (int i = 0; i < 5; i++) {
+            mailService.sendEmail("user" + i + "@example.com", "testSubject", "testContent", false, true).block();
+        }
+
+        assertThat(mailOutboxDispatcher.dispatch().block()).isEqualTo(5);
+
+        assertThat(javaMailSender.getSent()).hasSize(5);
+        assertThat(javaMailSender.getConnections()).isEqualTo(3);
+        assertThat(mailOutboxRepository.findAll().collectList().block())
+            .allSatisfy(mail -> {
+                assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.SENT);
+                assertThat(mail.getSentDate()).isNotNull();
+                assertThat(mail.getClaimToken()).isNull();
+            });
+        assertThat(meterRegistry.get("store.mail.outbox.sent").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("store.mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testRetriesFailedEmailsWithBackoff() {
+        javaMailSender.reject("bounce@example.com");
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true).block();
+        mailService.sendEmail("bounce@example.com", "testSubject", "testContent", false, true).block();
+
+        Instant before = Instant.now();
+        assertThat(mailOutboxDispatcher.dispatch().block()).isEqualTo(2);
+
+        Map<String, MailOutbox> mails = findAllByRecipient();
+        assertThat(mails.get("john.doe@example.com").getStatus()).isEqualTo(MailOutboxStatus.SENT);
+        MailOutbox bounced = mails.get("bounce@example.com");
+        assertThat(bounced.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getLastError()).contains("Mailbox unavailable");
+        assertThat(bounced.getNextAttemptAt()).isAfter(before.plus(Duration.ofSeconds(59)));
+        assertThat(meterRegistry.get("store.mail.outbox.retried").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("store.mail.outbox.pending").gauge().value()).isEqualTo(1);
+
+        // not due yet
+        assertThat(mailOutboxDispatcher.dispatch().block()).isZero();
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        javaMailSender.reject("bounce@example.com");
+        mailService.sendEmail("bounce@example.com", "testSubject", "testContent", false, true).block();
+        mailOutboxDispatcher.dispatch().block();
+
+        MailOutbox bounced = findAllByRecipient().get("bounce@example.com");
+        bounced.setNextAttemptAt(Instant.now().minus(1, ChronoUnit.MINUTES));
+        mailOutboxRepository.save(bounced).block();
+        assertThat(mailOutboxDispatcher.dispatch().block()).isEqualTo(1);
+
+        bounced = findAllByRecipient().get("bounce@example.com");
+        assertThat(bounced.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+        assertThat(bounced.getAttempts()).isEqualTo(2);
+        assertThat(meterRegistry.get("store.mail.outbox.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("store.mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void testSkipsEmailsLeasedByAnotherDispatcher() {
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true).block();
+        Instant now = Instant.now();
+        List<Long> ids = mailOutboxRepository.findDueIds(now, 10).collectList().block();
+        assertThat(mailOutboxRepository.claim(ids, "other-node", now, now.plus(Duration.ofMinutes(5))).block()).isEqualTo(1);
+
+        assertThat(mailOutboxDispatcher.dispatch().block()).isZero();
+        assertThat(javaMailSender.getSent()).isEmpty();
+    }
+
+    @Test
+    void testDispatchesNothingWhenOutboxIsEmpty() {
+        assertThat(mailOutboxDispatcher.dispatch().block()).isZero();
+        assertThat(javaMailSender.getConnections()).isZero();
+        assertThat(mailOutboxRepository.findAll().collectList().block()).isEqualTo(Collections.emptyList());
+    }
+
+    private Map<String, MailOutbox> findAllByRecipient() {
+        return mailOutboxRepository
+            .findAll()
+            .collectList()
+            .block()
+            .stream()
+            .collect(Collectors.toMap(MailOutbox::getRecipient, Function.identity()));
+    }
+}
@@ -1,12 +1,12 @@
 package com.mycompany.store.service;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
 
 import com.mycompany.store.IntegrationTest;
 import com.mycompany.store.config.Constants;
+import com.mycompany.store.domain.MailOutbox;
 import com.mycompany.store.domain.User;
+import com.mycompany.store.repository.MailOutboxRepository;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -14,6 +14,8 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -23,14 +25,8 @@ import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
-import org.mockito.MockitoAnnotations;
-import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -56,26 +52,24 @@ class MailServiceIT {
     @Autowired
     private SpringTemplateEngine templateEngine;
 
-    @Spy
-    private JavaMailSenderImpl javaMailSender;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
 
-    @Captor
-    private ArgumentCaptor<MimeMessage> messageCaptor;
+    private RecordingJavaMailSender javaMailSender;
 
     private MailService mailService;
 
     @BeforeEach
     public void setup() {
-        MockitoAnnotations.initMocks(this);
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine);
+        mailOutboxRepository.deleteAll().block();
+        javaMailSender = new RecordingJavaMailSender();
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, mailOutboxRepository);
     }
 
     @Test
     void testSendEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false).block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -86,9 +80,8 @@ class MailServiceIT {
 
     @Test
     void testSendHtmlEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true).block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -99,9 +92,8 @@ class MailServiceIT {
 
     @Test
     void testSendMultipartEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false).block();
+        MimeMessage message = sendQueuedEmail();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -116,9 +108,8 @@ class MailServiceIT {
 
     @Test
     void testSendMultipartHtmlEmail() throws Exception {
-        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true).block();
+        MimeMessage message = sendQueuedEmail();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -137,9 +128,8 @@ class MailServiceIT {
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         user.setLangKey("en");
-        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title").block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -153,9 +143,8 @@ class MailServiceIT {
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendActivationEmail(user).block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -168,9 +157,8 @@ class MailServiceIT {
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendCreationEmail(user).block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -183,9 +171,8 @@ class MailServiceIT {
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        mailService.sendPasswordResetMail(user).block();
+        MimeMessage message = sendQueuedEmail();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -194,12 +181,27 @@ class MailServiceIT {
 
     @Test
     void testSendEmailWithException() {
-        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
-        try {
-            mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        } catch (Exception e) {
-            fail("Exception shouldn't have been thrown");
-        }
+        javaMailSender.reject("john.doe@example.com");
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false).block();
+        List<MailOutbox> queued = mailOutboxRepository.findAll().collectList().block();
+        Map<Long, Exception> failures = mailService.sendBatch(queued);
+        assertThat(failures).containsOnlyKeys(queued.get(0).getId());
+        assertThat(javaMailSender.getSent()).isEmpty();
+    }
+
+    @Test
+    void testSendBatchOverSingleConnection() {
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false).block();
+        mailService.sendEmail("jane.doe@example.com", "testSubject", "testContent", false, false).block();
+        mailService.sendEmail("bounce@example.com", "testSubject", "testContent", false, false).block();
+        javaMailSender.reject("bounce@example.com");
+        List<MailOutbox> queued = mailOutboxRepository.findAll().collectList().block();
+
+        Map<Long, Exception> failures = mailService.sendBatch(queued);
+
+        assertThat(javaMailSender.getConnections()).isEqualTo(1);
+        assertThat(javaMailSender.getSent()).hasSize(2);
+        assertThat(failures).hasSize(1);
     }
 
     @Test
@@ -209,9 +211,9 @@ class MailServiceIT {
         user.setEmail("john.doe@example.com");
         for (String langKey : languages) {
             user.setLangKey(langKey);
-            mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            mailOutboxRepository.deleteAll().block();
+            mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title").block();
+            MimeMessage message = sendQueuedEmail();
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
@@ -226,6 +228,26 @@ class MailServiceIT {
         }
     }
 
+    @Test
+    void testSendEmailFromTemplateWithoutEmail() {
+        User user = new User();
+        user.setLogin("john");
+        user.setLangKey("en");
+        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title").block();
+        assertThat(mailOutboxRepository.count().block()).isZero();
+    }
+
+    /**
+     * Send the only email of the outbox, and return the message which reached the mail server.
+     */
+    private MimeMessage sendQueuedEmail() {
+        List<MailOutbox> queued = mailOutboxRepository.findAll().collectList().block();
+        assertThat(queued).hasSize(1);
+        assertThat(mailService.sendBatch(queued)).isEmpty();
+        assertThat(javaMailSender.getSent()).isNotEmpty();
+        return javaMailSender.getSent().get(javaMailSender.getSent().size() - 1);
+    }
+
     /**
      * Convert a lang key to the Java locale.
      */
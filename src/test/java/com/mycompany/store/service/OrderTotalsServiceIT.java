@@ -0,0 +1,147 @@
+package com.mycompany.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.domain.Customer;
+import com.mycompany.store.domain.CustomerSummary;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.repository.CustomerRepository;
+import com.mycompany.store.repository.CustomerSummaryRepository;
+import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.repository.ProductOrderRepository;
+import com.mycompany.store.web.rest.CustomerResourceIT;
+import com.mycompany.store.web.rest.InvoiceResourceIT;
+import com.mycompany.store.web.rest.OrderItemResourceIT;
+import com.mycompany.store.web.rest.ProductOrderResourceIT;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link OrderTotalsService}.
+ */
+@IntegrationTest
+class OrderTotalsServiceIT {
+
+    @Autowired
+    private OrderTotalsService orderTotalsService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSummaryRepository customerSummaryRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Customer customer;
+
+    private ProductOrder order;
+
+    public static void deleteEntities(EntityManager em) {
+        InvoiceResourceIT.deleteEntities(em);
+        OrderItemResourceIT.deleteEntities(em);
+        ProductOrderResourceIT.deleteEntities(em);
+        CustomerResourceIT.deleteEntities(em);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+    }
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities(em);
+        customer = customerRepository.save(CustomerResourceIT.createEntity(em)).block();
+        ProductOrder newOrder = ProductOrderResourceIT.createEntity(em);
+        newOrder.setCustomerId(customer.getId());
+        order = productOrderRepository.save(newOrder).block();
+    }
+
+    @Test
+    void testOrderItemWritesUpdateTotals() {
+        assertThat(orderTotalsService.findCustomerSummary(customer.getId()).block().getItemCount()).isZero();
+
+        OrderItem first = orderItemService.save(orderItem("10.00")).block();
+        OrderItem second = orderItemService.save(orderItem("5.00")).block();
+        assertTotals(2, "15.00");
+
+        orderItemService.partialUpdate(new OrderItem().id(first.getId()).totalPrice(new BigDecimal("20.00"))).block();
+        assertTotals(2, "25.00");
+
+        orderItemService.delete(second.getId()).block();
+        assertTotals(1, "20.00");
+
+        // the rebuild finds the same totals
+        orderTotalsService.rebuild().block();
+        assertTotals(1, "20.00");
+    }
+
+    @Test
+    void testInvoiceWritesUpdateTotalPaid() {
+        Invoice invoice = InvoiceResourceIT.createEntity(em).status(InvoiceStatus.PAID).paymentAmount(new BigDecimal("42.00"));
+        invoice.setOrderId(order.getId());
+        invoice = invoiceService.save(invoice).block();
+        assertThat(customerSummaryRepository.findById(customer.getId()).block().getTotalPaid()).isEqualByComparingTo("42.00");
+
+        invoiceService.partialUpdate(new Invoice().id(invoice.getId()).status(InvoiceStatus.CANCELLED)).block();
+        assertThat(customerSummaryRepository.findById(customer.getId()).block().getTotalPaid()).isEqualByComparingTo("0");
+
+        invoiceService.partialUpdate(new Invoice().id(invoice.getId()).status(InvoiceStatus.PAID)).block();
+        invoiceService.delete(invoice.getId()).block();
+        assertThat(customerSummaryRepository.findById(customer.getId()).block().getTotalPaid()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void testInvoicesPaidInBulkCreateOneSummaryPerCustomer() {
+        ProductOrder otherOrder = ProductOrderResourceIT.createEntity(em);
+        otherOrder.setCustomerId(customer.getId());
+        otherOrder = productOrderRepository.save(otherOrder).block();
+        for (ProductOrder paidOrder : new ProductOrder[] { order, otherOrder }) {
+            Invoice invoice = InvoiceResourceIT.createEntity(em).status(InvoiceStatus.PAID).paymentAmount(new BigDecimal("10.00"));
+            invoice.setOrderId(paidOrder.getId());
+            invoiceRepository.save(invoice).block();
+        }
+
+        BigDecimal paidAmount = new BigDecimal("10.00");
+        orderTotalsService.invoicesPaid(Map.of(order.getId(), paidAmount, otherOrder.getId(), paidAmount)).block();
+
+        assertThat(customerSummaryRepository.findById(customer.getId()).block().getTotalPaid()).isEqualByComparingTo("20.00");
+    }
+
+    private OrderItem orderItem(String totalPrice) {
+        OrderItem orderItem = OrderItemResourceIT.createEntity(em).totalPrice(new BigDecimal(totalPrice));
+        orderItem.setOrderId(order.getId());
+        return orderItem;
+    }
+
+    private void assertTotals(int itemCount, String totalAmount) {
+        ProductOrder updatedOrder = productOrderRepository.findById(order.getId()).block();
+        assertThat(updatedOrder.getItemCount()).isEqualTo(itemCount);
+        assertThat(updatedOrder.getTotalAmount()).isEqualByComparingTo(totalAmount);
+        CustomerSummary summary = orderTotalsService.findCustomerSummary(customer.getId()).block();
+        assertThat(summary.getItemCount()).isEqualTo(itemCount);
+        assertThat(summary.getTotalAmount()).isEqualByComparingTo(totalAmount);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.store.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Stands in for the SMTP server: records what would have been sent, one call per connection, and bounces the emails
+ * sent to the recipients registered with {@link #reject(String)}.
+ */
+class RecordingJavaMailSender extends JavaMailSenderImpl {
+
+    private final List<MimeMessage> sent = new ArrayList<>();
+
+    private final Set<String> rejectedRecipients = new HashSet<>();
+
+    private int connections;
+
+    void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    List<MimeMessage> getSent() {
+        return sent;
+    }
+
+    int getConnections() {
+        return connections;
+    }
+
+    @Override
+    protected synchronized void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        connections++;
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (MimeMessage mimeMessage : mimeMessages) {
+            try {
+                String recipient = mimeMessage.getAllRecipients()[0].toString();
+                if (rejectedRecipients.contains(recipient)) {
+                    failedMessages.put(mimeMessage, new SendFailedException("Mailbox unavailable: " + recipient));
+                } else {
+                    sent.add(mimeMessage);
+                }
+            } catch (MessagingException e) {
+                failedMessages.put(mimeMessage, e);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mycompany.store.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link StockCounters}.
+ */
+class StockCountersTest {
+
+    private StockCounters counters;
+
+    @BeforeEach
+    public void setup() {
+        counters = new StockCounters();
+    }
+
+    @Test
+    void testUntrackedProductIsNotReserved() {
+        assertThat(counters.reserve(1L, 1)).isNull();
+        assertThat(counters.get(1L)).isNull();
+        assertThat(counters.dirtyCount()).isZero();
+    }
+
+    @Test
+    void testReserveUntilOutOfStock() {
+        counters.put(1L, 3);
+
+        assertThat(counters.reserve(1L, 2)).isEqualTo(OrderItemStatus.AVAILABLE);
+        assertThat(counters.reserve(1L, 2)).isEqualTo(OrderItemStatus.OUT_OF_STOCK);
+        assertThat(counters.reserve(1L, 1)).isEqualTo(OrderItemStatus.AVAILABLE);
+        assertThat(counters.get(1L)).isZero();
+
+        counters.release(1L, 2);
+        assertThat(counters.get(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void testDrainDirty() {
+        counters.put(1L, 10);
+        counters.put(2L, 10);
+        counters.put(3L, 10);
+        assertThat(counters.dirtyCount()).isZero();
+
+        counters.reserve(1L, 1);
+        counters.reserve(2L, 2);
+        counters.reserve(2L, 3);
+
+        List<Map.Entry<Long, Integer>> drained = new ArrayList<>(counters.drainDirty(1));
+        drained.addAll(counters.drainDirty(10));
+        assertThat(drained).containsExactlyInAnyOrder(Map.entry(1L, -1), Map.entry(2L, -5));
+        assertThat(counters.drainDirty(10)).isEmpty();
+
+        counters.restore(List.of(Map.entry(1L, -1), Map.entry(4L, -2)));
+        counters.release(1L, 3);
+        assertThat(counters.drainDirty(10)).containsExactly(Map.entry(1L, 2));
+
+        counters.reserve(3L, 4);
+        counters.release(3L, 4);
+        assertThat(counters.drainDirty(10)).isEmpty();
+    }
+
+    @Test
+    void testSetAddsTheDifferenceToTheUnwrittenChange() {
+        assertThat(counters.set(1L, 5)).isFalse();
+        assertThat(counters.get(1L)).isNull();
+
+        counters.put(1L, 10);
+        counters.reserve(1L, 3);
+        List<Map.Entry<Long, Integer>> inFlight = counters.drainDirty(10);
+        assertThat(inFlight).containsExactly(Map.entry(1L, -3));
+
+        // persisted: 10, being persisted: -3, set to 20 meanwhile
+        assertThat(counters.set(1L, 20)).isTrue();
+        counters.reserve(1L, 2);
+        assertThat(counters.get(1L)).isEqualTo(18);
+        assertThat(counters.drainDirty(10)).containsExactly(Map.entry(1L, 11));
+        assertThat(10 + inFlight.get(0).getValue() + 11).isEqualTo(18);
+
+        assertThat(counters.set(1L, 18)).isTrue();
+        assertThat(counters.dirtyCount()).isZero();
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        int stock = 10_000;
+        int threads = 8;
+        int attemptsPerThread = 5_000;
+        counters.put(1L, stock);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> reservations = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                reservations.add(
+                    executor.submit(() -> {
+                        int reserved = 0;
+                        for (int j = 0; j < attemptsPerThread; j++) {
+                            if (counters.reserve(1L, 1) == OrderItemStatus.AVAILABLE) {
+                                reserved++;
+                            }
+                        }
+                        return reserved;
+                    })
+                );
+            }
+            int reserved = 0;
+            for (Future<Integer> future : reservations) {
+                reserved += future.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(reserved).isEqualTo(stock);
+            assertThat(counters.get(1L)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
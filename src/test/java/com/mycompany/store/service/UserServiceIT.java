@@ -3,10 +3,13 @@ package com.mycompany.store.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.config.ApplicationProperties;
 import com.mycompany.store.config.Constants;
 import com.mycompany.store.domain.User;
 import com.mycompany.store.repository.UserRepository;
+import com.mycompany.store.security.AuthoritiesConstants;
 import com.mycompany.store.service.dto.AdminUserDTO;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -44,6 +47,9 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     private User user;
 
     @BeforeEach
@@ -145,7 +151,7 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isNotEmpty();
-        userService.removeNotActivatedUsers();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(1);
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo).collectList().block();
         assertThat(users).isEmpty();
     }
@@ -163,8 +169,41 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isEmpty();
-        userService.removeNotActivatedUsers();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isZero();
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId()).blockOptional();
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    void assertThatNotActivatedUsersAreDeletedByChunks() {
+        ApplicationProperties.UserCleanup userCleanup = applicationProperties.getUserCleanup();
+        int chunkSize = userCleanup.getChunkSize();
+        Duration chunkPause = userCleanup.getChunkPause();
+        userCleanup.setChunkSize(2);
+        userCleanup.setChunkPause(Duration.ZERO);
+        try {
+            for (int i = 0; i < 5; i++) {
+                User staleUser = new User();
+                staleUser.setLogin("stale-user-" + i);
+                staleUser.setPassword(RandomStringUtils.random(60));
+                staleUser.setEmail("stale-user-" + i + "@localhost");
+                staleUser.setActivated(false);
+                staleUser.setActivationKey(RandomStringUtils.random(20));
+                staleUser.setCreatedBy(Constants.SYSTEM);
+                staleUser = userRepository.save(staleUser).block();
+                staleUser.setCreatedDate(Instant.now().minus(4, ChronoUnit.DAYS));
+                staleUser = userRepository.save(staleUser).block();
+                userRepository.saveUserAuthority(staleUser.getId(), AuthoritiesConstants.USER).block();
+            }
+            user.setActivated(false);
+            user.setActivationKey(RandomStringUtils.random(20));
+            userRepository.save(user).block();
+
+            assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(5);
+            assertThat(userRepository.findAll().collectList().block()).extracting(User::getLogin).containsExactly(DEFAULT_LOGIN);
+        } finally {
+            userCleanup.setChunkSize(chunkSize);
+            userCleanup.setChunkPause(chunkPause);
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.mycompany.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ConcurrencyLimitWebFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ConcurrencyLimitWebFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.ConcurrencyLimit concurrencyLimit = applicationProperties.getConcurrencyLimit();
+        concurrencyLimit.setEnabled(true);
+        concurrencyLimit.setRetryAfterSeconds(2);
+        ApplicationProperties.ConcurrencyLimit.Group products = new ApplicationProperties.ConcurrencyLimit.Group();
+        products.setPaths(Collections.singletonList("/api/products/**"));
+        products.setInitialLimit(1);
+        products.setMinLimit(1);
+        concurrencyLimit.getGroups().put("products", products);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitWebFilter(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testRejectsRequestsAboveTheLimit() {
+        Sinks.Empty<Void> pending = Sinks.empty();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1"));
+        filter.filter(first, exchange -> pending.asMono()).subscribe();
+
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products"));
+        filter.filter(second, exchange -> Mono.empty()).block();
+
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.get("store.concurrency.rejected").tag("group", "products").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("store.concurrency.inflight").tag("group", "products").gauge().value()).isEqualTo(1);
+
+        pending.tryEmitEmpty();
+        assertThat(meterRegistry.get("store.concurrency.inflight").tag("group", "products").gauge().value()).isZero();
+    }
+
+    @Test
+    void testIgnoresUnmatchedPaths() {
+        Sinks.Empty<Void> pending = Sinks.empty();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")), exchange -> pending.asMono()).subscribe();
+
+        MockServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.get("/api/customers"));
+        filter.filter(other, exchange -> Mono.empty()).block();
+
+        assertThat(other.getResponse().getStatusCode()).isNull();
+        pending.tryEmitEmpty();
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyIncreases() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 100, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int steadyLimit = limit.getLimit();
+        assertThat(steadyLimit).isGreaterThanOrEqualTo(20);
+
+        for (int i = 0; i < 20; i++) {
+            saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(200));
+        }
+        assertThat(limit.getLimit()).isLessThan(steadyLimit);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void testErrorsBackTheLimitOff() {
+        Sinks.Empty<Void> pending = Sinks.empty();
+        filter
+            .filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")), exchange -> pending.asMono())
+            .subscribe(null, e -> {});
+        pending.tryEmitError(new IllegalStateException("timeout"));
+
+        assertThat(meterRegistry.get("store.concurrency.inflight").tag("group", "products").gauge().value()).isZero();
+
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 2, 100, 1.5, 0.2);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.releaseDropped();
+        }
+        assertThat(limit.getLimit()).isLessThan(20);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testInitialLimitIsClamped() {
+        assertThat(new GradientConcurrencyLimit(500, 2, 100, 1.5, 0.2).getLimit()).isEqualTo(100);
+        assertThat(new GradientConcurrencyLimit(0, 2, 100, 1.5, 0.2).getLimit()).isEqualTo(2);
+    }
+
+    private void saturateAndRelease(GradientConcurrencyLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, true);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.store.config.ApplicationProperties;
+import com.mycompany.store.monitoring.SqlFingerprint;
+import com.mycompany.store.monitoring.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+class StatementCountWebFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private StatementCountWebFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryMonitoring().setServerTiming(true);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementCountWebFilter(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testStatementsAreCountedByEndpoint() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1"));
+        filter.filter(exchange, chained -> handle(chained, "/api/products/{id}", 3)).block();
+
+        DistributionSummary statements = meterRegistry
+            .get(StatementCountWebFilter.METRIC_NAME)
+            .tag("method", "GET")
+            .tag("uri", "/api/products/{id}")
+            .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(exchange.getResponse().getHeaders().getFirst("Server-Timing")).isEqualTo("db;desc=\"3 statements\"");
+    }
+
+    @Test
+    void testRequestsWithoutHandlerAreIgnored() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/index.html"));
+        filter.filter(exchange, chained -> chained.getResponse().setComplete()).block();
+
+        assertThat(meterRegistry.find(StatementCountWebFilter.METRIC_NAME).summary()).isNull();
+    }
+
+    private static Mono<Void> handle(ServerWebExchange exchange, String pattern, int statements) {
+        return Mono.deferContextual(context -> {
+            StatementCounter counter = context.get(StatementCounter.CONTEXT_KEY);
+            for (int i = 0; i < statements; i++) {
+                counter.increment(SqlFingerprint.of("SELECT * FROM product WHERE id = " + i));
+            }
+            exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PathPatternParser.defaultInstance.parse(pattern));
+            return exchange.getResponse().setComplete();
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.mycompany.store.web.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.resource.ResourceResolverChain;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link ContentHashETagResourceResolver}.
+ */
+class ContentHashETagResourceResolverTest {
+
+    @TempDir
+    Path staticDirectory;
+
+    private ContentHashETagResourceResolver resolver;
+
+    @BeforeEach
+    public void setup() {
+        resolver = new ContentHashETagResourceResolver();
+    }
+
+    @Test
+    void testSetsStrongETagFromContent() throws IOException {
+        Resource main = file("main.js", "console.log('main');");
+        Resource vendor = file("vendor.js", "console.log('vendor');");
+
+        String mainETag = resolve(main, MockServerWebExchange.from(MockServerHttpRequest.get("/main.js")));
+        String vendorETag = resolve(vendor, MockServerWebExchange.from(MockServerHttpRequest.get("/vendor.js")));
+
+        assertThat(mainETag).startsWith("\"").doesNotStartWith("W/");
+        assertThat(vendorETag).isNotEqualTo(mainETag);
+        assertThat(resolve(main, MockServerWebExchange.from(MockServerHttpRequest.get("/main.js")))).isEqualTo(mainETag);
+    }
+
+    @Test
+    void testAnswersNotModifiedForMatchingETag() throws IOException {
+        Resource main = file("main.js", "console.log('main');");
+        String etag = resolve(main, MockServerWebExchange.from(MockServerHttpRequest.get("/main.js")));
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/main.js").ifNoneMatch(etag));
+        resolve(main, exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void testServesChangedContent() throws IOException {
+        Resource main = file("main.js", "console.log('main');");
+        String etag = resolve(main, MockServerWebExchange.from(MockServerHttpRequest.get("/main.js")));
+        Files.write(main.getFile().toPath(), "console.log('changed');".getBytes(StandardCharsets.UTF_8));
+        main.getFile().setLastModified(main.lastModified() + 2000);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/main.js").ifNoneMatch(etag));
+        String newETag = resolve(main, exchange);
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(newETag).isNotEqualTo(etag);
+    }
+
+    private Resource file(String name, String content) throws IOException {
+        Path path = staticDirectory.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return new FileSystemResource(path);
+    }
+
+    private String resolve(Resource resource, ServerWebExchange exchange) {
+        ResourceResolverChain chain = new ResourceResolverChain() {
+            @Override
+            public Mono<Resource> resolveResource(ServerWebExchange exchange, String requestPath, List<? extends Resource> locations) {
+                return Mono.just(resource);
+            }
+
+            @Override
+            public Mono<String> resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+                return Mono.just(resourcePath);
+            }
+        };
+        assertThat(resolver.resolveResource(exchange, resource.getFilename(), Collections.emptyList(), chain).block()).isSameAs(resource);
+        return exchange.getResponse().getHeaders().getFirst(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,231 @@
+package com.mycompany.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.domain.Invoice;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.ProductStock;
+import com.mycompany.store.domain.enumeration.InvoiceStatus;
+import com.mycompany.store.domain.enumeration.OrderItemStatus;
+import com.mycompany.store.domain.enumeration.OrderStatus;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.repository.OrderItemRepository;
+import com.mycompany.store.repository.ProductOrderRepository;
+import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.repository.ProductStockRepository;
+import com.mycompany.store.service.EntityManager;
+import com.mycompany.store.service.OrderItemService;
+import com.mycompany.store.service.StockService;
+import com.mycompany.store.service.dto.CheckoutDTO;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link CheckoutResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient
+@WithMockUser
+class CheckoutResourceIT {
+
+    private static final String API_URL = "/api/checkout";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductOrderRepository productOrderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Product product;
+
+    private Product otherProduct;
+
+    public static void deleteEntities(EntityManager em) {
+        InvoiceResourceIT.deleteEntities(em);
+        OrderItemResourceIT.deleteEntities(em);
+        ProductOrderResourceIT.deleteEntities(em);
+        ProductResourceIT.deleteEntities(em);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+        stockService.load().block();
+    }
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities(em);
+        product = productRepository.save(ProductResourceIT.createEntity(em).price(new BigDecimal("12.50"))).block();
+        otherProduct = productRepository.save(ProductResourceIT.createEntity(em).price(new BigDecimal("3"))).block();
+    }
+
+    @Test
+    void checkout() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setPaymentMethod(PaymentMethod.PAYPAL);
+        checkout.setDetails("Gift wrapped");
+        checkout.setItems(List.of(new CheckoutDTO.Item(product.getId(), 2), new CheckoutDTO.Item(otherProduct.getId(), 5)));
+
+        ProductOrder result = postCheckout(checkout);
+
+        assertThat(result.getId()).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(result.getOrderItems()).hasSize(2).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(result.getInvoices()).hasSize(1);
+        ProductOrder order = productOrderRepository.findById(result.getId()).block();
+        assertThat(order.getItemCount()).isEqualTo(2);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("40");
+
+        // Validate the aggregate in the database
+        List<OrderItem> orderItems = orderItemRepository.findByOrder(result.getId()).collectList().block();
+        assertThat(orderItems)
+            .extracting(OrderItem::getProductId, OrderItem::getQuantity, item -> item.getTotalPrice().stripTrailingZeros())
+            .containsExactlyInAnyOrder(
+                tuple(product.getId(), 2, new BigDecimal("25")),
+                tuple(otherProduct.getId(), 5, new BigDecimal("15"))
+            );
+        List<Invoice> invoices = invoiceRepository.findByOrder(result.getId()).collectList().block();
+        assertThat(invoices).hasSize(1);
+        assertThat(invoices.get(0).getStatus()).isEqualTo(InvoiceStatus.ISSUED);
+        assertThat(invoices.get(0).getPaymentDate()).isNull();
+        assertThat(invoices.get(0).getPaymentMethod()).isEqualTo(PaymentMethod.PAYPAL);
+        assertThat(invoices.get(0).getDetails()).isEqualTo("Gift wrapped");
+        assertThat(invoices.get(0).getPaymentAmount()).isEqualByComparingTo("40");
+    }
+
+    @Test
+    void checkoutReservesStock() throws Exception {
+        stockService.save(new ProductStock(product.getId(), 3)).block();
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        checkout.setItems(List.of(new CheckoutDTO.Item(product.getId(), 2), new CheckoutDTO.Item(otherProduct.getId(), 1)));
+
+        postCheckout(checkout);
+        ProductOrder result = postCheckout(checkout);
+
+        List<OrderItem> orderItems = orderItemRepository.findByOrder(result.getId()).collectList().block();
+        assertThat(orderItems)
+            .extracting(OrderItem::getProductId, OrderItem::getStatus)
+            .containsExactlyInAnyOrder(
+                tuple(product.getId(), OrderItemStatus.OUT_OF_STOCK),
+                tuple(otherProduct.getId(), OrderItemStatus.AVAILABLE)
+            );
+        assertThat(stockService.findOne(product.getId()).block().getQuantity()).isEqualTo(1);
+        assertThat(stockService.findOne(otherProduct.getId()).blockOptional()).isEmpty();
+
+        // The stock is written behind
+        stockService.flush().block();
+        assertThat(productStockRepository.findById(product.getId()).block().getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void changedOrderItemsReleaseOnlyTheStockTheyReserved() throws Exception {
+        stockService.save(new ProductStock(product.getId(), 5)).block();
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        checkout.setItems(List.of(new CheckoutDTO.Item(product.getId(), 3)));
+        OrderItem reserved = orderItemRepository.findByOrder(postCheckout(checkout).getId()).blockFirst();
+        OrderItem outOfStock = orderItemRepository.findByOrder(postCheckout(checkout).getId()).blockFirst();
+        assertThat(reserved.getReservedQuantity()).isEqualTo(3);
+        assertThat(outOfStock.getStatus()).isEqualTo(OrderItemStatus.OUT_OF_STOCK);
+        assertThat(outOfStock.getReservedQuantity()).isNull();
+        assertThat(stockService.findOne(product.getId()).block().getQuantity()).isEqualTo(2);
+
+        // Updating the out of stock item tries to reserve its stock again, and deleting it releases none
+        OrderItem markedAvailable = new OrderItem().id(outOfStock.getId()).status(OrderItemStatus.AVAILABLE);
+        orderItemService.partialUpdate(markedAvailable).block();
+        orderItemService.delete(outOfStock.getId()).block();
+        assertThat(stockService.findOne(product.getId()).block().getQuantity()).isEqualTo(2);
+
+        // A smaller quantity gives the difference back
+        orderItemService.partialUpdate(new OrderItem().id(reserved.getId()).quantity(1)).block();
+        assertThat(stockService.findOne(product.getId()).block().getQuantity()).isEqualTo(4);
+        assertThat(orderItemRepository.findById(reserved.getId()).block().getReservedQuantity()).isEqualTo(1);
+
+        orderItemService.delete(reserved.getId()).block();
+        assertThat(stockService.findOne(product.getId()).block().getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void checkoutWithUnknownProduct() throws Exception {
+        int databaseSizeBeforeCheckout = productOrderRepository.findAll().collectList().block().size();
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setPaymentMethod(PaymentMethod.CASH_ON_DELIVERY);
+        checkout.setItems(List.of(new CheckoutDTO.Item(product.getId(), 1), new CheckoutDTO.Item(Long.MAX_VALUE, 1)));
+
+        webTestClient
+            .post()
+            .uri(API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(checkout))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        assertThat(productOrderRepository.findAll().collectList().block()).hasSize(databaseSizeBeforeCheckout);
+    }
+
+    private ProductOrder postCheckout(CheckoutDTO checkout) throws Exception {
+        return webTestClient
+            .post()
+            .uri(API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(checkout))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(ProductOrder.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    @Test
+    void checkoutWithEmptyBasket() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+
+        webTestClient
+            .post()
+            .uri(API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(checkout))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+}
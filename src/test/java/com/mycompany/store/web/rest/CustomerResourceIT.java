@@ -21,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -430,6 +431,66 @@ class CustomerResourceIT {
             .value(is(DEFAULT_COUNTRY));
     }
 
+    @Test
+    void getCustomerNotModified() {
+        // Initialize the database
+        customerRepository.save(customer).block();
+
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, customer.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+        // Get the customer again with its ETag
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, customer.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectBody()
+            .isEmpty();
+    }
+
+    @Test
+    void getCustomerSummary() {
+        // Initialize the database
+        customerRepository.save(customer).block();
+
+        // Get the summary of a customer without orders
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/summary", customer.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.customerId")
+            .value(is(customer.getId().intValue()))
+            .jsonPath("$.itemCount")
+            .value(is(0))
+            .jsonPath("$.totalPaid")
+            .value(is(0));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/summary", Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
     @Test
     void getNonExistingCustomer() {
         // Get the customer
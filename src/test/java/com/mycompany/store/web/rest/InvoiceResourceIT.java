@@ -10,7 +10,9 @@ import com.mycompany.store.domain.Invoice;
 import com.mycompany.store.domain.enumeration.InvoiceStatus;
 import com.mycompany.store.domain.enumeration.PaymentMethod;
 import com.mycompany.store.repository.InvoiceRepository;
+import com.mycompany.store.security.AuthoritiesConstants;
 import com.mycompany.store.service.EntityManager;
+import com.mycompany.store.service.dto.SettlementSummaryDTO;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
@@ -606,4 +608,91 @@ class InvoiceResourceIT {
         List<Invoice> invoiceList = invoiceRepository.findAll().collectList().block();
         assertThat(invoiceList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void settleInvoicesFromCsv() {
+        Invoice issued = invoiceRepository.save(createEntity(em).status(InvoiceStatus.ISSUED).paymentAmount(BigDecimal.TEN)).block();
+        Invoice underpaid = invoiceRepository.save(createEntity(em).status(InvoiceStatus.ISSUED).paymentAmount(new BigDecimal(5))).block();
+        Invoice paid = invoiceRepository.save(createEntity(em).status(InvoiceStatus.PAID)).block();
+        Invoice cancelled = invoiceRepository.save(createEntity(em).status(InvoiceStatus.CANCELLED)).block();
+        String file =
+            "invoice_id,amount,date\n" +
+            issued.getId() + ",10.00,2021-11-06T10:15:30Z\n" +
+            underpaid.getId() + ",4.50,2021-11-06\n" +
+            paid.getId() + ",1,2021-11-06\n" +
+            cancelled.getId() + ",1,2021-11-06\n" +
+            Long.MAX_VALUE + ",1,2021-11-06\n" +
+            issued.getId() + ",ten,2021-11-06\n";
+
+        SettlementSummaryDTO summary = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/settlements")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue(file)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(SettlementSummaryDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(summary.getSettledCount()).isEqualTo(2);
+        assertThat(summary.getSettledAmount()).isEqualByComparingTo("14.50");
+        assertThat(summary.getAmountMismatchInvoiceIds()).containsExactly(underpaid.getId());
+        assertThat(summary.getAlreadyPaidCount()).isEqualTo(1);
+        assertThat(summary.getCancelledInvoiceIds()).containsExactly(cancelled.getId());
+        assertThat(summary.getUnknownInvoiceIds()).containsExactly(Long.MAX_VALUE);
+        assertThat(summary.getMalformedCount()).isEqualTo(1);
+        assertThat(summary.getMalformedLines()).singleElement().asString().startsWith("line 7: ");
+
+        Invoice testIssued = invoiceRepository.findById(issued.getId()).block();
+        assertThat(testIssued.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(testIssued.getPaymentDate()).isEqualTo(Instant.parse("2021-11-06T10:15:30Z"));
+        Invoice testUnderpaid = invoiceRepository.findById(underpaid.getId()).block();
+        assertThat(testUnderpaid.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(testUnderpaid.getPaymentAmount()).isEqualByComparingTo("4.50");
+        assertThat(testUnderpaid.getPaymentDate()).isEqualTo(Instant.parse("2021-11-06T00:00:00Z"));
+        assertThat(invoiceRepository.findById(cancelled.getId()).block().getStatus()).isEqualTo(InvoiceStatus.CANCELLED);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void settleInvoicesFromNdjson() {
+        Invoice issued = invoiceRepository.save(createEntity(em).status(InvoiceStatus.ISSUED)).block();
+        String file =
+            "{\"invoiceId\":" + issued.getId() + ",\"amount\":1,\"date\":\"2021-11-06T10:15:30Z\"}\n" +
+            "{\"invoiceId\":" + issued.getId() + ",\"amount\":1,\"date\":\"2021-11-06T10:15:30Z\"}\n" +
+            "{\"invoiceId\":" + issued.getId() + "}\n";
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/settlements")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(file)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.settledCount")
+            .isEqualTo(1)
+            .jsonPath("$.alreadyPaidCount")
+            .isEqualTo(1)
+            .jsonPath("$.malformedCount")
+            .isEqualTo(1);
+
+        assertThat(invoiceRepository.findById(issued.getId()).block().getStatus()).isEqualTo(InvoiceStatus.PAID);
+    }
+
+    @Test
+    void settleInvoicesIsForbiddenToUsers() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/settlements")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue("1,1,2021-11-06")
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
 }
@@ -235,6 +235,30 @@ class OrderItemResourceIT {
             .value(hasItem(DEFAULT_STATUS.toString()));
     }
 
+    @Test
+    void getAllOrderItemsWithFields() {
+        // Initialize the database
+        orderItemRepository.save(orderItem).block();
+
+        // Get only the quantities of the orderItemList, without their product and order
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=quantity")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(orderItem.getId().intValue()))
+            .jsonPath("$.[*].quantity")
+            .value(hasItem(DEFAULT_QUANTITY))
+            .jsonPath("$.[0].totalPrice")
+            .doesNotExist()
+            .jsonPath("$.[0].product")
+            .doesNotExist();
+    }
+
     @Test
     void getOrderItem() {
         // Initialize the database
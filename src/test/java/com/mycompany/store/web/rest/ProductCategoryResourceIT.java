@@ -20,6 +20,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -211,6 +212,52 @@ class ProductCategoryResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    void getAllProductCategoriesNotModified() {
+        // Initialize the database
+        productCategoryRepository.save(productCategory).block();
+        ProductCategory otherProductCategory = productCategoryRepository.save(createEntity(em)).block();
+
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LAST_MODIFIED)
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+        // Get all the productCategoryList again with its ETag
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+
+        // Delete a productCategory, which changes the ETag of the list
+        productCategoryRepository.deleteById(otherProductCategory.getId()).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(productCategory.getId().intValue()));
+    }
+
     @Test
     void getProductCategory() {
         // Initialize the database
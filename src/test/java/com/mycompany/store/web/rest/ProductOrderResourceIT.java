@@ -235,6 +235,41 @@ class ProductOrderResourceIT {
             .value(hasItem(DEFAULT_CODE));
     }
 
+    @Test
+    void getAllProductOrdersAsSmile() {
+        getAllProductOrdersAs(MediaType.valueOf("application/x-jackson-smile"));
+    }
+
+    @Test
+    void getAllProductOrdersAsCbor() {
+        getAllProductOrdersAs(MediaType.APPLICATION_CBOR);
+    }
+
+    private void getAllProductOrdersAs(MediaType mediaType) {
+        // Initialize the database
+        productOrderRepository.save(productOrder).block();
+
+        // Get all the productOrderList, decoded with the same binary codec
+        List<ProductOrder> productOrderList = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(mediaType)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(mediaType)
+            .expectBodyList(ProductOrder.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(productOrderList).contains(productOrder);
+        ProductOrder testProductOrder = productOrderList.get(productOrderList.indexOf(productOrder));
+        assertThat(testProductOrder.getPlacedDate()).isEqualTo(DEFAULT_PLACED_DATE);
+        assertThat(testProductOrder.getStatus()).isEqualTo(DEFAULT_STATUS);
+        assertThat(testProductOrder.getCode()).isEqualTo(DEFAULT_CODE);
+    }
+
     @Test
     void getProductOrder() {
         // Initialize the database
@@ -261,6 +296,85 @@ class ProductOrderResourceIT {
             .value(is(DEFAULT_CODE));
     }
 
+    @Test
+    void getProductOrderByCode() {
+        // Initialize the database
+        productOrderRepository.save(productOrder).block();
+
+        // Get the productOrder, then again from the cached id
+        for (int i = 0; i < 2; i++) {
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "/by-code/{code}", DEFAULT_CODE)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.id")
+                .value(is(productOrder.getId().intValue()))
+                .jsonPath("$.code")
+                .value(is(DEFAULT_CODE));
+        }
+
+        // The cached id is checked against the current code
+        productOrderRepository.save(productOrder.code(UPDATED_CODE)).block();
+        webTestClient.get().uri(ENTITY_API_URL + "/by-code/{code}", DEFAULT_CODE).exchange().expectStatus().isNotFound();
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/by-code/{code}", UPDATED_CODE)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(productOrder.getId().intValue()));
+    }
+
+    @Test
+    void getProductOrderByDuplicatedCode() {
+        // Initialize the database with two productOrders sharing a code
+        productOrderRepository.save(productOrder).block();
+        productOrderRepository.save(createEntity(em)).block();
+
+        // The productOrder with the lowest id is returned
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/by-code/{code}", DEFAULT_CODE)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(productOrder.getId().intValue()));
+    }
+
+    @Test
+    void getProductOrderByCodeCreatedAfterLookup() throws Exception {
+        String code = "CCCCCCCCCC";
+        webTestClient.get().uri(ENTITY_API_URL + "/by-code/{code}", code).exchange().expectStatus().isNotFound();
+
+        // Creating the productOrder through the service forgets the cached absence of the code
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(productOrder.code(code)))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/by-code/{code}", code)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.code")
+            .value(is(code));
+    }
+
     @Test
     void getNonExistingProductOrder() {
         // Get the productOrder
@@ -23,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -265,6 +266,45 @@ class ProductResourceIT {
             .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)));
     }
 
+    @Test
+    void getAllProductsWithFields() {
+        // Initialize the database
+        productRepository.save(product).block();
+
+        // Get only the names and prices of the productList
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&fields=name,price")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(product.getId().intValue()))
+            .jsonPath("$.[*].name")
+            .value(hasItem(DEFAULT_NAME))
+            .jsonPath("$.[*].price")
+            .value(hasItem(sameNumber(DEFAULT_PRICE)))
+            .jsonPath("$.[0].description")
+            .doesNotExist()
+            .jsonPath("$.[0].image")
+            .doesNotExist()
+            .jsonPath("$.[0].productCategory")
+            .doesNotExist();
+    }
+
+    @Test
+    void getAllProductsWithUnknownField() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?fields=name,unknown")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @Test
     void getProduct() {
         // Initialize the database
@@ -309,6 +349,77 @@ class ProductResourceIT {
             .isNotFound();
     }
 
+    @Test
+    void getProductNotModified() throws Exception {
+        // Initialize the database
+        productRepository.save(product).block();
+
+        HttpHeaders headers = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, product.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.LAST_MODIFIED)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CACHE_CONTROL, "private, no-cache")
+            .expectBody()
+            .returnResult()
+            .getResponseHeaders();
+        String eTag = headers.getETag();
+        assertThat(eTag).startsWith("W/");
+
+        // Get the product again with its ETag
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, product.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, eTag)
+            .expectBody()
+            .isEmpty();
+
+        // Get the product again with its modification date
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, product.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_MODIFIED_SINCE, headers.getFirst(HttpHeaders.LAST_MODIFIED))
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+
+        // Update the product, which changes its ETag
+        Product updatedProduct = productRepository.findById(product.getId()).block();
+        updatedProduct.name(UPDATED_NAME);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedProduct.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedProduct))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, product.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.name")
+            .value(is(UPDATED_NAME));
+    }
+
     @Test
     void putNewProduct() throws Exception {
         // Initialize the database
@@ -9,6 +9,7 @@ import com.mycompany.store.repository.UserRepository;
 import com.mycompany.store.security.AuthoritiesConstants;
 import com.mycompany.store.service.EntityManager;
 import com.mycompany.store.service.dto.UserDTO;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -65,6 +66,28 @@ class PublicUserResourceIT {
         assertThat(foundUser.getLogin()).isEqualTo(DEFAULT_LOGIN);
     }
 
+    @Test
+    void getAllPublicUsersAsCbor() {
+        // Initialize the database
+        userRepository.save(user).block();
+
+        // Get all the users, streamed by the resource and written as one CBOR array
+        List<UserDTO> foundUsers = webTestClient
+            .get()
+            .uri("/api/users?sort=id,DESC")
+            .accept(MediaType.APPLICATION_CBOR)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_CBOR)
+            .expectBodyList(UserDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(foundUsers).extracting(UserDTO::getLogin).contains(DEFAULT_LOGIN);
+    }
+
     @Test
     void getAllAuthorities() {
         webTestClient
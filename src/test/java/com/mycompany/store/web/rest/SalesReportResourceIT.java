@@ -0,0 +1,218 @@
+package com.mycompany.store.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.mycompany.store.IntegrationTest;
+import com.mycompany.store.domain.Customer;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.domain.ProductCategory;
+import com.mycompany.store.domain.ProductOrder;
+import com.mycompany.store.domain.SalesRollup;
+import com.mycompany.store.domain.enumeration.PaymentMethod;
+import com.mycompany.store.repository.CustomerRepository;
+import com.mycompany.store.repository.ProductCategoryRepository;
+import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.service.EntityManager;
+import com.mycompany.store.service.ProductOrderService;
+import com.mycompany.store.service.SalesReportService;
+import com.mycompany.store.service.dto.CheckoutDTO;
+import com.mycompany.store.service.dto.SalesReportDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link SalesReportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient
+@WithMockUser
+class SalesReportResourceIT {
+
+    private static final String API_URL = "/api/reports/sales";
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private ProductOrderService productOrderService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private ProductCategory category;
+
+    private Product product;
+
+    private Product otherProduct;
+
+    private Customer customer;
+
+    private LocalDate today;
+
+    public static void deleteEntities(EntityManager em) {
+        em.deleteAll(SalesRollup.class).block();
+        em.deleteAll("sales_change").block();
+        CheckoutResourceIT.deleteEntities(em);
+        CustomerResourceIT.deleteEntities(em);
+        ProductCategoryResourceIT.deleteEntities(em);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities(em);
+    }
+
+    @BeforeEach
+    public void initTest() throws Exception {
+        deleteEntities(em);
+        category = productCategoryRepository.save(ProductCategoryResourceIT.createEntity(em)).block();
+        product =
+            productRepository.save(ProductResourceIT.createEntity(em).price(new BigDecimal("12.50")).productCategory(category)).block();
+        otherProduct = productRepository.save(ProductResourceIT.createEntity(em).price(new BigDecimal("0.10"))).block();
+        customer = customerRepository.save(CustomerResourceIT.createEntity(em).country("fr")).block();
+        today = LocalDate.now(ZoneOffset.UTC);
+
+        checkout(PaymentMethod.PAYPAL, new CheckoutDTO.Item(product.getId(), 2), new CheckoutDTO.Item(otherProduct.getId(), 3));
+        checkout(PaymentMethod.PAYPAL, new CheckoutDTO.Item(product.getId(), 1));
+        checkout(PaymentMethod.CREDIT_CARD, new CheckoutDTO.Item(otherProduct.getId(), 7));
+        salesReportService.refresh(today, today).block();
+    }
+
+    @Test
+    void getTotalSales() {
+        List<SalesReportDTO> report = getSales("");
+
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0).getRevenue()).isEqualByComparingTo("38.50");
+        assertThat(report.get(0).getQuantity()).isEqualTo(13);
+        assertThat(report.get(0).getItemCount()).isEqualTo(4);
+        assertThat(report.get(0).getDay()).isNull();
+    }
+
+    @Test
+    void getSalesByCategoryAndPaymentMethod() {
+        List<SalesReportDTO> report = getSales("category,paymentMethod");
+
+        assertThat(report)
+            .extracting(SalesReportDTO::getProductCategoryId, SalesReportDTO::getPaymentMethod, SalesReportDTO::getQuantity)
+            .containsExactly(
+                tuple(category.getId(), PaymentMethod.PAYPAL, 3L),
+                tuple(null, PaymentMethod.CREDIT_CARD, 7L),
+                tuple(null, PaymentMethod.PAYPAL, 3L)
+            );
+        assertThat(report)
+            .extracting(SalesReportDTO::getRevenue)
+            .containsExactly(new BigDecimal("37.50"), new BigDecimal("0.70"), new BigDecimal("0.30"));
+    }
+
+    @Test
+    void getSalesByDayAndCountry() {
+        List<SalesReportDTO> report = getSales("day,country");
+
+        assertThat(report)
+            .extracting(SalesReportDTO::getDay, SalesReportDTO::getCountry, SalesReportDTO::getItemCount)
+            .containsExactly(tuple(today, "FR", 4L));
+    }
+
+    @Test
+    void refreshIsIdempotent() {
+        salesReportService.refresh(today.minusDays(1), today).block();
+
+        assertThat(getSales("").get(0).getRevenue()).isEqualByComparingTo("38.50");
+    }
+
+    @Test
+    void refreshChangesRefreshesTheChangedDays() throws Exception {
+        ProductOrder order = checkout(PaymentMethod.PAYPAL, new CheckoutDTO.Item(product.getId(), 4));
+        // Move the order to a day which only its change refreshes
+        ProductOrder placedEarlier = new ProductOrder().placedDate(today.minusDays(5).atStartOfDay(ZoneOffset.UTC).toInstant());
+        placedEarlier.setId(order.getId());
+        productOrderService.partialUpdate(placedEarlier).block();
+
+        salesReportService.refreshChanges().block();
+
+        assertThat(getSales("day"))
+            .extracting(SalesReportDTO::getDay, SalesReportDTO::getQuantity)
+            .containsExactly(tuple(today.minusDays(5), 4L), tuple(today, 13L));
+        assertThat(salesReportService.refreshChanges().block()).isZero();
+    }
+
+    @Test
+    void getSalesWithInvalidGroupBy() {
+        webTestClient
+            .get()
+            .uri(API_URL + "?from={from}&to={to}&groupBy=product", today, today)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getSalesWithInvalidPeriod() {
+        webTestClient.get().uri(API_URL + "?from={from}&to={to}", today, today.minusDays(1)).exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void refreshSalesIsForbiddenToUsers() {
+        webTestClient
+            .post()
+            .uri(API_URL + "/refresh?from={from}&to={to}", today, today)
+            .exchange()
+            .expectStatus()
+            .isForbidden();
+    }
+
+    private List<SalesReportDTO> getSales(String groupBy) {
+        return webTestClient
+            .get()
+            .uri(API_URL + "?from={from}&to={to}&groupBy={groupBy}", today.minusDays(7), today, groupBy)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(SalesReportDTO.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    private ProductOrder checkout(PaymentMethod paymentMethod, CheckoutDTO.Item... items) throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO();
+        checkout.setCustomerId(customer.getId());
+        checkout.setPaymentMethod(paymentMethod);
+        checkout.setItems(List.of(items));
+        return webTestClient
+            .post()
+            .uri("/api/checkout")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(checkout))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody(ProductOrder.class)
+            .returnResult()
+            .getResponseBody();
+    }
+}
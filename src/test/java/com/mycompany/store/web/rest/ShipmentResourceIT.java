@@ -218,6 +218,30 @@ class ShipmentResourceIT {
             .value(is(DEFAULT_DETAILS));
     }
 
+    @Test
+    void getShipmentByTrackingCode() {
+        // Initialize the database
+        shipmentRepository.save(shipment).block();
+
+        // Get the shipment
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/by-tracking/{code}", DEFAULT_TRACKING_CODE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(shipment.getId().intValue()))
+            .jsonPath("$.trackingCode")
+            .value(is(DEFAULT_TRACKING_CODE));
+
+        // Deleting the shipment makes its cached id stale
+        shipmentRepository.deleteById(shipment.getId()).block();
+        webTestClient.get().uri(ENTITY_API_URL + "/by-tracking/{code}", DEFAULT_TRACKING_CODE).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void getNonExistingShipment() {
         // Get the shipment
@@ -0,0 +1,61 @@
+package com.mycompany.store.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.store.config.ApplicationProperties;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link ConditionalResponses}.
+ */
+class ConditionalResponsesTest {
+
+    private static final Instant LAST_MODIFIED_DATE = Instant.parse("2021-11-01T10:15:30Z");
+
+    private ConditionalResponses conditionalResponses;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getHttpCache().getCacheControl().put("customers", "private, max-age=10");
+        conditionalResponses = new ConditionalResponses(applicationProperties);
+    }
+
+    @Test
+    void testResponsesArePrivateByDefault() {
+        assertThat(respond("orders").getHeaders().getCacheControl()).isEqualTo("private, no-cache");
+        assertThat(respond("customers").getHeaders().getCacheControl()).isEqualTo("private, max-age=10");
+    }
+
+    @Test
+    void testResponsesVaryOnAccept() {
+        assertThat(respond("orders").getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+        assertThat(respond("customers").getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void testSharedCachingIsRefused() {
+        ApplicationProperties publicResource = new ApplicationProperties();
+        publicResource.getHttpCache().getCacheControl().put("products", "public, max-age=0, s-maxage=60");
+        assertThatThrownBy(() -> new ConditionalResponses(publicResource)).isInstanceOf(IllegalArgumentException.class);
+
+        ApplicationProperties sharedDefault = new ApplicationProperties();
+        sharedDefault.getHttpCache().setDefaultCacheControl("max-age=0, s-maxage=60");
+        assertThatThrownBy(() -> new ConditionalResponses(sharedDefault)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ResponseEntity<String> respond(String resourceName) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/" + resourceName));
+        return conditionalResponses
+            .respond(exchange, resourceName, ConditionalResponses.eTag(LAST_MODIFIED_DATE), LAST_MODIFIED_DATE, () -> Mono.just("body"))
+            .block();
+    }
+}
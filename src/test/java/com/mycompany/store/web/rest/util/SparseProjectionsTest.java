@@ -0,0 +1,82 @@
+package com.mycompany.store.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mycompany.store.domain.OrderItem;
+import com.mycompany.store.domain.Product;
+import com.mycompany.store.repository.OrderItemRepository;
+import com.mycompany.store.repository.ProductRepository;
+import com.mycompany.store.repository.SparseFieldset;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Test class for the {@link SparseProjections}.
+ */
+class SparseProjectionsTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        objectMapper.setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Test
+    void testSparseFieldsetWritesTheRequestedFieldsOnly() throws Exception {
+        Product product = new Product().name("name").price(BigDecimal.TEN);
+        product.setId(1L);
+
+        SparseFieldset fieldset = SparseFieldset.parse("name,description", ProductRepository.FIELDS);
+
+        JsonNode node = write(SparseProjections.project(List.of(product), Product.class, fieldset)).get(0);
+
+        assertThat(node.has("id")).isTrue();
+        assertThat(node.has("name")).isTrue();
+        assertThat(node.has("description")).isTrue();
+        assertThat(node.get("description").isNull()).isTrue();
+        assertThat(node.has("price")).isFalse();
+        assertThat(node.has("productCategory")).isFalse();
+    }
+
+    @Test
+    void testRelatedEntitiesAreWrittenWithAllTheirFields() throws Exception {
+        Product product = new Product().name("name").price(BigDecimal.TEN);
+        product.setId(2L);
+        OrderItem orderItem = new OrderItem().quantity(1).product(product);
+        orderItem.setId(1L);
+
+        SparseFieldset fieldset = SparseFieldset.parse("product", OrderItemRepository.FIELDS);
+
+        JsonNode node = write(SparseProjections.project(List.of(orderItem), OrderItem.class, fieldset)).get(0);
+
+        assertThat(node.has("quantity")).isFalse();
+        assertThat(node.get("productId").asLong()).isEqualTo(2L);
+        assertThat(node.get("product").has("name")).isTrue();
+        assertThat(node.get("product").has("price")).isTrue();
+    }
+
+    @Test
+    void testAllFieldsWriteAllTheFields() throws Exception {
+        Product product = new Product().name("name").price(BigDecimal.TEN);
+
+        JsonNode node = write(SparseProjections.project(List.of(product), Product.class, SparseFieldset.ALL)).get(0);
+
+        assertThat(node.has("price")).isTrue();
+        assertThat(node.has("description")).isTrue();
+    }
+
+    private JsonNode write(MappingJacksonValue value) throws Exception {
+        ObjectWriter writer = value.getFilters() != null ? objectMapper.writer(value.getFilters()) : objectMapper.writer();
+        return objectMapper.readTree(writer.writeValueAsBytes(value.getValue()));
+    }
+}
@@ -1,4 +1,5 @@
 const webpack = require('webpack');
+const zlib = require('zlib');
 const { merge } = require('webpack-merge');
 const path = require('path');
 const { hashElement } = require('folder-hash');
@@ -7,6 +8,7 @@ const BrowserSyncPlugin = require('browser-sync-webpack-plugin');
 const BundleAnalyzerPlugin = require('webpack-bundle-analyzer').BundleAnalyzerPlugin;
 const WebpackNotifierPlugin = require('webpack-notifier');
 const CopyWebpackPlugin = require('copy-webpack-plugin');
+const CompressionPlugin = require('compression-webpack-plugin');
 const ESLintPlugin = require('eslint-webpack-plugin');
 
 const environment = require('./environment');
@@ -94,6 +96,23 @@ module.exports = async (config, options, targetOptions) => {
         openAnalyzer: false,
         // Webpack statistics in target folder
         reportFilename: '../stats.html',
+      }),
+      // .gz and .br siblings of the bundle, served by the backend according to Accept-Encoding
+      new CompressionPlugin({
+        filename: '[path][base].gz',
+        algorithm: 'gzip',
+        test: /\.(js|css|html|svg|json|txt)$/,
+        compressionOptions: { level: 9 },
+        threshold: 1024,
+        minRatio: 0.8,
+      }),
+      new CompressionPlugin({
+        filename: '[path][base].br',
+        algorithm: 'brotliCompress',
+        test: /\.(js|css|html|svg|json|txt)$/,
+        compressionOptions: { params: { [zlib.constants.BROTLI_PARAM_QUALITY]: 11 } },
+        threshold: 1024,
+        minRatio: 0.8,
       })
     );
   }